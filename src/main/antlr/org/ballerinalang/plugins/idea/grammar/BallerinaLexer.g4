@@ -2,6 +2,14 @@ lexer grammar BallerinaLexer;
 
 @members {
     boolean inTemplate = false;
+
+    public boolean isInTemplate() {
+        return inTemplate;
+    }
+
+    public void setInTemplate(boolean inTemplate) {
+        this.inTemplate = inTemplate;
+    }
 }
 
 // Reserved words
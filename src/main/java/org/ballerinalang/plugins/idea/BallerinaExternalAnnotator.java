@@ -16,29 +16,28 @@
 
 package org.ballerinalang.plugins.idea;
 
+import com.intellij.lang.annotation.Annotation;
 import com.intellij.lang.annotation.AnnotationHolder;
 import com.intellij.lang.annotation.ExternalAnnotator;
-import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.editor.Editor;
-import com.intellij.openapi.editor.LogicalPosition;
-import com.intellij.openapi.fileEditor.FileDocumentManager;
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.module.ModuleUtilCore;
-import com.intellij.openapi.projectRoots.Sdk;
-import com.intellij.openapi.roots.ModuleRootManager;
+import com.intellij.openapi.util.Pair;
 import com.intellij.openapi.util.TextRange;
-import com.intellij.openapi.util.io.FileUtil;
-import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiDirectory;
-import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiDocumentManager;
 import com.intellij.psi.PsiFile;
-import com.intellij.psi.PsiWhiteSpace;
 import com.intellij.psi.util.PsiTreeUtil;
-import com.intellij.util.PathUtil;
+import org.ballerinalang.plugins.idea.codeinspection.BallerinaDiagnosticQuickFixes;
+import org.ballerinalang.plugins.idea.diagnostics.BallerinaCompilerService;
+import org.ballerinalang.plugins.idea.diagnostics.BallerinaCompilerWorker;
+import org.ballerinalang.plugins.idea.diagnostics.BallerinaDiagnosticRanges;
+import org.ballerinalang.plugins.idea.diagnostics.BallerinaDiagnosticsScheduler;
 import org.ballerinalang.plugins.idea.psi.FullyQualifiedPackageNameNode;
 import org.ballerinalang.plugins.idea.psi.PackageDeclarationNode;
-import org.ballerinalang.plugins.idea.sdk.BallerinaSdkService;
+import org.ballerinalang.plugins.idea.util.BallerinaSourceOverlay;
 import org.ballerinalang.plugins.idea.util.Diagnostic;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -46,11 +45,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.net.MalformedURLException;
-import java.net.URL;
-import java.net.URLClassLoader;
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -62,9 +57,7 @@ import java.util.List;
  */
 public class BallerinaExternalAnnotator extends ExternalAnnotator<BallerinaExternalAnnotator.Data, List<Diagnostic>> {
 
-    private static Method method;
-    private static URLClassLoader urlClassLoader;
-    private Editor editor;
+    private static final BallerinaDiagnosticsScheduler DIAGNOSTICS_SCHEDULER = new BallerinaDiagnosticsScheduler();
 
     private static final Logger LOGGER = LoggerFactory.getLogger(BallerinaExternalAnnotator.class);
 
@@ -74,46 +67,18 @@ public class BallerinaExternalAnnotator extends ExternalAnnotator<BallerinaExter
     @Override
     @Nullable
     public Data collectInformation(@NotNull PsiFile file, @NotNull Editor editor, boolean hasErrors) {
-        this.editor = editor;
         VirtualFile virtualFile = file.getVirtualFile();
         String packageNameNode = getPackageName(file);
-        // If method is not null, that means we have already loaded jars.
-        if (method != null) {
-            return new Data(editor, file, packageNameNode);
-        }
+        // Get the SDK of the module. Modules can use different SDKs, so each SDK has its own compiler.
         Module module = ModuleUtilCore.findModuleForFile(virtualFile, file.getProject());
-        if (module == null) {
+        String sdkHome = BallerinaCompilerService.getSdkHome(file.getProject(), module);
+        if (sdkHome == null) {
             return null;
         }
-        Sdk moduleSdk = ModuleRootManager.getInstance(module).getSdk();
-        String sdkHome;
-        if (moduleSdk != null) {
-            sdkHome = moduleSdk.getHomePath();
-        } else {
-            sdkHome = BallerinaSdkService.getInstance(file.getProject()).getSdkHomePath(null);
-        }
-
-        try {
-            List<URL> filesToLoad = new LinkedList<>();
-            File[] files = new File(sdkHome + BallerinaConstants.BALLERINA_SDK_LIB_DIR).listFiles();
-            if (files != null) {
-                for (File f : files) {
-                    if (f.isFile() && f.getName().endsWith(BallerinaConstants.BALLERINA_SDK_LIB_FILE_EXTENTION)) {
-                        filesToLoad.add(f.toURI().toURL());
-                    }
-                }
-            }
-            // Create a new class loader.
-            urlClassLoader = new URLClassLoader(filesToLoad.toArray(new URL[filesToLoad.size()]),
-                    this.getClass().getClassLoader());
-            Class classToLoad = Class.forName("org.ballerinalang.launcher.util.BCompileUtil", true,
-                    urlClassLoader);
-            // Get the method.
-            method = classToLoad.getMethod("getDiagnostics", ClassLoader.class, String.class, String.class);
-        } catch (MalformedURLException | NoSuchMethodException | ClassNotFoundException e) {
-            LOGGER.debug(e.getMessage(), e);
-        }
-        return new Data(editor, file, packageNameNode);
+        // Take a snapshot of the unsaved contents so the compiler sees what is in the editor.
+        BallerinaSourceOverlay overlay = BallerinaSourceOverlay.create(file, packageNameNode != null);
+        Document document = editor.getDocument();
+        return new Data(document, file, packageNameNode, overlay, sdkHome, document.getModificationStamp());
     }
 
     /**
@@ -122,16 +87,11 @@ public class BallerinaExternalAnnotator extends ExternalAnnotator<BallerinaExter
     @Nullable
     @Override
     public List<Diagnostic> doAnnotate(final Data data) {
-        if (method != null) {
-            // We need to save all documents before getting diagnostics. Otherwise diagnostic will be incorrect.
-            ApplicationManager.getApplication().invokeAndWait(() -> {
-                FileDocumentManager.getInstance().saveAllDocuments();
-            });
-
+        BallerinaCompilerWorker worker = BallerinaCompilerService.getInstance().getWorker(data.sdkHome);
+        if (worker != null) {
             // Get the current module.
             Module module = ModuleUtilCore.findModuleForPsiElement(data.psiFile);
-            // Set the default value of source root as the project base path.
-            String sourceRoot = data.psiFile.getProject().getBasePath();
+            String sourceRoot = BallerinaCompilerService.getSourceRoot(data.psiFile.getProject(), module);
 
             // Get the file name (if the file is in project root) or the package name.
             String fileName = data.packageNameNode;
@@ -140,18 +100,19 @@ public class BallerinaExternalAnnotator extends ExternalAnnotator<BallerinaExter
                 fileName = virtualFile.getName();
             }
 
-            // If we are currently in a module, we need to set the module root as the source root.
-            if (module != null && FileUtil.exists(module.getModuleFilePath())) {
-                sourceRoot = StringUtil.trimEnd(PathUtil.getParentPath(module.getModuleFilePath()),
-                        BallerinaConstants.IDEA_CONFIG_DIRECTORY);
-            }
-
-            try {
-                // Get the list of diagnostics.
-                return (List<Diagnostic>) method.invoke(null, urlClassLoader, sourceRoot, fileName);
-            } catch (IllegalAccessException | InvocationTargetException e) {
-                LOGGER.debug(e.getMessage(), e);
+            // Diagnostics are returned for the whole package. So the result is shared by all files in the package.
+            String packageRoot = sourceRoot;
+            String packageName = fileName;
+            BallerinaSourceOverlay overlay = data.overlay;
+            String key = data.sdkHome + File.pathSeparator + sourceRoot + File.pathSeparator + fileName;
+            List<Diagnostic> diagnostics = DIAGNOSTICS_SCHEDULER.getDiagnostics(key, overlay.getModificationStamps(),
+                    () -> worker.getDiagnostics(packageRoot, packageName, overlay));
+            // Drop the diagnostics if the file was modified while compiling since the positions might be outdated.
+            if (diagnostics != null && data.document.getModificationStamp() != data.modificationStamp) {
+                DIAGNOSTICS_SCHEDULER.getMetrics().resultDropped();
+                return null;
             }
+            return diagnostics;
         }
         return new LinkedList<>();
     }
@@ -194,18 +155,13 @@ public class BallerinaExternalAnnotator extends ExternalAnnotator<BallerinaExter
         // Get the current module.
         Module module = ModuleUtilCore.findModuleForPsiElement(file);
         // Calculate the source root. This is used to get the relative directory path.
-        String sourceRoot = file.getProject().getBasePath();
-        if (module != null && FileUtil.exists(module.getModuleFilePath())) {
-            sourceRoot = StringUtil.trimEnd(PathUtil.getParentPath(module.getModuleFilePath()),
-                    BallerinaConstants.IDEA_CONFIG_DIRECTORY);
-        }
+        String sourceRoot = BallerinaCompilerService.getSourceRoot(file.getProject(), module);
 
         // Get the package according to the directory structure.
-        String directoryPath = psiDirectory.getVirtualFile().getPath();
         if (sourceRoot == null) {
             return packageNameInFile;
         }
-        String packageName = directoryPath.replace(sourceRoot, "").replaceAll("[/\\\\]", "\\.");
+        String packageName = BallerinaCompilerService.getPackageName(sourceRoot, psiDirectory.getVirtualFile());
 
         // If the package name is empty, that means the file is in the project root.
         if (packageName.isEmpty()) {
@@ -221,10 +177,15 @@ public class BallerinaExternalAnnotator extends ExternalAnnotator<BallerinaExter
      */
     @Override
     public void apply(@NotNull PsiFile file, List<Diagnostic> diagnostics, @NotNull AnnotationHolder holder) {
+        Document document = PsiDocumentManager.getInstance(file.getProject()).getDocument(file);
+        if (document == null) {
+            return;
+        }
         String packageName = getPackageName(file);
         String fileName = file.getVirtualFile().getName();
 
         try {
+            List<Diagnostic> fileDiagnostics = new ArrayList<>();
             for (Diagnostic diagnostic : diagnostics) {
                 // Validate the package name.
                 if (packageName != null && !diagnostic.getSource().getPackageName().equals(packageName)) {
@@ -234,47 +195,26 @@ public class BallerinaExternalAnnotator extends ExternalAnnotator<BallerinaExter
                 if (!fileName.equals(diagnostic.getSource().getCompilationUnitName())) {
                     continue;
                 }
+                fileDiagnostics.add(diagnostic);
+            }
 
-                Diagnostic.DiagnosticPosition position = diagnostic.getPosition();
-                // If the start line or start column is less than 0, it will throw an exception.
-                if (position.getStartLine() <= 0 || position.getStartColumn() <= 0) {
-                    continue;
-                }
-
-                // Get the logical start postion. This is used to get the offset.
-                LogicalPosition startPosition = new LogicalPosition(position.getStartLine() - 1,
-                        position.getStartColumn() - 1);
-                int startOffset = editor.logicalPositionToOffset(startPosition);
-                // Get the element at the offset.
-                PsiElement elementAtOffset = file.findElementAt(startOffset);
-                // If the element at the offset is a whitespace, highlight the next element.
-                if (elementAtOffset instanceof PsiWhiteSpace) {
-                    elementAtOffset = PsiTreeUtil.nextVisibleLeaf(elementAtOffset);
-                }
-
-                // Get the text range to be highlighted.
-                TextRange textRange;
-                if (elementAtOffset == null) {
-                    int endColumn = position.getStartColumn() == position.getEndColumn() ?
-                            position.getEndColumn() + 1 : position.getEndColumn();
-                    if (position.getEndLine() <= 0) {
-                        continue;
-                    }
-                    LogicalPosition endPosition = new LogicalPosition(position.getEndLine() - 1, endColumn);
-                    int endOffset = editor.logicalPositionToOffset(endPosition);
-                    textRange = new TextRange(startOffset, endOffset);
-                } else {
-                    int endOffset = elementAtOffset.getTextOffset() + elementAtOffset.getTextLength();
-                    textRange = new TextRange(elementAtOffset.getTextOffset(), endOffset);
-                }
-
+            // Get the text ranges to be highlighted.
+            for (Pair<Diagnostic, TextRange> range : BallerinaDiagnosticRanges.getRanges(file, document,
+                    fileDiagnostics)) {
+                Diagnostic diagnostic = range.first;
+                TextRange textRange = range.second;
                 // Highlight the range according to the diagnostic kind.
+                Annotation annotation = null;
                 if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
-                    holder.createErrorAnnotation(textRange, diagnostic.getMessage());
+                    annotation = holder.createErrorAnnotation(textRange, diagnostic.getMessage());
                 } else if (diagnostic.getKind() == Diagnostic.Kind.WARNING) {
-                    holder.createWarningAnnotation(textRange, diagnostic.getMessage());
+                    annotation = holder.createWarningAnnotation(textRange, diagnostic.getMessage());
                 } else if (diagnostic.getKind() == Diagnostic.Kind.NOTE) {
-                    holder.createInfoAnnotation(textRange, diagnostic.getMessage());
+                    annotation = holder.createInfoAnnotation(textRange, diagnostic.getMessage());
+                }
+                // Quick fixes are created only when they are requested.
+                if (annotation != null) {
+                    BallerinaDiagnosticQuickFixes.registerFixes(annotation, diagnostic.getCode());
                 }
             }
         } catch (ClassCastException e) {
@@ -286,7 +226,8 @@ public class BallerinaExternalAnnotator extends ExternalAnnotator<BallerinaExter
      * This method is used to reset the method field after changing the SDK.
      */
     public static void reset() {
-        method = null;
+        BallerinaCompilerService.getInstance().clear();
+        DIAGNOSTICS_SCHEDULER.clear();
     }
 
     /**
@@ -294,14 +235,21 @@ public class BallerinaExternalAnnotator extends ExternalAnnotator<BallerinaExter
      */
     public static class Data {
 
-        Editor editor;
+        Document document;
         PsiFile psiFile;
         String packageNameNode;
+        BallerinaSourceOverlay overlay;
+        String sdkHome;
+        long modificationStamp;
 
-        public Data(@NotNull Editor editor, @NotNull PsiFile psiFile, @Nullable String packageNameNode) {
-            this.editor = editor;
+        public Data(@NotNull Document document, @NotNull PsiFile psiFile, @Nullable String packageNameNode,
+                    @NotNull BallerinaSourceOverlay overlay, @NotNull String sdkHome, long modificationStamp) {
+            this.document = document;
             this.psiFile = psiFile;
             this.packageNameNode = packageNameNode;
+            this.overlay = overlay;
+            this.sdkHome = sdkHome;
+            this.modificationStamp = modificationStamp;
         }
     }
 }
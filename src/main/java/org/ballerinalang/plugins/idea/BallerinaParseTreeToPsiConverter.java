@@ -0,0 +1,86 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.plugins.idea;
+
+import com.intellij.lang.PsiBuilder;
+import com.intellij.openapi.progress.ProgressIndicatorProvider;
+import com.intellij.psi.tree.IElementType;
+import org.antlr.jetbrains.adaptor.parser.ANTLRParseTreeToPSIConverter;
+import org.antlr.v4.runtime.Parser;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.ballerinalang.plugins.idea.grammar.BallerinaParser;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Converts the ANTLR parse tree to the PSI tree. Bodies listed in {@link BallerinaTypes#REPARSEABLE_BODIES} are marked
+ * using {@link BallerinaReparseableElementType}s instead of the rule element types, so they can be reparsed
+ * separately.
+ * <p>
+ * When a single body is reparsed, the start rule of the parse tree corresponds to the body itself and the node is
+ * created by the platform, so no marker is created for it.
+ */
+public class BallerinaParseTreeToPsiConverter extends ANTLRParseTreeToPSIConverter {
+
+    private static final IElementType[] REPARSEABLE_TYPES = new IElementType[BallerinaParser.ruleNames.length];
+
+    static {
+        for (IElementType type : BallerinaTypes.REPARSEABLE_BODIES.getTypes()) {
+            REPARSEABLE_TYPES[((BallerinaReparseableElementType) type).getRuleIndex()] = type;
+        }
+    }
+
+    private final boolean myReparsingBody;
+
+    public BallerinaParseTreeToPsiConverter(@NotNull Parser parser, @NotNull IElementType root,
+                                            @NotNull PsiBuilder builder) {
+        super(BallerinaLanguage.INSTANCE, parser, builder);
+        myReparsingBody = root instanceof BallerinaReparseableElementType;
+    }
+
+    @Override
+    public void enterEveryRule(ParserRuleContext ctx) {
+        if (isReparsedBody(ctx)) {
+            return;
+        }
+        super.enterEveryRule(ctx);
+    }
+
+    @Override
+    public void exitEveryRule(ParserRuleContext ctx) {
+        if (isReparsedBody(ctx)) {
+            return;
+        }
+        IElementType type = getReparseableType(ctx.getRuleIndex());
+        if (type == null) {
+            super.exitEveryRule(ctx);
+            return;
+        }
+        ProgressIndicatorProvider.checkCanceled();
+        PsiBuilder.Marker marker = markers.pop();
+        marker.done(type);
+    }
+
+    private boolean isReparsedBody(@NotNull ParserRuleContext ctx) {
+        return myReparsingBody && ctx.getParent() == null;
+    }
+
+    @Nullable
+    private static IElementType getReparseableType(int ruleIndex) {
+        return ruleIndex >= 0 && ruleIndex < REPARSEABLE_TYPES.length ? REPARSEABLE_TYPES[ruleIndex] : null;
+    }
+}
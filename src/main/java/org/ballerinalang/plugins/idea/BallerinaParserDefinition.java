@@ -18,6 +18,7 @@ package org.ballerinalang.plugins.idea;
 
 import com.intellij.lang.ASTNode;
 import com.intellij.lang.ParserDefinition;
+import com.intellij.lang.PsiBuilder;
 import com.intellij.lang.PsiParser;
 import com.intellij.lexer.Lexer;
 import com.intellij.openapi.project.Project;
@@ -31,6 +32,7 @@ import org.antlr.jetbrains.adaptor.lexer.ANTLRLexerAdaptor;
 import org.antlr.jetbrains.adaptor.lexer.PSIElementTypeFactory;
 import org.antlr.jetbrains.adaptor.lexer.RuleIElementType;
 import org.antlr.jetbrains.adaptor.lexer.TokenIElementType;
+import org.antlr.jetbrains.adaptor.parser.ANTLRParseTreeToPSIConverter;
 import org.antlr.jetbrains.adaptor.parser.ANTLRParserAdaptor;
 import org.antlr.jetbrains.adaptor.psi.ANTLRPsiNode;
 import org.antlr.v4.runtime.Parser;
@@ -260,7 +262,29 @@ public class BallerinaParserDefinition implements ParserDefinition {
             protected ParseTree parse(Parser parser, IElementType root) {
                 // Start rule depends on root passed in; sometimes we want to create an ID node etc...
                 // Eg: if (root instanceof IFileElementType) { }
-                return ((BallerinaParser) parser).compilationUnit();
+                BallerinaParser ballerinaParser = (BallerinaParser) parser;
+                if (root instanceof BallerinaReparseableElementType) {
+                    // Only a single body is being reparsed.
+                    switch (((BallerinaReparseableElementType) root).getRuleIndex()) {
+                        case BallerinaParser.RULE_callableUnitBody:
+                            return ballerinaParser.callableUnitBody();
+                        case BallerinaParser.RULE_serviceBody:
+                            return ballerinaParser.serviceBody();
+                        case BallerinaParser.RULE_connectorBody:
+                            return ballerinaParser.connectorBody();
+                        case BallerinaParser.RULE_structBody:
+                            return ballerinaParser.structBody();
+                        case BallerinaParser.RULE_codeBlockBody:
+                            return ballerinaParser.codeBlockBody();
+                    }
+                }
+                return ballerinaParser.compilationUnit();
+            }
+
+            @Override
+            protected ANTLRParseTreeToPSIConverter createListener(Parser parser, IElementType root,
+                                                                  PsiBuilder builder) {
+                return new BallerinaParseTreeToPsiConverter(parser, root, builder);
             }
         };
     }
@@ -299,12 +323,16 @@ public class BallerinaParserDefinition implements ParserDefinition {
         if (elementType instanceof TokenIElementType) {
             return new ANTLRPsiNode(node);
         }
-        if (!(elementType instanceof RuleIElementType)) {
+        int ruleIndex;
+        if (elementType instanceof RuleIElementType) {
+            ruleIndex = ((RuleIElementType) elementType).getRuleIndex();
+        } else if (elementType instanceof BallerinaReparseableElementType) {
+            ruleIndex = ((BallerinaReparseableElementType) elementType).getRuleIndex();
+        } else {
             return new ANTLRPsiNode(node);
         }
 
-        RuleIElementType ruleElType = (RuleIElementType) elementType;
-        switch (ruleElType.getRuleIndex()) {
+        switch (ruleIndex) {
             case BallerinaParser.RULE_functionDefinition:
                 return new FunctionDefinitionNode(node);
             case BallerinaParser.RULE_callableUnitBody:
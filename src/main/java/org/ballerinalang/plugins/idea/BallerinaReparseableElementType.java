@@ -0,0 +1,90 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.plugins.idea;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.lang.Language;
+import com.intellij.lexer.Lexer;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.impl.source.tree.LazyParseableElement;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.IReparseableElementType;
+import org.antlr.jetbrains.adaptor.lexer.ANTLRLexerAdaptor;
+import org.antlr.jetbrains.adaptor.lexer.TokenIElementType;
+import org.ballerinalang.plugins.idea.grammar.BallerinaLexer;
+import org.ballerinalang.plugins.idea.grammar.BallerinaParser;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Element type of the bodies which can be reparsed without reparsing the whole file. Bodies do not contain the
+ * surrounding braces, so a changed body can be reparsed on its own as long as the braces in the new text are
+ * balanced. Otherwise the change might affect the enclosing definitions and the parent is reparsed instead.
+ */
+public class BallerinaReparseableElementType extends IReparseableElementType {
+
+    private final int myRuleIndex;
+
+    public BallerinaReparseableElementType(int ruleIndex) {
+        super(BallerinaParser.ruleNames[ruleIndex], BallerinaLanguage.INSTANCE);
+        myRuleIndex = ruleIndex;
+    }
+
+    /**
+     * Returns the index of the parser rule which this element type represents.
+     */
+    public int getRuleIndex() {
+        return myRuleIndex;
+    }
+
+    @Nullable
+    @Override
+    public ASTNode createNode(CharSequence text) {
+        return new LazyParseableElement(this, text);
+    }
+
+    @Override
+    public boolean isParsable(CharSequence buffer, Language fileLanguage, Project project) {
+        Lexer lexer = new ANTLRLexerAdaptor(BallerinaLanguage.INSTANCE, new BallerinaLexer(null));
+        lexer.start(buffer);
+        int initialState = lexer.getState();
+        int depth = 0;
+        IElementType tokenType;
+        while ((tokenType = lexer.getTokenType()) != null) {
+            int antlrTokenType = getAntlrTokenType(tokenType);
+            if (antlrTokenType == BallerinaLexer.LEFT_BRACE) {
+                depth++;
+            } else if (antlrTokenType == BallerinaLexer.RIGHT_BRACE) {
+                depth--;
+                // Closes the enclosing definition.
+                if (depth < 0) {
+                    return false;
+                }
+            } else if (antlrTokenType == BallerinaLexer.ERRCHAR) {
+                return false;
+            }
+            lexer.advance();
+        }
+        // Lexer should be back in the initial mode, otherwise an unterminated string template or an XML literal
+        // continues after the body.
+        return depth == 0 && lexer.getState() == initialState;
+    }
+
+    private static int getAntlrTokenType(@NotNull IElementType tokenType) {
+        return tokenType instanceof TokenIElementType ? ((TokenIElementType) tokenType).getANTLRTokenType() : -1;
+    }
+}
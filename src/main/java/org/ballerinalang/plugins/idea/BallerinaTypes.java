@@ -16,6 +16,7 @@
 
 package org.ballerinalang.plugins.idea;
 
+import com.intellij.psi.tree.IElementType;
 import com.intellij.psi.tree.TokenSet;
 import org.antlr.jetbrains.adaptor.lexer.PSIElementTypeFactory;
 import org.antlr.jetbrains.adaptor.lexer.RuleIElementType;
@@ -130,10 +131,10 @@ public class BallerinaTypes {
 
     public static final RuleIElementType STATEMENT = ruleIElementTypes.get(RULE_statement);
 
-    public static final RuleIElementType FUNCTION_BODY = ruleIElementTypes.get(RULE_callableUnitBody);
-    public static final RuleIElementType CONNECTOR_BODY = ruleIElementTypes.get(RULE_connectorBody);
-    public static final RuleIElementType SERVICE_BODY = ruleIElementTypes.get(RULE_serviceBody);
-    public static final RuleIElementType STRUCT_BODY = ruleIElementTypes.get(RULE_structBody);
+    public static final IElementType FUNCTION_BODY = new BallerinaReparseableElementType(RULE_callableUnitBody);
+    public static final IElementType CONNECTOR_BODY = new BallerinaReparseableElementType(RULE_connectorBody);
+    public static final IElementType SERVICE_BODY = new BallerinaReparseableElementType(RULE_serviceBody);
+    public static final IElementType STRUCT_BODY = new BallerinaReparseableElementType(RULE_structBody);
     public static final RuleIElementType ANNOTATION_BODY = ruleIElementTypes.get(RULE_annotationBody);
 
     public static final RuleIElementType FUNCTION_DEFINITION = ruleIElementTypes.get(RULE_functionDefinition);
@@ -147,7 +148,7 @@ public class BallerinaTypes {
     public static final RuleIElementType IF_CLAUSE = ruleIElementTypes.get(RULE_ifClause);
     public static final RuleIElementType ELSE_IF_CLAUSE = ruleIElementTypes.get(RULE_elseIfClause);
     public static final RuleIElementType ELSE_CLAUSE = ruleIElementTypes.get(RULE_elseClause);
-    public static final RuleIElementType CODE_BLOCK_BODY = ruleIElementTypes.get(RULE_codeBlockBody);
+    public static final IElementType CODE_BLOCK_BODY = new BallerinaReparseableElementType(RULE_codeBlockBody);
     public static final RuleIElementType FOREACH_STATEMENT = ruleIElementTypes.get(RULE_foreachStatement);
     public static final RuleIElementType WHILE_STATEMENT = ruleIElementTypes.get(RULE_whileStatement);
     public static final RuleIElementType TRY_CATCH_STATEMENT = ruleIElementTypes.get(RULE_tryCatchStatement);
@@ -291,4 +292,7 @@ public class BallerinaTypes {
 
     public static final TokenSet OPERATORS = TokenSet.create(ASSIGN, EQUAL, LE, GE, NOTEQUAL, AND, OR, MUL, DIV,
                                                              BITAND, BITOR, CARET, MOD);
+
+    public static final TokenSet REPARSEABLE_BODIES = TokenSet.create(FUNCTION_BODY, CONNECTOR_BODY, SERVICE_BODY,
+            STRUCT_BODY, CODE_BLOCK_BODY);
 }
@@ -0,0 +1,64 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.plugins.idea.actions;
+
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.wm.ToolWindow;
+import com.intellij.openapi.wm.ToolWindowManager;
+import org.ballerinalang.plugins.idea.diagnostics.BallerinaCompileAllService;
+import org.ballerinalang.plugins.idea.ui.BallerinaProblemsToolWindowFactory;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Compiles all Ballerina packages in the background and shows the problems in the Ballerina problems tool window.
+ * Packages which are not modified since the last run are not compiled again.
+ */
+public class BallerinaCompileAllAction extends AnAction {
+
+    private final boolean myForce;
+
+    public BallerinaCompileAllAction() {
+        this(false);
+    }
+
+    protected BallerinaCompileAllAction(boolean force) {
+        myForce = force;
+    }
+
+    @Override
+    public void update(@NotNull AnActionEvent e) {
+        Project project = e.getProject();
+        e.getPresentation().setEnabled(project != null
+                && !BallerinaCompileAllService.getInstance(project).isRunning());
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        Project project = e.getProject();
+        if (project == null) {
+            return;
+        }
+        ToolWindow toolWindow = ToolWindowManager.getInstance(project)
+                .getToolWindow(BallerinaProblemsToolWindowFactory.ID);
+        if (toolWindow != null) {
+            toolWindow.activate(null, false);
+        }
+        BallerinaCompileAllService.getInstance(project).compileAll(myForce);
+    }
+}
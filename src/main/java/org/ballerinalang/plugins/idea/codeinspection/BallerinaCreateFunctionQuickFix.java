@@ -0,0 +1,71 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.plugins.idea.codeinspection;
+
+import com.intellij.codeInsight.FileModificationService;
+import com.intellij.codeInspection.LocalQuickFixAndIntentionActionOnPsiElement;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import org.ballerinalang.plugins.idea.psi.DefinitionNode;
+import org.ballerinalang.plugins.idea.psi.FunctionDefinitionNode;
+import org.ballerinalang.plugins.idea.psi.impl.BallerinaElementFactory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Quick fix which adds an empty function to the end of the file.
+ */
+public class BallerinaCreateFunctionQuickFix extends LocalQuickFixAndIntentionActionOnPsiElement {
+
+    private final String myName;
+
+    BallerinaCreateFunctionQuickFix(@NotNull PsiElement element, @NotNull String name) {
+        super(element);
+        myName = name;
+    }
+
+    @NotNull
+    @Override
+    public String getText() {
+        return "Create function '" + myName + "'";
+    }
+
+    @NotNull
+    @Override
+    public String getFamilyName() {
+        return "Create function";
+    }
+
+    @Override
+    public void invoke(@NotNull Project project, @NotNull PsiFile file, @Nullable Editor editor,
+                       @NotNull PsiElement startElement, @NotNull PsiElement endElement) {
+        if (!FileModificationService.getInstance().prepareFileForWrite(file)) {
+            return;
+        }
+        FunctionDefinitionNode functionDefinitionNode = BallerinaElementFactory.createFunctionDefinition(project,
+                myName);
+        if (functionDefinitionNode == null) {
+            return;
+        }
+        PsiElement definition = functionDefinitionNode.getParent() instanceof DefinitionNode ?
+                functionDefinitionNode.getParent() : functionDefinitionNode;
+        file.add(BallerinaElementFactory.createDoubleNewLine(project));
+        file.add(definition);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.plugins.idea.codeinspection;
+
+import com.intellij.codeInsight.FileModificationService;
+import com.intellij.codeInspection.LocalQuickFixAndIntentionActionOnPsiElement;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import org.ballerinalang.plugins.idea.psi.DefinitionNode;
+import org.ballerinalang.plugins.idea.psi.StructDefinitionNode;
+import org.ballerinalang.plugins.idea.psi.impl.BallerinaElementFactory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Quick fix which adds an empty struct to the end of the file.
+ */
+public class BallerinaCreateStructQuickFix extends LocalQuickFixAndIntentionActionOnPsiElement {
+
+    private final String myName;
+
+    BallerinaCreateStructQuickFix(@NotNull PsiElement element, @NotNull String name) {
+        super(element);
+        myName = name;
+    }
+
+    @NotNull
+    @Override
+    public String getText() {
+        return "Create struct '" + myName + "'";
+    }
+
+    @NotNull
+    @Override
+    public String getFamilyName() {
+        return "Create struct";
+    }
+
+    @Override
+    public void invoke(@NotNull Project project, @NotNull PsiFile file, @Nullable Editor editor,
+                       @NotNull PsiElement startElement, @NotNull PsiElement endElement) {
+        if (!FileModificationService.getInstance().prepareFileForWrite(file)) {
+            return;
+        }
+        StructDefinitionNode structDefinitionNode = BallerinaElementFactory.createStructDefinition(project,
+                myName);
+        if (structDefinitionNode == null) {
+            return;
+        }
+        PsiElement definition = structDefinitionNode.getParent() instanceof DefinitionNode ?
+                structDefinitionNode.getParent() : structDefinitionNode;
+        file.add(BallerinaElementFactory.createDoubleNewLine(project));
+        file.add(definition);
+    }
+}
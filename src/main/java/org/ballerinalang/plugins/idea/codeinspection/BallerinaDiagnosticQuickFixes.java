@@ -0,0 +1,152 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.plugins.idea.codeinspection;
+
+import com.intellij.codeInsight.intention.IntentionAction;
+import com.intellij.lang.annotation.Annotation;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.util.PsiTreeUtil;
+import org.antlr.jetbrains.adaptor.psi.IdentifierDefSubtree;
+import org.ballerinalang.plugins.idea.psi.FunctionReferenceNode;
+import org.ballerinalang.plugins.idea.psi.NameReferenceNode;
+import org.ballerinalang.plugins.idea.psi.PackageNameNode;
+import org.ballerinalang.plugins.idea.psi.TypeCastNode;
+import org.ballerinalang.plugins.idea.psi.TypeConversionNode;
+import org.ballerinalang.plugins.idea.psi.UserDefinedTypeName;
+import org.ballerinalang.plugins.idea.util.DiagnosticCode;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps compiler diagnostic codes to the quick fixes which can fix them. Annotations only get lightweight placeholder
+ * fixes. The actual quick fixes are created when the quick fixes at the caret are requested.
+ */
+public class BallerinaDiagnosticQuickFixes {
+
+    /**
+     * Creates a quick fix for a diagnostic.
+     */
+    interface Factory {
+
+        /**
+         * @param element element at the caret
+         * @return quick fix, or {@code null} if the diagnostic cannot be fixed at the given element
+         */
+        @Nullable
+        IntentionAction create(@NotNull PsiElement element);
+    }
+
+    private static final Map<DiagnosticCode, List<Factory>> FACTORIES = new EnumMap<>(DiagnosticCode.class);
+
+    static {
+        register(DiagnosticCode.UNDEFINED_PACKAGE, BallerinaDiagnosticQuickFixes::createImportFix);
+        register(DiagnosticCode.UNDEFINED_FUNCTION, BallerinaDiagnosticQuickFixes::createFunctionFix);
+        register(DiagnosticCode.UNKNOWN_TYPE, BallerinaDiagnosticQuickFixes::createStructFix);
+        register(DiagnosticCode.INCOMPATIBLE_TYPES_CAST_WITH_SUGGESTION,
+                element -> createTypeCastFix(element, TypeCastNode.class));
+        register(DiagnosticCode.INCOMPATIBLE_TYPES_CONVERSION_WITH_SUGGESTION,
+                element -> createTypeCastFix(element, TypeConversionNode.class));
+    }
+
+    private BallerinaDiagnosticQuickFixes() {
+
+    }
+
+    private static void register(@NotNull DiagnosticCode code, @NotNull Factory factory) {
+        FACTORIES.computeIfAbsent(code, key -> new ArrayList<>()).add(factory);
+    }
+
+    /**
+     * Registers the quick fixes of the given diagnostic code in the annotation.
+     *
+     * @param annotation annotation created for the diagnostic
+     * @param code       diagnostic code
+     */
+    public static void registerFixes(@NotNull Annotation annotation, @Nullable DiagnosticCode code) {
+        if (code == null) {
+            return;
+        }
+        List<Factory> factories = FACTORIES.get(code);
+        if (factories == null) {
+            return;
+        }
+        for (Factory factory : factories) {
+            annotation.registerFix(new BallerinaLazyQuickFix(factory));
+        }
+    }
+
+    @Nullable
+    private static IntentionAction createImportFix(@NotNull PsiElement element) {
+        PackageNameNode packageNameNode = PsiTreeUtil.getParentOfType(element, PackageNameNode.class, false);
+        if (packageNameNode == null) {
+            // The caret can be on the name which follows the package name.
+            IdentifierDefSubtree reference = getReference(element);
+            packageNameNode = reference != null ? PsiTreeUtil.getChildOfType(reference, PackageNameNode.class) : null;
+        }
+        return packageNameNode != null ? new BallerinaImportPackageQuickFix(packageNameNode) : null;
+    }
+
+    @Nullable
+    private static IntentionAction createFunctionFix(@NotNull PsiElement element) {
+        FunctionReferenceNode functionReferenceNode = PsiTreeUtil.getParentOfType(element,
+                FunctionReferenceNode.class, false);
+        String name = getLocalName(functionReferenceNode);
+        return name != null ? new BallerinaCreateFunctionQuickFix(functionReferenceNode, name) : null;
+    }
+
+    @Nullable
+    private static IntentionAction createStructFix(@NotNull PsiElement element) {
+        UserDefinedTypeName typeName = PsiTreeUtil.getParentOfType(element, UserDefinedTypeName.class, false);
+        NameReferenceNode nameReferenceNode = PsiTreeUtil.getChildOfType(typeName, NameReferenceNode.class);
+        String name = getLocalName(nameReferenceNode);
+        return name != null ? new BallerinaCreateStructQuickFix(nameReferenceNode, name) : null;
+    }
+
+    @Nullable
+    private static IntentionAction createTypeCastFix(@NotNull PsiElement element,
+                                                     @NotNull Class<? extends PsiElement> type) {
+        PsiElement castNode = PsiTreeUtil.getParentOfType(element, type, false);
+        return castNode != null ? new BallerinaTypeCastQuickFix(castNode) : null;
+    }
+
+    @Nullable
+    private static IdentifierDefSubtree getReference(@NotNull PsiElement element) {
+        FunctionReferenceNode functionReferenceNode = PsiTreeUtil.getParentOfType(element,
+                FunctionReferenceNode.class, false);
+        if (functionReferenceNode != null) {
+            return functionReferenceNode;
+        }
+        return PsiTreeUtil.getParentOfType(element, NameReferenceNode.class, false);
+    }
+
+    /**
+     * Returns the name of the given reference if it refers to a definition in the current package.
+     */
+    @Nullable
+    private static String getLocalName(@Nullable IdentifierDefSubtree reference) {
+        if (reference == null || PsiTreeUtil.getChildOfType(reference, PackageNameNode.class) != null) {
+            return null;
+        }
+        PsiElement nameIdentifier = reference.getNameIdentifier();
+        return nameIdentifier != null ? nameIdentifier.getText() : null;
+    }
+}
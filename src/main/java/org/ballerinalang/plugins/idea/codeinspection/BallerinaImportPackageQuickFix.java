@@ -47,11 +47,11 @@ import com.intellij.ui.components.JBList;
 import com.intellij.util.containers.ContainerUtil;
 import org.ballerinalang.plugins.idea.BallerinaIcons;
 import org.ballerinalang.plugins.idea.codeinsight.imports.BallerinaCodeInsightSettings;
+import org.ballerinalang.plugins.idea.project.BallerinaPackageRegistry;
 import org.ballerinalang.plugins.idea.psi.BallerinaFile;
 import org.ballerinalang.plugins.idea.psi.PackageNameNode;
 import org.ballerinalang.plugins.idea.psi.impl.BallerinaPsiImplUtil;
 import org.ballerinalang.plugins.idea.sdk.BallerinaSdkService;
-import org.ballerinalang.plugins.idea.util.BallerinaUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -126,13 +126,13 @@ public class BallerinaImportPackageQuickFix extends LocalQuickFixAndIntentionAct
     }
 
     private List<String> getImportPathVariantsToImport(@NotNull PsiElement element) {
-        List<PsiDirectory> packagesInResolvableScopes =
-                BallerinaPsiImplUtil.getAllPackagesInResolvableScopes(element.getProject());
+        BallerinaPackageRegistry packageRegistry = BallerinaPackageRegistry.getInstance(element.getProject());
+        List<PsiDirectory> packagesInResolvableScopes = packageRegistry.getAllPackages();
         List<String> results = new LinkedList<>();
         if (element instanceof PackageNameNode) {
             for (PsiDirectory packagesInResolvableScope : packagesInResolvableScopes) {
                 if (packagesInResolvableScope.getName().equals(element.getText())) {
-                    String importPath = BallerinaUtil.suggestPackageNameForDirectory(packagesInResolvableScope);
+                    String importPath = packageRegistry.getImportPath(packagesInResolvableScope);
                     if (StringUtil.isEmpty(importPath)) {
                         continue;
                     }
@@ -0,0 +1,86 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.plugins.idea.codeinspection;
+
+import com.intellij.codeInsight.intention.IntentionAction;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.util.IncorrectOperationException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Placeholder quick fix which is registered in compiler diagnostic annotations. The actual quick fix is created
+ * from the element at the caret only when the available quick fixes are requested, so annotating files with many
+ * diagnostics does not need to look up the PSI of each diagnostic.
+ */
+class BallerinaLazyQuickFix implements IntentionAction {
+
+    private final BallerinaDiagnosticQuickFixes.Factory myFactory;
+    private IntentionAction myDelegate;
+
+    BallerinaLazyQuickFix(@NotNull BallerinaDiagnosticQuickFixes.Factory factory) {
+        myFactory = factory;
+    }
+
+    @NotNull
+    @Override
+    public String getText() {
+        return myDelegate != null ? myDelegate.getText() : getFamilyName();
+    }
+
+    @NotNull
+    @Override
+    public String getFamilyName() {
+        return myDelegate != null ? myDelegate.getFamilyName() : "Fix compiler error";
+    }
+
+    @Override
+    public boolean isAvailable(@NotNull Project project, @Nullable Editor editor, @Nullable PsiFile file) {
+        myDelegate = editor != null && file != null ? createDelegate(editor, file) : null;
+        return myDelegate != null && myDelegate.isAvailable(project, editor, file);
+    }
+
+    @Nullable
+    private IntentionAction createDelegate(@NotNull Editor editor, @NotNull PsiFile file) {
+        int offset = editor.getCaretModel().getOffset();
+        // The caret can be just after the highlighted element as well.
+        for (int candidate : new int[]{offset, offset - 1}) {
+            PsiElement element = candidate >= 0 ? file.findElementAt(candidate) : null;
+            IntentionAction delegate = element != null ? myFactory.create(element) : null;
+            if (delegate != null) {
+                return delegate;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void invoke(@NotNull Project project, @Nullable Editor editor, @Nullable PsiFile file)
+            throws IncorrectOperationException {
+        if (myDelegate != null) {
+            myDelegate.invoke(project, editor, file);
+        }
+    }
+
+    @Override
+    public boolean startInWriteAction() {
+        return myDelegate == null || myDelegate.startInWriteAction();
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.plugins.idea.codeinspection;
+
+import com.intellij.codeInsight.FileModificationService;
+import com.intellij.codeInspection.LocalQuickFixAndIntentionActionOnPsiElement;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.PsiTreeUtil;
+import org.ballerinalang.plugins.idea.BallerinaTypes;
+import org.ballerinalang.plugins.idea.psi.ExpressionNode;
+import org.ballerinalang.plugins.idea.psi.TypeCastNode;
+import org.ballerinalang.plugins.idea.psi.TypeConversionNode;
+import org.ballerinalang.plugins.idea.psi.TypeNameNode;
+import org.ballerinalang.plugins.idea.psi.impl.BallerinaElementFactory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Quick fix which replaces a type cast with a type conversion and vice versa, as suggested by the compiler.
+ */
+public class BallerinaTypeCastQuickFix extends LocalQuickFixAndIntentionActionOnPsiElement {
+
+    BallerinaTypeCastQuickFix(@NotNull PsiElement element) {
+        super(element);
+    }
+
+    @NotNull
+    @Override
+    public String getText() {
+        return getStartElement() instanceof TypeCastNode ? "Replace cast with conversion" :
+                "Replace conversion with cast";
+    }
+
+    @NotNull
+    @Override
+    public String getFamilyName() {
+        return "Fix type cast";
+    }
+
+    @Override
+    public boolean isAvailable(@NotNull Project project, @NotNull PsiFile file, @NotNull PsiElement startElement,
+                               @NotNull PsiElement endElement) {
+        return getReplacementText(startElement) != null;
+    }
+
+    @Override
+    public void invoke(@NotNull Project project, @NotNull PsiFile file, @Nullable Editor editor,
+                       @NotNull PsiElement startElement, @NotNull PsiElement endElement) {
+        if (!FileModificationService.getInstance().prepareFileForWrite(file)) {
+            return;
+        }
+        String text = getReplacementText(startElement);
+        PsiElement parent = startElement.getParent();
+        if (text == null || !(parent instanceof ExpressionNode)) {
+            return;
+        }
+        ExpressionNode expressionNode = BallerinaElementFactory.createExpression(project, text);
+        if (expressionNode != null) {
+            parent.replace(expressionNode);
+        }
+    }
+
+    /**
+     * Returns the text of the expression which should replace the given cast or conversion.
+     */
+    @Nullable
+    private static String getReplacementText(@NotNull PsiElement element) {
+        TypeNameNode typeNameNode = PsiTreeUtil.getChildOfType(element, TypeNameNode.class);
+        ExpressionNode expressionNode = PsiTreeUtil.findChildOfType(element, ExpressionNode.class);
+        if (typeNameNode == null || expressionNode == null) {
+            return null;
+        }
+        if (element instanceof TypeCastNode) {
+            return "<" + typeNameNode.getText() + "> " + expressionNode.getText();
+        }
+        // Conversions which use a transformer cannot be replaced with a cast.
+        if (element instanceof TypeConversionNode
+                && element.getNode().findChildByType(BallerinaTypes.TRANSFORMER_INVOCATION) == null) {
+            return "(" + typeNameNode.getText() + ") " + expressionNode.getText();
+        }
+        return null;
+    }
+}
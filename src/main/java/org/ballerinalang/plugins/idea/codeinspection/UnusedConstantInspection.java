@@ -24,11 +24,9 @@ import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
-import com.intellij.psi.PsiReference;
-import com.intellij.psi.search.searches.ReferencesSearch;
 import com.intellij.psi.util.PsiTreeUtil;
-import com.intellij.util.Query;
 import org.ballerinalang.plugins.idea.psi.ConstantDefinitionNode;
+import org.ballerinalang.plugins.idea.psi.impl.BallerinaUsageMap;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -48,6 +46,7 @@ public class UnusedConstantInspection extends LocalInspectionTool {
                                          boolean isOnTheFly) {
         List<ProblemDescriptor> problemDescriptors = new LinkedList<>();
         List<LocalQuickFix> availableFixes = new ArrayList<>();
+        BallerinaUsageMap usages = BallerinaUsageMap.getInstance(file);
 
         Collection<ConstantDefinitionNode> constants = PsiTreeUtil.findChildrenOfType(file,
                 ConstantDefinitionNode.class);
@@ -57,9 +56,7 @@ public class UnusedConstantInspection extends LocalInspectionTool {
             if (identifier == null) {
                 continue;
             }
-            Query<PsiReference> psiReferences = ReferencesSearch.search(identifier);
-            PsiReference firstReference = psiReferences.findFirst();
-            if (firstReference == null) {
+            if (!usages.isUsedAnywhere(identifier)) {
                 ProblemDescriptor problemDescriptor = getProblemDescriptor(manager, isOnTheFly, identifier,
                         availableFixes);
                 problemDescriptors.add(problemDescriptor);
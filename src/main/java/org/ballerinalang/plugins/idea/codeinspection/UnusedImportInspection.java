@@ -30,9 +30,8 @@ import com.intellij.util.containers.ContainerUtil;
 import org.ballerinalang.plugins.idea.psi.BallerinaFile;
 import org.ballerinalang.plugins.idea.psi.FullyQualifiedPackageNameNode;
 import org.ballerinalang.plugins.idea.psi.ImportDeclarationNode;
-import org.ballerinalang.plugins.idea.psi.PackageDeclarationNode;
 import org.ballerinalang.plugins.idea.psi.PackageNameNode;
-import org.ballerinalang.plugins.idea.psi.XmlAttribNode;
+import org.ballerinalang.plugins.idea.psi.impl.BallerinaUsageMap;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -59,39 +58,11 @@ public class UnusedImportInspection extends LocalInspectionTool {
         }
 
         // This is used to track all packages used in the file.
-        List<String> usedPackages = new LinkedList<>();
+        BallerinaUsageMap usages = BallerinaUsageMap.getInstance(file);
 
         LocalQuickFix[] availableFixes = new LocalQuickFix[0];
 
         List<ProblemDescriptor> problemDescriptors = new LinkedList<>();
-        Collection<PackageNameNode> packageNameNodes = PsiTreeUtil.findChildrenOfType(file, PackageNameNode.class);
-        for (PackageNameNode packageNameNode : packageNameNodes) {
-            ProgressManager.checkCanceled();
-            if (packageNameNode == null) {
-                continue;
-            }
-            PackageDeclarationNode packageDeclarationNode = PsiTreeUtil.getParentOfType(packageNameNode,
-                    PackageDeclarationNode.class);
-            if (packageDeclarationNode != null) {
-                continue;
-            }
-            ImportDeclarationNode importDeclarationNode = PsiTreeUtil.getParentOfType(packageNameNode,
-                    ImportDeclarationNode.class);
-            if (importDeclarationNode != null) {
-                continue;
-            }
-            XmlAttribNode xmlAttribNode = PsiTreeUtil.getParentOfType(packageNameNode, XmlAttribNode.class);
-            if (xmlAttribNode != null) {
-                continue;
-            }
-
-            PsiElement nameIdentifier = packageNameNode.getNameIdentifier();
-            if (nameIdentifier == null) {
-                continue;
-            }
-            usedPackages.add(nameIdentifier.getText());
-        }
-
         // This is used to keep track of fully qualified imported packages. This will be used to identify redeclared
         // import statements.
         List<String> fullyQualifiedImportedPackages = new LinkedList<>();
@@ -115,7 +86,7 @@ public class UnusedImportInspection extends LocalInspectionTool {
                 continue;
             }
             String lastPackageName = lastPackage.getText();
-            if (!usedPackages.contains(lastPackageName)) {
+            if (!usages.isPackageUsed(lastPackageName)) {
                 problemDescriptors.add(createProblemDescriptor(manager, "Unused import", isOnTheFly,
                         importDeclarationNode, availableFixes, ProblemHighlightType.LIKE_UNUSED_SYMBOL));
             }
@@ -24,14 +24,12 @@ import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
-import com.intellij.psi.PsiReference;
-import com.intellij.psi.search.searches.ReferencesSearch;
 import com.intellij.psi.util.PsiTreeUtil;
-import com.intellij.util.Query;
 import org.ballerinalang.plugins.idea.psi.AssignmentStatementNode;
 import org.ballerinalang.plugins.idea.psi.IdentifierPSINode;
 import org.ballerinalang.plugins.idea.psi.VariableDefinitionNode;
 import org.ballerinalang.plugins.idea.psi.impl.BallerinaPsiImplUtil;
+import org.ballerinalang.plugins.idea.psi.impl.BallerinaUsageMap;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -51,6 +49,7 @@ public class UnusedVariableInspection extends LocalInspectionTool {
                                          boolean isOnTheFly) {
         List<ProblemDescriptor> problemDescriptors = new LinkedList<>();
         List<LocalQuickFix> availableFixes = new ArrayList<>();
+        BallerinaUsageMap usages = BallerinaUsageMap.getInstance(file);
 
         Collection<VariableDefinitionNode> variables = PsiTreeUtil.findChildrenOfType(file,
                 VariableDefinitionNode.class);
@@ -60,9 +59,7 @@ public class UnusedVariableInspection extends LocalInspectionTool {
             if (identifier == null) {
                 continue;
             }
-            Query<PsiReference> psiReferences = ReferencesSearch.search(identifier);
-            PsiReference firstReference = psiReferences.findFirst();
-            if (firstReference == null) {
+            if (!usages.isUsed(identifier)) {
                 ProblemDescriptor problemDescriptor = getProblemDescriptor(manager, isOnTheFly, identifier,
                         availableFixes);
                 problemDescriptors.add(problemDescriptor);
@@ -80,9 +77,7 @@ public class UnusedVariableInspection extends LocalInspectionTool {
                     if (BallerinaPsiImplUtil.isRedeclaredVar(identifier)) {
                         continue;
                     }
-                    Query<PsiReference> psiReferences = ReferencesSearch.search(identifier);
-                    PsiReference firstReference = psiReferences.findFirst();
-                    if (firstReference == null && !"_".equals(identifier.getText())) {
+                    if (!usages.isUsed(identifier) && !"_".equals(identifier.getText())) {
                         ProblemDescriptor problemDescriptor = getProblemDescriptor(manager, isOnTheFly, identifier,
                                 availableFixes);
                         problemDescriptors.add(problemDescriptor);
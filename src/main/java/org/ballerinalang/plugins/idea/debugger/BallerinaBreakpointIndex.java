@@ -0,0 +1,200 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.plugins.idea.debugger;
+
+import com.intellij.util.ArrayUtil;
+import com.intellij.util.containers.ConcurrentIntObjectMap;
+import com.intellij.util.containers.ContainerUtil;
+import org.ballerinalang.plugins.idea.debugger.dto.BreakPoint;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Index of the breakpoints by their location, which is the package path, the file name and the line number. Used to
+ * find the breakpoint of a debug hit without going through all the breakpoints.
+ * <p>
+ * For files in the default package the debug server sends the full path of the file instead of the file name, so
+ * those breakpoints are indexed by the line number and matched by the end of the path. Finding a breakpoint does
+ * not allocate, since it is done for every debug hit.
+ *
+ * @param <T> type of the breakpoints
+ */
+public class BallerinaBreakpointIndex<T> {
+
+    private static final String DEFAULT_PACKAGE = ".";
+
+    private final Map<BreakPoint, T> myBreakpoints = ContainerUtil.newConcurrentMap();
+    // Breakpoints in the default package by the line number. The arrays are replaced instead of being modified.
+    private final ConcurrentIntObjectMap<DefaultPackageBreakpoint[]> myDefaultPackageBreakpoints =
+            ContainerUtil.createConcurrentIntObjectMap();
+    private final Object myDefaultPackageLock = new Object();
+
+    /**
+     * Adds a breakpoint. The package path of the location should be normalized using
+     * {@link #normalizePackagePath(String)}.
+     */
+    public void put(@NotNull BreakPoint location, @NotNull T breakpoint) {
+        if (!isDefaultPackage(location.getPackagePath())) {
+            myBreakpoints.put(location, breakpoint);
+            return;
+        }
+        String fileName = location.getFileName();
+        int line = location.getLineNumber();
+        synchronized (myDefaultPackageLock) {
+            DefaultPackageBreakpoint[] breakpoints = myDefaultPackageBreakpoints.get(line);
+            if (breakpoints == null) {
+                breakpoints = new DefaultPackageBreakpoint[0];
+            }
+            // Same as a map, the breakpoint which was at the location is replaced.
+            int index = indexOf(breakpoints, fileName, null);
+            if (index > -1) {
+                breakpoints = breakpoints.clone();
+                breakpoints[index] = new DefaultPackageBreakpoint(fileName, breakpoint);
+            } else {
+                breakpoints = ArrayUtil.append(breakpoints, new DefaultPackageBreakpoint(fileName, breakpoint),
+                        DefaultPackageBreakpoint.class);
+            }
+            myDefaultPackageBreakpoints.put(line, breakpoints);
+        }
+    }
+
+    /**
+     * Removes a breakpoint if it is still at the given location.
+     */
+    public void remove(@NotNull BreakPoint location, @NotNull T breakpoint) {
+        if (!isDefaultPackage(location.getPackagePath())) {
+            myBreakpoints.remove(location, breakpoint);
+            return;
+        }
+        int line = location.getLineNumber();
+        synchronized (myDefaultPackageLock) {
+            DefaultPackageBreakpoint[] breakpoints = myDefaultPackageBreakpoints.get(line);
+            if (breakpoints == null) {
+                return;
+            }
+            int index = indexOf(breakpoints, location.getFileName(), breakpoint);
+            if (index < 0) {
+                return;
+            }
+            if (breakpoints.length == 1) {
+                myDefaultPackageBreakpoints.remove(line);
+            } else {
+                myDefaultPackageBreakpoints.put(line, ArrayUtil.remove(breakpoints, index));
+            }
+        }
+    }
+
+    public int size() {
+        int size = myBreakpoints.size();
+        for (DefaultPackageBreakpoint[] breakpoints : myDefaultPackageBreakpoints.values()) {
+            size += breakpoints.length;
+        }
+        return size;
+    }
+
+    /**
+     * Finds the breakpoint of a debug hit.
+     *
+     * @param hit location sent by the debug server
+     * @return the breakpoint at the location, {@code null} if there is no breakpoint
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public T find(@NotNull BreakPoint hit) {
+        String packagePath = hit.getPackagePath();
+        String fileName = hit.getFileName();
+        if (fileName == null) {
+            return null;
+        }
+        if (!isDefaultPackage(packagePath)) {
+            return myBreakpoints.get(hit);
+        }
+        // If the package is ".", full path of the file will be sent as the filename.
+        DefaultPackageBreakpoint[] breakpoints = myDefaultPackageBreakpoints.get(hit.getLineNumber());
+        if (breakpoints == null) {
+            return null;
+        }
+        for (DefaultPackageBreakpoint breakpoint : breakpoints) {
+            if (isFileOfPath(breakpoint.myFileName, fileName)) {
+                return (T) breakpoint.myBreakpoint;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isDefaultPackage(@Nullable String packagePath) {
+        return packagePath == null || packagePath.isEmpty() || DEFAULT_PACKAGE.equals(packagePath);
+    }
+
+    /**
+     * Checks whether the path is the given file name or ends with a separator followed by the file name.
+     */
+    private static boolean isFileOfPath(@Nullable String fileName, @NotNull String path) {
+        if (fileName == null || !path.endsWith(fileName)) {
+            return false;
+        }
+        int index = path.length() - fileName.length() - 1;
+        return index < 0 || path.charAt(index) == '/' || path.charAt(index) == '\\';
+    }
+
+    /**
+     * Returns the index of the breakpoint of the file, or of the given breakpoint of the file if it is not
+     * {@code null}.
+     */
+    private static int indexOf(@NotNull DefaultPackageBreakpoint[] breakpoints, @Nullable String fileName,
+                               @Nullable Object breakpoint) {
+        for (int i = 0; i < breakpoints.length; i++) {
+            if (Objects.equals(breakpoints[i].myFileName, fileName)
+                    && (breakpoint == null || breakpoint.equals(breakpoints[i].myBreakpoint))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the package path in the form which is sent by the debug server. Whitespaces and comments between the
+     * package name parts are removed.
+     */
+    @NotNull
+    public static String normalizePackagePath(@Nullable String packagePath) {
+        if (packagePath == null) {
+            return DEFAULT_PACKAGE;
+        }
+        String normalized = packagePath.replaceAll("//[^\\n]*|\\s", "");
+        return normalized.isEmpty() ? DEFAULT_PACKAGE : normalized;
+    }
+
+    /**
+     * Breakpoint in the default package with the name of its file.
+     */
+    private static class DefaultPackageBreakpoint {
+
+        @Nullable
+        private final String myFileName;
+        @NotNull
+        private final Object myBreakpoint;
+
+        DefaultPackageBreakpoint(@Nullable String fileName, @NotNull Object breakpoint) {
+            myFileName = fileName;
+            myBreakpoint = breakpoint;
+        }
+    }
+}
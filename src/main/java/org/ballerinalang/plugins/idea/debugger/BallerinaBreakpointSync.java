@@ -0,0 +1,192 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.plugins.idea.debugger;
+
+import org.ballerinalang.plugins.idea.debugger.dto.BreakPoint;
+import org.ballerinalang.plugins.idea.debugger.dto.Message;
+import org.ballerinalang.plugins.idea.debugger.protocol.Command;
+import org.ballerinalang.plugins.idea.debugger.protocol.Response;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the breakpoints in the debug server in sync with the breakpoints in the IDE. The full breakpoint list is only
+ * sent in the first sync. After that, only the added and removed breakpoints are sent. Changes which happen within the
+ * batch delay are sent together, so an added breakpoint which is removed again before the sync is never sent.
+ * <p>
+ * Debug servers which do not support the {@link Command#ADD_POINTS} and {@link Command#REMOVE_POINTS} commands reply
+ * with {@link Response#INVALID}. The full breakpoint list is sent on every sync after that.
+ */
+public class BallerinaBreakpointSync {
+
+    private final Consumer<String> mySender;
+    private final ScheduledExecutorService myScheduler;
+    private final long myBatchDelayMillis;
+
+    private final Object myLock = new Object();
+    // Number of IDE breakpoints at each location.
+    private final Map<BreakPoint, Integer> myPoints = new LinkedHashMap<>();
+    private final Set<BreakPoint> myPendingAdditions = new LinkedHashSet<>();
+    private final Set<BreakPoint> myPendingRemovals = new LinkedHashSet<>();
+    private ScheduledFuture<?> myScheduledSync;
+    private boolean mySynced;
+    private boolean myDeltasSent;
+    private boolean myDeltasSupported = true;
+    private boolean myCancelled;
+
+    /**
+     * @param sender           used to send the commands to the debug server
+     * @param scheduler        used to send the batched changes
+     * @param batchDelayMillis time to wait for more changes before sending them
+     */
+    public BallerinaBreakpointSync(@NotNull Consumer<String> sender, @NotNull ScheduledExecutorService scheduler,
+                                   long batchDelayMillis) {
+        mySender = sender;
+        myScheduler = scheduler;
+        myBatchDelayMillis = batchDelayMillis;
+    }
+
+    /**
+     * Adds a breakpoint. Breakpoints added before the first {@link #sync()} are sent with it.
+     */
+    public void add(@NotNull BreakPoint point) {
+        synchronized (myLock) {
+            Integer count = myPoints.get(point);
+            myPoints.put(point, count == null ? 1 : count + 1);
+            if (count == null && !myPendingRemovals.remove(point)) {
+                myPendingAdditions.add(point);
+            }
+            scheduleSync();
+        }
+    }
+
+    /**
+     * Removes a breakpoint which was added before.
+     */
+    public void remove(@NotNull BreakPoint point) {
+        synchronized (myLock) {
+            Integer count = myPoints.get(point);
+            if (count == null) {
+                return;
+            }
+            if (count > 1) {
+                myPoints.put(point, count - 1);
+                return;
+            }
+            myPoints.remove(point);
+            if (!myPendingAdditions.remove(point)) {
+                myPendingRemovals.add(point);
+            }
+            scheduleSync();
+        }
+    }
+
+    /**
+     * Sends the pending changes immediately.
+     */
+    public void sync() {
+        synchronized (myLock) {
+            if (myCancelled) {
+                return;
+            }
+            if (myScheduledSync != null) {
+                myScheduledSync.cancel(false);
+                myScheduledSync = null;
+            }
+            if (!mySynced || !myDeltasSupported) {
+                mySender.accept(createCommand(Command.SET_POINTS, myPoints.keySet()));
+                mySynced = true;
+            } else {
+                if (!myPendingRemovals.isEmpty()) {
+                    mySender.accept(createCommand(Command.REMOVE_POINTS, myPendingRemovals));
+                    myDeltasSent = true;
+                }
+                if (!myPendingAdditions.isEmpty()) {
+                    mySender.accept(createCommand(Command.ADD_POINTS, myPendingAdditions));
+                    myDeltasSent = true;
+                }
+            }
+            myPendingRemovals.clear();
+            myPendingAdditions.clear();
+        }
+    }
+
+    /**
+     * Handles the reply of a debug server which does not support the delta commands.
+     *
+     * @return {@code true} if the message was handled
+     */
+    public boolean handleResponse(@NotNull Message message) {
+        if (!Response.INVALID.name().equals(message.getCode())) {
+            return false;
+        }
+        synchronized (myLock) {
+            if (!myDeltasSent || !myDeltasSupported) {
+                return false;
+            }
+            myDeltasSupported = false;
+            // Resend all the breakpoints since some of the changes were not applied.
+            sync();
+            return true;
+        }
+    }
+
+    /**
+     * Stops sending the changes.
+     */
+    public void cancel() {
+        synchronized (myLock) {
+            myCancelled = true;
+            if (myScheduledSync != null) {
+                myScheduledSync.cancel(false);
+            }
+        }
+    }
+
+    private void scheduleSync() {
+        // Changes are only sent after the first sync, since the debug server might not be connected before that.
+        if (mySynced && !myCancelled && myScheduledSync == null) {
+            myScheduledSync = myScheduler.schedule(this::sync, myBatchDelayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @NotNull
+    private static String createCommand(@NotNull Command command, @NotNull Collection<BreakPoint> points) {
+        StringBuilder stringBuilder = new StringBuilder("{\"command\":\"").append(command).append("\", \"points\": [");
+        Iterator<BreakPoint> iterator = points.iterator();
+        while (iterator.hasNext()) {
+            BreakPoint point = iterator.next();
+            stringBuilder.append("{\"packagePath\":\"").append(point.getPackagePath()).append("\", ");
+            stringBuilder.append("\"fileName\":\"").append(point.getFileName()).append("\", ");
+            stringBuilder.append("\"lineNumber\":").append(point.getLineNumber()).append("}");
+            if (iterator.hasNext()) {
+                stringBuilder.append(",");
+            }
+        }
+        return stringBuilder.append("]}").toString();
+    }
+}
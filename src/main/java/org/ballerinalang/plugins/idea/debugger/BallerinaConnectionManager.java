@@ -0,0 +1,183 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.plugins.idea.debugger;
+
+import com.intellij.openapi.diagnostic.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Connects to the debug server. Failed attempts are retried with an exponential backoff and a random jitter until the
+ * deadline is reached. {@link #connectNow()} can be used to retry immediately, for example when the program prints
+ * that the debug server is started.
+ */
+public class BallerinaConnectionManager {
+
+    private static final Logger LOGGER = Logger.getInstance(BallerinaConnectionManager.class);
+
+    private static final long INITIAL_DELAY_MILLIS = 10;
+    private static final long MAX_DELAY_MILLIS = 1000;
+
+    /**
+     * Receives the result of connecting. Called from the thread which made the last attempt.
+     */
+    public interface Listener {
+
+        void connected();
+
+        void failed();
+    }
+
+    private final BooleanSupplier myAttempt;
+    private final long myTimeoutMillis;
+    private final ScheduledExecutorService myScheduler;
+
+    private final Object myLock = new Object();
+    private Listener myListener;
+    private ScheduledFuture<?> myScheduledAttempt;
+    private long myDeadline;
+    private long myDelayMillis;
+    private int myAttempts;
+    private boolean myAttemptRunning;
+    private boolean myRetryRequested;
+    private boolean myDone;
+
+    /**
+     * @param attempt       makes a connection attempt. Returns {@code true} if connected
+     * @param timeoutMillis time after the first attempt to keep retrying. If this is 0, only a single attempt is made
+     * @param scheduler     used to schedule the attempts. Attempts can block, so this should not be an I/O thread
+     */
+    public BallerinaConnectionManager(@NotNull BooleanSupplier attempt, long timeoutMillis,
+                                      @NotNull ScheduledExecutorService scheduler) {
+        myAttempt = attempt;
+        myTimeoutMillis = timeoutMillis;
+        myScheduler = scheduler;
+    }
+
+    /**
+     * Starts connecting. The first attempt is made immediately.
+     */
+    public void connect(@NotNull Listener listener) {
+        synchronized (myLock) {
+            if (myListener != null || myDone) {
+                return;
+            }
+            myListener = listener;
+            myDeadline = System.currentTimeMillis() + myTimeoutMillis;
+            schedule(0);
+        }
+    }
+
+    /**
+     * Makes the next attempt immediately instead of waiting for the backoff delay.
+     */
+    public void connectNow() {
+        synchronized (myLock) {
+            if (myListener == null || myDone) {
+                return;
+            }
+            if (myAttemptRunning) {
+                // Retry as soon as the current attempt fails.
+                myRetryRequested = true;
+                return;
+            }
+            if (myScheduledAttempt != null) {
+                myScheduledAttempt.cancel(false);
+            }
+            schedule(0);
+        }
+    }
+
+    /**
+     * Stops connecting. The listener is not called after this.
+     */
+    public void cancel() {
+        synchronized (myLock) {
+            myDone = true;
+            if (myScheduledAttempt != null) {
+                myScheduledAttempt.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of attempts made so far.
+     */
+    public int getAttempts() {
+        synchronized (myLock) {
+            return myAttempts;
+        }
+    }
+
+    private void schedule(long delayMillis) {
+        myScheduledAttempt = myScheduler.schedule(this::attempt, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void attempt() {
+        synchronized (myLock) {
+            if (myDone || myAttemptRunning) {
+                return;
+            }
+            myAttemptRunning = true;
+            myAttempts++;
+        }
+        boolean connected = false;
+        try {
+            connected = myAttempt.getAsBoolean();
+        } catch (RuntimeException e) {
+            LOGGER.debug(e);
+        }
+
+        Listener listener;
+        synchronized (myLock) {
+            myAttemptRunning = false;
+            if (myDone) {
+                return;
+            }
+            long remaining = myDeadline - System.currentTimeMillis();
+            if (!connected && remaining > 0) {
+                long delay = myRetryRequested ? 0 : nextDelay();
+                myRetryRequested = false;
+                LOGGER.debug("Connection attempt " + myAttempts + " failed. Retrying in " + delay + " ms.");
+                schedule(Math.min(delay, remaining));
+                return;
+            }
+            myDone = true;
+            listener = myListener;
+        }
+        if (connected) {
+            listener.connected();
+        } else {
+            listener.failed();
+        }
+    }
+
+    /**
+     * Returns the next backoff delay. The delay is doubled after each attempt and a random jitter of up to half of the
+     * delay is subtracted.
+     */
+    private long nextDelay() {
+        myDelayMillis = myDelayMillis == 0 ? INITIAL_DELAY_MILLIS : Math.min(myDelayMillis * 2, MAX_DELAY_MILLIS);
+        long jitter = ThreadLocalRandom.current().nextLong(myDelayMillis / 2 + 1);
+        return myDelayMillis - jitter;
+    }
+}
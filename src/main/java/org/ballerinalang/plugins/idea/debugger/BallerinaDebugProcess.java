@@ -16,27 +16,35 @@
 
 package org.ballerinalang.plugins.idea.debugger;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonSyntaxException;
 import com.intellij.execution.ExecutionResult;
+import com.intellij.execution.process.ProcessAdapter;
+import com.intellij.execution.process.ProcessEvent;
 import com.intellij.execution.process.ProcessHandler;
 import com.intellij.execution.ui.ConsoleViewContentType;
 import com.intellij.execution.ui.ExecutionConsole;
 import com.intellij.icons.AllIcons;
+import com.intellij.openapi.Disposable;
 import com.intellij.openapi.actionSystem.ActionManager;
 import com.intellij.openapi.actionSystem.DefaultActionGroup;
 import com.intellij.openapi.application.AccessToken;
 import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.application.ReadAction;
 import com.intellij.openapi.diagnostic.Logger;
-import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Computable;
+import com.intellij.openapi.util.Disposer;
+import com.intellij.openapi.util.Key;
 import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiTreeChangeAdapter;
+import com.intellij.psi.PsiTreeChangeEvent;
 import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.concurrency.AppExecutorUtil;
 import com.intellij.util.containers.ContainerUtil;
 import com.intellij.xdebugger.XDebugProcess;
 import com.intellij.xdebugger.XDebugSession;
+import com.intellij.xdebugger.XDebugSessionAdapter;
 import com.intellij.xdebugger.XSourcePosition;
 import com.intellij.xdebugger.breakpoints.XBreakpoint;
 import com.intellij.xdebugger.breakpoints.XBreakpointHandler;
@@ -60,8 +68,9 @@ import org.ballerinalang.plugins.idea.psi.PackageDeclarationNode;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
 
 import javax.swing.event.HyperlinkListener;
 
@@ -71,22 +80,51 @@ import javax.swing.event.HyperlinkListener;
 public class BallerinaDebugProcess extends XDebugProcess {
 
     private static final Logger LOGGER = Logger.getInstance(BallerinaDebugProcess.class);
-    private static final Gson GSON = new Gson();
+
+    private static final String CONNECTION_TIMEOUT_PROPERTY = "ballerina.debugger.connection.timeout";
+    private static final long DEFAULT_CONNECTION_TIMEOUT = 30000;
+    // Printed by the program when the debug server is ready to accept connections.
+    private static final Pattern DEBUG_SERVER_STARTED = Pattern.compile(
+            "(?i)(remote debugger is activated|debug server started)");
+    // Breakpoints toggled within this time are sent to the debug server in a single message.
+    private static final long BREAKPOINT_BATCH_DELAY = 100;
+    // Watches which are evaluated within this time are sent to the debug server in a single request.
+    private static final long EVALUATION_BATCH_DELAY = 20;
 
     private final ProcessHandler myProcessHandler;
     private final ExecutionConsole myExecutionConsole;
     private final BallerinaDebuggerEditorsProvider myEditorsProvider;
     private final BallerinaBreakpointHandler myBreakPointHandler;
     private final BallerinaWebSocketConnector myConnector;
-    private boolean isDisconnected = false;
+    private final BallerinaVariableRequests myVariableRequests;
+    private final BallerinaEvaluationRequests myEvaluationRequests;
+    private final BallerinaBreakpointSync myBreakpointSync;
+    private final Disposable myDisposable = Disposer.newDisposable();
+    private volatile boolean isDisconnected = false;
     private boolean isRemoteDebugMode = false;
 
     private final AtomicBoolean breakpointsInitiated = new AtomicBoolean();
+    private volatile BallerinaConnectionManager myConnectionManager;
 
     public BallerinaDebugProcess(@NotNull XDebugSession session, @NotNull BallerinaWebSocketConnector connector,
                                  @Nullable ExecutionResult executionResult) {
         super(session);
         myConnector = connector;
+        myVariableRequests = new BallerinaVariableRequests(connector::send);
+        myEvaluationRequests = new BallerinaEvaluationRequests(myVariableRequests,
+                AppExecutorUtil.getAppScheduledExecutorService(), EVALUATION_BATCH_DELAY);
+        myBreakpointSync = new BallerinaBreakpointSync(connector::send,
+                AppExecutorUtil.getAppScheduledExecutorService(), BREAKPOINT_BATCH_DELAY);
+        // The listener is removed when the session stops, or at the latest when the project is closed.
+        Disposer.register(session.getProject(), myDisposable);
+        session.addSessionListener(new XDebugSessionAdapter() {
+            @Override
+            public void sessionStopped() {
+                Disposer.dispose(myDisposable);
+            }
+        });
+        PsiManager.getInstance(session.getProject()).addPsiTreeChangeListener(new PackageDeclarationListener(),
+                myDisposable);
         myProcessHandler = executionResult == null ? super.getProcessHandler() : executionResult.getProcessHandler();
         myExecutionConsole = executionResult == null ? super.createConsole() : executionResult.getExecutionConsole();
         myEditorsProvider = new BallerinaDebuggerEditorsProvider();
@@ -122,36 +160,39 @@ public class BallerinaDebugProcess extends XDebugProcess {
 
     @Override
     public void sessionInitialized() {
-        ApplicationManager.getApplication().executeOnPooledThread(() -> {
-            while (!isDisconnected) {
-                try {
-                    Thread.sleep(500);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                }
-
-                if (!myConnector.isConnected()) {
-                    LOGGER.debug("Not connected. Retrying...");
-                    myConnector.createConnection(this::debugHit);
-                    if (myConnector.isConnected()) {
-                        if (isRemoteDebugMode) {
-                            getSession().getConsoleView().print("Connected to the remote server at " +
-                                    myConnector.getDebugServerAddress() + ".\n", ConsoleViewContentType.SYSTEM_OUTPUT);
-                        }
-                        LOGGER.debug("Connection created.");
-                        startDebugSession();
-                        break;
+        // Only a single attempt is made in the remote debug mode.
+        long timeout = isRemoteDebugMode ? 0 : Long.getLong(CONNECTION_TIMEOUT_PROPERTY, DEFAULT_CONNECTION_TIMEOUT);
+        myConnectionManager = new BallerinaConnectionManager(() -> myConnector.createConnection(this::debugHit),
+                timeout, AppExecutorUtil.getAppScheduledExecutorService());
+        if (!isRemoteDebugMode && myProcessHandler != null) {
+            // Connect as soon as the debug server is started instead of waiting for the next attempt.
+            myProcessHandler.addProcessListener(new ProcessAdapter() {
+                @Override
+                public void onTextAvailable(ProcessEvent event, Key outputType) {
+                    if (DEBUG_SERVER_STARTED.matcher(event.getText()).find()) {
+                        myConnectionManager.connectNow();
                     }
-                } else {
-                    LOGGER.debug("Connection already created.");
-                    startDebugSession();
-                    break;
+                }
+            });
+        }
+        myConnectionManager.connect(new BallerinaConnectionManager.Listener() {
+            @Override
+            public void connected() {
+                // The session might be stopped while the connection was being created.
+                if (isDisconnected || getSession().isStopped()) {
+                    myConnector.close();
+                    return;
                 }
                 if (isRemoteDebugMode) {
-                    break;
+                    getSession().getConsoleView().print("Connected to the remote server at " +
+                            myConnector.getDebugServerAddress() + ".\n", ConsoleViewContentType.SYSTEM_OUTPUT);
                 }
+                LOGGER.debug("Connection created after " + myConnectionManager.getAttempts() + " attempts.");
+                startDebugSession();
             }
-            if (!myConnector.isConnected()) {
+
+            @Override
+            public void failed() {
                 getSession().getConsoleView().print("Connection to debug server at " +
                                 myConnector.getDebugServerAddress() + " could not be established.\n",
                         ConsoleViewContentType.ERROR_OUTPUT);
@@ -163,15 +204,16 @@ public class BallerinaDebugProcess extends XDebugProcess {
     private void startDebugSession() {
         initBreakpointHandlersAndSetBreakpoints();
         LOGGER.debug("Sending breakpoints.");
-        myBreakPointHandler.sendBreakpoints();
+        myBreakpointSync.sync();
         LOGGER.debug("Sending start command.");
-        myConnector.sendCommand(Command.START);
+        myConnector.sendStartCommand();
     }
 
     @Override
     public void startStepOver(@Nullable XSuspendContext context) {
         String threadId = getThreadId(context);
         if (threadId != null) {
+            cancelVariableRequests();
             myConnector.sendCommand(Command.STEP_OVER, threadId);
         }
     }
@@ -180,6 +222,7 @@ public class BallerinaDebugProcess extends XDebugProcess {
     public void startStepInto(@Nullable XSuspendContext context) {
         String threadId = getThreadId(context);
         if (threadId != null) {
+            cancelVariableRequests();
             myConnector.sendCommand(Command.STEP_IN, threadId);
         }
     }
@@ -188,6 +231,7 @@ public class BallerinaDebugProcess extends XDebugProcess {
     public void startStepOut(@Nullable XSuspendContext context) {
         String threadId = getThreadId(context);
         if (threadId != null) {
+            cancelVariableRequests();
             myConnector.sendCommand(Command.STEP_OUT, threadId);
         }
     }
@@ -196,31 +240,42 @@ public class BallerinaDebugProcess extends XDebugProcess {
     public void stop() {
         // If we don't call this using the executeOnPooledThread(), the UI will hang until the debug server is stopped.
         ApplicationManager.getApplication().executeOnPooledThread(() -> {
-            XDebugSession session = getSession();
-            if (!isRemoteDebugMode) {
-                XSuspendContext suspendContext = session.getSuspendContext();
-                if (suspendContext != null) {
-                    XExecutionStack activeExecutionStack = suspendContext.getActiveExecutionStack();
-                    if (activeExecutionStack instanceof BallerinaSuspendContext.BallerinaExecutionStack) {
-                        String threadId = ((BallerinaSuspendContext.BallerinaExecutionStack) activeExecutionStack)
-                                .getThreadId();
-                        if (threadId != null) {
-                            myConnector.sendCommand(Command.STOP, threadId);
+            try {
+                XDebugSession session = getSession();
+                if (!isRemoteDebugMode) {
+                    XSuspendContext suspendContext = session.getSuspendContext();
+                    if (suspendContext != null) {
+                        XExecutionStack activeExecutionStack = suspendContext.getActiveExecutionStack();
+                        if (activeExecutionStack instanceof BallerinaSuspendContext.BallerinaExecutionStack) {
+                            String threadId = ((BallerinaSuspendContext.BallerinaExecutionStack) activeExecutionStack)
+                                    .getThreadId();
+                            if (threadId != null) {
+                                myConnector.sendCommand(Command.STOP, threadId);
+                            }
                         }
+                    } else {
+                        session.stop();
+                        return;
                     }
                 } else {
+                    myConnector.sendCommand(Command.STOP);
                     session.stop();
-                    return;
+                    getSession().getConsoleView().print("Disconnected from the debug server.\n",
+                            ConsoleViewContentType.SYSTEM_OUTPUT);
                 }
-            } else {
-                myConnector.sendCommand(Command.STOP);
-                session.stop();
-                getSession().getConsoleView().print("Disconnected from the debug server.\n",
-                        ConsoleViewContentType.SYSTEM_OUTPUT);
-            }
 
-            isDisconnected = true;
-            myConnector.close();
+                cancelVariableRequests();
+                myConnector.close();
+            } finally {
+                // Programs which stop while running take the early return above, so these are done on every path.
+                // Otherwise the connection attempts would continue and might reach a new debug server.
+                isDisconnected = true;
+                if (myConnectionManager != null) {
+                    myConnectionManager.cancel();
+                }
+                myBreakpointSync.cancel();
+                Disposer.dispose(myDisposable);
+            }
         });
     }
 
@@ -228,10 +283,30 @@ public class BallerinaDebugProcess extends XDebugProcess {
     public void resume(@Nullable XSuspendContext context) {
         String threadId = getThreadId(context);
         if (threadId != null) {
+            cancelVariableRequests();
             myConnector.sendCommand(Command.RESUME, threadId);
         }
     }
 
+    /**
+     * Variable references are only valid while the program is suspended. So pending variable requests are cancelled
+     * and the cached evaluation results are cleared before resuming.
+     */
+    private void cancelVariableRequests() {
+        myEvaluationRequests.newEpoch("The program is running.");
+        myVariableRequests.cancelAll("The program is running.");
+    }
+
+    @NotNull
+    BallerinaVariableRequests getVariableRequests() {
+        return myVariableRequests;
+    }
+
+    @NotNull
+    BallerinaEvaluationRequests getEvaluationRequests() {
+        return myEvaluationRequests;
+    }
+
     @Nullable
     private String getThreadId(@Nullable XSuspendContext context) {
         if (context != null) {
@@ -263,20 +338,17 @@ public class BallerinaDebugProcess extends XDebugProcess {
         return false;
     }
 
-    private void debugHit(String response) {
-        LOGGER.debug("Received: " + response);
-        Message message;
-        try {
-            message = GSON.fromJson(response, Message.class);
-        } catch (JsonSyntaxException e) {
-            LOGGER.debug(e);
+    private void debugHit(@NotNull Message message) {
+        LOGGER.debug("Received: " + message.getCode());
+        // Responses to variable requests are handled separately.
+        if (myVariableRequests.handleResponse(message) || myBreakpointSync.handleResponse(message)) {
             return;
         }
 
         String code = message.getCode();
         if (Response.DEBUG_HIT.name().equals(code)) {
             ApplicationManager.getApplication().runReadAction(() -> {
-                XBreakpoint<BallerinaBreakpointProperties> breakpoint = findBreakPoint(message.getLocation());
+                XBreakpoint<BallerinaBreakpointProperties> breakpoint = myBreakpointIndex.find(message.getLocation());
                 BallerinaSuspendContext context = new BallerinaSuspendContext(BallerinaDebugProcess.this, message);
                 XDebugSession session = getSession();
                 if (breakpoint == null) {
@@ -322,37 +394,6 @@ public class BallerinaDebugProcess extends XDebugProcess {
         }
     }
 
-    private XBreakpoint<BallerinaBreakpointProperties> findBreakPoint(@NotNull BreakPoint breakPoint) {
-        String fileName = breakPoint.getFileName();
-        String packagePath = breakPoint.getPackagePath();
-        String relativeFilePathInProject;
-        // If the package is ".", full path of the file will be sent as the filename.
-        if (".".equals(packagePath)) {
-            // Then we need to get the actual filename from the path.
-            int index = fileName.lastIndexOf("/");
-            if (index <= -1) {
-                return null;
-            }
-            relativeFilePathInProject = fileName.substring(index);
-        } else {
-            // If the absolute path is not sent, we need to construct the relative file path in the project.
-            relativeFilePathInProject = packagePath.replaceAll("\\.", "/") + "/" + fileName;
-        }
-        int lineNumber = breakPoint.getLineNumber();
-        for (XBreakpoint<BallerinaBreakpointProperties> breakpoint : breakpoints) {
-            XSourcePosition breakpointPosition = breakpoint.getSourcePosition();
-            if (breakpointPosition == null) {
-                continue;
-            }
-            VirtualFile fileInBreakpoint = breakpointPosition.getFile();
-            int line = breakpointPosition.getLine() + 1;
-            if (fileInBreakpoint.getPath().endsWith(relativeFilePathInProject) && line == lineNumber) {
-                return breakpoint;
-            }
-        }
-        return null;
-    }
-
     @Nullable
     @Override
     public XValueMarkerProvider<?, ?> createValueMarkerProvider() {
@@ -382,7 +423,13 @@ public class BallerinaDebugProcess extends XDebugProcess {
         return super.getEvaluator();
     }
 
-    private final List<XBreakpoint<BallerinaBreakpointProperties>> breakpoints = ContainerUtil.createConcurrentList();
+    private final BallerinaBreakpointIndex<XLineBreakpoint<BallerinaBreakpointProperties>> myBreakpointIndex =
+            new BallerinaBreakpointIndex<>();
+    // Location of each breakpoint which is sent to the debug server.
+    private final Map<XLineBreakpoint<BallerinaBreakpointProperties>, BreakPoint> myBreakpointLocations =
+            ContainerUtil.newConcurrentMap();
+    // Package path of each file which has breakpoints.
+    private final Map<VirtualFile, String> myPackagePaths = ContainerUtil.newConcurrentMap();
 
     private class BallerinaBreakpointHandler extends
             XBreakpointHandler<XLineBreakpoint<BallerinaBreakpointProperties>> {
@@ -397,63 +444,132 @@ public class BallerinaDebugProcess extends XDebugProcess {
             if (breakpointPosition == null) {
                 return;
             }
-            breakpoints.add(breakpoint);
-            sendBreakpoints();
+            BreakPoint location = ApplicationManager.getApplication().runReadAction(
+                    (Computable<BreakPoint>) () -> getLocation(breakpointPosition));
+            BreakPoint previous = myBreakpointLocations.put(breakpoint, location);
+            if (previous != null) {
+                myBreakpointIndex.remove(previous, breakpoint);
+                myBreakpointSync.remove(previous);
+            }
+            myBreakpointIndex.put(location, breakpoint);
+            myBreakpointSync.add(location);
             getSession().updateBreakpointPresentation(breakpoint, AllIcons.Debugger.Db_verified_breakpoint, null);
         }
 
         @Override
         public void unregisterBreakpoint(@NotNull XLineBreakpoint<BallerinaBreakpointProperties> breakpoint,
                                          boolean temporary) {
-            XSourcePosition breakpointPosition = breakpoint.getSourcePosition();
-            if (breakpointPosition == null) {
-                return;
+            // The position might have been changed after registering, so the sent location is removed.
+            BreakPoint location = myBreakpointLocations.remove(breakpoint);
+            if (location != null) {
+                myBreakpointIndex.remove(location, breakpoint);
+                myBreakpointSync.remove(location);
             }
-            breakpoints.remove(breakpoint);
-            sendBreakpoints();
         }
+    }
 
-        void sendBreakpoints() {
-            StringBuilder stringBuilder = new StringBuilder("{\"command\":\"").append(Command.SET_POINTS)
-                    .append("\", \"points\": [");
-            if (!getSession().areBreakpointsMuted()) {
-                ApplicationManager.getApplication().runReadAction(() -> {
-                    int size = breakpoints.size();
-                    for (int i = 0; i < size; i++) {
-                        XSourcePosition breakpointPosition = breakpoints.get(i).getSourcePosition();
-                        if (breakpointPosition == null) {
-                            return;
-                        }
-                        VirtualFile file = breakpointPosition.getFile();
-                        int line = breakpointPosition.getLine();
-                        Project project = getSession().getProject();
-
-                        String name = file.getName();
-                        String packagePath = ".";
-                        // Only get relative path if a package declaration is present in the file.
-                        PsiFile psiFile = PsiManager.getInstance(project).findFile(file);
-                        PackageDeclarationNode packageDeclarationNode = PsiTreeUtil.findChildOfType(psiFile,
-                                PackageDeclarationNode.class);
-                        if (packageDeclarationNode != null) {
-                            FullyQualifiedPackageNameNode packagePathNode =
-                                    PsiTreeUtil.getChildOfType(packageDeclarationNode,
-                                            FullyQualifiedPackageNameNode.class);
-                            if (packagePathNode != null && !packagePathNode.getText().isEmpty()) {
-                                packagePath = packagePathNode.getText();
-                            }
-                        }
+    @NotNull
+    private BreakPoint getLocation(@NotNull XSourcePosition breakpointPosition) {
+        VirtualFile file = breakpointPosition.getFile();
+        String packagePath = myPackagePaths.computeIfAbsent(file, this::getPackagePath);
+        return new BreakPoint(packagePath, file.getName(), breakpointPosition.getLine() + 1);
+    }
 
-                        stringBuilder.append("{\"packagePath\":\"").append(packagePath).append("\", ");
-                        stringBuilder.append("\"fileName\":\"").append(name).append("\", ");
-                        stringBuilder.append("\"lineNumber\":").append(line + 1).append("}");
-                        if (i < size - 1) {
-                            stringBuilder.append(",");
-                        }
-                    }
-                });
+    @NotNull
+    private String getPackagePath(@NotNull VirtualFile file) {
+        // Only get relative path if a package declaration is present in the file.
+        PsiFile psiFile = PsiManager.getInstance(getSession().getProject()).findFile(file);
+        PackageDeclarationNode packageDeclarationNode = PsiTreeUtil.findChildOfType(psiFile,
+                PackageDeclarationNode.class);
+        if (packageDeclarationNode != null) {
+            FullyQualifiedPackageNameNode packagePathNode = PsiTreeUtil.getChildOfType(packageDeclarationNode,
+                    FullyQualifiedPackageNameNode.class);
+            if (packagePathNode != null) {
+                return BallerinaBreakpointIndex.normalizePackagePath(packagePathNode.getText());
+            }
+        }
+        return ".";
+    }
+
+    /**
+     * Updates the locations of the breakpoints in a file when the package declaration of the file is changed.
+     */
+    private void updateLocations(@NotNull VirtualFile file) {
+        String oldPackagePath = myPackagePaths.get(file);
+        if (oldPackagePath == null) {
+            return;
+        }
+        String packagePath = getPackagePath(file);
+        if (packagePath.equals(oldPackagePath)) {
+            return;
+        }
+        myPackagePaths.put(file, packagePath);
+        for (Map.Entry<XLineBreakpoint<BallerinaBreakpointProperties>, BreakPoint> entry :
+                myBreakpointLocations.entrySet()) {
+            BreakPoint oldLocation = entry.getValue();
+            XSourcePosition position = entry.getKey().getSourcePosition();
+            if (position == null || !file.equals(position.getFile())) {
+                continue;
+            }
+            BreakPoint location = new BreakPoint(packagePath, oldLocation.getFileName(),
+                    oldLocation.getLineNumber());
+            if (myBreakpointLocations.replace(entry.getKey(), oldLocation, location)) {
+                myBreakpointIndex.remove(oldLocation, entry.getKey());
+                myBreakpointIndex.put(location, entry.getKey());
+                myBreakpointSync.remove(oldLocation);
+                myBreakpointSync.add(location);
+            }
+        }
+    }
+
+    /**
+     * Listens to the changes in the package declarations of the files which have breakpoints.
+     */
+    private class PackageDeclarationListener extends PsiTreeChangeAdapter {
+
+        @Override
+        public void childAdded(@NotNull PsiTreeChangeEvent event) {
+            processChange(event);
+        }
+
+        @Override
+        public void childRemoved(@NotNull PsiTreeChangeEvent event) {
+            processChange(event);
+        }
+
+        @Override
+        public void childReplaced(@NotNull PsiTreeChangeEvent event) {
+            processChange(event);
+        }
+
+        @Override
+        public void childMoved(@NotNull PsiTreeChangeEvent event) {
+            processChange(event);
+        }
+
+        @Override
+        public void childrenChanged(@NotNull PsiTreeChangeEvent event) {
+            processChange(event);
+        }
+
+        private void processChange(@NotNull PsiTreeChangeEvent event) {
+            PsiFile file = event.getFile();
+            if (file == null || file.getVirtualFile() == null
+                    || !myPackagePaths.containsKey(file.getVirtualFile())) {
+                return;
+            }
+            if (isPackageDeclarationChange(event)) {
+                updateLocations(file.getVirtualFile());
+            }
+        }
+
+        private boolean isPackageDeclarationChange(@NotNull PsiTreeChangeEvent event) {
+            PsiElement parent = event.getParent();
+            // Changes in the top level can add or remove the package declaration.
+            if (parent == null || parent instanceof PsiFile || parent.getParent() instanceof PsiFile) {
+                return true;
             }
-            stringBuilder.append("]}");
-            myConnector.send(stringBuilder.toString());
+            return PsiTreeUtil.getParentOfType(parent, PackageDeclarationNode.class, false) != null;
         }
     }
 
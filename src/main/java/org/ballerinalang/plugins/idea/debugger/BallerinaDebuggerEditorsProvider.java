@@ -17,9 +17,12 @@
 package org.ballerinalang.plugins.idea.debugger;
 
 import com.intellij.openapi.fileTypes.FileType;
+import com.intellij.openapi.fileTypes.PlainTextFileType;
 import com.intellij.openapi.project.Project;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiFileFactory;
+import com.intellij.util.LocalTimeCounter;
 import com.intellij.xdebugger.evaluation.XDebuggerEditorsProviderBase;
 import org.ballerinalang.plugins.idea.BallerinaFileType;
 import org.jetbrains.annotations.NotNull;
@@ -33,7 +36,10 @@ public class BallerinaDebuggerEditorsProvider extends XDebuggerEditorsProviderBa
     @Override
     protected PsiFile createExpressionCodeFragment(@NotNull Project project, @NotNull String text,
                                                    @Nullable PsiElement context, boolean isPhysical) {
-        return null;
+        // Expressions are not valid top level Ballerina code. So they are edited as plain text to avoid showing syntax
+        // errors in the watches and the evaluate expression dialog.
+        return PsiFileFactory.getInstance(project).createFileFromText("fragment.txt", PlainTextFileType.INSTANCE, text,
+                LocalTimeCounter.currentTime(), isPhysical);
     }
 
     @NotNull
@@ -0,0 +1,64 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.plugins.idea.debugger;
+
+import com.intellij.icons.AllIcons;
+import com.intellij.xdebugger.XSourcePosition;
+import com.intellij.xdebugger.evaluation.XDebuggerEvaluator;
+import org.ballerinalang.plugins.idea.debugger.dto.Variable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Evaluates watches and expressions in a stack frame using the debug server.
+ */
+public class BallerinaDebuggerEvaluator extends XDebuggerEvaluator {
+
+    @NotNull
+    private final BallerinaDebugProcess myProcess;
+    @NotNull
+    private final String myThreadId;
+    private final int myFrameIndex;
+    @NotNull
+    private final String myFrameName;
+
+    BallerinaDebuggerEvaluator(@NotNull BallerinaDebugProcess process, @NotNull String threadId, int frameIndex,
+                               @NotNull String frameName) {
+        myProcess = process;
+        myThreadId = threadId;
+        myFrameIndex = frameIndex;
+        myFrameName = frameName;
+    }
+
+    @Override
+    public void evaluate(@NotNull String expression, @NotNull XEvaluationCallback callback,
+                         @Nullable XSourcePosition expressionPosition) {
+        myProcess.getEvaluationRequests().evaluate(myThreadId, myFrameIndex, expression,
+                new BallerinaEvaluationRequests.Callback() {
+                    @Override
+                    public void evaluated(@NotNull Variable result) {
+                        callback.evaluated(new BallerinaXValue(myProcess, myThreadId, myFrameName, result,
+                                AllIcons.Debugger.Watch));
+                    }
+
+                    @Override
+                    public void failed(@NotNull String error) {
+                        callback.errorOccurred(error);
+                    }
+                });
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.plugins.idea.debugger;
+
+import com.intellij.util.containers.ContainerUtil;
+import org.ballerinalang.plugins.idea.debugger.dto.Variable;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluates expressions using the debug server. Expressions which are evaluated in the same frame within the batch
+ * delay, like the watches which are evaluated when the program is suspended, are sent in a single request.
+ * <p>
+ * Successful results are cached until the program is resumed, so the same expression is not evaluated again when the
+ * tree is redrawn. Each suspension is an epoch and starting a new epoch clears the cache.
+ */
+public class BallerinaEvaluationRequests {
+
+    /**
+     * Receives the result of an evaluation.
+     */
+    public interface Callback {
+
+        void evaluated(@NotNull Variable result);
+
+        void failed(@NotNull String error);
+    }
+
+    private final BallerinaVariableRequests myRequests;
+    private final ScheduledExecutorService myScheduler;
+    private final long myBatchDelayMillis;
+
+    private final Object myLock = new Object();
+    // Results of the current epoch keyed by the frame and the expression.
+    private final Map<String, Variable> myResults = ContainerUtil.newHashMap();
+    // Expressions which are waiting to be sent, keyed by the frame.
+    private final Map<String, Batch> myBatches = ContainerUtil.newHashMap();
+    private int myEpoch;
+
+    /**
+     * @param requests         used to send the expressions to the debug server
+     * @param scheduler        used to send the batched expressions
+     * @param batchDelayMillis time to wait for more expressions before sending them
+     */
+    public BallerinaEvaluationRequests(@NotNull BallerinaVariableRequests requests,
+                                       @NotNull ScheduledExecutorService scheduler, long batchDelayMillis) {
+        myRequests = requests;
+        myScheduler = scheduler;
+        myBatchDelayMillis = batchDelayMillis;
+    }
+
+    /**
+     * Evaluates an expression in a frame. Cached results are passed to the callback immediately.
+     */
+    public void evaluate(@NotNull String threadId, int frameIndex, @NotNull String expression,
+                         @NotNull Callback callback) {
+        String frameKey = threadId + '\n' + frameIndex;
+        Variable cached;
+        synchronized (myLock) {
+            cached = myResults.get(frameKey + '\n' + expression);
+            if (cached == null) {
+                Batch batch = myBatches.get(frameKey);
+                if (batch == null) {
+                    batch = new Batch(threadId, frameIndex);
+                    myBatches.put(frameKey, batch);
+                    batch.myScheduledSend = myScheduler.schedule(() -> send(frameKey), myBatchDelayMillis,
+                            TimeUnit.MILLISECONDS);
+                }
+                batch.myCallbacks.computeIfAbsent(expression, e -> new ArrayList<>()).add(callback);
+                return;
+            }
+        }
+        deliver(cached, callback);
+    }
+
+    /**
+     * Starts a new epoch. Called when the program is resumed, since the results are not valid after that. Expressions
+     * which are not sent yet are failed.
+     *
+     * @param reason error message passed to the callbacks of the expressions which are not sent yet
+     */
+    public void newEpoch(@NotNull String reason) {
+        List<Batch> batches;
+        synchronized (myLock) {
+            myEpoch++;
+            myResults.clear();
+            batches = new ArrayList<>(myBatches.values());
+            myBatches.clear();
+        }
+        for (Batch batch : batches) {
+            batch.myScheduledSend.cancel(false);
+            for (List<Callback> callbacks : batch.myCallbacks.values()) {
+                for (Callback callback : callbacks) {
+                    callback.failed(reason);
+                }
+            }
+        }
+    }
+
+    private void send(@NotNull String frameKey) {
+        Batch batch;
+        int epoch;
+        synchronized (myLock) {
+            batch = myBatches.remove(frameKey);
+            epoch = myEpoch;
+        }
+        if (batch == null) {
+            return;
+        }
+        List<String> expressions = new ArrayList<>(batch.myCallbacks.keySet());
+        myRequests.evaluate(batch.myThreadId, batch.myFrameIndex, expressions, new BallerinaVariableRequests.Handler() {
+            @Override
+            public void received(@NotNull List<Variable> results) {
+                for (int i = 0; i < expressions.size(); i++) {
+                    String expression = expressions.get(i);
+                    Variable received = i < results.size() ? results.get(i) : null;
+                    // The name of the result is shown in the tree, so a copy is named after the expression.
+                    Variable result = received != null ? copy(received) : new Variable();
+                    result.setName(expression);
+                    if (received == null) {
+                        result.setError("Result is not available.");
+                    }
+                    synchronized (myLock) {
+                        // Results received after resuming are not cached. Errors are not cached either, since they
+                        // might be transient.
+                        if (epoch == myEpoch && result.getError() == null) {
+                            myResults.put(frameKey + '\n' + expression, result);
+                        }
+                    }
+                    for (Callback callback : batch.myCallbacks.get(expression)) {
+                        deliver(result, callback);
+                    }
+                }
+            }
+
+            @Override
+            public void failed(@NotNull String error) {
+                for (List<Callback> callbacks : batch.myCallbacks.values()) {
+                    for (Callback callback : callbacks) {
+                        callback.failed(error);
+                    }
+                }
+            }
+        });
+    }
+
+    @NotNull
+    private static Variable copy(@NotNull Variable variable) {
+        Variable copy = new Variable();
+        copy.setScope(variable.getScope());
+        copy.setName(variable.getName());
+        copy.setType(variable.getType());
+        copy.setValue(variable.getValue());
+        copy.setChildren(variable.getChildren());
+        copy.setVariablesReference(variable.getVariablesReference());
+        copy.setChildCount(variable.getChildCount());
+        copy.setError(variable.getError());
+        return copy;
+    }
+
+    private static void deliver(@NotNull Variable result, @NotNull Callback callback) {
+        if (result.getError() != null) {
+            callback.failed(result.getError());
+        } else {
+            callback.evaluated(result);
+        }
+    }
+
+    private static class Batch {
+
+        private final String myThreadId;
+        private final int myFrameIndex;
+        private final Map<String, List<Callback>> myCallbacks = new LinkedHashMap<>();
+        private ScheduledFuture<?> myScheduledSend;
+
+        Batch(@NotNull String threadId, int frameIndex) {
+            myThreadId = threadId;
+            myFrameIndex = frameIndex;
+        }
+    }
+}
@@ -46,18 +46,33 @@ import java.util.Map;
 public class BallerinaStackFrame extends XStackFrame {
 
     private final BallerinaDebugProcess myProcess;
+    private final String myThreadId;
+    private final int myFrameIndex;
     private final Frame myFrame;
+    private final boolean myVariablesOnDemand;
+    private BallerinaDebuggerEvaluator myEvaluator;
 
-    BallerinaStackFrame(@NotNull BallerinaDebugProcess process, @NotNull Frame frame) {
+    BallerinaStackFrame(@NotNull BallerinaDebugProcess process, String threadId, int frameIndex, @NotNull Frame frame,
+                        boolean variablesOnDemand) {
         myProcess = process;
+        myThreadId = threadId;
+        myFrameIndex = frameIndex;
         myFrame = frame;
+        myVariablesOnDemand = variablesOnDemand;
     }
 
     @Nullable
     @Override
     public XDebuggerEvaluator getEvaluator() {
-        // Todo - Add evaluator support
-        return null;
+        // Debug servers which send all the variables eagerly do not support evaluating expressions.
+        if (!myVariablesOnDemand || myThreadId == null) {
+            return null;
+        }
+        if (myEvaluator == null) {
+            myEvaluator = new BallerinaDebuggerEvaluator(myProcess, myThreadId, myFrameIndex,
+                    myFrame.getFrameName() != null ? myFrame.getFrameName() : "");
+        }
+        return myEvaluator;
     }
 
     /**
@@ -122,6 +137,10 @@ public class BallerinaStackFrame extends XStackFrame {
      */
     @Override
     public void computeChildren(@NotNull XCompositeNode node) {
+        if (myVariablesOnDemand) {
+            computeScopesOnDemand(node);
+            return;
+        }
         // We categorize variables according to the scope. But we get all the variables in the stack. So we need to
         // distinguish values in each scope. In this Map, key will be the scope name. Value will be the list of
         // variables in that scope.
@@ -155,9 +174,33 @@ public class BallerinaStackFrame extends XStackFrame {
             // Set the children.
             scopeVariable.setChildren(variableList);
             // Add the variables to the children list using a ValueGroup.
-            xValueChildrenList.addBottomGroup(new BallerinaXValueGroup(myProcess, myFrame, scopeName, scopeVariable));
+            xValueChildrenList.addBottomGroup(new BallerinaXValueGroup(myProcess, myThreadId, myFrame, scopeName,
+                    scopeVariable));
             // Add the list to the node as children.
             node.addChildren(xValueChildrenList, true);
         });
     }
+
+    /**
+     * Requests the scopes of the frame from the debug server. Variables in each scope are requested when the scope is
+     * expanded.
+     */
+    private void computeScopesOnDemand(@NotNull XCompositeNode node) {
+        myProcess.getVariableRequests().getScopes(myThreadId, myFrameIndex, new BallerinaVariableRequests.Handler() {
+            @Override
+            public void received(@NotNull List<Variable> scopes) {
+                XValueChildrenList xValueChildrenList = new XValueChildrenList();
+                for (Variable scope : scopes) {
+                    xValueChildrenList.addBottomGroup(new BallerinaXValueGroup(myProcess, myThreadId, myFrame,
+                            scope.getName(), scope));
+                }
+                node.addChildren(xValueChildrenList, true);
+            }
+
+            @Override
+            public void failed(@NotNull String error) {
+                node.setErrorMessage(error);
+            }
+        });
+    }
 }
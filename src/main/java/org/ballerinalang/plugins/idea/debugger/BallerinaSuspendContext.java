@@ -22,21 +22,40 @@ import com.intellij.xdebugger.frame.XStackFrame;
 import com.intellij.xdebugger.frame.XSuspendContext;
 import org.ballerinalang.plugins.idea.debugger.dto.Frame;
 import org.ballerinalang.plugins.idea.debugger.dto.Message;
+import org.ballerinalang.plugins.idea.debugger.dto.Strand;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Collections;
 import java.util.List;
 
 /**
  * Represent a Ballerina suspended context. Created in debug hits.
+ * <p>
+ * If the debug server supports fetching information on demand, the other strands of the program are listed as
+ * separate execution stacks. Only their top frames are received with the list, and the rest of the frames are
+ * requested when a stack is selected.
+ * <p>
+ * The strands are listed asynchronously in {@link #computeExecutionStacks(XExecutionStackContainer)}, which is what
+ * the frames view uses. Until the strands are received, {@link #getExecutionStacks()} only returns the stack of the
+ * strand which was hit.
  */
 public class BallerinaSuspendContext extends XSuspendContext {
 
+    @NotNull
+    private final BallerinaDebugProcess myProcess;
     @NotNull
     private final BallerinaExecutionStack myStack;
+    private final boolean myOnDemand;
+    @NotNull
+    private volatile XExecutionStack[] myStacks;
 
     public BallerinaSuspendContext(@NotNull BallerinaDebugProcess process, @NotNull Message message) {
-        myStack = new BallerinaExecutionStack(process, message.getThreadId(), message.getFrames());
+        myProcess = process;
+        myOnDemand = message.isVariablesOnDemand();
+        myStack = new BallerinaExecutionStack(process, message.getThreadId(), null, message.getFrames(), myOnDemand,
+                true);
+        myStacks = new XExecutionStack[]{myStack};
     }
 
     @Nullable
@@ -48,7 +67,39 @@ public class BallerinaSuspendContext extends XSuspendContext {
     @NotNull
     @Override
     public XExecutionStack[] getExecutionStacks() {
-        return new XExecutionStack[]{myStack};
+        return myStacks;
+    }
+
+    @Override
+    public void computeExecutionStacks(@NotNull XExecutionStackContainer container) {
+        if (!myOnDemand) {
+            super.computeExecutionStacks(container);
+            return;
+        }
+        myProcess.getVariableRequests().getStrands(new BallerinaVariableRequests.StrandsHandler() {
+            @Override
+            public void received(@NotNull List<Strand> strands) {
+                List<XExecutionStack> stacks = ContainerUtil.newArrayListWithCapacity(strands.size() + 1);
+                stacks.add(myStack);
+                for (Strand strand : strands) {
+                    String threadId = strand.getThreadId();
+                    if (threadId == null || threadId.equals(myStack.getThreadId())) {
+                        continue;
+                    }
+                    stacks.add(new BallerinaExecutionStack(myProcess, threadId, strand.getName(), strand.getFrames(),
+                            true, false));
+                }
+                myStacks = stacks.toArray(new XExecutionStack[stacks.size()]);
+                container.addExecutionStack(stacks, true);
+            }
+
+            @Override
+            public void failed(@NotNull String error) {
+                // Debug servers which cannot list the strands, or do not answer in time, only show the strand which
+                // was hit.
+                container.addExecutionStack(Collections.singletonList(myStack), true);
+            }
+        });
     }
 
     static class BallerinaExecutionStack extends XExecutionStack {
@@ -58,15 +109,27 @@ public class BallerinaSuspendContext extends XSuspendContext {
         private final BallerinaDebugProcess myProcess;
         @NotNull
         private final List<BallerinaStackFrame> myStack;
+        private final boolean myVariablesOnDemand;
+        // Whether all the frames are available. Otherwise only the top frame is available.
+        private final boolean myComplete;
 
-        public BallerinaExecutionStack(@NotNull BallerinaDebugProcess process, String threadId, List<Frame> frames) {
-            super("Thread #" + threadId);
+        BallerinaExecutionStack(@NotNull BallerinaDebugProcess process, String threadId, @Nullable String name,
+                                List<Frame> frames, boolean variablesOnDemand, boolean complete) {
+            super(name == null || name.isEmpty() ? "Thread #" + threadId : name + " #" + threadId);
             this.threadId = threadId;
             this.myProcess = process;
-            this.myStack = ContainerUtil.newArrayListWithCapacity(frames.size());
-            for (Frame frame : frames) {
-                myStack.add(new BallerinaStackFrame(myProcess, frame));
+            this.myVariablesOnDemand = variablesOnDemand;
+            this.myComplete = complete;
+            this.myStack = createFrames(frames);
+        }
+
+        @NotNull
+        private List<BallerinaStackFrame> createFrames(@NotNull List<Frame> frames) {
+            List<BallerinaStackFrame> stack = ContainerUtil.newArrayListWithCapacity(frames.size());
+            for (int i = 0; i < frames.size(); i++) {
+                stack.add(new BallerinaStackFrame(myProcess, threadId, i, frames.get(i), myVariablesOnDemand));
             }
+            return stack;
         }
 
         @Nullable
@@ -77,7 +140,23 @@ public class BallerinaSuspendContext extends XSuspendContext {
 
         @Override
         public void computeStackFrames(int firstFrameIndex, @NotNull XStackFrameContainer container) {
-            container.addStackFrames(myStack, true);
+            if (myComplete) {
+                container.addStackFrames(myStack, true);
+                return;
+            }
+            myProcess.getVariableRequests().getFrames(threadId, new BallerinaVariableRequests.FramesHandler() {
+                @Override
+                public void received(@NotNull List<Frame> frames) {
+                    List<BallerinaStackFrame> stack = createFrames(frames);
+                    container.addStackFrames(stack.subList(Math.min(firstFrameIndex, stack.size()), stack.size()),
+                            true);
+                }
+
+                @Override
+                public void failed(@NotNull String error) {
+                    container.errorOccurred(error);
+                }
+            });
         }
 
         public String getThreadId() {
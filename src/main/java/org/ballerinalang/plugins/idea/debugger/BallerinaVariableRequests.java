@@ -0,0 +1,260 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.plugins.idea.debugger;
+
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.intellij.util.containers.ContainerUtil;
+import org.ballerinalang.plugins.idea.debugger.dto.Frame;
+import org.ballerinalang.plugins.idea.debugger.dto.Message;
+import org.ballerinalang.plugins.idea.debugger.dto.Strand;
+import org.ballerinalang.plugins.idea.debugger.dto.Variable;
+import org.ballerinalang.plugins.idea.debugger.protocol.Command;
+import org.ballerinalang.plugins.idea.debugger.protocol.Response;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Requests variable scopes and variables from the debug server when the variables are fetched on demand. Responses
+ * are matched with the requests using the request ID. Variable references are only valid while the program is
+ * suspended, so all pending requests are cancelled when the program is resumed.
+ * <p>
+ * The strands and their frames are requested the same way, since they are also only valid while the program is
+ * suspended. Debug servers which do not support listing the strands might not respond with the request ID, so the
+ * strands request fails if it is not answered within a timeout.
+ */
+public class BallerinaVariableRequests {
+
+    /**
+     * Receives the response of a request. Called from the thread which received the response.
+     */
+    public interface Handler {
+
+        void received(@NotNull List<Variable> variables);
+
+        void failed(@NotNull String error);
+    }
+
+    /**
+     * Receives the strands of the program. Called from the thread which received the response.
+     */
+    public interface StrandsHandler {
+
+        void received(@NotNull List<Strand> strands);
+
+        void failed(@NotNull String error);
+    }
+
+    /**
+     * Receives the frames of a strand. Called from the thread which received the response.
+     */
+    public interface FramesHandler {
+
+        void received(@NotNull List<Frame> frames);
+
+        void failed(@NotNull String error);
+    }
+
+    private interface ResponseHandler {
+
+        void received(@NotNull Message message);
+
+        void failed(@NotNull String error);
+    }
+
+    // Milliseconds to wait for the strands before showing only the strand which was hit.
+    private static final long STRANDS_TIMEOUT = 2000;
+
+    private final Consumer<String> mySender;
+    private final ScheduledExecutorService myScheduler;
+    private final long myStrandsTimeout;
+    private final AtomicInteger myNextRequestId = new AtomicInteger();
+    private final Map<Integer, ResponseHandler> myPendingRequests = ContainerUtil.newConcurrentMap();
+
+    /**
+     * @param sender used to send the requests to the debug server
+     */
+    public BallerinaVariableRequests(@NotNull Consumer<String> sender) {
+        this(sender, AppExecutorUtil.getAppScheduledExecutorService(), STRANDS_TIMEOUT);
+    }
+
+    /**
+     * @param sender         used to send the requests to the debug server
+     * @param scheduler      used to fail the strands request when it is not answered
+     * @param strandsTimeout milliseconds to wait for the strands
+     */
+    public BallerinaVariableRequests(@NotNull Consumer<String> sender, @NotNull ScheduledExecutorService scheduler,
+                                     long strandsTimeout) {
+        mySender = sender;
+        myScheduler = scheduler;
+        myStrandsTimeout = strandsTimeout;
+    }
+
+    /**
+     * Requests the variable scopes of a frame. Each scope is received as a variable which has a variables reference.
+     */
+    public void getScopes(@NotNull String threadId, int frameIndex, @NotNull Handler handler) {
+        int requestId = register(handler);
+        mySender.accept("{\"command\":\"" + Command.GET_SCOPES + "\", \"requestId\":" + requestId +
+                ", \"threadId\":\"" + threadId + "\", \"frameIndex\":" + frameIndex + "}");
+    }
+
+    /**
+     * Requests a page of the children of a scope or a variable.
+     *
+     * @param threadId           thread which is suspended
+     * @param variablesReference variables reference of the scope or the variable
+     * @param start              index of the first child
+     * @param count              maximum number of children to send
+     * @param handler            receives the children
+     */
+    public void getVariables(@NotNull String threadId, long variablesReference, int start, int count,
+                             @NotNull Handler handler) {
+        int requestId = register(handler);
+        mySender.accept("{\"command\":\"" + Command.GET_VARIABLES + "\", \"requestId\":" + requestId +
+                ", \"threadId\":\"" + threadId + "\", \"variablesReference\":" + variablesReference +
+                ", \"start\":" + start + ", \"count\":" + count + "}");
+    }
+
+    /**
+     * Requests all the strands of the suspended program with their top frames. The handler fails if the strands are
+     * not received within the timeout.
+     */
+    public void getStrands(@NotNull StrandsHandler handler) {
+        int requestId = register(new ResponseHandler() {
+            @Override
+            public void received(@NotNull Message message) {
+                handler.received(message.getStrands());
+            }
+
+            @Override
+            public void failed(@NotNull String error) {
+                handler.failed(error);
+            }
+        });
+        mySender.accept("{\"command\":\"" + Command.GET_STRANDS + "\", \"requestId\":" + requestId + "}");
+        myScheduler.schedule(() -> fail(requestId, "Strands are not available."), myStrandsTimeout,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Requests all the frames of a strand.
+     */
+    public void getFrames(@NotNull String threadId, @NotNull FramesHandler handler) {
+        int requestId = register(new ResponseHandler() {
+            @Override
+            public void received(@NotNull Message message) {
+                handler.received(message.getFrames());
+            }
+
+            @Override
+            public void failed(@NotNull String error) {
+                handler.failed(error);
+            }
+        });
+        mySender.accept("{\"command\":\"" + Command.GET_FRAMES + "\", \"requestId\":" + requestId +
+                ", \"threadId\":\"" + threadId + "\"}");
+    }
+
+    /**
+     * Evaluates expressions in a frame. The results are received as variables in the same order as the expressions.
+     * Results of the expressions which could not be evaluated have an error.
+     */
+    public void evaluate(@NotNull String threadId, int frameIndex, @NotNull List<String> expressions,
+                         @NotNull Handler handler) {
+        int requestId = register(handler);
+        StringBuilder stringBuilder = new StringBuilder("{\"command\":\"").append(Command.EVALUATE)
+                .append("\", \"requestId\":").append(requestId).append(", \"threadId\":\"").append(threadId)
+                .append("\", \"frameIndex\":").append(frameIndex).append(", \"expressions\":[");
+        for (int i = 0; i < expressions.size(); i++) {
+            if (i > 0) {
+                stringBuilder.append(", ");
+            }
+            stringBuilder.append('"').append(StringUtil.escapeStringCharacters(expressions.get(i))).append('"');
+        }
+        mySender.accept(stringBuilder.append("]}").toString());
+    }
+
+    private int register(@NotNull Handler handler) {
+        return register(new ResponseHandler() {
+            @Override
+            public void received(@NotNull Message message) {
+                handler.received(message.getVariables());
+            }
+
+            @Override
+            public void failed(@NotNull String error) {
+                handler.failed(error);
+            }
+        });
+    }
+
+    private int register(@NotNull ResponseHandler handler) {
+        // Request ID 0 is used for messages which are not responses.
+        int requestId = myNextRequestId.incrementAndGet();
+        myPendingRequests.put(requestId, handler);
+        return requestId;
+    }
+
+    /**
+     * Passes the message to the handler of the matching request.
+     *
+     * @param message message received from the debug server
+     * @return {@code true} if the message is a response to a request
+     */
+    public boolean handleResponse(@NotNull Message message) {
+        int requestId = message.getRequestId();
+        if (requestId == 0) {
+            return false;
+        }
+        // Requests might be cancelled already.
+        ResponseHandler handler = myPendingRequests.remove(requestId);
+        if (handler != null) {
+            if (Response.ERROR.name().equals(message.getCode()) || Response.INVALID.name().equals(message.getCode())) {
+                handler.failed(message.getMessage() != null ? message.getMessage() : "Information is not available.");
+            } else {
+                handler.received(message);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Fails all pending requests.
+     *
+     * @param reason error message shown in the pending nodes
+     */
+    public void cancelAll(@NotNull String reason) {
+        for (Integer requestId : myPendingRequests.keySet()) {
+            fail(requestId, reason);
+        }
+    }
+
+    private void fail(int requestId, @NotNull String reason) {
+        // The request might be answered or cancelled already.
+        ResponseHandler handler = myPendingRequests.remove(requestId);
+        if (handler != null) {
+            handler.failed(reason);
+        }
+    }
+}
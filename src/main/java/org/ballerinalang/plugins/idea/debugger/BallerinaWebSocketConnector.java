@@ -35,23 +35,42 @@ public class BallerinaWebSocketConnector {
     private static final String DEBUG_PROTOCOL = "ws://";
     private static final String DEBUG_WEB_SOCKET_PATH = "/debug";
 
-    private WebSocketClient client;
+    private volatile WebSocketClient client;
     private String myAddress;
-    private ConnectionState myConnectionState;
+    private volatile ConnectionState myConnectionState;
 
     public BallerinaWebSocketConnector(@NotNull String address) {
         myAddress = address;
         myConnectionState = ConnectionState.NOT_CONNECTED;
     }
 
-    void createConnection(Callback callback) {
-        client = new WebSocketClient(getUri());
+    /**
+     * Makes a single connection attempt. All connections share the same event loop, so failed attempts do not leave
+     * any threads behind.
+     *
+     * @return {@code true} if connected
+     */
+    boolean createConnection(Callback callback) {
+        WebSocketClient newClient = new WebSocketClient(getUri());
+        myConnectionState = ConnectionState.CONNECTING;
         try {
-            client.handshake(callback);
-        } catch (InterruptedException | URISyntaxException | SSLException e) {
-            myConnectionState = ConnectionState.CONNECTING;
+            if (newClient.handshake(callback)) {
+                client = newClient;
+                myConnectionState = ConnectionState.CONNECTED;
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.debug(e);
+        } catch (URISyntaxException | SSLException e) {
             LOGGER.debug(e);
         }
+        try {
+            newClient.shutDown();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
     }
 
     @NotNull
@@ -76,6 +95,16 @@ public class BallerinaWebSocketConnector {
         }
     }
 
+    /**
+     * Sends the start command. Debug servers which support fetching variables on demand only send the frame headers
+     * in debug hits after this. Other debug servers ignore the flag and send all the variables.
+     */
+    void sendStartCommand() {
+        if (isConnected()) {
+            client.sendText("{\"command\":\"" + Command.START + "\", \"variablesOnDemand\":true}");
+        }
+    }
+
     private String generateRequest(Command command) {
         return "{\"command\":\"" + command + "\"}";
     }
@@ -99,6 +128,7 @@ public class BallerinaWebSocketConnector {
             if (client != null) {
                 client.shutDown();
             }
+            myConnectionState = ConnectionState.DISCONNECTED;
         } catch (InterruptedException e) {
             LOGGER.debug(e);
         }
@@ -48,6 +48,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
+import java.util.function.IntConsumer;
 import java.util.regex.Pattern;
 
 import javax.swing.Icon;
@@ -59,17 +60,22 @@ public class BallerinaXValue extends XNamedValue {
 
     @NotNull
     private final BallerinaDebugProcess myProcess;
+    @Nullable
+    private final String myThreadId;
     @NotNull
     private final Variable myVariable;
     @NotNull
     private final String myFrameName;
     @Nullable
     private final Icon myIcon;
+    // Index of the first child which is not fetched yet when the children are fetched on demand.
+    private volatile int myNextChild;
 
-    BallerinaXValue(@NotNull BallerinaDebugProcess process, @NotNull String frameName,
+    BallerinaXValue(@NotNull BallerinaDebugProcess process, @Nullable String threadId, @NotNull String frameName,
                     @NotNull Variable variable, @Nullable Icon icon) {
         super(variable.getName());
         myProcess = process;
+        myThreadId = threadId;
         myFrameName = frameName;
         myVariable = variable;
         myIcon = icon;
@@ -82,6 +88,9 @@ public class BallerinaXValue extends XNamedValue {
         if (myVariable.getValue() == null && myVariable.getChildren() != null) {
             hasChildren = true;
         }
+        if (myVariable.hasChildrenOnDemand()) {
+            hasChildren = true;
+        }
         node.setPresentation(myIcon, presentation, hasChildren);
     }
 
@@ -89,16 +98,59 @@ public class BallerinaXValue extends XNamedValue {
     public void computeChildren(@NotNull XCompositeNode node) {
         List<Variable> children = myVariable.getChildren();
         if (children == null) {
-            super.computeChildren(node);
+            if (myVariable.hasChildrenOnDemand() && myThreadId != null) {
+                // Called again with the same value when the next page is requested.
+                computeChildrenOnDemand(myProcess, myThreadId, myFrameName, myVariable, myNextChild, node,
+                        next -> myNextChild = next);
+            } else {
+                super.computeChildren(node);
+            }
         } else {
             XValueChildrenList list = new XValueChildrenList();
             for (Variable child : children) {
-                list.add(child.getName(), new BallerinaXValue(myProcess, myFrameName, child, AllIcons.Nodes.Field));
+                list.add(child.getName(), new BallerinaXValue(myProcess, myThreadId, myFrameName, child,
+                        AllIcons.Nodes.Field));
             }
             node.addChildren(list, true);
         }
     }
 
+    /**
+     * Requests a page of the children of the given variable from the debug server and adds them to the node. If the
+     * variable has more children, the node shows a link which requests the next page.
+     *
+     * @param start     index of the first child in the page
+     * @param nextChild receives the index of the first child in the next page
+     */
+    static void computeChildrenOnDemand(@NotNull BallerinaDebugProcess process, @NotNull String threadId,
+                                        @NotNull String frameName, @NotNull Variable variable, int start,
+                                        @NotNull XCompositeNode node, @NotNull IntConsumer nextChild) {
+        process.getVariableRequests().getVariables(threadId, variable.getVariablesReference(), start,
+                XCompositeNode.MAX_CHILDREN_TO_SHOW, new BallerinaVariableRequests.Handler() {
+                    @Override
+                    public void received(@NotNull List<Variable> variables) {
+                        XValueChildrenList list = new XValueChildrenList();
+                        for (Variable child : variables) {
+                            list.add(child.getName(), new BallerinaXValue(process, threadId, frameName, child,
+                                    AllIcons.Nodes.Field));
+                        }
+                        int next = start + variables.size();
+                        nextChild.accept(next);
+                        int remaining = variable.getChildCount() - next;
+                        boolean last = variables.isEmpty() || remaining <= 0;
+                        node.addChildren(list, last);
+                        if (!last) {
+                            node.tooManyChildren(remaining);
+                        }
+                    }
+
+                    @Override
+                    public void failed(@NotNull String error) {
+                        node.setErrorMessage(error);
+                    }
+                });
+    }
+
     @Nullable
     @Override
     public XValueModifier getModifier() {
@@ -35,14 +35,18 @@ import javax.swing.Icon;
 public class BallerinaXValueGroup extends XValueGroup {
 
     private final BallerinaDebugProcess myProcess;
+    private final String myThreadId;
     private final Frame myFrame;
     private final Variable myVariable;
+    // Index of the first variable which is not fetched yet when the variables are fetched on demand.
+    private volatile int myNextChild;
 
-    protected BallerinaXValueGroup(@NotNull BallerinaDebugProcess myProcess, @NotNull Frame myFrame,
-                                   @NotNull String name, @NotNull Variable myVariable) {
+    protected BallerinaXValueGroup(@NotNull BallerinaDebugProcess myProcess, @Nullable String myThreadId,
+                                   @NotNull Frame myFrame, @NotNull String name, @NotNull Variable myVariable) {
         super(name);
         this.myVariable = myVariable;
         this.myProcess = myProcess;
+        this.myThreadId = myThreadId;
         this.myFrame = myFrame;
     }
 
@@ -62,11 +66,16 @@ public class BallerinaXValueGroup extends XValueGroup {
     public void computeChildren(@NotNull XCompositeNode node) {
         List<Variable> children = myVariable.getChildren();
         if (children == null) {
-            super.computeChildren(node);
+            if (myVariable.hasChildrenOnDemand() && myThreadId != null) {
+                BallerinaXValue.computeChildrenOnDemand(myProcess, myThreadId, myFrame.getFrameName(), myVariable,
+                        myNextChild, node, next -> myNextChild = next);
+            } else {
+                super.computeChildren(node);
+            }
         } else {
             XValueChildrenList list = new XValueChildrenList();
             for (Variable child : children) {
-                list.add(child.getName(), new BallerinaXValue(myProcess, myFrame.getFrameName(), child,
+                list.add(child.getName(), new BallerinaXValue(myProcess, myThreadId, myFrame.getFrameName(), child,
                         AllIcons.Nodes.Field));
             }
             node.addChildren(list, true);
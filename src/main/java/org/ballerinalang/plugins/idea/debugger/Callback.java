@@ -16,12 +16,16 @@
 
 package org.ballerinalang.plugins.idea.debugger;
 
+import org.ballerinalang.plugins.idea.debugger.dto.Message;
+import org.jetbrains.annotations.NotNull;
+
 /**
  * This is used to pass the callback function to
- * {@link org.ballerinalang.plugins.idea.debugger.client.WebSocketClientHandler} class.
+ * {@link org.ballerinalang.plugins.idea.debugger.client.WebSocketClient} class. Messages are decoded before calling
+ * the callback.
  */
 @FunctionalInterface
 public interface Callback {
 
-    void call(String response);
+    void call(@NotNull Message message);
 }
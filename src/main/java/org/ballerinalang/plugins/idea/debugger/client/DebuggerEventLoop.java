@@ -0,0 +1,50 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.plugins.idea.debugger.client;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Event loop which is shared by all debugger connections. Messages are decoded on a separate thread, so a single I/O
+ * thread is enough. The thread is a daemon thread, so the event loop does not need to be shut down.
+ */
+final class DebuggerEventLoop {
+
+    private static volatile EventLoopGroup ourGroup;
+
+    private DebuggerEventLoop() {
+
+    }
+
+    @NotNull
+    static EventLoopGroup getGroup() {
+        EventLoopGroup group = ourGroup;
+        if (group == null) {
+            synchronized (DebuggerEventLoop.class) {
+                group = ourGroup;
+                if (group == null) {
+                    group = new NioEventLoopGroup(1, new DefaultThreadFactory("Ballerina debugger", true));
+                    ourGroup = group;
+                }
+            }
+        }
+        return group;
+    }
+}
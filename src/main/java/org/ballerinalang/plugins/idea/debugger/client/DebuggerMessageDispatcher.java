@@ -0,0 +1,113 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.plugins.idea.debugger.client;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import org.ballerinalang.plugins.idea.debugger.Callback;
+import org.ballerinalang.plugins.idea.debugger.dto.Message;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Decodes the messages received from the debug server and passes them to the callback. Messages are decoded and
+ * handled one at a time on a dedicated thread, so large messages do not block the Netty event loop and the messages
+ * are handled in the order they were received.
+ */
+class DebuggerMessageDispatcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DebuggerMessageDispatcher.class);
+    private static final Gson GSON = new Gson();
+
+    static final String THREAD_NAME = "Ballerina debugger message dispatcher";
+
+    private final Callback myCallback;
+    private final DebuggerMessageMetrics myMetrics;
+    private volatile boolean myShutDown;
+    private final ExecutorService myExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, THREAD_NAME);
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    DebuggerMessageDispatcher(@NotNull Callback callback, @NotNull DebuggerMessageMetrics metrics) {
+        myCallback = callback;
+        myMetrics = metrics;
+    }
+
+    /**
+     * Decodes the content of a complete text frame on the dispatcher thread. The content is released after decoding.
+     *
+     * @param content UTF-8 encoded JSON message. The caller passes the ownership of this buffer.
+     */
+    void dispatch(@NotNull ByteBuf content) {
+        try {
+            myExecutor.execute(() -> {
+                try {
+                    if (!myShutDown) {
+                        decodeAndCall(content);
+                    }
+                } finally {
+                    content.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // The client is shut down.
+            content.release();
+        }
+    }
+
+    private void decodeAndCall(@NotNull ByteBuf content) {
+        Message message;
+        // Parse directly from the buffer without copying the content into a string.
+        try (JsonReader reader = new JsonReader(new InputStreamReader(new ByteBufInputStream(content),
+                StandardCharsets.UTF_8))) {
+            message = GSON.fromJson(reader, Message.class);
+        } catch (JsonSyntaxException | JsonIOException | IOException e) {
+            myMetrics.malformedMessageReceived();
+            LOGGER.debug("Malformed debugger message : " + e.getMessage(), e);
+            return;
+        }
+        if (message == null) {
+            return;
+        }
+        try {
+            myCallback.call(message);
+        } catch (RuntimeException e) {
+            // Keep handling the next messages.
+            LOGGER.debug(e.getMessage(), e);
+        }
+    }
+
+    void shutDown() {
+        // Queued messages are skipped, but they still need to be released.
+        myShutDown = true;
+        myExecutor.shutdown();
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.plugins.idea.debugger.client;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters of the messages received from the debug server.
+ */
+public class DebuggerMessageMetrics {
+
+    private final AtomicInteger myMessages = new AtomicInteger();
+    private final AtomicInteger myMalformedMessages = new AtomicInteger();
+    private final AtomicLong myTotalBytes = new AtomicLong();
+    private final AtomicInteger myMaxMessageBytes = new AtomicInteger();
+
+    void messageReceived(int bytes) {
+        myMessages.incrementAndGet();
+        myTotalBytes.addAndGet(bytes);
+        myMaxMessageBytes.accumulateAndGet(bytes, Math::max);
+    }
+
+    void malformedMessageReceived() {
+        myMalformedMessages.incrementAndGet();
+    }
+
+    /**
+     * Returns the number of messages received. Fragmented messages are counted once.
+     */
+    public int getMessages() {
+        return myMessages.get();
+    }
+
+    public int getMalformedMessages() {
+        return myMalformedMessages.get();
+    }
+
+    /**
+     * Returns the total size of the received messages.
+     */
+    public long getTotalBytes() {
+        return myTotalBytes.get();
+    }
+
+    /**
+     * Returns the size of the largest message received.
+     */
+    public int getMaxMessageBytes() {
+        return myMaxMessageBytes.get();
+    }
+
+    @Override
+    public String toString() {
+        return "messages=" + getMessages() + ", malformed=" + getMalformedMessages() + ", totalBytes=" +
+                getTotalBytes() + ", maxMessageBytes=" + getMaxMessageBytes();
+    }
+}
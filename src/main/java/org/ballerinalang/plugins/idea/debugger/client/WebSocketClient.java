@@ -21,7 +21,6 @@ import io.netty.channel.Channel;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.codec.http.DefaultHttpHeaders;
@@ -29,6 +28,7 @@ import io.netty.handler.codec.http.HttpClientCodec;
 import io.netty.handler.codec.http.HttpObjectAggregator;
 import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
 import io.netty.handler.codec.http.websocketx.WebSocketClientHandshakerFactory;
+import io.netty.handler.codec.http.websocketx.WebSocketFrameAggregator;
 import io.netty.handler.codec.http.websocketx.WebSocketVersion;
 import io.netty.handler.codec.http.websocketx.extensions.compression.WebSocketClientCompressionHandler;
 import io.netty.handler.ssl.SslContext;
@@ -52,19 +52,33 @@ public class WebSocketClient {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(WebSocketClient.class);
 
+    // Maximum size of a message after aggregating the fragments. Variables with large values can be large.
+    private static final int MAX_MESSAGE_SIZE = 64 * 1024 * 1024;
+
     private Channel channel = null;
     private WebSocketClientHandler handler;
     private final Map<String, String> headers;
     private final String url;
-    private final EventLoopGroup group = new NioEventLoopGroup();
+    private final EventLoopGroup group;
+    private final DebuggerMessageMetrics metrics = new DebuggerMessageMetrics();
+    private DebuggerMessageDispatcher dispatcher;
 
     public WebSocketClient(String url) {
+        this(url, DebuggerEventLoop.getGroup());
+    }
+
+    /**
+     * @param url   URL of the server
+     * @param group event loop used by the connection. The group is not shut down when the client is shut down.
+     */
+    public WebSocketClient(String url, EventLoopGroup group) {
         this.url = url;
         this.headers = new HashMap<>();
+        this.group = group;
     }
 
     /**
-     * @param callback callback which should be called when a response is received.
+     * @param callback callback which should be called when a response is received. Called from a dedicated thread.
      * @return true if the handshake is done properly.
      * @throws URISyntaxException   throws if there is an error in the URI syntax.
      * @throws InterruptedException throws if the connecting the server is interrupted.
@@ -106,8 +120,10 @@ public class WebSocketClient {
             // Connect with V13 (RFC 6455 aka HyBi-17). You can change it to V08 or V00.
             // If you change it to V00, ping is not supported and remember to change
             // HttpResponseDecoder to WebSocketHttpResponseDecoder in the pipeline.
+            dispatcher = new DebuggerMessageDispatcher(callback, metrics);
+            // The maximum frame size is increased as well since servers can send large messages in a single frame.
             handler = new WebSocketClientHandler(WebSocketClientHandshakerFactory.newHandshaker(uri,
-                    WebSocketVersion.V13, null, true, httpHeaders), callback);
+                    WebSocketVersion.V13, null, true, httpHeaders, MAX_MESSAGE_SIZE), dispatcher, metrics);
 
             Bootstrap b = new Bootstrap();
             b.group(group)
@@ -123,6 +139,7 @@ public class WebSocketClient {
                                     new HttpClientCodec(),
                                     new HttpObjectAggregator(8192),
                                     WebSocketClientCompressionHandler.INSTANCE,
+                                    new WebSocketFrameAggregator(MAX_MESSAGE_SIZE),
                                     handler
                             );
                         }
@@ -132,7 +149,7 @@ public class WebSocketClient {
             isDone = handler.handshakeFuture().sync().isSuccess();
         } catch (Exception e) {
             LOGGER.debug("Handshake unsuccessful : " + e.getMessage(), e);
-            group.shutdownGracefully();
+            shutDown();
             return false;
         }
         LOGGER.debug("WebSocket Handshake successful: {}", isDone);
@@ -156,10 +173,24 @@ public class WebSocketClient {
         return handler.isConnected();
     }
 
+    /**
+     * Returns the metrics of the messages received from the server.
+     */
+    public DebuggerMessageMetrics getMetrics() {
+        return metrics;
+    }
+
     /**
      * Shutdown the WebSocket Client.
      */
     public void shutDown() throws InterruptedException {
-        group.shutdownGracefully();
+        LOGGER.debug("Debugger messages: {}", metrics);
+        // The event loop is shared with other connections.
+        if (channel != null) {
+            channel.close();
+        }
+        if (dispatcher != null) {
+            dispatcher.shutDown();
+        }
     }
 }
@@ -27,7 +27,6 @@ import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
 import io.netty.handler.codec.http.websocketx.WebSocketClientHandshaker;
 import io.netty.handler.codec.http.websocketx.WebSocketFrame;
 import io.netty.util.CharsetUtil;
-import org.ballerinalang.plugins.idea.debugger.Callback;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,13 +38,16 @@ public class WebSocketClientHandler extends SimpleChannelInboundHandler<Object>
     private static final Logger LOGGER = LoggerFactory.getLogger(WebSocketClient.class);
 
     private final WebSocketClientHandshaker handshaker;
-    private final Callback callback;
+    private final DebuggerMessageDispatcher dispatcher;
+    private final DebuggerMessageMetrics metrics;
     private ChannelPromise handshakeFuture;
     private boolean isConnected;
 
-    WebSocketClientHandler(WebSocketClientHandshaker handshaker, Callback callback) {
+    WebSocketClientHandler(WebSocketClientHandshaker handshaker, DebuggerMessageDispatcher dispatcher,
+                           DebuggerMessageMetrics metrics) {
         this.handshaker = handshaker;
-        this.callback = callback;
+        this.dispatcher = dispatcher;
+        this.metrics = metrics;
     }
 
     ChannelFuture handshakeFuture() {
@@ -87,10 +89,12 @@ public class WebSocketClientHandler extends SimpleChannelInboundHandler<Object>
 
         WebSocketFrame frame = (WebSocketFrame) msg;
         if (frame instanceof TextWebSocketFrame) {
-            TextWebSocketFrame textFrame = (TextWebSocketFrame) frame;
-            LOGGER.debug("WebSocket Client received text message: " + textFrame.text());
-            String textReceived = textFrame.text();
-            callback.call(textReceived);
+            // Fragmented messages are already aggregated into a single frame. Decoding is done by the dispatcher, so
+            // the content is retained until it is decoded.
+            int size = frame.content().readableBytes();
+            metrics.messageReceived(size);
+            LOGGER.debug("WebSocket Client received text message of {} bytes", size);
+            dispatcher.dispatch(frame.content().retain());
         } else if (frame instanceof CloseWebSocketFrame) {
             isConnected = false;
             LOGGER.debug("WebSocket Client received closing");
@@ -16,6 +16,8 @@
 
 package org.ballerinalang.plugins.idea.debugger.dto;
 
+import java.util.Objects;
+
 /**
  * Represent a breakpoint.
  */
@@ -25,6 +27,15 @@ public class BreakPoint {
     private String fileName;
     private int lineNumber = -1;
 
+    public BreakPoint() {
+    }
+
+    public BreakPoint(String packagePath, String fileName, int lineNumber) {
+        this.packagePath = packagePath;
+        this.fileName = fileName;
+        this.lineNumber = lineNumber;
+    }
+
     public String getPackagePath() {
         return packagePath;
     }
@@ -48,4 +59,30 @@ public class BreakPoint {
     public void setLineNumber(int lineNumber) {
         this.lineNumber = lineNumber;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        BreakPoint that = (BreakPoint) o;
+        return lineNumber == that.lineNumber && Objects.equals(packagePath, that.packagePath)
+                && Objects.equals(fileName, that.fileName);
+    }
+
+    @Override
+    public int hashCode() {
+        // Computed without Objects.hash() to avoid allocating when looking up breakpoints on debug hits.
+        int result = packagePath != null ? packagePath.hashCode() : 0;
+        result = 31 * result + (fileName != null ? fileName.hashCode() : 0);
+        return 31 * result + lineNumber;
+    }
+
+    @Override
+    public String toString() {
+        return packagePath + ":" + fileName + ":" + lineNumber;
+    }
 }
@@ -29,6 +29,11 @@ public class Message {
     private String threadId;
     private BreakPoint location;
     private List<Frame> frames = new ArrayList<>();
+    // Used when the variables are fetched on demand.
+    private boolean variablesOnDemand;
+    private int requestId;
+    private List<Variable> variables = new ArrayList<>();
+    private List<Strand> strands = new ArrayList<>();
 
     public String getCode() {
         return code;
@@ -65,4 +70,34 @@ public class Message {
     public List<Frame> getFrames() {
         return frames;
     }
+
+    /**
+     * Returns whether the frames only contain the headers and the variables should be requested when needed.
+     */
+    public boolean isVariablesOnDemand() {
+        return variablesOnDemand;
+    }
+
+    public void setVariablesOnDemand(boolean variablesOnDemand) {
+        this.variablesOnDemand = variablesOnDemand;
+    }
+
+    /**
+     * Returns the ID of the request which this message responds to. 0 if this is not a response to a request.
+     */
+    public int getRequestId() {
+        return requestId;
+    }
+
+    public void setRequestId(int requestId) {
+        this.requestId = requestId;
+    }
+
+    public List<Variable> getVariables() {
+        return variables;
+    }
+
+    public List<Strand> getStrands() {
+        return strands;
+    }
 }
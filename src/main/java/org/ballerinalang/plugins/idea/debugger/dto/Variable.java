@@ -26,6 +26,11 @@ public class Variable {
     private String scope, name;
     private String type, value;
     private List<Variable> children;
+    // Used to request the children when the variables are fetched on demand. 0 if there are no children.
+    private long variablesReference;
+    private int childCount;
+    // Set when evaluating an expression failed.
+    private String error;
 
     public String getScope() {
         return scope;
@@ -67,6 +72,37 @@ public class Variable {
         this.children = children;
     }
 
+    public long getVariablesReference() {
+        return variablesReference;
+    }
+
+    public void setVariablesReference(long variablesReference) {
+        this.variablesReference = variablesReference;
+    }
+
+    public int getChildCount() {
+        return childCount;
+    }
+
+    public void setChildCount(int childCount) {
+        this.childCount = childCount;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    /**
+     * Returns whether the children should be requested from the debug server.
+     */
+    public boolean hasChildrenOnDemand() {
+        return children == null && variablesReference > 0;
+    }
+
     public boolean isNumber() {
         return type != null && "BInteger".equals(type);
     }
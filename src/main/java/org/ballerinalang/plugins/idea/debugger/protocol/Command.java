@@ -22,7 +22,9 @@ package org.ballerinalang.plugins.idea.debugger.protocol;
 public enum Command {
 
     START("START"), STOP("STOP"), SET_POINTS("SET_POINTS"), STEP_OVER("STEP_OVER"), RESUME("RESUME"),
-    STEP_IN("STEP_IN"), STEP_OUT("STEP_OUT");
+    STEP_IN("STEP_IN"), STEP_OUT("STEP_OUT"), GET_SCOPES("GET_SCOPES"), GET_VARIABLES("GET_VARIABLES"),
+    ADD_POINTS("ADD_POINTS"), REMOVE_POINTS("REMOVE_POINTS"), GET_STRANDS("GET_STRANDS"), GET_FRAMES("GET_FRAMES"),
+    EVALUATE("EVALUATE");
 
     private String myCommand;
 
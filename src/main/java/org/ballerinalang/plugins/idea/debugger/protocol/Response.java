@@ -21,7 +21,9 @@ package org.ballerinalang.plugins.idea.debugger.protocol;
  */
 public enum Response {
 
-    DEBUG_HIT("DEBUG_HIT"), INVALID("INVALID"), ACK("ACK"), COMPLETE("COMPLETE"), EXIT("EXIT");
+    DEBUG_HIT("DEBUG_HIT"), INVALID("INVALID"), ACK("ACK"), COMPLETE("COMPLETE"), EXIT("EXIT"), SCOPES("SCOPES"),
+    VARIABLES("VARIABLES"), ERROR("ERROR"), STRANDS("STRANDS"), FRAMES("FRAMES"),
+    EVALUATION("EVALUATION");
 
     private String myResponseCode;
 
@@ -0,0 +1,491 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.plugins.idea.diagnostics;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.Computable;
+import com.intellij.openapi.util.Disposer;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiDirectory;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.containers.ContainerUtil;
+import org.ballerinalang.plugins.idea.BallerinaFileType;
+import org.ballerinalang.plugins.idea.project.BallerinaPackageRegistry;
+import org.ballerinalang.plugins.idea.psi.CompilationUnitNode;
+import org.ballerinalang.plugins.idea.psi.FullyQualifiedPackageNameNode;
+import org.ballerinalang.plugins.idea.psi.ImportDeclarationNode;
+import org.ballerinalang.plugins.idea.sdk.BallerinaSdkUtil;
+import org.ballerinalang.plugins.idea.util.BallerinaSourceOverlay;
+import org.ballerinalang.plugins.idea.util.Diagnostic;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compiles all packages in the project and the Ballerina path in the background. Packages are compiled in parallel
+ * using a bounded pool and the results are passed to the listeners as soon as each package is compiled. Results are
+ * cached using a hash of the contents of the package and the packages it imports directly or indirectly, so only
+ * modified packages and the packages which depend on them are compiled again.
+ */
+public class BallerinaCompileAllService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BallerinaCompileAllService.class);
+
+    private static final int MAX_PARALLEL_COMPILATIONS = 4;
+    private static final long WAIT_INTERVAL_MILLIS = 100;
+    private static final String HASH_ALGORITHM = "SHA-1";
+
+    /**
+     * Receives the progress of compile all runs. Methods are called from background threads.
+     */
+    public interface Listener {
+
+        /**
+         * Called when a run starts.
+         *
+         * @param packages number of packages which will be compiled or reused from the cache
+         */
+        default void started(int packages) {
+        }
+
+        /**
+         * Called when a package is compiled or when its cached diagnostics are reused.
+         */
+        default void packageCompiled(@NotNull BallerinaPackageDiagnostics diagnostics) {
+        }
+
+        /**
+         * Called when a run finishes or is cancelled.
+         */
+        default void finished(boolean cancelled) {
+        }
+    }
+
+    /**
+     * Returns the compiler worker of an SDK.
+     */
+    public interface WorkerProvider {
+
+        @Nullable
+        BallerinaCompilerWorker getWorker(@NotNull String sdkHome);
+    }
+
+    private final Project myProject;
+    private final WorkerProvider myWorkerProvider;
+    private final Map<String, BallerinaPackageDiagnostics> myResults = ContainerUtil.newConcurrentMap();
+    private final List<Listener> myListeners = ContainerUtil.createLockFreeCopyOnWriteList();
+    private final AtomicBoolean myRunning = new AtomicBoolean();
+
+    public BallerinaCompileAllService(@NotNull Project project) {
+        this(project, sdkHome -> BallerinaCompilerService.getInstance().getWorker(sdkHome));
+    }
+
+    public BallerinaCompileAllService(@NotNull Project project, @NotNull WorkerProvider workerProvider) {
+        myProject = project;
+        myWorkerProvider = workerProvider;
+    }
+
+    public static BallerinaCompileAllService getInstance(@NotNull Project project) {
+        return ServiceManager.getService(project, BallerinaCompileAllService.class);
+    }
+
+    public void addListener(@NotNull Listener listener, @NotNull Disposable parentDisposable) {
+        myListeners.add(listener);
+        Disposer.register(parentDisposable, () -> myListeners.remove(listener));
+    }
+
+    public boolean isRunning() {
+        return myRunning.get();
+    }
+
+    /**
+     * Returns the diagnostics of the last run.
+     */
+    @NotNull
+    public Collection<BallerinaPackageDiagnostics> getResults() {
+        return Collections.unmodifiableCollection(myResults.values());
+    }
+
+    /**
+     * Compiles all packages in the background. Does nothing if a run is already in progress.
+     *
+     * @param force whether to compile the packages which are not modified since the last run as well
+     */
+    public void compileAll(boolean force) {
+        if (!myRunning.compareAndSet(false, true)) {
+            return;
+        }
+        if (force) {
+            myResults.clear();
+        }
+        ProgressManager.getInstance().run(new Task.Backgroundable(myProject, "Compiling Ballerina packages", true) {
+
+            private boolean myCancelled = true;
+
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                compileAll(indicator);
+                myCancelled = false;
+            }
+
+            @Override
+            public void onFinished() {
+                myRunning.set(false);
+                for (Listener listener : myListeners) {
+                    listener.finished(myCancelled);
+                }
+            }
+        });
+    }
+
+    private void compileAll(@NotNull ProgressIndicator indicator) {
+        indicator.setText("Finding Ballerina packages");
+        List<Target> targets = ApplicationManager.getApplication().runReadAction((Computable<List<Target>>)
+                this::findTargets);
+        compileAll(targets, indicator);
+    }
+
+    /**
+     * Compiles the given packages in the calling thread. Packages which are not modified since the last run, along
+     * with the packages they import, reuse their previous diagnostics.
+     *
+     * @param targets   packages to compile
+     * @param indicator progress of the run
+     */
+    public void compileAll(@NotNull List<Target> targets, @NotNull ProgressIndicator indicator) {
+        Map<Target, String> hashes = getDependencyHashes(targets);
+        // Packages which are removed since the last run should not be shown anymore.
+        Set<String> keys = new LinkedHashSet<>();
+        for (Target target : targets) {
+            keys.add(target.myKey);
+        }
+        myResults.keySet().retainAll(keys);
+        for (Listener listener : myListeners) {
+            listener.started(targets.size());
+        }
+
+        int parallelism = Math.max(1, Math.min(MAX_PARALLEL_COMPILATIONS,
+                Runtime.getRuntime().availableProcessors() / 2));
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "Ballerina compile all");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger completed = new AtomicInteger();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Target target : targets) {
+                String hash = hashes.get(target);
+                BallerinaPackageDiagnostics cached = myResults.get(target.myKey);
+                if (cached != null && cached.getContentHash().equals(hash)) {
+                    publish(target, cached.asCached(), indicator, completed, targets.size());
+                    continue;
+                }
+                futures.add(executor.submit(() -> {
+                    if (indicator.isCanceled()) {
+                        return;
+                    }
+                    publish(target, compile(target, hash), indicator, completed, targets.size());
+                }));
+            }
+            for (Future<?> future : futures) {
+                while (true) {
+                    indicator.checkCanceled();
+                    try {
+                        future.get(WAIT_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                        break;
+                    } catch (TimeoutException ignored) {
+                        // Check for cancellation and wait again.
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new ProcessCanceledException();
+                    } catch (ExecutionException e) {
+                        LOGGER.debug(e.getMessage(), e);
+                        break;
+                    }
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void publish(@NotNull Target target, @NotNull BallerinaPackageDiagnostics diagnostics,
+                         @NotNull ProgressIndicator indicator, @NotNull AtomicInteger completed, int total) {
+        myResults.put(target.myKey, diagnostics);
+        indicator.setFraction((double) completed.incrementAndGet() / total);
+        indicator.setText2(target.myPackageName);
+        for (Listener listener : myListeners) {
+            listener.packageCompiled(diagnostics);
+        }
+    }
+
+    @NotNull
+    private BallerinaPackageDiagnostics compile(@NotNull Target target, @NotNull String hash) {
+        List<Diagnostic> diagnostics = new ArrayList<>();
+        BallerinaCompilerWorker worker = myWorkerProvider.getWorker(target.mySdkHome);
+        if (worker != null) {
+            // Diagnostics of imported packages are shown under those packages.
+            for (Diagnostic diagnostic : worker.getDiagnostics(target.mySourceRoot, target.myPackageName,
+                    target.myOverlay)) {
+                if (diagnostic.getSource() == null
+                        || target.myPackageName.equals(diagnostic.getSource().getPackageName())) {
+                    diagnostics.add(diagnostic);
+                }
+            }
+        }
+        return new BallerinaPackageDiagnostics(target.myDirectory, target.myPackageName, hash,
+                Collections.unmodifiableList(diagnostics), false);
+    }
+
+    /**
+     * Returns a hash of the contents of each package and the contents of all the packages it imports directly or
+     * indirectly. Diagnostics of a package can change when an imported package changes, for example when a function
+     * which is used by the package is removed. Imported packages which are not compiled, like the packages in the
+     * SDK, are not considered.
+     */
+    @NotNull
+    private static Map<Target, String> getDependencyHashes(@NotNull List<Target> targets) {
+        Map<String, List<Target>> packages = new HashMap<>();
+        for (Target target : targets) {
+            packages.computeIfAbsent(target.myPackageName, name -> new ArrayList<>()).add(target);
+        }
+        Map<Target, String> hashes = new HashMap<>();
+        for (Target target : targets) {
+            // Find all the packages which are imported directly or indirectly.
+            Set<Target> dependencies = new LinkedHashSet<>();
+            Deque<Target> queue = new ArrayDeque<>();
+            queue.add(target);
+            while (!queue.isEmpty()) {
+                for (String importPath : queue.poll().myImports) {
+                    for (Target dependency : packages.getOrDefault(importPath, Collections.emptyList())) {
+                        if (dependency != target && dependencies.add(dependency)) {
+                            queue.add(dependency);
+                        }
+                    }
+                }
+            }
+            if (dependencies.isEmpty()) {
+                hashes.put(target, target.myContentHash);
+                continue;
+            }
+            List<String> parts = new ArrayList<>();
+            for (Target dependency : dependencies) {
+                parts.add(dependency.myKey + '\n' + dependency.myContentHash);
+            }
+            Collections.sort(parts);
+            StringBuilder builder = new StringBuilder(target.myContentHash);
+            for (String part : parts) {
+                builder.append('\n').append(part);
+            }
+            hashes.put(target, getHash(builder.toString().getBytes(StandardCharsets.UTF_8)));
+        }
+        return hashes;
+    }
+
+    @NotNull
+    private List<Target> findTargets() {
+        ProjectFileIndex fileIndex = ProjectRootManager.getInstance(myProject).getFileIndex();
+        Set<VirtualFile> pathRoots = new LinkedHashSet<>(BallerinaSdkUtil.getBallerinaPathRoots(myProject, null));
+        for (Module module : BallerinaSdkUtil.getBallerinaModules(myProject)) {
+            pathRoots.addAll(BallerinaSdkUtil.getBallerinaPathRoots(myProject, module));
+        }
+
+        List<Target> targets = new ArrayList<>();
+        for (PsiDirectory directory : BallerinaPackageRegistry.getInstance(myProject).getAllPackages()) {
+            ProgressManager.checkCanceled();
+            VirtualFile packageDirectory = directory.getVirtualFile();
+            Module module = fileIndex.getModuleForFile(packageDirectory);
+            String sourceRoot;
+            if (fileIndex.isInContent(packageDirectory)) {
+                sourceRoot = BallerinaCompilerService.getSourceRoot(myProject, module);
+            } else {
+                // Packages in the SDK are not compiled.
+                VirtualFile pathRoot = findAncestor(pathRoots, packageDirectory);
+                sourceRoot = pathRoot != null ? pathRoot.getPath() : null;
+            }
+            String sdkHome = BallerinaCompilerService.getSdkHome(myProject, module);
+            if (sourceRoot == null || sdkHome == null) {
+                continue;
+            }
+            String packageName = BallerinaCompilerService.getPackageName(sourceRoot, packageDirectory);
+            List<PsiFile> files = new ArrayList<>();
+            Set<String> imports = new LinkedHashSet<>();
+            for (PsiFile file : directory.getFiles()) {
+                if (file.getFileType() == BallerinaFileType.INSTANCE) {
+                    files.add(file);
+                    imports.addAll(getImports(file));
+                }
+            }
+            if (packageName.isEmpty() || files.isEmpty()) {
+                continue;
+            }
+            String contentHash = getContentHash(files);
+            if (contentHash == null) {
+                continue;
+            }
+            targets.add(new Target(packageDirectory, packageName, sourceRoot, sdkHome,
+                    BallerinaSourceOverlay.create(files.get(0), true), contentHash, imports));
+        }
+        return targets;
+    }
+
+    /**
+     * Returns the paths of the packages which are imported by the given file.
+     */
+    @NotNull
+    private static List<String> getImports(@NotNull PsiFile file) {
+        List<String> imports = new ArrayList<>();
+        // Imports are always at the top of the file. So we only need to check the children of the compilation unit.
+        CompilationUnitNode compilationUnit = PsiTreeUtil.getChildOfType(file, CompilationUnitNode.class);
+        if (compilationUnit == null) {
+            return imports;
+        }
+        for (PsiElement child : compilationUnit.getChildren()) {
+            if (child instanceof ImportDeclarationNode) {
+                FullyQualifiedPackageNameNode packageNameNode = PsiTreeUtil.getChildOfType(child,
+                        FullyQualifiedPackageNameNode.class);
+                if (packageNameNode != null) {
+                    imports.add(packageNameNode.getText());
+                }
+            }
+        }
+        return imports;
+    }
+
+    @Nullable
+    private static VirtualFile findAncestor(@NotNull Collection<VirtualFile> roots, @NotNull VirtualFile file) {
+        for (VirtualFile root : roots) {
+            if (VfsUtilCore.isAncestor(root, file, false)) {
+                return root;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns a hash of the names and the contents of the given files. Unsaved contents are used if available.
+     */
+    @Nullable
+    private static String getContentHash(@NotNull List<PsiFile> files) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+            files.sort(Comparator.comparing(PsiFile::getName));
+            FileDocumentManager documentManager = FileDocumentManager.getInstance();
+            for (PsiFile file : files) {
+                VirtualFile virtualFile = file.getVirtualFile();
+                digest.update(file.getName().getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+                Document document = documentManager.getCachedDocument(virtualFile);
+                if (document != null) {
+                    digest.update(document.getText().getBytes(StandardCharsets.UTF_8));
+                } else {
+                    digest.update(virtualFile.contentsToByteArray());
+                }
+                digest.update((byte) 0);
+            }
+            return StringUtil.toHexString(digest.digest());
+        } catch (NoSuchAlgorithmException | IOException e) {
+            LOGGER.debug(e.getMessage(), e);
+            return null;
+        }
+    }
+
+    @NotNull
+    private static String getHash(@NotNull byte[] bytes) {
+        try {
+            return StringUtil.toHexString(MessageDigest.getInstance(HASH_ALGORITHM).digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform supports SHA-1.
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Package which should be compiled.
+     */
+    public static class Target {
+
+        private final VirtualFile myDirectory;
+        private final String myPackageName;
+        private final String mySourceRoot;
+        private final String mySdkHome;
+        private final BallerinaSourceOverlay myOverlay;
+        private final String myContentHash;
+        private final Collection<String> myImports;
+        private final String myKey;
+
+        /**
+         * @param contentHash hash of the contents of the package files
+         * @param imports     paths of the packages which are imported by the package files
+         */
+        public Target(@NotNull VirtualFile directory, @NotNull String packageName, @NotNull String sourceRoot,
+                      @NotNull String sdkHome, @NotNull BallerinaSourceOverlay overlay, @NotNull String contentHash,
+                      @NotNull Collection<String> imports) {
+            myDirectory = directory;
+            myPackageName = packageName;
+            mySourceRoot = sourceRoot;
+            mySdkHome = sdkHome;
+            myOverlay = overlay;
+            myContentHash = contentHash;
+            myImports = imports;
+            // Results depend on the SDK as well.
+            myKey = sdkHome + '\n' + directory.getPath();
+        }
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.plugins.idea.diagnostics;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.projectRoots.Sdk;
+import com.intellij.openapi.roots.ModuleRootManager;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.util.PathUtil;
+import org.ballerinalang.plugins.idea.BallerinaConstants;
+import org.ballerinalang.plugins.idea.sdk.BallerinaSdkService;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Keeps a warm compiler worker for each recently used Ballerina SDK. Workers are reused across diagnostics requests
+ * and the least recently used workers are released when too many SDKs are in use.
+ * <p>
+ * By default the compiler runs inside the IDE. If the {@code ballerina.diagnostics.daemon} system property is set to
+ * {@code true}, the compiler runs in a separate diagnostics daemon instead.
+ */
+public class BallerinaCompilerService implements Disposable {
+
+    private static final int MAX_WORKERS = 3;
+    private static final String DAEMON_PROPERTY = "ballerina.diagnostics.daemon";
+
+    /**
+     * Loads the compiler worker of an SDK.
+     */
+    public interface WorkerFactory {
+
+        /**
+         * @param sdkHome   home path of the SDK
+         * @param useDaemon whether the compiler should run in a diagnostics daemon
+         * @return compiler worker, or {@code null} if the compiler cannot be loaded
+         */
+        @Nullable
+        BallerinaCompilerWorker create(@NotNull String sdkHome, boolean useDaemon);
+    }
+
+    private final WorkerFactory myWorkerFactory;
+    private final Map<String, BallerinaCompilerWorker> myWorkers = new LinkedHashMap<>(MAX_WORKERS + 1, 0.75f, true);
+    private final Map<String, CompletableFuture<BallerinaCompilerWorker>> myLoadingWorkers = new HashMap<>();
+    // Incremented when the workers are cleared, so workers loaded for the old SDKs are not cached.
+    private int myGeneration;
+
+    public BallerinaCompilerService() {
+        this((sdkHome, useDaemon) -> useDaemon ? BallerinaDaemonCompilerWorker.create(sdkHome) :
+                BallerinaInProcessCompilerWorker.create(sdkHome));
+    }
+
+    public BallerinaCompilerService(@NotNull WorkerFactory workerFactory) {
+        myWorkerFactory = workerFactory;
+    }
+
+    public static BallerinaCompilerService getInstance() {
+        return ServiceManager.getService(BallerinaCompilerService.class);
+    }
+
+    /**
+     * Returns the home path of the SDK which is used to compile the files of the given module.
+     *
+     * @param project project which the files belong to
+     * @param module  module which the files belong to
+     * @return home path of the SDK, or {@code null} if an SDK is not configured
+     */
+    @Nullable
+    public static String getSdkHome(@NotNull Project project, @Nullable Module module) {
+        Sdk moduleSdk = module != null ? ModuleRootManager.getInstance(module).getSdk() : null;
+        String sdkHome;
+        if (moduleSdk != null) {
+            sdkHome = moduleSdk.getHomePath();
+        } else {
+            sdkHome = BallerinaSdkService.getInstance(project).getSdkHomePath(module);
+        }
+        return StringUtil.nullize(sdkHome);
+    }
+
+    /**
+     * Returns the source root which is passed to the compiler when compiling the files of the given module. This is
+     * the module root if the module file exists. Otherwise this is the project base path.
+     *
+     * @param project project which the files belong to
+     * @param module  module which the files belong to
+     * @return source root
+     */
+    @Nullable
+    public static String getSourceRoot(@NotNull Project project, @Nullable Module module) {
+        // If we are currently in a module, we need to set the module root as the source root.
+        if (module != null && FileUtil.exists(module.getModuleFilePath())) {
+            return StringUtil.trimEnd(PathUtil.getParentPath(module.getModuleFilePath()),
+                    BallerinaConstants.IDEA_CONFIG_DIRECTORY);
+        }
+        return project.getBasePath();
+    }
+
+    /**
+     * Returns the package name which corresponds to the given directory. The package name is the path of the
+     * directory relative to the source root, separated by dots.
+     *
+     * @param sourceRoot source root of the package
+     * @param directory  package directory
+     * @return package name. Empty if the directory is the source root or if it is not inside the source root
+     */
+    @NotNull
+    public static String getPackageName(@NotNull String sourceRoot, @NotNull VirtualFile directory) {
+        String root = StringUtil.trimEnd(FileUtil.toSystemIndependentName(sourceRoot), "/");
+        String directoryPath = directory.getPath();
+        if (!FileUtil.startsWith(directoryPath, root)) {
+            return "";
+        }
+        return StringUtil.trimStart(directoryPath.substring(root.length()), "/").replace('/', '.');
+    }
+
+    /**
+     * Returns the compiler worker of the given SDK. The compiler is loaded if it is not already loaded.
+     * <p>
+     * Compilers are loaded without holding the lock, so callers which use other SDKs are not blocked. Callers which
+     * request the same SDK while it is being loaded wait for that load.
+     *
+     * @param sdkHome home path of the SDK
+     * @return compiler worker if the compiler can be loaded from the SDK, {@code null} otherwise
+     */
+    @Nullable
+    public BallerinaCompilerWorker getWorker(@NotNull String sdkHome) {
+        boolean useDaemon = Boolean.getBoolean(DAEMON_PROPERTY);
+        String key = useDaemon ? sdkHome + File.pathSeparator + DAEMON_PROPERTY : sdkHome;
+        CompletableFuture<BallerinaCompilerWorker> loading;
+        int generation;
+        synchronized (myWorkers) {
+            BallerinaCompilerWorker worker = myWorkers.get(key);
+            if (worker != null) {
+                return worker;
+            }
+            loading = myLoadingWorkers.get(key);
+            if (loading != null) {
+                return await(loading);
+            }
+            loading = new CompletableFuture<>();
+            myLoadingWorkers.put(key, loading);
+            generation = myGeneration;
+        }
+
+        BallerinaCompilerWorker worker = null;
+        List<BallerinaCompilerWorker> evicted = new ArrayList<>();
+        try {
+            worker = myWorkerFactory.create(sdkHome, useDaemon);
+        } finally {
+            synchronized (myWorkers) {
+                myLoadingWorkers.remove(key, loading);
+                // Failures are not cached so the compiler is loaded again once the SDK is fixed.
+                if (worker != null) {
+                    if (generation == myGeneration) {
+                        myWorkers.put(key, worker);
+                        Iterator<BallerinaCompilerWorker> iterator = myWorkers.values().iterator();
+                        while (myWorkers.size() > MAX_WORKERS) {
+                            evicted.add(iterator.next());
+                            iterator.remove();
+                        }
+                    } else {
+                        // The SDKs were changed while loading, so the worker is not reused.
+                        evicted.add(worker);
+                    }
+                }
+            }
+            loading.complete(worker);
+        }
+        closeInBackground(evicted);
+        return worker;
+    }
+
+    @Nullable
+    private static BallerinaCompilerWorker await(@NotNull CompletableFuture<BallerinaCompilerWorker> loading) {
+        while (true) {
+            ProgressManager.checkCanceled();
+            try {
+                return loading.get(100, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException ignored) {
+                // Check whether the request is cancelled and wait again.
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } catch (ExecutionException e) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Releases all compiler workers. This is used when the SDKs are changed. Closing waits for ongoing compilations,
+     * so the workers are closed in a pooled thread.
+     */
+    public void clear() {
+        closeInBackground(removeAll());
+    }
+
+    @NotNull
+    private List<BallerinaCompilerWorker> removeAll() {
+        synchronized (myWorkers) {
+            myGeneration++;
+            List<BallerinaCompilerWorker> workers = new ArrayList<>(myWorkers.values());
+            myWorkers.clear();
+            return workers;
+        }
+    }
+
+    private static void closeInBackground(@NotNull List<BallerinaCompilerWorker> workers) {
+        if (!workers.isEmpty()) {
+            ApplicationManager.getApplication().executeOnPooledThread(
+                    () -> workers.forEach(BallerinaCompilerWorker::close));
+        }
+    }
+
+    @Override
+    public void dispose() {
+        // Pooled threads might not run after the application is disposed.
+        removeAll().forEach(BallerinaCompilerWorker::close);
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.plugins.idea.diagnostics;
+
+import org.ballerinalang.plugins.idea.util.BallerinaSourceOverlay;
+import org.ballerinalang.plugins.idea.util.Diagnostic;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Compiles Ballerina packages using the compiler of a single Ballerina SDK.
+ */
+public interface BallerinaCompilerWorker {
+
+    /**
+     * Compiles the given package or file and returns the diagnostics.
+     *
+     * @param sourceRoot  source root of the project or the module
+     * @param packageName name of the package or the name of the file if the file is not in a package
+     * @param overlay     unsaved contents of the package
+     * @return diagnostics of the package
+     */
+    @NotNull
+    List<Diagnostic> getDiagnostics(@Nullable String sourceRoot, @NotNull String packageName,
+                                    @NotNull BallerinaSourceOverlay overlay);
+
+    /**
+     * Releases the compiler.
+     */
+    void close();
+}
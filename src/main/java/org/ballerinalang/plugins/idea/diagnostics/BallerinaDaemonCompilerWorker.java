@@ -0,0 +1,257 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.plugins.idea.diagnostics;
+
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.util.PathUtil;
+import org.ballerinalang.plugins.idea.util.BallerinaSourceOverlay;
+import org.ballerinalang.plugins.idea.util.Diagnostic;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Compiler worker which runs the compiler of a Ballerina SDK in a separate JVM, so the compiler does not share the
+ * heap of the IDE and a crashed or hung compiler does not affect the IDE. The daemon is started lazily and is
+ * restarted if it stops or does not reply in time.
+ * <p>
+ * The daemon is started without holding any lock, so only the requests which need this daemon wait for it. If the
+ * daemon cannot be started, it is not started again until the retry delay has passed. The delay is doubled after each
+ * failure. A new worker is created when the SDKs are changed, so the delay is reset then.
+ */
+public class BallerinaDaemonCompilerWorker implements BallerinaCompilerWorker {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BallerinaDaemonCompilerWorker.class);
+
+    private static final long STARTUP_TIMEOUT_MILLIS = 30_000;
+    private static final long REQUEST_TIMEOUT_MILLIS = 60_000;
+    private static final long INITIAL_RETRY_DELAY_MILLIS = 5_000;
+    private static final long MAX_RETRY_DELAY_MILLIS = 300_000;
+    private static final String DAEMON_MAX_HEAP = "-Xmx1g";
+
+    private final String mySdkHome;
+
+    private final Object myLock = new Object();
+    private Process myProcess;
+    private BallerinaDiagnosticsDaemonClient myClient;
+    private boolean mySupportsSources;
+    // Completed when the ongoing startup finishes. Null if the daemon is not being started.
+    private CompletableFuture<BallerinaDiagnosticsDaemonClient> myStartup;
+    private long myRetryDelayMillis;
+    private long myNextStartupTime;
+    private boolean myClosed;
+
+    private BallerinaDaemonCompilerWorker(@NotNull String sdkHome) {
+        mySdkHome = sdkHome;
+    }
+
+    /**
+     * Creates the compiler worker of the given SDK. The diagnostics daemon is started when the first request is made.
+     *
+     * @param sdkHome home path of the SDK
+     * @return compiler worker
+     */
+    @NotNull
+    public static BallerinaDaemonCompilerWorker create(@NotNull String sdkHome) {
+        return new BallerinaDaemonCompilerWorker(sdkHome);
+    }
+
+    @NotNull
+    @Override
+    public List<Diagnostic> getDiagnostics(@Nullable String sourceRoot, @NotNull String packageName,
+                                           @NotNull BallerinaSourceOverlay overlay) {
+        BallerinaDiagnosticsDaemonClient client = getClient();
+        if (client == null) {
+            return new LinkedList<>();
+        }
+        // Daemons which cannot read unsaved contents compile the saved contents.
+        Map<String, String> sources = mySupportsSources ? overlay.getSources() : Collections.emptyMap();
+        try {
+            return client.getDiagnostics(sourceRoot, packageName, sources, REQUEST_TIMEOUT_MILLIS);
+        } catch (TimeoutException e) {
+            // The compiler might be hung. So the daemon is restarted with the next request.
+            LOGGER.debug(e.getMessage(), e);
+            stop(client);
+        } catch (IOException e) {
+            LOGGER.debug(e.getMessage(), e);
+            if (!client.isAlive()) {
+                stop(client);
+            }
+        }
+        return new LinkedList<>();
+    }
+
+    @Override
+    public void close() {
+        BallerinaDiagnosticsDaemonClient client;
+        synchronized (myLock) {
+            myClosed = true;
+            client = myClient;
+        }
+        if (client != null) {
+            stop(client);
+        }
+    }
+
+    /**
+     * Returns the client of the running daemon. The daemon is started if it is not running, unless the last startup
+     * failed recently. If another request is starting the daemon, this waits for that startup instead.
+     */
+    @Nullable
+    private BallerinaDiagnosticsDaemonClient getClient() {
+        CompletableFuture<BallerinaDiagnosticsDaemonClient> startup;
+        boolean start = false;
+        synchronized (myLock) {
+            if (myClosed) {
+                return null;
+            }
+            if (myClient != null && myClient.isAlive()) {
+                return myClient;
+            }
+            if (myClient != null) {
+                stop(myClient);
+            }
+            if (myStartup == null) {
+                if (System.currentTimeMillis() < myNextStartupTime) {
+                    return null;
+                }
+                myStartup = new CompletableFuture<>();
+                start = true;
+            }
+            startup = myStartup;
+        }
+        if (start) {
+            BallerinaDiagnosticsDaemonClient client = null;
+            try {
+                client = startDaemon();
+            } finally {
+                // Completed even if the startup is cancelled, so the waiting requests do not hang.
+                startup.complete(client);
+            }
+            return client;
+        }
+        return awaitStartup(startup);
+    }
+
+    @Nullable
+    private static BallerinaDiagnosticsDaemonClient awaitStartup(
+            @NotNull CompletableFuture<BallerinaDiagnosticsDaemonClient> startup) {
+        while (true) {
+            ProgressManager.checkCanceled();
+            try {
+                return startup.get(100, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException ignored) {
+                // Check whether the request is cancelled and wait again.
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } catch (ExecutionException e) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Starts the daemon and waits until it is ready. The process is destroyed unless it is started successfully, even
+     * if the startup is cancelled.
+     */
+    @Nullable
+    private BallerinaDiagnosticsDaemonClient startDaemon() {
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.add(DAEMON_MAX_HEAP);
+        command.add("-cp");
+        List<String> classPath = new ArrayList<>();
+        for (File library : BallerinaInProcessCompilerWorker.getCompilerLibraries(mySdkHome)) {
+            classPath.add(library.getAbsolutePath());
+        }
+        classPath.add(PathUtil.getJarPathForClass(BallerinaDiagnosticsDaemon.class));
+        command.add(String.join(File.pathSeparator, classPath));
+        command.add(BallerinaDiagnosticsDaemon.class.getName());
+
+        Process process = null;
+        BallerinaDiagnosticsDaemonClient client = null;
+        boolean started = false;
+        try {
+            process = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+            client = new BallerinaDiagnosticsDaemonClient(process.getInputStream(), process.getOutputStream());
+            boolean supportsSources = client.awaitReady(STARTUP_TIMEOUT_MILLIS);
+            synchronized (myLock) {
+                // The worker might have been closed while starting.
+                if (!myClosed) {
+                    mySupportsSources = supportsSources;
+                    myProcess = process;
+                    myClient = client;
+                    myRetryDelayMillis = 0;
+                    started = true;
+                }
+            }
+            return started ? client : null;
+        } catch (IOException | TimeoutException e) {
+            LOGGER.debug(e.getMessage(), e);
+            return null;
+        } finally {
+            synchronized (myLock) {
+                myStartup = null;
+                if (!started) {
+                    // Remember the failure so a broken SDK does not start a new JVM with every request.
+                    myRetryDelayMillis = myRetryDelayMillis == 0 ? INITIAL_RETRY_DELAY_MILLIS :
+                            Math.min(myRetryDelayMillis * 2, MAX_RETRY_DELAY_MILLIS);
+                    myNextStartupTime = System.currentTimeMillis() + myRetryDelayMillis;
+                }
+            }
+            if (!started) {
+                if (client != null) {
+                    client.close();
+                }
+                if (process != null) {
+                    process.destroy();
+                }
+            }
+        }
+    }
+
+    private void stop(@NotNull BallerinaDiagnosticsDaemonClient client) {
+        Process process;
+        synchronized (myLock) {
+            // The daemon might have been restarted by another request already.
+            if (client != myClient) {
+                return;
+            }
+            process = myProcess;
+            myClient = null;
+            myProcess = null;
+        }
+        client.close();
+        if (process != null) {
+            process.destroy();
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.plugins.idea.diagnostics;
+
+import org.ballerinalang.plugins.idea.util.Diagnostic;
+import org.ballerinalang.plugins.idea.util.DiagnosticCode;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Diagnostic which is received from the diagnostics daemon.
+ */
+public class BallerinaDaemonDiagnostic implements Diagnostic, Diagnostic.DiagnosticSource,
+        Diagnostic.DiagnosticPosition {
+
+    private final Kind myKind;
+    private final DiagnosticCode myCode;
+    private final String myMessage;
+    private final String myPackageName;
+    private final String myPackageVersion;
+    private final String myCompilationUnitName;
+    private final int myStartLine;
+    private final int myEndLine;
+    private final int myStartColumn;
+    private final int myEndColumn;
+
+    public BallerinaDaemonDiagnostic(@NotNull Kind kind, @Nullable DiagnosticCode code, @Nullable String message,
+                                     @Nullable String packageName, @Nullable String packageVersion,
+                                     @Nullable String compilationUnitName, int startLine, int endLine,
+                                     int startColumn, int endColumn) {
+        myKind = kind;
+        myCode = code;
+        myMessage = message;
+        myPackageName = packageName;
+        myPackageVersion = packageVersion;
+        myCompilationUnitName = compilationUnitName;
+        myStartLine = startLine;
+        myEndLine = endLine;
+        myStartColumn = startColumn;
+        myEndColumn = endColumn;
+    }
+
+    @Override
+    public Kind getKind() {
+        return myKind;
+    }
+
+    @Override
+    public DiagnosticSource getSource() {
+        return this;
+    }
+
+    @Override
+    public DiagnosticPosition getPosition() {
+        return this;
+    }
+
+    @Override
+    public String getMessage() {
+        return myMessage;
+    }
+
+    @Override
+    public DiagnosticCode getCode() {
+        return myCode;
+    }
+
+    @Override
+    public String getPackageName() {
+        return myPackageName;
+    }
+
+    @Override
+    public String getPackageVersion() {
+        return myPackageVersion;
+    }
+
+    @Override
+    public String getCompilationUnitName() {
+        return myCompilationUnitName;
+    }
+
+    @Override
+    public int getStartLine() {
+        return myStartLine;
+    }
+
+    @Override
+    public int getEndLine() {
+        return myEndLine;
+    }
+
+    @Override
+    public int getStartColumn() {
+        return myStartColumn;
+    }
+
+    @Override
+    public int getEndColumn() {
+        return myEndColumn;
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.plugins.idea.diagnostics;
+
+import org.ballerinalang.plugins.idea.util.Diagnostic;
+import org.ballerinalang.plugins.idea.util.DiagnosticCode;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Framed protocol which is used to talk to the diagnostics daemon. Each frame consists of the length of the frame
+ * body as an int, followed by the body. The first byte of the body is the frame type and the rest is the payload of
+ * the frame. Strings are written as the length of the UTF-8 bytes (or {@code -1} for {@code null}) followed by the
+ * bytes.
+ * <p>
+ * The daemon sends a {@link #HELLO} frame when it is ready. After that, the client sends {@link #COMPILE} and
+ * {@link #CANCEL} frames and the daemon replies to each compile request with either a {@link #DIAGNOSTICS} frame or
+ * an {@link #ERROR} frame. Cancelled requests might not get a reply. {@link #SHUTDOWN} stops the daemon.
+ */
+public final class BallerinaDaemonProtocol {
+
+    /**
+     * Daemon is ready. Payload - whether the compiler can read unsaved contents (boolean).
+     */
+    public static final byte HELLO = 1;
+    /**
+     * Compile a package. Payload - request id (long), timeout in milliseconds (long), source root (string), package
+     * name (string), number of unsaved files (int), and the path and the content of each unsaved file (strings).
+     */
+    public static final byte COMPILE = 2;
+    /**
+     * Cancel a compile request. Payload - request id (long).
+     */
+    public static final byte CANCEL = 3;
+    /**
+     * Result of a compile request. Payload - request id (long), number of diagnostics (int) and the diagnostics.
+     */
+    public static final byte DIAGNOSTICS = 4;
+    /**
+     * Compile request failed. Payload - request id (long) and the error message (string).
+     */
+    public static final byte ERROR = 5;
+    /**
+     * Stop the daemon. No payload.
+     */
+    public static final byte SHUTDOWN = 6;
+
+    private static final int MAX_FRAME_LENGTH = 256 * 1024 * 1024;
+
+    private BallerinaDaemonProtocol() {
+
+    }
+
+    /**
+     * A single frame which is read from a stream.
+     */
+    public static class Frame {
+
+        private final byte myType;
+        private final DataInputStream myPayload;
+
+        Frame(byte type, @NotNull DataInputStream payload) {
+            myType = type;
+            myPayload = payload;
+        }
+
+        public byte getType() {
+            return myType;
+        }
+
+        @NotNull
+        public DataInputStream getPayload() {
+            return myPayload;
+        }
+    }
+
+    /**
+     * Creates a new frame body of the given type. The payload should be written to the returned stream and the frame
+     * should be sent using {@link #writeFrame(DataOutputStream, ByteArrayOutputStream)}.
+     */
+    @NotNull
+    public static ByteArrayOutputStream newFrame(byte type) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.write(type);
+        return body;
+    }
+
+    /**
+     * Writes a frame. Frames can be written from multiple threads, so the whole frame is written while holding the
+     * lock of the stream.
+     */
+    public static void writeFrame(@NotNull DataOutputStream out, @NotNull ByteArrayOutputStream body)
+            throws IOException {
+        synchronized (out) {
+            out.writeInt(body.size());
+            body.writeTo(out);
+            out.flush();
+        }
+    }
+
+    /**
+     * Reads the next frame.
+     *
+     * @return next frame, or {@code null} if the stream is closed
+     */
+    @Nullable
+    public static Frame readFrame(@NotNull DataInputStream in) throws IOException {
+        int length;
+        try {
+            length = in.readInt();
+        } catch (EOFException e) {
+            return null;
+        }
+        if (length <= 0 || length > MAX_FRAME_LENGTH) {
+            throw new IOException("Invalid frame length: " + length);
+        }
+        byte[] body = new byte[length];
+        in.readFully(body);
+        DataInputStream payload = new DataInputStream(new ByteArrayInputStream(body, 1, length - 1));
+        return new Frame(body[0], payload);
+    }
+
+    public static void writeString(@NotNull DataOutputStream out, @Nullable String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    @Nullable
+    public static String readString(@NotNull DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public static void writeSources(@NotNull DataOutputStream out, @NotNull Map<String, String> sources)
+            throws IOException {
+        out.writeInt(sources.size());
+        for (Map.Entry<String, String> entry : sources.entrySet()) {
+            writeString(out, entry.getKey());
+            writeString(out, entry.getValue());
+        }
+    }
+
+    @NotNull
+    public static Map<String, String> readSources(@NotNull DataInputStream in) throws IOException {
+        int size = in.readInt();
+        Map<String, String> sources = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            sources.put(readString(in), readString(in));
+        }
+        return sources;
+    }
+
+    public static void writeDiagnostics(@NotNull DataOutputStream out, @NotNull List<Diagnostic> diagnostics)
+            throws IOException {
+        out.writeInt(diagnostics.size());
+        for (Diagnostic diagnostic : diagnostics) {
+            Diagnostic.DiagnosticSource source = diagnostic.getSource();
+            Diagnostic.DiagnosticPosition position = diagnostic.getPosition();
+            DiagnosticCode code = diagnostic.getCode();
+            writeString(out, diagnostic.getKind().name());
+            writeString(out, code != null ? code.name() : null);
+            writeString(out, diagnostic.getMessage());
+            writeString(out, source != null ? source.getPackageName() : null);
+            writeString(out, source != null ? source.getPackageVersion() : null);
+            writeString(out, source != null ? source.getCompilationUnitName() : null);
+            out.writeInt(position != null ? position.getStartLine() : 0);
+            out.writeInt(position != null ? position.getEndLine() : 0);
+            out.writeInt(position != null ? position.getStartColumn() : 0);
+            out.writeInt(position != null ? position.getEndColumn() : 0);
+        }
+    }
+
+    @NotNull
+    public static List<Diagnostic> readDiagnostics(@NotNull DataInputStream in) throws IOException {
+        int size = in.readInt();
+        List<Diagnostic> diagnostics = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Diagnostic.Kind kind = valueOf(Diagnostic.Kind.class, readString(in));
+            DiagnosticCode code = valueOf(DiagnosticCode.class, readString(in));
+            String message = readString(in);
+            String packageName = readString(in);
+            String packageVersion = readString(in);
+            String compilationUnitName = readString(in);
+            diagnostics.add(new BallerinaDaemonDiagnostic(kind != null ? kind : Diagnostic.Kind.ERROR, code, message,
+                    packageName, packageVersion, compilationUnitName, in.readInt(), in.readInt(), in.readInt(),
+                    in.readInt()));
+        }
+        return diagnostics;
+    }
+
+    @Nullable
+    private static <T extends Enum<T>> T valueOf(@NotNull Class<T> type, @Nullable String name) {
+        if (name == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, name);
+        } catch (IllegalArgumentException e) {
+            // Newer compilers might have codes which are not known by the plugin.
+            return null;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.plugins.idea.diagnostics;
+
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.util.Pair;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiWhiteSpace;
+import com.intellij.psi.util.PsiTreeUtil;
+import org.ballerinalang.plugins.idea.util.Diagnostic;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Translates the positions of diagnostics to text ranges in a file. Line and column numbers are converted to offsets
+ * using the line start table of the document, so an editor is not needed. Diagnostics are processed in the order of
+ * their offsets, so the leaves of the file are walked only once for all diagnostics.
+ */
+public final class BallerinaDiagnosticRanges {
+
+    private BallerinaDiagnosticRanges() {
+
+    }
+
+    /**
+     * Returns the text ranges which should be highlighted for the given diagnostics. If the diagnostic starts at an
+     * element, the whole element is highlighted. If it starts at a whitespace, the next visible element is
+     * highlighted. Diagnostics with invalid positions are skipped.
+     *
+     * @param file        file which the diagnostics belong to
+     * @param document    document of the file
+     * @param diagnostics diagnostics of the file
+     * @return diagnostics and their text ranges, sorted by the start offset of the diagnostic
+     */
+    @NotNull
+    public static List<Pair<Diagnostic, TextRange>> getRanges(@NotNull PsiFile file, @NotNull Document document,
+                                                              @NotNull List<Diagnostic> diagnostics) {
+        List<Pair<Diagnostic, Integer>> offsets = new ArrayList<>(diagnostics.size());
+        for (Diagnostic diagnostic : diagnostics) {
+            Diagnostic.DiagnosticPosition position = diagnostic.getPosition();
+            // Line and column numbers start from 1.
+            if (position == null || position.getStartLine() <= 0 || position.getStartColumn() <= 0) {
+                continue;
+            }
+            int offset = getOffset(document, position.getStartLine() - 1, position.getStartColumn() - 1);
+            if (offset >= 0) {
+                offsets.add(Pair.create(diagnostic, offset));
+            }
+        }
+        offsets.sort(Comparator.comparingInt(pair -> pair.second));
+
+        List<Pair<Diagnostic, TextRange>> ranges = new ArrayList<>(offsets.size());
+        // Leaf which contains the offset of the previous diagnostic. Offsets are sorted, so it only moves forward.
+        PsiElement leaf = null;
+        for (Pair<Diagnostic, Integer> pair : offsets) {
+            int startOffset = pair.second;
+            leaf = findLeaf(file, leaf, startOffset);
+            PsiElement element = leaf;
+            // If the element at the offset is a whitespace, highlight the next element.
+            if (element instanceof PsiWhiteSpace) {
+                element = PsiTreeUtil.nextVisibleLeaf(element);
+            }
+
+            TextRange textRange;
+            if (element == null) {
+                Diagnostic.DiagnosticPosition position = pair.first.getPosition();
+                if (position.getEndLine() <= 0) {
+                    continue;
+                }
+                int endColumn = position.getStartColumn() == position.getEndColumn() ?
+                        position.getEndColumn() + 1 : position.getEndColumn();
+                int endOffset = getOffset(document, position.getEndLine() - 1, endColumn);
+                if (endOffset < startOffset) {
+                    continue;
+                }
+                textRange = new TextRange(startOffset, endOffset);
+            } else {
+                textRange = element.getTextRange();
+            }
+            ranges.add(Pair.create(pair.first, textRange));
+        }
+        return ranges;
+    }
+
+    /**
+     * Returns the offset of the given zero based line and column, or {@code -1} if the line does not exist. Columns
+     * which are beyond the end of the line are moved to the end of the line.
+     */
+    private static int getOffset(@NotNull Document document, int line, int column) {
+        if (line >= document.getLineCount()) {
+            return -1;
+        }
+        int lineStartOffset = document.getLineStartOffset(line);
+        int lineEndOffset = document.getLineEndOffset(line);
+        return Math.min(lineStartOffset + column, lineEndOffset);
+    }
+
+    /**
+     * Returns the leaf which contains the given offset, starting the search from the given leaf.
+     */
+    @Nullable
+    private static PsiElement findLeaf(@NotNull PsiFile file, @Nullable PsiElement leaf, int offset) {
+        if (leaf == null) {
+            return file.findElementAt(offset);
+        }
+        while (leaf != null && leaf.getTextRange().getEndOffset() <= offset) {
+            leaf = PsiTreeUtil.nextLeaf(leaf);
+        }
+        return leaf;
+    }
+}
@@ -0,0 +1,295 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.plugins.idea.diagnostics;
+
+import org.ballerinalang.plugins.idea.util.Diagnostic;
+import org.ballerinalang.plugins.idea.util.DiagnosticCode;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Diagnostics daemon which runs in a separate JVM started from the Ballerina SDK. Requests are read from the standard
+ * input and replies are written to the standard output using {@link BallerinaDaemonProtocol}. Compilations run one
+ * at a time in a separate thread so cancel requests can be read while compiling.
+ * <p>
+ * Every failure of the compiler is reported to the client. If the JVM runs out of memory or another virtual machine
+ * error occurs, the daemon exits after reporting it, so it is restarted with the next request.
+ * <p>
+ * The daemon runs without the IDE classes in the class path, so this class must not depend on them.
+ */
+public class BallerinaDiagnosticsDaemon {
+
+    /**
+     * Compiles a package inside the daemon.
+     */
+    public interface Compiler {
+
+        /**
+         * Returns whether the compiler can read unsaved contents.
+         */
+        boolean supportsSources();
+
+        @NotNull
+        List<Diagnostic> compile(@Nullable String sourceRoot, @NotNull String packageName,
+                                 @NotNull Map<String, String> sources) throws Exception;
+    }
+
+    private final DataInputStream myIn;
+    private final DataOutputStream myOut;
+    private final Compiler myCompiler;
+    private final Runnable myExit;
+    private final ExecutorService myExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Ballerina diagnostics daemon compiler");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<Long, Future<?>> myRequests = new ConcurrentHashMap<>();
+
+    /**
+     * @param in       requests from the client
+     * @param out      replies to the client
+     * @param compiler compiles the requested packages
+     * @param exit     stops the daemon after a virtual machine error
+     */
+    public BallerinaDiagnosticsDaemon(@NotNull InputStream in, @NotNull OutputStream out,
+                                      @NotNull Compiler compiler, @NotNull Runnable exit) {
+        myIn = new DataInputStream(new BufferedInputStream(in));
+        myOut = new DataOutputStream(new BufferedOutputStream(out));
+        myCompiler = compiler;
+        myExit = exit;
+    }
+
+    /**
+     * Serves requests until the input is closed or a {@link BallerinaDaemonProtocol#SHUTDOWN} frame is received.
+     */
+    public void run() throws IOException {
+        try {
+            ByteArrayOutputStream hello = BallerinaDaemonProtocol.newFrame(BallerinaDaemonProtocol.HELLO);
+            new DataOutputStream(hello).writeBoolean(myCompiler.supportsSources());
+            BallerinaDaemonProtocol.writeFrame(myOut, hello);
+
+            BallerinaDaemonProtocol.Frame frame;
+            while ((frame = BallerinaDaemonProtocol.readFrame(myIn)) != null) {
+                DataInputStream payload = frame.getPayload();
+                switch (frame.getType()) {
+                    case BallerinaDaemonProtocol.COMPILE:
+                        submit(payload);
+                        break;
+                    case BallerinaDaemonProtocol.CANCEL:
+                        Future<?> request = myRequests.remove(payload.readLong());
+                        if (request != null) {
+                            request.cancel(true);
+                        }
+                        break;
+                    case BallerinaDaemonProtocol.SHUTDOWN:
+                        return;
+                    default:
+                        throw new IOException("Unexpected frame type: " + frame.getType());
+                }
+            }
+        } finally {
+            myExecutor.shutdownNow();
+        }
+    }
+
+    private void submit(@NotNull DataInputStream payload) throws IOException {
+        long id = payload.readLong();
+        long deadline = System.currentTimeMillis() + payload.readLong();
+        String sourceRoot = BallerinaDaemonProtocol.readString(payload);
+        String packageName = BallerinaDaemonProtocol.readString(payload);
+        Map<String, String> sources = BallerinaDaemonProtocol.readSources(payload);
+        // The request is registered before it is submitted so a cancel request which is received later can find it.
+        synchronized (myRequests) {
+            myRequests.put(id, myExecutor.submit(() -> compile(id, deadline, sourceRoot, packageName, sources)));
+        }
+    }
+
+    private void compile(long id, long deadline, @Nullable String sourceRoot, @Nullable String packageName,
+                         @NotNull Map<String, String> sources) {
+        synchronized (myRequests) {
+            // Wait until the request is registered.
+            if (!myRequests.containsKey(id)) {
+                return;
+            }
+        }
+        try {
+            if (System.currentTimeMillis() > deadline) {
+                sendError(id, "Deadline exceeded before compiling");
+                return;
+            }
+            if (packageName == null) {
+                sendError(id, "Package name is not provided");
+                return;
+            }
+            List<Diagnostic> diagnostics = myCompiler.compile(sourceRoot, packageName, sources);
+            // The client is no longer waiting for cancelled requests.
+            if (myRequests.remove(id) == null) {
+                return;
+            }
+            ByteArrayOutputStream frame = BallerinaDaemonProtocol.newFrame(BallerinaDaemonProtocol.DIAGNOSTICS);
+            DataOutputStream out = new DataOutputStream(frame);
+            out.writeLong(id);
+            BallerinaDaemonProtocol.writeDiagnostics(out, diagnostics);
+            BallerinaDaemonProtocol.writeFrame(myOut, frame);
+        } catch (Throwable e) {
+            // Errors are reported too, since the client would otherwise wait until the request times out.
+            sendError(id, String.valueOf(e));
+            if (e instanceof VirtualMachineError) {
+                // The JVM might not be usable anymore.
+                myExit.run();
+            }
+        } finally {
+            myRequests.remove(id);
+        }
+    }
+
+    private void sendError(long id, @NotNull String message) {
+        try {
+            ByteArrayOutputStream frame = BallerinaDaemonProtocol.newFrame(BallerinaDaemonProtocol.ERROR);
+            DataOutputStream out = new DataOutputStream(frame);
+            out.writeLong(id);
+            BallerinaDaemonProtocol.writeString(out, message);
+            BallerinaDaemonProtocol.writeFrame(myOut, frame);
+        } catch (IOException ignored) {
+            // The client is gone. The daemon stops once the input is closed.
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        // Standard output is used by the protocol, so anything the compiler prints is redirected to the error stream.
+        OutputStream out = new FileOutputStream(FileDescriptor.out);
+        System.setOut(new PrintStream(new FileOutputStream(FileDescriptor.err), true));
+        new BallerinaDiagnosticsDaemon(System.in, out, new SdkCompiler(), () -> System.exit(1)).run();
+        System.exit(0);
+    }
+
+    /**
+     * Compiler which uses the compiler of the Ballerina SDK in the class path of the daemon. Unsaved contents are
+     * compiled from a temporary source root, since the compiler reads the sources from the disk.
+     */
+    private static class SdkCompiler implements Compiler {
+
+        private final Method myMethod;
+
+        SdkCompiler() throws ReflectiveOperationException {
+            Class<?> compileUtil = Class.forName(BallerinaInProcessCompilerWorker.COMPILE_UTIL_CLASS);
+            myMethod = compileUtil.getMethod(BallerinaInProcessCompilerWorker.DIAGNOSTICS_METHOD,
+                    ClassLoader.class, String.class, String.class);
+        }
+
+        @Override
+        public boolean supportsSources() {
+            return true;
+        }
+
+        @NotNull
+        @Override
+        public List<Diagnostic> compile(@Nullable String sourceRoot, @NotNull String packageName,
+                                        @NotNull Map<String, String> sources) throws Exception {
+            ClassLoader classLoader = SdkCompiler.class.getClassLoader();
+            Object result;
+            // If the temporary source root cannot be created, the saved contents are compiled instead.
+            BallerinaOverlaySourceRoot overlayRoot = null;
+            try {
+                overlayRoot = BallerinaOverlaySourceRoot.create(sourceRoot, sources);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            try {
+                result = myMethod.invoke(null, classLoader, overlayRoot != null ? overlayRoot.getPath() : sourceRoot,
+                        packageName);
+            } finally {
+                if (overlayRoot != null) {
+                    overlayRoot.close();
+                }
+            }
+            List<Diagnostic> diagnostics = new ArrayList<>();
+            if (result instanceof List) {
+                for (Object diagnostic : (List<?>) result) {
+                    diagnostics.add(toDiagnostic(diagnostic));
+                }
+            }
+            return diagnostics;
+        }
+
+        /**
+         * Diagnostics of the SDK do not implement the diagnostic interface of the plugin. So they are read using
+         * reflection.
+         */
+        @NotNull
+        private static Diagnostic toDiagnostic(@NotNull Object diagnostic) throws ReflectiveOperationException {
+            Object kind = invoke(diagnostic, "getKind");
+            Object code = invoke(diagnostic, "getCode");
+            Object source = invoke(diagnostic, "getSource");
+            Object position = invoke(diagnostic, "getPosition");
+            Diagnostic.Kind diagnosticKind = Diagnostic.Kind.ERROR;
+            for (Diagnostic.Kind value : Diagnostic.Kind.values()) {
+                if (value.name().equals(String.valueOf(kind))) {
+                    diagnosticKind = value;
+                }
+            }
+            DiagnosticCode diagnosticCode = null;
+            for (DiagnosticCode value : DiagnosticCode.values()) {
+                if (value.name().equals(String.valueOf(code))) {
+                    diagnosticCode = value;
+                }
+            }
+            return new BallerinaDaemonDiagnostic(diagnosticKind, diagnosticCode,
+                    (String) invoke(diagnostic, "getMessage"), (String) invoke(source, "getPackageName"),
+                    (String) invoke(source, "getPackageVersion"), (String) invoke(source, "getCompilationUnitName"),
+                    getInt(position, "getStartLine"), getInt(position, "getEndLine"),
+                    getInt(position, "getStartColumn"), getInt(position, "getEndColumn"));
+        }
+
+        @Nullable
+        private static Object invoke(@Nullable Object object, @NotNull String methodName)
+                throws ReflectiveOperationException {
+            if (object == null) {
+                return null;
+            }
+            Method method = object.getClass().getMethod(methodName);
+            method.setAccessible(true);
+            return method.invoke(object);
+        }
+
+        private static int getInt(@Nullable Object object, @NotNull String methodName)
+                throws ReflectiveOperationException {
+            Object value = invoke(object, methodName);
+            return value instanceof Integer ? (Integer) value : 0;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.plugins.idea.diagnostics;
+
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressManager;
+import org.ballerinalang.plugins.idea.util.Diagnostic;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Client side of the diagnostics daemon protocol. Replies are read in a separate thread and are matched with the
+ * requests using the request id, so multiple requests can be in flight at the same time.
+ */
+public class BallerinaDiagnosticsDaemonClient implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BallerinaDiagnosticsDaemonClient.class);
+
+    private static final long WAIT_INTERVAL_MILLIS = 50;
+
+    private final DataInputStream myIn;
+    private final DataOutputStream myOut;
+    private final AtomicLong myNextId = new AtomicLong();
+    private final Map<Long, CompletableFuture<List<Diagnostic>>> myRequests = new ConcurrentHashMap<>();
+    private final CompletableFuture<Boolean> myReady = new CompletableFuture<>();
+    private volatile boolean myClosed;
+
+    public BallerinaDiagnosticsDaemonClient(@NotNull InputStream in, @NotNull OutputStream out) {
+        myIn = new DataInputStream(new BufferedInputStream(in));
+        myOut = new DataOutputStream(new BufferedOutputStream(out));
+        Thread reader = new Thread(this::readReplies, "Ballerina diagnostics daemon client");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    /**
+     * Waits until the daemon is ready to accept requests.
+     *
+     * @param timeoutMillis maximum time to wait
+     * @return whether the compiler of the daemon can read unsaved contents
+     * @throws IOException      if the daemon stopped before it was ready
+     * @throws TimeoutException if the daemon is not ready within the given time
+     */
+    public boolean awaitReady(long timeoutMillis) throws IOException, TimeoutException {
+        return await(myReady, timeoutMillis, () -> {
+        });
+    }
+
+    /**
+     * Sends a compile request and waits for the diagnostics. If the calling thread is cancelled or if the daemon does
+     * not reply within the given time, the request is cancelled in the daemon as well.
+     *
+     * @param sourceRoot    source root of the project or the module
+     * @param packageName   name of the package or the name of the file if the file is not in a package
+     * @param sources       unsaved contents keyed by the absolute path of the file
+     * @param timeoutMillis maximum time to wait for the diagnostics
+     * @return diagnostics of the package
+     * @throws IOException      if the request failed or if the daemon stopped
+     * @throws TimeoutException if the daemon did not reply within the given time
+     */
+    @NotNull
+    public List<Diagnostic> getDiagnostics(@Nullable String sourceRoot, @NotNull String packageName,
+                                           @NotNull Map<String, String> sources, long timeoutMillis)
+            throws IOException, TimeoutException {
+        long id = myNextId.incrementAndGet();
+        CompletableFuture<List<Diagnostic>> reply = new CompletableFuture<>();
+        myRequests.put(id, reply);
+        // Checked after registering the request so the request cannot be missed if the daemon stops concurrently.
+        if (myClosed) {
+            myRequests.remove(id);
+            throw new IOException("Diagnostics daemon is stopped");
+        }
+
+        ByteArrayOutputStream frame = BallerinaDaemonProtocol.newFrame(BallerinaDaemonProtocol.COMPILE);
+        DataOutputStream out = new DataOutputStream(frame);
+        out.writeLong(id);
+        out.writeLong(timeoutMillis);
+        BallerinaDaemonProtocol.writeString(out, sourceRoot);
+        BallerinaDaemonProtocol.writeString(out, packageName);
+        BallerinaDaemonProtocol.writeSources(out, sources);
+        try {
+            BallerinaDaemonProtocol.writeFrame(myOut, frame);
+        } catch (IOException e) {
+            myRequests.remove(id);
+            throw e;
+        }
+        return await(reply, timeoutMillis, () -> cancel(id));
+    }
+
+    /**
+     * Returns whether the daemon is still running.
+     */
+    public boolean isAlive() {
+        return !myClosed;
+    }
+
+    /**
+     * Stops the daemon. Pending requests fail.
+     */
+    @Override
+    public void close() {
+        if (myClosed) {
+            return;
+        }
+        try {
+            ByteArrayOutputStream frame = BallerinaDaemonProtocol.newFrame(BallerinaDaemonProtocol.SHUTDOWN);
+            BallerinaDaemonProtocol.writeFrame(myOut, frame);
+        } catch (IOException e) {
+            LOGGER.debug(e.getMessage(), e);
+        }
+        stopped();
+        try {
+            myOut.close();
+        } catch (IOException e) {
+            LOGGER.debug(e.getMessage(), e);
+        }
+    }
+
+    private void cancel(long id) {
+        if (myRequests.remove(id) == null || myClosed) {
+            return;
+        }
+        try {
+            ByteArrayOutputStream frame = BallerinaDaemonProtocol.newFrame(BallerinaDaemonProtocol.CANCEL);
+            new DataOutputStream(frame).writeLong(id);
+            BallerinaDaemonProtocol.writeFrame(myOut, frame);
+        } catch (IOException e) {
+            LOGGER.debug(e.getMessage(), e);
+        }
+    }
+
+    @NotNull
+    private static <T> T await(@NotNull CompletableFuture<T> future, long timeoutMillis, @NotNull Runnable onCancel)
+            throws IOException, TimeoutException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        try {
+            while (true) {
+                ProgressManager.checkCanceled();
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    onCancel.run();
+                    throw new TimeoutException("Diagnostics daemon did not reply within " + timeoutMillis + "ms");
+                }
+                try {
+                    return future.get(Math.min(remaining, WAIT_INTERVAL_MILLIS), TimeUnit.MILLISECONDS);
+                } catch (TimeoutException ignored) {
+                    // Check for cancellation and the deadline, and wait again.
+                }
+            }
+        } catch (ProcessCanceledException e) {
+            onCancel.run();
+            throw e;
+        } catch (InterruptedException e) {
+            onCancel.run();
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+        }
+    }
+
+    private void readReplies() {
+        try {
+            BallerinaDaemonProtocol.Frame frame;
+            while ((frame = BallerinaDaemonProtocol.readFrame(myIn)) != null) {
+                DataInputStream payload = frame.getPayload();
+                switch (frame.getType()) {
+                    case BallerinaDaemonProtocol.HELLO:
+                        myReady.complete(payload.readBoolean());
+                        break;
+                    case BallerinaDaemonProtocol.DIAGNOSTICS: {
+                        // Replies of cancelled requests are ignored.
+                        CompletableFuture<List<Diagnostic>> reply = myRequests.remove(payload.readLong());
+                        if (reply != null) {
+                            reply.complete(BallerinaDaemonProtocol.readDiagnostics(payload));
+                        }
+                        break;
+                    }
+                    case BallerinaDaemonProtocol.ERROR: {
+                        CompletableFuture<List<Diagnostic>> reply = myRequests.remove(payload.readLong());
+                        if (reply != null) {
+                            reply.completeExceptionally(new IOException(BallerinaDaemonProtocol.readString(payload)));
+                        }
+                        break;
+                    }
+                    default:
+                        throw new IOException("Unexpected frame type: " + frame.getType());
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.debug(e.getMessage(), e);
+        } finally {
+            stopped();
+        }
+    }
+
+    private void stopped() {
+        myClosed = true;
+        IOException stopped = new IOException("Diagnostics daemon is stopped");
+        myReady.completeExceptionally(stopped);
+        for (CompletableFuture<List<Diagnostic>> reply : new ArrayList<>(myRequests.values())) {
+            reply.completeExceptionally(stopped);
+        }
+        myRequests.clear();
+    }
+}
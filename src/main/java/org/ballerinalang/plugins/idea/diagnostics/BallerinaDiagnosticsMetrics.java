@@ -0,0 +1,129 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.plugins.idea.diagnostics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters which show where the latency of diagnostics goes. Wait time is the time from a request until its
+ * compilation starts, which includes the debounce delay and the time spent behind other compilations of the package.
+ */
+public class BallerinaDiagnosticsMetrics {
+
+    private final AtomicLong myRequests = new AtomicLong();
+    private final AtomicLong mySharedRequests = new AtomicLong();
+    private final AtomicLong mySupersededRequests = new AtomicLong();
+    private final AtomicLong myStaleResults = new AtomicLong();
+    private final AtomicInteger myQueueDepth = new AtomicInteger();
+    private final AtomicInteger myMaxQueueDepth = new AtomicInteger();
+    private final AtomicLong myCompilations = new AtomicLong();
+    private final AtomicLong myOutdatedCompilations = new AtomicLong();
+    private final AtomicLong myTotalWaitMillis = new AtomicLong();
+    private final AtomicLong myTotalCompileMillis = new AtomicLong();
+    private final AtomicLong myMaxCompileMillis = new AtomicLong();
+
+    void requestStarted() {
+        myRequests.incrementAndGet();
+        int depth = myQueueDepth.incrementAndGet();
+        myMaxQueueDepth.accumulateAndGet(depth, Math::max);
+    }
+
+    void requestFinished() {
+        myQueueDepth.decrementAndGet();
+    }
+
+    void requestShared() {
+        mySharedRequests.incrementAndGet();
+    }
+
+    void requestSuperseded() {
+        mySupersededRequests.incrementAndGet();
+    }
+
+    void compilationFinished(long waitMillis, long compileMillis, boolean outdated) {
+        myCompilations.incrementAndGet();
+        if (outdated) {
+            myOutdatedCompilations.incrementAndGet();
+        }
+        myTotalWaitMillis.addAndGet(waitMillis);
+        myTotalCompileMillis.addAndGet(compileMillis);
+        myMaxCompileMillis.accumulateAndGet(compileMillis, Math::max);
+    }
+
+    /**
+     * Records a result which was dropped because the document was modified while compiling.
+     */
+    public void resultDropped() {
+        myStaleResults.incrementAndGet();
+    }
+
+    public long getRequests() {
+        return myRequests.get();
+    }
+
+    public long getSharedRequests() {
+        return mySharedRequests.get();
+    }
+
+    public long getSupersededRequests() {
+        return mySupersededRequests.get();
+    }
+
+    public long getStaleResults() {
+        return myStaleResults.get();
+    }
+
+    public int getQueueDepth() {
+        return myQueueDepth.get();
+    }
+
+    public int getMaxQueueDepth() {
+        return myMaxQueueDepth.get();
+    }
+
+    public long getCompilations() {
+        return myCompilations.get();
+    }
+
+    public long getOutdatedCompilations() {
+        return myOutdatedCompilations.get();
+    }
+
+    public long getTotalWaitMillis() {
+        return myTotalWaitMillis.get();
+    }
+
+    public long getTotalCompileMillis() {
+        return myTotalCompileMillis.get();
+    }
+
+    public long getMaxCompileMillis() {
+        return myMaxCompileMillis.get();
+    }
+
+    @Override
+    public String toString() {
+        long compilations = Math.max(1, getCompilations());
+        return "requests: " + getRequests() + ", shared: " + getSharedRequests() + ", superseded: " +
+                getSupersededRequests() + ", stale: " + getStaleResults() + ", queue depth: " + getQueueDepth() +
+                " (max " + getMaxQueueDepth() + "), compilations: " + getCompilations() + " (outdated " +
+                getOutdatedCompilations() + "), average wait: " + getTotalWaitMillis() / compilations +
+                "ms, average compile: " + getTotalCompileMillis() / compilations + "ms (max " +
+                getMaxCompileMillis() + "ms)";
+    }
+}
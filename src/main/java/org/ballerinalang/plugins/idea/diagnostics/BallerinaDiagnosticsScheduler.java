@@ -0,0 +1,234 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.plugins.idea.diagnostics;
+
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressManager;
+import org.ballerinalang.plugins.idea.util.Diagnostic;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Schedules the compilations which produce the diagnostics of packages. The compiler returns diagnostics for all
+ * files in a package, so the result of a single compilation is shared by all files in the package until one of the
+ * files is modified.
+ * <p>
+ * For each package,
+ * <ul>
+ * <li>requests with the same modification stamps share a single compilation.</li>
+ * <li>a compilation starts only after no newer modification is requested for the debounce delay. A request which is
+ * superseded by a newer modification before its compilation starts is abandoned.</li>
+ * <li>at most one compilation runs at a time. A compilation cannot be interrupted, so newer requests wait until it
+ * finishes and its result is not cached if it is already outdated.</li>
+ * </ul>
+ */
+public class BallerinaDiagnosticsScheduler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BallerinaDiagnosticsScheduler.class);
+
+    private static final long DEFAULT_DEBOUNCE_MILLIS = 300;
+    private static final long WAIT_INTERVAL_MILLIS = 50;
+
+    private final long myDebounceMillis;
+    private final Map<String, PackageState> myPackages = new ConcurrentHashMap<>();
+    private final BallerinaDiagnosticsMetrics myMetrics = new BallerinaDiagnosticsMetrics();
+
+    public BallerinaDiagnosticsScheduler() {
+        this(DEFAULT_DEBOUNCE_MILLIS);
+    }
+
+    public BallerinaDiagnosticsScheduler(long debounceMillis) {
+        myDebounceMillis = debounceMillis;
+    }
+
+    /**
+     * Returns the diagnostics of a package. If the diagnostics for the given modification stamps are already
+     * available or are being computed, those are returned. Otherwise the diagnostics are computed using the given
+     * compiler in the calling thread once the package is not modified for the debounce delay.
+     *
+     * @param key                key which identifies the package, ie - the source root and the package name
+     * @param modificationStamps modification stamps of all files in the package
+     * @param compiler           computes the diagnostics of the package
+     * @return unmodifiable list of diagnostics of the package, or {@code null} if the request was superseded by a
+     * request with newer modification stamps before it was compiled
+     */
+    @Nullable
+    public List<Diagnostic> getDiagnostics(@NotNull String key, @NotNull Map<String, Long> modificationStamps,
+                                           @NotNull Compiler compiler) {
+        long requestTime = System.currentTimeMillis();
+        myMetrics.requestStarted();
+        try {
+            PackageState state = myPackages.computeIfAbsent(key, k -> new PackageState());
+            Entry entry;
+            synchronized (state) {
+                if (state.myLatest != null && state.myLatest.myModificationStamps.equals(modificationStamps)) {
+                    entry = state.myLatest;
+                    myMetrics.requestShared();
+                } else {
+                    if (state.myLatest != null && !state.myLatest.myStarted) {
+                        // Nobody is interested in the older modification stamps anymore.
+                        state.myLatest.mySuperseded = true;
+                        myMetrics.requestSuperseded();
+                    }
+                    entry = new Entry(modificationStamps, requestTime);
+                    state.myLatest = entry;
+                }
+                state.notifyAll();
+            }
+            while (true) {
+                // Waiting threads can be cancelled without affecting the compilation.
+                ProgressManager.checkCanceled();
+                synchronized (state) {
+                    if (entry.myFuture.isDone()) {
+                        break;
+                    }
+                    if (entry.mySuperseded) {
+                        return null;
+                    }
+                    long remaining = entry.myRequestTime + myDebounceMillis - System.currentTimeMillis();
+                    if (state.myCompiling || remaining > 0) {
+                        waitFor(state, remaining > 0 ? Math.min(remaining, WAIT_INTERVAL_MILLIS) :
+                                WAIT_INTERVAL_MILLIS);
+                        continue;
+                    }
+                    state.myCompiling = true;
+                    entry.myStarted = true;
+                }
+                compile(key, state, entry, compiler);
+                break;
+            }
+            try {
+                return entry.myFuture.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Collections.emptyList();
+            } catch (ExecutionException e) {
+                return Collections.emptyList();
+            }
+        } finally {
+            myMetrics.requestFinished();
+        }
+    }
+
+    /**
+     * Removes all cached diagnostics.
+     */
+    public void clear() {
+        myPackages.clear();
+    }
+
+    @NotNull
+    public BallerinaDiagnosticsMetrics getMetrics() {
+        return myMetrics;
+    }
+
+    private void compile(@NotNull String key, @NotNull PackageState state, @NotNull Entry entry,
+                         @NotNull Compiler compiler) {
+        long startTime = System.currentTimeMillis();
+        try {
+            List<Diagnostic> diagnostics = compiler.compile();
+            entry.myFuture.complete(diagnostics == null ? Collections.emptyList() :
+                    Collections.unmodifiableList(diagnostics));
+        } catch (ProcessCanceledException e) {
+            // Another thread which is waiting for the same modification stamps can compile the package.
+            synchronized (state) {
+                entry.myStarted = false;
+            }
+            throw e;
+        } catch (Throwable t) {
+            // Failed compilations should not be cached. Threads which are already waiting get the failure.
+            synchronized (state) {
+                if (state.myLatest == entry) {
+                    state.myLatest = null;
+                }
+            }
+            entry.myFuture.completeExceptionally(t);
+            throw t;
+        } finally {
+            long endTime = System.currentTimeMillis();
+            boolean outdated;
+            synchronized (state) {
+                state.myCompiling = false;
+                outdated = state.myLatest != entry;
+                state.notifyAll();
+            }
+            // Cancelled compilations are retried, so they are not recorded.
+            if (entry.myFuture.isDone()) {
+                myMetrics.compilationFinished(startTime - entry.myRequestTime, endTime - startTime, outdated);
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug("Compiled " + key + " in " + (endTime - startTime) + "ms after waiting " +
+                            (startTime - entry.myRequestTime) + "ms. " + myMetrics);
+                }
+            }
+        }
+    }
+
+    private static void waitFor(@NotNull Object lock, long millis) {
+        try {
+            lock.wait(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            ProgressManager.checkCanceled();
+        }
+    }
+
+    /**
+     * Compiles a package.
+     */
+    @FunctionalInterface
+    public interface Compiler {
+
+        @Nullable
+        List<Diagnostic> compile();
+    }
+
+    /**
+     * Scheduling state of a package.
+     */
+    private static class PackageState {
+
+        // Latest requested modification stamps. This is either compiled, being compiled or waiting to be compiled.
+        private Entry myLatest;
+        private boolean myCompiling;
+    }
+
+    /**
+     * Diagnostics of a package for a given set of modification stamps.
+     */
+    private static class Entry {
+
+        private final Map<String, Long> myModificationStamps;
+        private final long myRequestTime;
+        private final CompletableFuture<List<Diagnostic>> myFuture = new CompletableFuture<>();
+        private boolean myStarted;
+        private boolean mySuperseded;
+
+        Entry(@NotNull Map<String, Long> modificationStamps, long requestTime) {
+            myModificationStamps = modificationStamps;
+            myRequestTime = requestTime;
+        }
+    }
+}
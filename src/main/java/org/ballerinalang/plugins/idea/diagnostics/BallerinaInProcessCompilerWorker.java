@@ -0,0 +1,166 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.plugins.idea.diagnostics;
+
+import org.ballerinalang.plugins.idea.BallerinaConstants;
+import org.ballerinalang.plugins.idea.util.BallerinaSourceOverlay;
+import org.ballerinalang.plugins.idea.util.Diagnostic;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Compiler worker which runs the compiler of a Ballerina SDK inside the IDE. The compiler classes are loaded once and
+ * the same class loader is used for all compilations, so anything the compiler caches (loaded classes, standard
+ * library packages, compiled dependencies) is reused between requests.
+ * <p>
+ * The compiler reads the sources from the disk, so unsaved contents are compiled from a temporary source root. See
+ * {@link BallerinaOverlaySourceRoot}.
+ */
+public class BallerinaInProcessCompilerWorker implements BallerinaCompilerWorker {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BallerinaInProcessCompilerWorker.class);
+
+    static final String COMPILE_UTIL_CLASS = "org.ballerinalang.launcher.util.BCompileUtil";
+    static final String DIAGNOSTICS_METHOD = "getDiagnostics";
+
+    private final URLClassLoader myClassLoader;
+    private final Method myMethod;
+    // Compilations hold the read lock so the class loader is not closed while compiling.
+    private final ReadWriteLock myLock = new ReentrantReadWriteLock();
+    private boolean myClosed;
+
+    private BallerinaInProcessCompilerWorker(@NotNull URLClassLoader classLoader, @NotNull Method method) {
+        myClassLoader = classLoader;
+        myMethod = method;
+    }
+
+    /**
+     * Loads the compiler of the given SDK.
+     *
+     * @param sdkHome home path of the SDK
+     * @return compiler worker if the compiler can be loaded from the SDK, {@code null} otherwise
+     */
+    @Nullable
+    public static BallerinaInProcessCompilerWorker create(@NotNull String sdkHome) {
+        URLClassLoader classLoader = null;
+        try {
+            List<URL> filesToLoad = new LinkedList<>();
+            for (File file : getCompilerLibraries(sdkHome)) {
+                filesToLoad.add(file.toURI().toURL());
+            }
+            // Create a new class loader.
+            classLoader = new URLClassLoader(filesToLoad.toArray(new URL[filesToLoad.size()]),
+                    BallerinaInProcessCompilerWorker.class.getClassLoader());
+            Class<?> classToLoad = Class.forName(COMPILE_UTIL_CLASS, true, classLoader);
+            // Get the methods.
+            Method method = classToLoad.getMethod(DIAGNOSTICS_METHOD, ClassLoader.class, String.class,
+                    String.class);
+            return new BallerinaInProcessCompilerWorker(classLoader, method);
+        } catch (MalformedURLException | NoSuchMethodException | ClassNotFoundException | LinkageError e) {
+            LOGGER.debug(e.getMessage(), e);
+            close(classLoader);
+            return null;
+        }
+    }
+
+    /**
+     * Returns the jars which contain the compiler of the given SDK.
+     */
+    @NotNull
+    static List<File> getCompilerLibraries(@NotNull String sdkHome) {
+        List<File> libraries = new LinkedList<>();
+        File[] files = new File(sdkHome + BallerinaConstants.BALLERINA_SDK_LIB_DIR).listFiles();
+        if (files != null) {
+            for (File f : files) {
+                if (f.isFile() && f.getName().endsWith(BallerinaConstants.BALLERINA_SDK_LIB_FILE_EXTENTION)) {
+                    libraries.add(f);
+                }
+            }
+        }
+        return libraries;
+    }
+
+    @NotNull
+    @Override
+    public List<Diagnostic> getDiagnostics(@Nullable String sourceRoot, @NotNull String packageName,
+                                           @NotNull BallerinaSourceOverlay overlay) {
+        myLock.readLock().lock();
+        try {
+            if (myClosed) {
+                return new LinkedList<>();
+            }
+            // If there are unsaved contents, they are compiled from a temporary source root.
+            if (!overlay.isEmpty()) {
+                try (BallerinaOverlaySourceRoot overlayRoot = BallerinaOverlaySourceRoot.create(sourceRoot,
+                        overlay.getSources())) {
+                    if (overlayRoot != null) {
+                        return (List<Diagnostic>) myMethod.invoke(null, myClassLoader, overlayRoot.getPath(),
+                                packageName);
+                    }
+                } catch (IOException e) {
+                    // The saved contents are compiled instead.
+                    LOGGER.debug(e.getMessage(), e);
+                }
+            }
+            // Get the list of diagnostics.
+            return (List<Diagnostic>) myMethod.invoke(null, myClassLoader, sourceRoot, packageName);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            LOGGER.debug(e.getMessage(), e);
+        } finally {
+            myLock.readLock().unlock();
+        }
+        return new LinkedList<>();
+    }
+
+    @Override
+    public void close() {
+        myLock.writeLock().lock();
+        try {
+            if (!myClosed) {
+                myClosed = true;
+                close(myClassLoader);
+            }
+        } finally {
+            myLock.writeLock().unlock();
+        }
+    }
+
+    private static void close(@Nullable URLClassLoader classLoader) {
+        if (classLoader == null) {
+            return;
+        }
+        try {
+            classLoader.close();
+        } catch (IOException e) {
+            LOGGER.debug(e.getMessage(), e);
+        }
+    }
+}
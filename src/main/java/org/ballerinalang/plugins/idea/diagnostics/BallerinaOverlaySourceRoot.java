@@ -0,0 +1,164 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.ballerinalang.plugins.idea.diagnostics;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Temporary source root which is used to compile unsaved contents with compilers which can only read from the disk.
+ * The directories from the source root down to the package directory are created in a temporary directory, the
+ * unsaved files are written in to the package directory and everything else is linked to the original files. So
+ * the other packages of the source root can still be imported, and nothing is written to the original files.
+ * <p>
+ * This is also used by the diagnostics daemon, so it must not depend on the IDE classes.
+ */
+public class BallerinaOverlaySourceRoot implements Closeable {
+
+    private static final String TEMP_DIRECTORY_PREFIX = "ballerina-overlay";
+
+    private final Path myRoot;
+
+    private BallerinaOverlaySourceRoot(@NotNull Path root) {
+        myRoot = root;
+    }
+
+    /**
+     * Creates a temporary source root which contains the given unsaved contents.
+     *
+     * @param sourceRoot source root which is compiled
+     * @param sources    unsaved contents keyed by the absolute path of the file. All files must be in the same
+     *                   directory inside the source root.
+     * @return temporary source root, {@code null} if the unsaved files are not inside the source root
+     * @throws IOException if the temporary source root cannot be created, for example if the file system does not
+     *                     support symbolic links
+     */
+    @Nullable
+    public static BallerinaOverlaySourceRoot create(@Nullable String sourceRoot, @NotNull Map<String, String> sources)
+            throws IOException {
+        if (sourceRoot == null || sources.isEmpty()) {
+            return null;
+        }
+        Path root = Paths.get(sourceRoot).toAbsolutePath().normalize();
+        Map<Path, String> contents = new HashMap<>();
+        Path packageDirectory = null;
+        for (Map.Entry<String, String> entry : sources.entrySet()) {
+            Path file = Paths.get(entry.getKey()).toAbsolutePath().normalize();
+            if (packageDirectory == null) {
+                packageDirectory = file.getParent();
+            }
+            if (packageDirectory == null || !packageDirectory.equals(file.getParent())
+                    || !packageDirectory.startsWith(root)) {
+                return null;
+            }
+            contents.put(file.getFileName(), entry.getValue());
+        }
+
+        BallerinaOverlaySourceRoot overlayRoot =
+                new BallerinaOverlaySourceRoot(Files.createTempDirectory(TEMP_DIRECTORY_PREFIX));
+        boolean created = false;
+        try {
+            // Only the directories on the way to the package are created. Everything else is a link.
+            Path directory = root;
+            Path copy = overlayRoot.myRoot;
+            for (Path name : root.relativize(packageDirectory)) {
+                if (name.toString().isEmpty()) {
+                    continue;
+                }
+                link(directory, copy, name);
+                directory = directory.resolve(name);
+                copy = Files.createDirectory(copy.resolve(name.toString()));
+            }
+            link(directory, copy, null);
+            for (Map.Entry<Path, String> entry : contents.entrySet()) {
+                Path file = copy.resolve(entry.getKey().toString());
+                Files.deleteIfExists(file);
+                Files.write(file, entry.getValue().getBytes(StandardCharsets.UTF_8));
+            }
+            created = true;
+            return overlayRoot;
+        } finally {
+            if (!created) {
+                overlayRoot.close();
+            }
+        }
+    }
+
+    /**
+     * Links the children of the directory in to the copy, except the given child.
+     */
+    private static void link(@NotNull Path directory, @NotNull Path copy, @Nullable Path except) throws IOException {
+        try (DirectoryStream<Path> children = Files.newDirectoryStream(directory)) {
+            for (Path child : children) {
+                Path name = child.getFileName();
+                if (!name.equals(except)) {
+                    Files.createSymbolicLink(copy.resolve(name.toString()), child);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the path of the temporary source root, which is passed to the compiler in place of the source root.
+     */
+    @NotNull
+    public String getPath() {
+        return myRoot.toString();
+    }
+
+    /**
+     * Deletes the temporary source root. Links are deleted without following them, so the original files are kept.
+     */
+    @Override
+    public void close() {
+        try {
+            delete(myRoot);
+        } catch (IOException ignored) {
+            // The directory is left in the temporary directory, which does not affect the next compilations.
+        }
+    }
+
+    private static void delete(@NotNull Path root) throws IOException {
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.plugins.idea.diagnostics;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import org.ballerinalang.plugins.idea.util.Diagnostic;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Diagnostics of a single package which is compiled by the compile all task.
+ */
+public class BallerinaPackageDiagnostics {
+
+    private final VirtualFile myDirectory;
+    private final String myPackageName;
+    private final String myContentHash;
+    private final List<Diagnostic> myDiagnostics;
+    private final boolean myCached;
+
+    BallerinaPackageDiagnostics(@NotNull VirtualFile directory, @NotNull String packageName,
+                                @NotNull String contentHash, @NotNull List<Diagnostic> diagnostics, boolean cached) {
+        myDirectory = directory;
+        myPackageName = packageName;
+        myContentHash = contentHash;
+        myDiagnostics = diagnostics;
+        myCached = cached;
+    }
+
+    @NotNull
+    public VirtualFile getDirectory() {
+        return myDirectory;
+    }
+
+    @NotNull
+    public String getPackageName() {
+        return myPackageName;
+    }
+
+    @NotNull
+    String getContentHash() {
+        return myContentHash;
+    }
+
+    /**
+     * Returns the diagnostics of the files in the package directory.
+     */
+    @NotNull
+    public List<Diagnostic> getDiagnostics() {
+        return myDiagnostics;
+    }
+
+    /**
+     * Returns whether the diagnostics are reused from a previous run since the package is not modified.
+     */
+    public boolean isCached() {
+        return myCached;
+    }
+
+    @NotNull
+    BallerinaPackageDiagnostics asCached() {
+        return new BallerinaPackageDiagnostics(myDirectory, myPackageName, myContentHash, myDiagnostics, true);
+    }
+}
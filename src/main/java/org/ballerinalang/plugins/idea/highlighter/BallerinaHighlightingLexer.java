@@ -0,0 +1,234 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.plugins.idea.highlighter;
+
+import com.intellij.lexer.LexerBase;
+import com.intellij.psi.tree.IElementType;
+import org.antlr.jetbrains.adaptor.lexer.PSIElementTypeFactory;
+import org.antlr.jetbrains.adaptor.lexer.TokenIElementType;
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.IntStream;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.misc.Interval;
+import org.ballerinalang.plugins.idea.BallerinaLanguage;
+import org.ballerinalang.plugins.idea.grammar.BallerinaLexer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Highlighting lexer for Ballerina. Unlike the generic ANTLR lexer adaptor, the state of this lexer encodes the
+ * current mode, the whole mode stack and whether the lexer is inside a template. So lexing can be restarted from any
+ * token boundary using the state of that token, even with a new lexer, and the lexer will produce the same tokens as
+ * lexing from the start.
+ * <p>
+ * The state is packed in to the returned integer as follows, starting from the least significant bit.
+ * <ul>
+ * <li>1 bit - whether the lexer is inside a template</li>
+ * <li>2 bits - current mode</li>
+ * <li>4 bits - depth of the mode stack</li>
+ * <li>2 bits for each mode in the mode stack, starting from the bottom of the stack</li>
+ * </ul>
+ * Mode stacks which are too deep to be packed are reported as {@link #NOT_RESTARTABLE}. Lexing should not be
+ * restarted from tokens with that state, since the mode stack cannot be restored from it. The initial state is always
+ * {@code 0}.
+ */
+public class BallerinaHighlightingLexer extends LexerBase {
+
+    private static final int MODE_BITS = 2;
+    private static final int MODE_MASK = (1 << MODE_BITS) - 1;
+    private static final int DEPTH_BITS = 4;
+    private static final int DEPTH_MASK = (1 << DEPTH_BITS) - 1;
+    private static final int MODE_SHIFT = 1;
+    private static final int DEPTH_SHIFT = MODE_SHIFT + MODE_BITS;
+    private static final int STACK_SHIFT = DEPTH_SHIFT + DEPTH_BITS;
+    private static final int MAX_PACKED_DEPTH = Math.min(DEPTH_MASK, (Integer.SIZE - 1 - STACK_SHIFT) / MODE_BITS);
+
+    /**
+     * State of the tokens which are nested too deeply to be packed. Packed states are never negative.
+     */
+    public static final int NOT_RESTARTABLE = -1;
+
+    static {
+        assert BallerinaLexer.modeNames.length <= MODE_MASK + 1 : "Lexer modes cannot be packed in to the state";
+    }
+
+    private final BallerinaLexer myLexer = new BallerinaLexer(null);
+    private final List<TokenIElementType> myTokenTypes =
+            PSIElementTypeFactory.getTokenIElementTypes(BallerinaLanguage.INSTANCE);
+
+    private CharSequence myBuffer;
+    private int myEndOffset;
+    private Token myToken;
+    private int myState;
+
+    @Override
+    public void start(@NotNull CharSequence buffer, int startOffset, int endOffset, int initialState) {
+        myBuffer = buffer;
+        myEndOffset = endOffset;
+        CharStream input = new CharSequenceCharStream(buffer, endOffset);
+        // This resets the lexer, so the state should be applied afterwards.
+        myLexer.setInputStream(input);
+        input.seek(startOffset);
+        applyState(initialState);
+        advance();
+    }
+
+    @Override
+    public int getState() {
+        return myState;
+    }
+
+    @Nullable
+    @Override
+    public IElementType getTokenType() {
+        if (myToken == null || myToken.getType() == Token.EOF) {
+            return null;
+        }
+        return myTokenTypes.get(myToken.getType());
+    }
+
+    @Override
+    public int getTokenStart() {
+        return myToken.getType() == Token.EOF ? myEndOffset : myToken.getStartIndex();
+    }
+
+    @Override
+    public int getTokenEnd() {
+        return myToken.getType() == Token.EOF ? myEndOffset : myToken.getStopIndex() + 1;
+    }
+
+    @Override
+    public void advance() {
+        // State of a token is the state of the lexer before reading the token.
+        myState = packState();
+        myToken = myLexer.nextToken();
+    }
+
+    @NotNull
+    @Override
+    public CharSequence getBufferSequence() {
+        return myBuffer;
+    }
+
+    @Override
+    public int getBufferEnd() {
+        return myEndOffset;
+    }
+
+    private int packState() {
+        int depth = myLexer._modeStack.size();
+        if (depth > MAX_PACKED_DEPTH) {
+            return NOT_RESTARTABLE;
+        }
+        int state = myLexer.isInTemplate() ? 1 : 0;
+        state |= myLexer._mode << MODE_SHIFT;
+        state |= depth << DEPTH_SHIFT;
+        for (int i = 0; i < depth; i++) {
+            state |= myLexer._modeStack.get(i) << (STACK_SHIFT + i * MODE_BITS);
+        }
+        return state;
+    }
+
+    private void applyState(int state) {
+        myLexer._modeStack.clear();
+        if (state < 0) {
+            // The mode stack is lost, so the best we can do is to start from the initial state.
+            myLexer.setInTemplate(false);
+            myLexer._mode = 0;
+            return;
+        }
+        myLexer.setInTemplate((state & 1) != 0);
+        myLexer._mode = (state >> MODE_SHIFT) & MODE_MASK;
+        int depth = (state >> DEPTH_SHIFT) & DEPTH_MASK;
+        for (int i = 0; i < depth; i++) {
+            myLexer._modeStack.push((state >> (STACK_SHIFT + i * MODE_BITS)) & MODE_MASK);
+        }
+    }
+
+    /**
+     * ANTLR char stream which reads directly from a {@link CharSequence} without copying it.
+     */
+    private static class CharSequenceCharStream implements CharStream {
+
+        private final CharSequence myBuffer;
+        private final int myEndOffset;
+        private int myIndex;
+
+        CharSequenceCharStream(@NotNull CharSequence buffer, int endOffset) {
+            myBuffer = buffer;
+            myEndOffset = endOffset;
+        }
+
+        @Override
+        public String getText(Interval interval) {
+            int start = Math.max(interval.a, 0);
+            int stop = Math.min(interval.b, myEndOffset - 1);
+            return start > stop ? "" : myBuffer.subSequence(start, stop + 1).toString();
+        }
+
+        @Override
+        public void consume() {
+            if (myIndex >= myEndOffset) {
+                throw new IllegalStateException("cannot consume EOF");
+            }
+            myIndex++;
+        }
+
+        @Override
+        public int LA(int i) {
+            if (i == 0) {
+                return 0;
+            }
+            int index = i < 0 ? myIndex + i : myIndex + i - 1;
+            if (index < 0 || index >= myEndOffset) {
+                return IntStream.EOF;
+            }
+            return myBuffer.charAt(index);
+        }
+
+        @Override
+        public int mark() {
+            return -1;
+        }
+
+        @Override
+        public void release(int marker) {
+        }
+
+        @Override
+        public int index() {
+            return myIndex;
+        }
+
+        @Override
+        public void seek(int index) {
+            myIndex = Math.min(index, myEndOffset);
+        }
+
+        @Override
+        public int size() {
+            return myEndOffset;
+        }
+
+        @Override
+        public String getSourceName() {
+            return IntStream.UNKNOWN_SOURCE_NAME;
+        }
+    }
+}
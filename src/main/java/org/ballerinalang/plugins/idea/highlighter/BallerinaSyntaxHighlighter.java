@@ -20,11 +20,8 @@ import com.intellij.lexer.Lexer;
 import com.intellij.openapi.editor.colors.TextAttributesKey;
 import com.intellij.openapi.fileTypes.SyntaxHighlighterBase;
 import com.intellij.psi.tree.IElementType;
-import org.antlr.jetbrains.adaptor.lexer.ANTLRLexerAdaptor;
 import org.antlr.jetbrains.adaptor.lexer.TokenIElementType;
-import org.ballerinalang.plugins.idea.BallerinaLanguage;
 import org.ballerinalang.plugins.idea.BallerinaParserDefinition;
-import org.ballerinalang.plugins.idea.grammar.BallerinaLexer;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.HashMap;
@@ -50,8 +47,7 @@ public class BallerinaSyntaxHighlighter extends SyntaxHighlighterBase {
 
     @NotNull
     public Lexer getHighlightingLexer() {
-        BallerinaLexer lexer = new BallerinaLexer(null);
-        return new ANTLRLexerAdaptor(BallerinaLanguage.INSTANCE, lexer);
+        return new BallerinaHighlightingLexer();
     }
 
     @NotNull
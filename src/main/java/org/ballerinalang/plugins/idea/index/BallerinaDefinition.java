@@ -0,0 +1,91 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.plugins.idea.index;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Represents a top level definition recorded in the {@link BallerinaDefinitionIndex}. Only the details which are
+ * needed to locate the definition later are stored, so the definition can be found without parsing the file.
+ */
+public class BallerinaDefinition {
+
+    @NotNull
+    private final String name;
+    @NotNull
+    private final BallerinaDefinitionKind kind;
+    private final boolean isPublic;
+    private final int offset;
+
+    public BallerinaDefinition(@NotNull String name, @NotNull BallerinaDefinitionKind kind, boolean isPublic,
+                               int offset) {
+        this.name = name;
+        this.kind = kind;
+        this.isPublic = isPublic;
+        this.offset = offset;
+    }
+
+    @NotNull
+    public String getName() {
+        return name;
+    }
+
+    @NotNull
+    public BallerinaDefinitionKind getKind() {
+        return kind;
+    }
+
+    public boolean isPublic() {
+        return isPublic;
+    }
+
+    /**
+     * Returns the start offset of the identifier of the definition.
+     *
+     * @return start offset of the identifier
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        BallerinaDefinition that = (BallerinaDefinition) o;
+        return isPublic == that.isPublic && offset == that.offset && name.equals(that.name)
+                && kind == that.kind;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = name.hashCode();
+        result = 31 * result + kind.hashCode();
+        result = 31 * result + (isPublic ? 1 : 0);
+        result = 31 * result + offset;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return kind + ":" + name;
+    }
+}
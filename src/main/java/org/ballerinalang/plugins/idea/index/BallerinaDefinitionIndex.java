@@ -0,0 +1,253 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.plugins.idea.index;
+
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.Condition;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.GlobalSearchScopesCore;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.SmartList;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.DefaultFileTypeSpecificInputFilter;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileBasedIndexExtension;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import org.ballerinalang.plugins.idea.BallerinaFileType;
+import org.ballerinalang.plugins.idea.psi.BallerinaFile;
+import org.ballerinalang.plugins.idea.psi.IdentifierPSINode;
+import org.ballerinalang.plugins.idea.psi.impl.BallerinaPsiImplUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Indexes top level definitions (functions, connectors, structs, enums, global variables, constants, annotations and
+ * transformers) of Ballerina files by name. This allows us to find a definition in a package without parsing all the
+ * files in the package.
+ */
+public class BallerinaDefinitionIndex extends FileBasedIndexExtension<String, List<BallerinaDefinition>> {
+
+    public static final ID<String, List<BallerinaDefinition>> NAME = ID.create("ballerina.definitions");
+
+    private static final int VERSION = 1;
+
+    private static final DataIndexer<String, List<BallerinaDefinition>, FileContent> INDEXER = inputData -> {
+        PsiFile psiFile = inputData.getPsiFile();
+        if (!(psiFile instanceof BallerinaFile)) {
+            return Collections.emptyMap();
+        }
+        Map<String, List<BallerinaDefinition>> results = new HashMap<>();
+        for (PsiElement definition : BallerinaPsiImplUtil.getTopLevelDefinitions(psiFile)) {
+            BallerinaDefinitionKind kind = BallerinaDefinitionKind.of(definition);
+            IdentifierPSINode identifier = PsiTreeUtil.getChildOfType(definition, IdentifierPSINode.class);
+            if (kind == null || identifier == null) {
+                continue;
+            }
+            String name = identifier.getText();
+            List<BallerinaDefinition> definitions = results.computeIfAbsent(name, k -> new SmartList<>());
+            definitions.add(new BallerinaDefinition(name, kind, BallerinaPsiImplUtil.isPublic(definition),
+                    identifier.getTextOffset()));
+        }
+        return results;
+    };
+
+    private static final DataExternalizer<List<BallerinaDefinition>> EXTERNALIZER =
+            new DataExternalizer<List<BallerinaDefinition>>() {
+
+                @Override
+                public void save(@NotNull DataOutput out, List<BallerinaDefinition> value) throws IOException {
+                    DataInputOutputUtil.writeINT(out, value.size());
+                    for (BallerinaDefinition definition : value) {
+                        out.writeUTF(definition.getName());
+                        DataInputOutputUtil.writeINT(out, definition.getKind().ordinal());
+                        out.writeBoolean(definition.isPublic());
+                        DataInputOutputUtil.writeINT(out, definition.getOffset());
+                    }
+                }
+
+                @Override
+                public List<BallerinaDefinition> read(@NotNull DataInput in) throws IOException {
+                    int size = DataInputOutputUtil.readINT(in);
+                    List<BallerinaDefinition> definitions = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++) {
+                        String name = in.readUTF();
+                        int kindIndex = DataInputOutputUtil.readINT(in);
+                        BallerinaDefinitionKind kind = BallerinaDefinitionKind.values()[kindIndex];
+                        boolean isPublic = in.readBoolean();
+                        int offset = DataInputOutputUtil.readINT(in);
+                        definitions.add(new BallerinaDefinition(name, kind, isPublic, offset));
+                    }
+                    return definitions;
+                }
+            };
+
+    @NotNull
+    @Override
+    public ID<String, List<BallerinaDefinition>> getName() {
+        return NAME;
+    }
+
+    @NotNull
+    @Override
+    public DataIndexer<String, List<BallerinaDefinition>, FileContent> getIndexer() {
+        return INDEXER;
+    }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @NotNull
+    @Override
+    public DataExternalizer<List<BallerinaDefinition>> getValueExternalizer() {
+        return EXTERNALIZER;
+    }
+
+    @Override
+    public int getVersion() {
+        return VERSION;
+    }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return new DefaultFileTypeSpecificInputFilter(BallerinaFileType.INSTANCE);
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    /**
+     * Checks whether the files in the given directory can be looked up using the index. Index cannot be used while
+     * indexing is in progress or if the directory is not in the project content or library sources (Eg: SDK which is
+     * only configured using the Ballerina SDK service).
+     *
+     * @param project   current project
+     * @param directory directory to check
+     * @return {@code true} if the index can be used, {@code false} otherwise.
+     */
+    public static boolean isIndexed(@NotNull Project project, @NotNull VirtualFile directory) {
+        if (DumbService.isDumb(project)) {
+            return false;
+        }
+        ProjectFileIndex fileIndex = ProjectRootManager.getInstance(project).getFileIndex();
+        return fileIndex.isInContent(directory) || fileIndex.isInLibrarySource(directory);
+    }
+
+    /**
+     * Returns all definitions with the given name in the given directory(package). Sub directories are not
+     * considered since they are different packages.
+     *
+     * @param project   current project
+     * @param directory package directory
+     * @param name      name of the definition
+     * @return identifiers of the matching definitions
+     */
+    @NotNull
+    public static List<IdentifierPSINode> findDefinitions(@NotNull Project project, @NotNull VirtualFile directory,
+                                                          @NotNull String name) {
+        return findDefinitions(project, directory, name, definition -> true);
+    }
+
+    /**
+     * Returns all definitions with the given name and kind in the given directory(package). Sub directories are not
+     * considered since they are different packages.
+     *
+     * @param project        current project
+     * @param directory      package directory
+     * @param name           name of the definition
+     * @param kind           kind of the definition
+     * @param includePrivate whether to include non public definitions
+     * @return identifiers of the matching definitions
+     */
+    @NotNull
+    public static List<IdentifierPSINode> findDefinitions(@NotNull Project project, @NotNull VirtualFile directory,
+                                                          @NotNull String name, @NotNull BallerinaDefinitionKind kind,
+                                                          boolean includePrivate) {
+        return findDefinitions(project, directory, name,
+                definition -> definition.getKind() == kind && (includePrivate || definition.isPublic()));
+    }
+
+    @NotNull
+    private static List<IdentifierPSINode> findDefinitions(@NotNull Project project, @NotNull VirtualFile directory,
+                                                           @NotNull String name,
+                                                           @NotNull Condition<BallerinaDefinition> condition) {
+        List<IdentifierPSINode> results = new SmartList<>();
+        GlobalSearchScope scope = GlobalSearchScopesCore.directoryScope(project, directory, false);
+        PsiManager psiManager = PsiManager.getInstance(project);
+        FileBasedIndex.getInstance().processValues(NAME, name, null, (file, definitions) -> {
+            PsiFile psiFile = psiManager.findFile(file);
+            if (psiFile == null) {
+                return true;
+            }
+            for (BallerinaDefinition definition : definitions) {
+                if (!condition.value(definition)) {
+                    continue;
+                }
+                IdentifierPSINode identifier = findIdentifier(psiFile, definition);
+                if (identifier != null) {
+                    results.add(identifier);
+                }
+            }
+            return true;
+        }, scope);
+        return results;
+    }
+
+    @Nullable
+    private static IdentifierPSINode findIdentifier(@NotNull PsiFile psiFile, @NotNull BallerinaDefinition definition) {
+        PsiElement element = psiFile.findElementAt(definition.getOffset());
+        if (element instanceof IdentifierPSINode && definition.getName().equals(element.getText())
+                && definition.getKind().getDefinitionClass().isInstance(element.getParent())) {
+            return (IdentifierPSINode) element;
+        }
+        // Offsets can be out of sync with the PSI if the file has uncommitted changes. So we search the file.
+        List<IdentifierPSINode> identifiers = BallerinaPsiImplUtil.getMatchingElementsFromAFile(psiFile,
+                definition.getKind().getDefinitionClass(), true);
+        for (IdentifierPSINode identifier : identifiers) {
+            if (identifier != null && definition.getName().equals(identifier.getText())) {
+                return identifier;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.plugins.idea.index;
+
+import com.intellij.psi.PsiElement;
+import org.ballerinalang.plugins.idea.psi.AnnotationDefinitionNode;
+import org.ballerinalang.plugins.idea.psi.ConnectorDefinitionNode;
+import org.ballerinalang.plugins.idea.psi.ConstantDefinitionNode;
+import org.ballerinalang.plugins.idea.psi.EnumDefinitionNode;
+import org.ballerinalang.plugins.idea.psi.FunctionDefinitionNode;
+import org.ballerinalang.plugins.idea.psi.GlobalVariableDefinitionNode;
+import org.ballerinalang.plugins.idea.psi.StructDefinitionNode;
+import org.ballerinalang.plugins.idea.psi.TransformerDefinitionNode;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Kinds of top level definitions which are recorded in the {@link BallerinaDefinitionIndex}.
+ */
+public enum BallerinaDefinitionKind {
+
+    FUNCTION(FunctionDefinitionNode.class),
+    CONNECTOR(ConnectorDefinitionNode.class),
+    STRUCT(StructDefinitionNode.class),
+    ENUM(EnumDefinitionNode.class),
+    GLOBAL_VARIABLE(GlobalVariableDefinitionNode.class),
+    CONSTANT(ConstantDefinitionNode.class),
+    ANNOTATION(AnnotationDefinitionNode.class),
+    TRANSFORMER(TransformerDefinitionNode.class);
+
+    private final Class<? extends PsiElement> definitionClass;
+
+    BallerinaDefinitionKind(@NotNull Class<? extends PsiElement> definitionClass) {
+        this.definitionClass = definitionClass;
+    }
+
+    @NotNull
+    public Class<? extends PsiElement> getDefinitionClass() {
+        return definitionClass;
+    }
+
+    /**
+     * Returns the kind of the given definition node.
+     *
+     * @param element a PsiElement
+     * @return matching {@link BallerinaDefinitionKind} if the element is a top level definition, {@code null}
+     * otherwise.
+     */
+    @Nullable
+    public static BallerinaDefinitionKind of(@NotNull PsiElement element) {
+        for (BallerinaDefinitionKind kind : values()) {
+            if (kind.definitionClass.isInstance(element)) {
+                return kind;
+            }
+        }
+        return null;
+    }
+}
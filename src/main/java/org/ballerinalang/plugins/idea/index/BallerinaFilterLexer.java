@@ -0,0 +1,52 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.plugins.idea.index;
+
+import com.intellij.psi.impl.cache.impl.BaseFilterLexer;
+import com.intellij.psi.impl.cache.impl.OccurrenceConsumer;
+import com.intellij.psi.search.UsageSearchContext;
+import com.intellij.psi.tree.IElementType;
+import org.antlr.jetbrains.adaptor.lexer.ANTLRLexerAdaptor;
+import org.ballerinalang.plugins.idea.BallerinaLanguage;
+import org.ballerinalang.plugins.idea.BallerinaParserDefinition;
+import org.ballerinalang.plugins.idea.grammar.BallerinaLexer;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Filter lexer which is used to build the id index and the todo index of Ballerina files. Identifiers are recorded as
+ * code occurrences, comments and string literals are split into words and comments are scanned for todo items.
+ */
+public class BallerinaFilterLexer extends BaseFilterLexer {
+
+    public BallerinaFilterLexer(@NotNull OccurrenceConsumer consumer) {
+        super(new ANTLRLexerAdaptor(BallerinaLanguage.INSTANCE, new BallerinaLexer(null)), consumer);
+    }
+
+    @Override
+    public void advance() {
+        IElementType tokenType = myDelegate.getTokenType();
+        if (BallerinaParserDefinition.IDENTIFIER.contains(tokenType)) {
+            addOccurrenceInToken(UsageSearchContext.IN_CODE);
+        } else if (BallerinaParserDefinition.COMMENTS.contains(tokenType)) {
+            scanWordsInToken(UsageSearchContext.IN_COMMENTS, false, false);
+            advanceTodoItemCountsInToken();
+        } else if (BallerinaParserDefinition.STRING_LITERALS.contains(tokenType)) {
+            scanWordsInToken(UsageSearchContext.IN_STRINGS | UsageSearchContext.IN_FOREIGN_LANGUAGES, false, false);
+        }
+        myDelegate.advance();
+    }
+}
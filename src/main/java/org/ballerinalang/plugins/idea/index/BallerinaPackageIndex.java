@@ -0,0 +1,209 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.plugins.idea.index;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiDirectory;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.indexing.DataIndexer;
+import com.intellij.util.indexing.DefaultFileTypeSpecificInputFilter;
+import com.intellij.util.indexing.FileBasedIndex;
+import com.intellij.util.indexing.FileBasedIndexExtension;
+import com.intellij.util.indexing.FileContent;
+import com.intellij.util.indexing.ID;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorIntegerDescriptor;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import org.ballerinalang.plugins.idea.BallerinaFileType;
+import org.ballerinalang.plugins.idea.psi.BallerinaFile;
+import org.ballerinalang.plugins.idea.psi.CompilationUnitNode;
+import org.ballerinalang.plugins.idea.psi.FullyQualifiedPackageNameNode;
+import org.ballerinalang.plugins.idea.psi.ImportDeclarationNode;
+import org.ballerinalang.plugins.idea.psi.PackageDeclarationNode;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Indexes the package declared in each Ballerina file and the packages imported by each file. Keys are package paths
+ * (Eg: ballerina.net.http) and values are flags which indicates whether the file declares and/or imports the package.
+ */
+public class BallerinaPackageIndex extends FileBasedIndexExtension<String, Integer> {
+
+    public static final ID<String, Integer> NAME = ID.create("ballerina.packages");
+
+    private static final int VERSION = 1;
+
+    private static final int DECLARES = 1;
+    private static final int IMPORTS = 1 << 1;
+
+    private static final DataIndexer<String, Integer, FileContent> INDEXER = inputData -> {
+        PsiFile psiFile = inputData.getPsiFile();
+        if (!(psiFile instanceof BallerinaFile)) {
+            return Collections.emptyMap();
+        }
+        Map<String, Integer> results = new HashMap<>();
+        // Package declaration and imports are always at the top of the file. So we only need to check the children of
+        // the compilation unit.
+        CompilationUnitNode compilationUnit = PsiTreeUtil.getChildOfType(psiFile, CompilationUnitNode.class);
+        if (compilationUnit == null) {
+            return results;
+        }
+        for (PsiElement child : compilationUnit.getChildren()) {
+            if (child instanceof PackageDeclarationNode) {
+                addPackage(results, child, DECLARES);
+            } else if (child instanceof ImportDeclarationNode) {
+                addPackage(results, child, IMPORTS);
+            }
+        }
+        return results;
+    };
+
+    private static void addPackage(@NotNull Map<String, Integer> packages, @NotNull PsiElement declaration,
+                                   int flag) {
+        FullyQualifiedPackageNameNode packageNameNode = PsiTreeUtil.getChildOfType(declaration,
+                FullyQualifiedPackageNameNode.class);
+        if (packageNameNode == null) {
+            return;
+        }
+        packages.merge(packageNameNode.getText(), flag, (oldFlags, newFlag) -> oldFlags | newFlag);
+    }
+
+    @NotNull
+    @Override
+    public ID<String, Integer> getName() {
+        return NAME;
+    }
+
+    @NotNull
+    @Override
+    public DataIndexer<String, Integer, FileContent> getIndexer() {
+        return INDEXER;
+    }
+
+    @NotNull
+    @Override
+    public KeyDescriptor<String> getKeyDescriptor() {
+        return EnumeratorStringDescriptor.INSTANCE;
+    }
+
+    @NotNull
+    @Override
+    public DataExternalizer<Integer> getValueExternalizer() {
+        return EnumeratorIntegerDescriptor.INSTANCE;
+    }
+
+    @Override
+    public int getVersion() {
+        return VERSION;
+    }
+
+    @NotNull
+    @Override
+    public FileBasedIndex.InputFilter getInputFilter() {
+        return new DefaultFileTypeSpecificInputFilter(BallerinaFileType.INSTANCE);
+    }
+
+    @Override
+    public boolean dependsOnFileContent() {
+        return true;
+    }
+
+    /**
+     * Returns the directories which contain files which declare the given package.
+     *
+     * @param project     current project
+     * @param packagePath package path. Eg: ballerina.net.http
+     * @param scope       search scope
+     * @return package directories
+     */
+    @NotNull
+    public static List<PsiDirectory> findPackageDirectories(@NotNull Project project, @NotNull String packagePath,
+                                                            @NotNull GlobalSearchScope scope) {
+        Set<VirtualFile> directories = new LinkedHashSet<>();
+        for (VirtualFile file : findFiles(packagePath, DECLARES, scope)) {
+            VirtualFile directory = file.getParent();
+            if (directory != null) {
+                directories.add(directory);
+            }
+        }
+        List<PsiDirectory> results = new ArrayList<>();
+        PsiManager psiManager = PsiManager.getInstance(project);
+        for (VirtualFile directory : directories) {
+            PsiDirectory psiDirectory = psiManager.findDirectory(directory);
+            if (psiDirectory != null) {
+                results.add(psiDirectory);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Returns the paths of all packages which are declared or imported in the project and libraries. The paths might
+     * include packages which are no longer declared, so the directories should be checked using
+     * {@link #findPackageDirectories(Project, String, GlobalSearchScope)}.
+     *
+     * @param project current project
+     * @return package paths
+     */
+    @NotNull
+    public static Collection<String> getAllPackagePaths(@NotNull Project project) {
+        return FileBasedIndex.getInstance().getAllKeys(NAME, project);
+    }
+
+    /**
+     * Returns the files which import the given package.
+     *
+     * @param packagePath package path. Eg: ballerina.net.http
+     * @param scope       search scope
+     * @return files which import the package
+     */
+    @NotNull
+    public static List<VirtualFile> findImportingFiles(@NotNull String packagePath, @NotNull GlobalSearchScope scope) {
+        return findFiles(packagePath, IMPORTS, scope);
+    }
+
+    @NotNull
+    private static List<VirtualFile> findFiles(@NotNull String packagePath, int flag,
+                                               @NotNull GlobalSearchScope scope) {
+        List<VirtualFile> results = new ArrayList<>();
+        if (StringUtil.isEmpty(packagePath)) {
+            return results;
+        }
+        FileBasedIndex.getInstance().processValues(NAME, packagePath, null, (file, flags) -> {
+            if ((flags & flag) != 0) {
+                results.add(file);
+            }
+            return true;
+        }, scope);
+        return results;
+    }
+}
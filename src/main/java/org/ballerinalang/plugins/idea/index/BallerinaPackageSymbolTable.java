@@ -0,0 +1,151 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.plugins.idea.index;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiDirectory;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.intellij.psi.util.PsiTreeUtil;
+import org.ballerinalang.plugins.idea.psi.BallerinaFile;
+import org.ballerinalang.plugins.idea.psi.IdentifierPSINode;
+import org.ballerinalang.plugins.idea.psi.impl.BallerinaPsiImplUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Name to definition lookup table of the top level definitions in a package. A table is cached on the package
+ * directory and is dropped whenever the PSI changes.
+ * <p>
+ * If the package is indexed, names are looked up in the {@link BallerinaDefinitionIndex} when they are requested for
+ * the first time. Otherwise all files in the package are parsed once and the complete table is built up front.
+ */
+public class BallerinaPackageSymbolTable {
+
+    private static final Symbols NO_SYMBOLS = new Symbols();
+
+    @NotNull
+    private final Project myProject;
+    @NotNull
+    private final VirtualFile myDirectory;
+    private final boolean myIsIndexed;
+    private final Map<String, Symbols> mySymbols = new ConcurrentHashMap<>();
+
+    private BallerinaPackageSymbolTable(@NotNull PsiDirectory directory) {
+        myProject = directory.getProject();
+        myDirectory = directory.getVirtualFile();
+        myIsIndexed = BallerinaDefinitionIndex.isIndexed(myProject, myDirectory);
+        if (!myIsIndexed) {
+            for (PsiFile psiFile : directory.getFiles()) {
+                if (!(psiFile instanceof BallerinaFile)) {
+                    continue;
+                }
+                for (PsiElement definition : BallerinaPsiImplUtil.getTopLevelDefinitions(psiFile)) {
+                    IdentifierPSINode identifier = PsiTreeUtil.getChildOfType(definition, IdentifierPSINode.class);
+                    if (identifier != null) {
+                        mySymbols.computeIfAbsent(identifier.getText(), name -> new Symbols()).add(identifier);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the symbol table of the given package.
+     *
+     * @param directory package directory
+     * @return cached symbol table of the package
+     */
+    @NotNull
+    public static BallerinaPackageSymbolTable getInstance(@NotNull PsiDirectory directory) {
+        return CachedValuesManager.getCachedValue(directory, () -> CachedValueProvider.Result.create(
+                new BallerinaPackageSymbolTable(directory), PsiModificationTracker.MODIFICATION_COUNT));
+    }
+
+    /**
+     * Finds the definition with the given name and kind.
+     *
+     * @param name           name of the definition
+     * @param kind           kind of the definition
+     * @param includePrivate whether to include non public definitions
+     * @return identifier of the definition if found, {@code null} otherwise.
+     */
+    @Nullable
+    public IdentifierPSINode findDefinition(@NotNull String name, @NotNull BallerinaDefinitionKind kind,
+                                            boolean includePrivate) {
+        Symbols symbols = mySymbols.get(name);
+        if (symbols == null) {
+            if (!myIsIndexed) {
+                return null;
+            }
+            symbols = loadSymbols(name);
+            mySymbols.putIfAbsent(name, symbols);
+        }
+        return symbols.get(kind, includePrivate);
+    }
+
+    @NotNull
+    private Symbols loadSymbols(@NotNull String name) {
+        Symbols symbols = null;
+        for (IdentifierPSINode identifier : BallerinaDefinitionIndex.findDefinitions(myProject, myDirectory, name)) {
+            if (symbols == null) {
+                symbols = new Symbols();
+            }
+            symbols.add(identifier);
+        }
+        // Unknown names are cached as well since most of the lookups in a package are misses.
+        return symbols == null ? NO_SYMBOLS : symbols;
+    }
+
+    /**
+     * Definitions which share the same name, split by kind and visibility.
+     */
+    private static class Symbols {
+
+        private static final int KIND_COUNT = BallerinaDefinitionKind.values().length;
+
+        private final IdentifierPSINode[] myDefinitions = new IdentifierPSINode[KIND_COUNT];
+        private final IdentifierPSINode[] myPublicDefinitions = new IdentifierPSINode[KIND_COUNT];
+
+        void add(@NotNull IdentifierPSINode identifier) {
+            PsiElement definition = identifier.getParent();
+            BallerinaDefinitionKind kind = definition == null ? null : BallerinaDefinitionKind.of(definition);
+            if (kind == null) {
+                return;
+            }
+            int index = kind.ordinal();
+            if (myDefinitions[index] == null) {
+                myDefinitions[index] = identifier;
+            }
+            if (myPublicDefinitions[index] == null && BallerinaPsiImplUtil.isPublic(definition)) {
+                myPublicDefinitions[index] = identifier;
+            }
+        }
+
+        @Nullable
+        IdentifierPSINode get(@NotNull BallerinaDefinitionKind kind, boolean includePrivate) {
+            return includePrivate ? myDefinitions[kind.ordinal()] : myPublicDefinitions[kind.ordinal()];
+        }
+    }
+}
@@ -26,11 +26,10 @@ import com.intellij.util.containers.ContainerUtil;
 import org.ballerinalang.plugins.idea.psi.BallerinaFile;
 import org.ballerinalang.plugins.idea.psi.FullyQualifiedPackageNameNode;
 import org.ballerinalang.plugins.idea.psi.ImportDeclarationNode;
-import org.ballerinalang.plugins.idea.psi.PackageDeclarationNode;
 import org.ballerinalang.plugins.idea.psi.PackageNameNode;
-import org.ballerinalang.plugins.idea.psi.XmlAttribNode;
 import org.ballerinalang.plugins.idea.psi.impl.BallerinaElementFactory;
 import org.ballerinalang.plugins.idea.psi.impl.BallerinaPsiImplUtil;
+import org.ballerinalang.plugins.idea.psi.impl.BallerinaUsageMap;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -133,34 +132,7 @@ public class BallerinaImportOptimizer implements ImportOptimizer {
      */
     private List<ImportDeclarationNode> getUsedImportDeclarations(@NotNull PsiFile file) {
         // This is used to track all packages used in the file.
-        List<String> usedPackages = new LinkedList<>();
-        Collection<PackageNameNode> packageNameNodes = PsiTreeUtil.findChildrenOfType(file, PackageNameNode.class);
-        for (PackageNameNode packageNameNode : packageNameNodes) {
-            ProgressManager.checkCanceled();
-            if (packageNameNode == null) {
-                continue;
-            }
-            PackageDeclarationNode packageDeclarationNode = PsiTreeUtil.getParentOfType(packageNameNode,
-                    PackageDeclarationNode.class);
-            if (packageDeclarationNode != null) {
-                continue;
-            }
-            ImportDeclarationNode importDeclarationNode = PsiTreeUtil.getParentOfType(packageNameNode,
-                    ImportDeclarationNode.class);
-            if (importDeclarationNode != null) {
-                continue;
-            }
-            XmlAttribNode xmlAttribNode = PsiTreeUtil.getParentOfType(packageNameNode, XmlAttribNode.class);
-            if (xmlAttribNode != null) {
-                continue;
-            }
-
-            PsiElement nameIdentifier = packageNameNode.getNameIdentifier();
-            if (nameIdentifier == null) {
-                continue;
-            }
-            usedPackages.add(nameIdentifier.getText());
-        }
+        BallerinaUsageMap usages = BallerinaUsageMap.getInstance(file);
 
         List<ImportDeclarationNode> usedImportDeclarations = new LinkedList<>();
         List<String> fullyQualifiedImportedPackages = new LinkedList<>();
@@ -182,7 +154,7 @@ public class BallerinaImportOptimizer implements ImportOptimizer {
                 continue;
             }
             String lastPackageName = lastPackage.getText();
-            if (!usedPackages.contains(lastPackageName)) {
+            if (!usages.isPackageUsed(lastPackageName)) {
                 continue;
             }
 
@@ -0,0 +1,312 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.plugins.idea.project;
+
+import com.intellij.ProjectTopics;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ModuleRootAdapter;
+import com.intellij.openapi.roots.ModuleRootEvent;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileCopyEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileCreateEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileDeleteEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileMoveEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFilePropertyChangeEvent;
+import com.intellij.psi.PsiDirectory;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.search.FileTypeIndex;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.util.containers.ContainerUtil;
+import com.intellij.util.messages.MessageBusConnection;
+import org.ballerinalang.plugins.idea.BallerinaFileType;
+import org.ballerinalang.plugins.idea.util.BallerinaUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps track of all package directories in the project and libraries. Packages are discovered once and then kept up
+ * to date using VFS events. Any root change will trigger a rediscovery when the packages are requested next time.
+ */
+public class BallerinaPackageRegistry {
+
+    @NotNull
+    private final Project myProject;
+    private final Object myLock = new Object();
+    // Snapshots are replaced instead of modified, so readers do not need to lock. Null means packages need to be
+    // discovered again.
+    @Nullable
+    private volatile Set<VirtualFile> myPackages;
+    @Nullable
+    private volatile Map<String, List<VirtualFile>> myPackagesByImportPath;
+    private final Map<VirtualFile, String> myImportPaths = ContainerUtil.newConcurrentMap();
+
+    public BallerinaPackageRegistry(@NotNull Project project) {
+        myProject = project;
+        MessageBusConnection connection = project.getMessageBus().connect(project);
+        connection.subscribe(ProjectTopics.PROJECT_ROOTS, new ModuleRootAdapter() {
+            @Override
+            public void rootsChanged(ModuleRootEvent event) {
+                invalidate();
+            }
+        });
+        connection.subscribe(DumbService.DUMB_MODE, new DumbService.DumbModeListener() {
+            @Override
+            public void enteredDumbMode() {
+
+            }
+
+            @Override
+            public void exitDumbMode() {
+                invalidate();
+            }
+        });
+        connection.subscribe(VirtualFileManager.VFS_CHANGES, new BulkFileListener.Adapter() {
+            @Override
+            public void after(@NotNull List<? extends VFileEvent> events) {
+                for (VFileEvent event : events) {
+                    handleEvent(event);
+                }
+            }
+        });
+    }
+
+    public static BallerinaPackageRegistry getInstance(@NotNull Project project) {
+        return ServiceManager.getService(project, BallerinaPackageRegistry.class);
+    }
+
+    /**
+     * Returns all package directories in the project and libraries.
+     *
+     * @return package directories
+     */
+    @NotNull
+    public List<PsiDirectory> getAllPackages() {
+        return toPsiDirectories(getPackages());
+    }
+
+    /**
+     * Returns the package directories which matches the given import path. There can be multiple directories if the
+     * same package is available in multiple roots.
+     *
+     * @param importPath import path of the package. Eg: ballerina.net.http
+     * @return package directories
+     */
+    @NotNull
+    public List<PsiDirectory> getPackages(@NotNull String importPath) {
+        Set<VirtualFile> packages = getPackages();
+        Map<String, List<VirtualFile>> packagesByImportPath = myPackagesByImportPath;
+        if (packagesByImportPath == null) {
+            packagesByImportPath = ContainerUtil.newHashMap();
+            for (VirtualFile aPackage : packages) {
+                PsiDirectory directory = PsiManager.getInstance(myProject).findDirectory(aPackage);
+                String path = directory == null ? null : getImportPath(directory);
+                if (StringUtil.isEmpty(path)) {
+                    continue;
+                }
+                packagesByImportPath.computeIfAbsent(path, key -> new ArrayList<>(1)).add(aPackage);
+            }
+            synchronized (myLock) {
+                if (myPackages == packages) {
+                    myPackagesByImportPath = packagesByImportPath;
+                }
+            }
+        }
+        List<VirtualFile> matchingPackages = packagesByImportPath.get(importPath);
+        return matchingPackages == null ? Collections.emptyList() : toPsiDirectories(matchingPackages);
+    }
+
+    /**
+     * Returns the import path of the given package directory. Import paths are cached until the roots change.
+     *
+     * @param directory package directory
+     * @return import path of the package. Eg: ballerina.net.http
+     */
+    @NotNull
+    public String getImportPath(@NotNull PsiDirectory directory) {
+        VirtualFile virtualFile = directory.getVirtualFile();
+        String importPath = myImportPaths.get(virtualFile);
+        if (importPath == null) {
+            importPath = StringUtil.notNullize(BallerinaUtil.suggestPackageNameForDirectory(directory));
+            myImportPaths.put(virtualFile, importPath);
+        }
+        return importPath;
+    }
+
+    @NotNull
+    private Set<VirtualFile> getPackages() {
+        Set<VirtualFile> packages = myPackages;
+        if (packages != null) {
+            return packages;
+        }
+        // File type index cannot be used while indexing. Packages will be discovered after indexing is completed.
+        if (DumbService.isDumb(myProject)) {
+            return Collections.emptySet();
+        }
+        synchronized (myLock) {
+            packages = myPackages;
+            if (packages == null) {
+                packages = Collections.unmodifiableSet(findAllPackages());
+                myPackages = packages;
+                myPackagesByImportPath = null;
+            }
+            return packages;
+        }
+    }
+
+    @NotNull
+    private Set<VirtualFile> findAllPackages() {
+        Set<VirtualFile> results = new LinkedHashSet<>();
+        GlobalSearchScope scope = GlobalSearchScope.allScope(myProject);
+        Set<VirtualFile> contentRoots = ContainerUtil.newHashSet(
+                ProjectRootManager.getInstance(myProject).getContentRoots());
+        for (VirtualFile file : FileTypeIndex.getFiles(BallerinaFileType.INSTANCE, scope)) {
+            ProgressManager.checkCanceled();
+            VirtualFile directory = file.getParent();
+            if (isPackage(directory, contentRoots)) {
+                results.add(directory);
+            }
+        }
+        return results;
+    }
+
+    private boolean isPackage(@Nullable VirtualFile directory, @NotNull Set<VirtualFile> contentRoots) {
+        return directory != null && directory.isDirectory() && !contentRoots.contains(directory)
+                && !directory.getName().startsWith(".") && !directory.equals(myProject.getBaseDir());
+    }
+
+    private void handleEvent(@NotNull VFileEvent event) {
+        if (event instanceof VFileCreateEvent) {
+            fileCreated(event.getFile());
+        } else if (event instanceof VFileCopyEvent) {
+            fileCreated(((VFileCopyEvent) event).findCreatedFile());
+        } else if (event instanceof VFileDeleteEvent) {
+            fileDeleted(event.getFile());
+        } else if (event instanceof VFileMoveEvent) {
+            // Moving a directory changes import paths of all packages inside it. So we discover packages again.
+            invalidate();
+        } else if (event instanceof VFilePropertyChangeEvent
+                && VirtualFile.PROP_NAME.equals(((VFilePropertyChangeEvent) event).getPropertyName())) {
+            invalidate();
+        }
+    }
+
+    private void fileCreated(@Nullable VirtualFile file) {
+        if (file == null || myPackages == null) {
+            return;
+        }
+        if (file.isDirectory()) {
+            // A directory which contains Ballerina files can be created by copying. Individual create events will not
+            // be fired for the children in that case.
+            if (file.getChildren().length > 0) {
+                invalidate();
+            }
+            return;
+        }
+        if (file.getFileType() != BallerinaFileType.INSTANCE
+                || !GlobalSearchScope.allScope(myProject).contains(file)) {
+            return;
+        }
+        VirtualFile directory = file.getParent();
+        Set<VirtualFile> contentRoots = ContainerUtil.newHashSet(
+                ProjectRootManager.getInstance(myProject).getContentRoots());
+        if (!isPackage(directory, contentRoots)) {
+            return;
+        }
+        synchronized (myLock) {
+            Set<VirtualFile> packages = myPackages;
+            if (packages == null || packages.contains(directory)) {
+                return;
+            }
+            Set<VirtualFile> newPackages = new LinkedHashSet<>(packages);
+            newPackages.add(directory);
+            updatePackages(newPackages);
+        }
+    }
+
+    private void fileDeleted(@Nullable VirtualFile file) {
+        if (file == null || myPackages == null) {
+            return;
+        }
+        synchronized (myLock) {
+            Set<VirtualFile> packages = myPackages;
+            if (packages == null) {
+                return;
+            }
+            // Deleted directories invalidate the packages inside them. Deleting a file can only empty its parent.
+            VirtualFile parent = file.getParent();
+            Set<VirtualFile> newPackages = new LinkedHashSet<>();
+            for (VirtualFile aPackage : packages) {
+                if (aPackage.isValid() && !(aPackage.equals(parent) && isEmptyPackage(aPackage))) {
+                    newPackages.add(aPackage);
+                }
+            }
+            if (newPackages.size() != packages.size()) {
+                updatePackages(newPackages);
+            }
+        }
+    }
+
+    private static boolean isEmptyPackage(@NotNull VirtualFile directory) {
+        for (VirtualFile child : directory.getChildren()) {
+            if (!child.isDirectory() && child.getFileType() == BallerinaFileType.INSTANCE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void updatePackages(@NotNull Set<VirtualFile> packages) {
+        myPackages = Collections.unmodifiableSet(packages);
+        myPackagesByImportPath = null;
+    }
+
+    private void invalidate() {
+        synchronized (myLock) {
+            myPackages = null;
+            myPackagesByImportPath = null;
+            myImportPaths.clear();
+        }
+    }
+
+    @NotNull
+    private List<PsiDirectory> toPsiDirectories(@NotNull Iterable<VirtualFile> files) {
+        List<PsiDirectory> results = new ArrayList<>();
+        PsiManager psiManager = PsiManager.getInstance(myProject);
+        for (VirtualFile file : files) {
+            PsiDirectory directory = psiManager.findDirectory(file);
+            if (directory != null) {
+                results.add(directory);
+            }
+        }
+        return results;
+    }
+}
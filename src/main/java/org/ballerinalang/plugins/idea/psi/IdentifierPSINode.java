@@ -22,7 +22,11 @@ import com.intellij.psi.PsiErrorElement;
 import com.intellij.psi.PsiNameIdentifierOwner;
 import com.intellij.psi.PsiNamedElement;
 import com.intellij.psi.PsiReference;
+import com.intellij.psi.search.SearchScope;
 import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
 import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.util.IncorrectOperationException;
 import org.antlr.jetbrains.adaptor.lexer.RuleIElementType;
@@ -120,9 +124,18 @@ public class IdentifierPSINode extends ANTLRPsiLeafNode implements PsiNamedEleme
      * in the tree will be of this type. So, we distinguish references
      * from definitions or other uses by looking at context in this method
      * as we have parent (context) information.
+     * <p>
+     * The reference is cached until the next PSI modification so the resolve results cached against it can be
+     * reused.
      */
     @Override
     public PsiReference getReference() {
+        return CachedValuesManager.getCachedValue(this, () -> CachedValueProvider.Result.create(createReference(),
+                PsiModificationTracker.MODIFICATION_COUNT));
+    }
+
+    @Nullable
+    private PsiReference createReference() {
         PsiElement parent = getParent();
         IElementType elType = parent.getNode().getElementType();
 
@@ -488,6 +501,13 @@ public class IdentifierPSINode extends ANTLRPsiLeafNode implements PsiNamedEleme
         return new NameReference(this);
     }
 
+    @NotNull
+    @Override
+    public SearchScope getUseScope() {
+        SearchScope scope = BallerinaPsiImplUtil.getPackageUseScope(this);
+        return scope != null ? scope : super.getUseScope();
+    }
+
     @Override
     public ItemPresentation getPresentation() {
         PsiElement parent = getParent();
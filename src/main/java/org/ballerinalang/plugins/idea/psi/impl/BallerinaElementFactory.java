@@ -23,9 +23,12 @@ import com.intellij.psi.impl.PsiParserFacadeImpl;
 import com.intellij.psi.util.PsiTreeUtil;
 import org.ballerinalang.plugins.idea.BallerinaLanguage;
 import org.ballerinalang.plugins.idea.psi.BallerinaFile;
+import org.ballerinalang.plugins.idea.psi.ExpressionNode;
+import org.ballerinalang.plugins.idea.psi.FunctionDefinitionNode;
 import org.ballerinalang.plugins.idea.psi.IdentifierPSINode;
 import org.ballerinalang.plugins.idea.psi.ImportDeclarationNode;
 import org.ballerinalang.plugins.idea.psi.PackageDeclarationNode;
+import org.ballerinalang.plugins.idea.psi.StructDefinitionNode;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -75,4 +78,23 @@ public class BallerinaElementFactory {
         BallerinaFile file = createFileFromText(project, "package " + packageString + ";");
         return PsiTreeUtil.findChildOfType(file, PackageDeclarationNode.class);
     }
+
+    @Nullable
+    public static FunctionDefinitionNode createFunctionDefinition(@NotNull Project project, @NotNull String name) {
+        BallerinaFile file = createFileFromText(project, "function " + name + " () {\n}");
+        return PsiTreeUtil.findChildOfType(file, FunctionDefinitionNode.class);
+    }
+
+    @Nullable
+    public static StructDefinitionNode createStructDefinition(@NotNull Project project, @NotNull String name) {
+        BallerinaFile file = createFileFromText(project, "struct " + name + " {\n}");
+        return PsiTreeUtil.findChildOfType(file, StructDefinitionNode.class);
+    }
+
+    @Nullable
+    public static ExpressionNode createExpression(@NotNull Project project, @NotNull String text) {
+        BallerinaFile file = createFileFromText(project, "function f () {\n    any a = " + text + ";\n}");
+        // The outermost expression is found first.
+        return PsiTreeUtil.findChildOfType(file, ExpressionNode.class);
+    }
 }
@@ -23,12 +23,15 @@ import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.module.ModuleUtilCore;
 import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.DumbService;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.projectRoots.Sdk;
 import com.intellij.openapi.roots.ModuleRootManager;
 import com.intellij.openapi.roots.OrderEntry;
 import com.intellij.openapi.roots.OrderRootType;
+import com.intellij.openapi.roots.ProjectFileIndex;
 import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.openapi.vfs.LocalFileSystem;
 import com.intellij.openapi.vfs.VfsUtilCore;
 import com.intellij.openapi.vfs.VirtualFile;
@@ -37,21 +40,24 @@ import com.intellij.psi.PsiDirectory;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiRecursiveElementWalkingVisitor;
 import com.intellij.psi.PsiReference;
 import com.intellij.psi.PsiWhiteSpace;
 import com.intellij.psi.impl.source.tree.LeafElement;
 import com.intellij.psi.impl.source.tree.LeafPsiElement;
-import com.intellij.psi.search.FileTypeIndex;
 import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.psi.tree.IElementType;
 import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.util.ArrayUtil;
 import org.antlr.jetbrains.adaptor.psi.ScopeNode;
-import org.ballerinalang.plugins.idea.BallerinaFileType;
 import org.ballerinalang.plugins.idea.BallerinaTypes;
 import org.ballerinalang.plugins.idea.completion.AutoImportInsertHandler;
 import org.ballerinalang.plugins.idea.completion.BallerinaCompletionUtils;
 import org.ballerinalang.plugins.idea.editor.BallerinaParameterInfoHandler;
+import org.ballerinalang.plugins.idea.index.BallerinaDefinitionKind;
+import org.ballerinalang.plugins.idea.index.BallerinaPackageIndex;
+import org.ballerinalang.plugins.idea.index.BallerinaPackageSymbolTable;
+import org.ballerinalang.plugins.idea.project.BallerinaPackageRegistry;
 import org.ballerinalang.plugins.idea.psi.ActionDefinitionNode;
 import org.ballerinalang.plugins.idea.psi.AliasNode;
 import org.ballerinalang.plugins.idea.psi.AnnotationAttachmentNode;
@@ -105,6 +111,7 @@ import org.ballerinalang.plugins.idea.psi.VariableDefinitionNode;
 import org.ballerinalang.plugins.idea.psi.VariableReferenceListNode;
 import org.ballerinalang.plugins.idea.psi.VariableReferenceNode;
 import org.ballerinalang.plugins.idea.psi.WorkerDeclarationNode;
+import org.ballerinalang.plugins.idea.psi.scopes.BallerinaScopeSymbolTable;
 import org.ballerinalang.plugins.idea.psi.scopes.CodeBlockScope;
 import org.ballerinalang.plugins.idea.psi.scopes.LowerLevelDefinition;
 import org.ballerinalang.plugins.idea.psi.scopes.ParameterContainer;
@@ -113,7 +120,6 @@ import org.ballerinalang.plugins.idea.psi.scopes.TopLevelDefinition;
 import org.ballerinalang.plugins.idea.psi.scopes.VariableContainer;
 import org.ballerinalang.plugins.idea.sdk.BallerinaSdkService;
 import org.ballerinalang.plugins.idea.util.BallerinaStringLiteralEscaper;
-import org.ballerinalang.plugins.idea.util.BallerinaUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -121,9 +127,12 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -209,7 +218,39 @@ public class BallerinaPsiImplUtil {
     private static List<PsiDirectory> findAllMatchingPackages(@NotNull Module module,
                                                               @NotNull List<PsiElement> packages) {
         Project project = module.getProject();
-        List<PsiDirectory> results = new ArrayList<>();
+        // The directory structure of each root is only checked while indexing.
+        if (DumbService.isDumb(project)) {
+            return findAllMatchingPackagesInRoots(module, packages);
+        }
+        // The package index covers the module, its dependencies and the libraries, including the SDK.
+        Set<PsiDirectory> results = new LinkedHashSet<>();
+        String packagePath = StringUtil.join(packages, PsiElement::getText, ".");
+        List<PsiDirectory> indexedPackages = BallerinaPackageIndex.findPackageDirectories(project, packagePath,
+                module.getModuleWithDependenciesAndLibrariesScope(false));
+        for (PsiDirectory indexedPackage : indexedPackages) {
+            // Files with wrong package declarations should not be considered.
+            if (isMatchingDirectory(project, indexedPackage.getVirtualFile(), packagePath)) {
+                results.add(indexedPackage);
+            }
+        }
+        // The SDK might only be configured in the SDK service, in which case its sources are not indexed.
+        VirtualFile sdkSources = getUnindexedSdkSources(project);
+        if (sdkSources != null) {
+            VirtualFile match = getMatchingDirectory(sdkSources, packages);
+            PsiDirectory directory = match != null ? PsiManager.getInstance(project).findDirectory(match) : null;
+            if (directory != null) {
+                results.add(directory);
+            }
+        }
+        return new ArrayList<>(results);
+    }
+
+    @NotNull
+    private static List<PsiDirectory> findAllMatchingPackagesInRoots(@NotNull Module module,
+                                                                     @NotNull List<PsiElement> packages) {
+        Project project = module.getProject();
+        // Need to make sure not to add duplicate entries.
+        Set<PsiDirectory> results = new LinkedHashSet<>();
 
         // Get all matching packages in the current module.
         VirtualFile[] contentRoots = ModuleRootManager.getInstance(module).getSourceRoots();
@@ -224,21 +265,54 @@ public class BallerinaPsiImplUtil {
         Module[] dependencies = ModuleRootManager.getInstance(module).getDependencies();
         for (Module dependency : dependencies) {
             contentRoots = ModuleRootManager.getInstance(dependency).getSourceRoots();
-            List<PsiDirectory> matchingPackages = getMatchingPackagesFromContentRoots(contentRoots, packages, project);
-            // Need to make sure not to add duplicate entries.
-            for (PsiDirectory matchingPackage : matchingPackages) {
-                if (!results.contains(matchingPackage)) {
-                    results.add(matchingPackage);
-                }
-            }
+            results.addAll(getMatchingPackagesFromContentRoots(contentRoots, packages, project));
         }
 
         // Get all matching packages from the SDK.
-        List<PsiDirectory> matchingPackages = getMatchingPackagesFromSDK(project, module, packages);
-        // Need to make sure not to add duplicate entries.
-        for (PsiDirectory matchingPackage : matchingPackages) {
-            if (!results.contains(matchingPackage)) {
-                results.add(matchingPackage);
+        results.addAll(getMatchingPackagesFromSDK(project, module, packages));
+        return new ArrayList<>(results);
+    }
+
+    /**
+     * Returns the source directory of the SDK which is configured in the SDK service, if it is not in the project or
+     * in a library. Such sources are not indexed.
+     */
+    @Nullable
+    private static VirtualFile getUnindexedSdkSources(@NotNull Project project) {
+        String sdkHomePath = BallerinaSdkService.getInstance(project).getSdkHomePath(null);
+        if (sdkHomePath == null) {
+            return null;
+        }
+        VirtualFile sources = LocalFileSystem.getInstance().findFileByPath(sdkHomePath + "/src");
+        if (sources == null) {
+            return null;
+        }
+        ProjectFileIndex fileIndex = ProjectRootManager.getInstance(project).getFileIndex();
+        return fileIndex.isInContent(sources) || fileIndex.isInLibrarySource(sources) ? null : sources;
+    }
+
+    /**
+     * Returns the directories of all packages in the index, keyed by the package path. Directories which do not match
+     * the declared package are not considered.
+     *
+     * @param project current project
+     * @param scope   search scope
+     * @return package directories keyed by the package path. Eg: ballerina.net.http
+     */
+    @NotNull
+    private static Map<String, List<PsiDirectory>> findAllIndexedPackages(@NotNull Project project,
+                                                                         @NotNull GlobalSearchScope scope) {
+        Map<String, List<PsiDirectory>> results = new LinkedHashMap<>();
+        for (String packagePath : BallerinaPackageIndex.getAllPackagePaths(project)) {
+            ProgressManager.checkCanceled();
+            List<PsiDirectory> directories = new ArrayList<>();
+            for (PsiDirectory directory : BallerinaPackageIndex.findPackageDirectories(project, packagePath, scope)) {
+                if (isMatchingDirectory(project, directory.getVirtualFile(), packagePath)) {
+                    directories.add(directory);
+                }
+            }
+            if (!directories.isEmpty()) {
+                results.put(packagePath, directories);
             }
         }
         return results;
@@ -346,6 +420,29 @@ public class BallerinaPsiImplUtil {
         return match;
     }
 
+    /**
+     * Checks whether the path of the given directory relative to its source root is the given package structure. If
+     * the directory is not in a source root, the path is taken relative to its content root.
+     *
+     * @param project     current project
+     * @param directory   directory to check
+     * @param packagePath package path. Eg: ballerina.net.http
+     * @return {@code true} if the directory matches the package structure, {@code false} otherwise.
+     */
+    private static boolean isMatchingDirectory(@NotNull Project project, @NotNull VirtualFile directory,
+                                               @NotNull String packagePath) {
+        ProjectFileIndex fileIndex = ProjectRootManager.getInstance(project).getFileIndex();
+        VirtualFile root = fileIndex.getSourceRootForFile(directory);
+        if (root == null) {
+            root = fileIndex.getContentRootForFile(directory);
+        }
+        if (root == null) {
+            return false;
+        }
+        String relativePath = VfsUtilCore.getRelativePath(directory, root, '/');
+        return packagePath.replace('.', '/').equals(relativePath);
+    }
+
     @NotNull
     public static PsiDirectory[] suggestCurrentPackagePath(@NotNull PsiElement element) {
 
@@ -408,6 +505,11 @@ public class BallerinaPsiImplUtil {
             sibling = sibling.getPrevSibling();
         }
 
+        // The directory structure of each root is only checked while indexing.
+        if (!DumbService.isDumb(project)) {
+            return suggestIndexedPackages(element, packages);
+        }
+
         // We need to get the content roots from the project and find matching directories in each content root.
         VirtualFile[] contentRoots = ProjectRootManager.getInstance(project).getContentRoots();
         for (VirtualFile contentRoot : contentRoots) {
@@ -465,6 +567,57 @@ public class BallerinaPsiImplUtil {
         return results.toArray(new PsiDirectory[results.size()]);
     }
 
+    /**
+     * Suggests the directories at the level of the last package name element, which lead to the packages in the
+     * index. Eg: if the packages are "ballerina" and "n", the directory "ballerina/net" is suggested for the package
+     * "ballerina.net.http".
+     */
+    @NotNull
+    private static PsiDirectory[] suggestIndexedPackages(@NotNull PsiElement element,
+                                                         @NotNull List<PsiElement> packages) {
+        Project project = element.getProject();
+        Module module = ModuleUtilCore.findModuleForPsiElement(element);
+        GlobalSearchScope scope = module != null ? module.getModuleWithDependenciesAndLibrariesScope(false) :
+                GlobalSearchScope.allScope(project);
+        int level = packages.size() - 1;
+        String prefix = level == 0 ? "" : StringUtil.join(packages.subList(0, level), PsiElement::getText, ".") + ".";
+
+        Set<PsiDirectory> results = new LinkedHashSet<>();
+        PsiManager psiManager = PsiManager.getInstance(project);
+        for (Map.Entry<String, List<PsiDirectory>> entry : findAllIndexedPackages(project, scope).entrySet()) {
+            String packagePath = entry.getKey();
+            if (!packagePath.startsWith(prefix)) {
+                continue;
+            }
+            // Number of directories between the package and the suggested directory.
+            int depth = StringUtil.countChars(packagePath, '.') - level;
+            if (depth < 0) {
+                continue;
+            }
+            for (PsiDirectory directory : entry.getValue()) {
+                VirtualFile suggestion = directory.getVirtualFile();
+                for (int i = 0; i < depth && suggestion != null; i++) {
+                    suggestion = suggestion.getParent();
+                }
+                PsiDirectory suggestedDirectory = suggestion != null ? psiManager.findDirectory(suggestion) : null;
+                if (suggestedDirectory != null) {
+                    results.add(suggestedDirectory);
+                }
+            }
+        }
+        // The SDK might only be configured in the SDK service, in which case its sources are not indexed.
+        VirtualFile sdkSources = getUnindexedSdkSources(project);
+        if (sdkSources != null) {
+            for (VirtualFile file : suggestDirectory(sdkSources, packages)) {
+                PsiDirectory directory = psiManager.findDirectory(file);
+                if (directory != null) {
+                    results.add(directory);
+                }
+            }
+        }
+        return results.toArray(new PsiDirectory[results.size()]);
+    }
+
     /**
      * Returns all the directories matching the given package structure starting from the given root.
      *
@@ -668,18 +821,8 @@ public class BallerinaPsiImplUtil {
         List<IdentifierPSINode> results = new ArrayList<>();
         Collection<T> definitions = PsiTreeUtil.findChildrenOfType(psiFile, clazz);
         for (T definition : definitions) {
-            PsiElement firstChild = definition.getFirstChild();
-            if (!includePrivate) {
-                if (firstChild instanceof LeafPsiElement) {
-                    IElementType elementType = ((LeafPsiElement) firstChild).getElementType();
-                    if (elementType != BallerinaTypes.PUBLIC) {
-                        continue;
-                    }
-                } else {
-                    // Global variables, etc. If the first element is not a LeafPsiElement, that means public keyword
-                    // is not present.
-                    continue;
-                }
+            if (!includePrivate && !isPublic(definition)) {
+                continue;
             }
             IdentifierPSINode identifier = PsiTreeUtil.getChildOfType(definition, IdentifierPSINode.class);
             results.add(identifier);
@@ -687,6 +830,91 @@ public class BallerinaPsiImplUtil {
         return results;
     }
 
+    /**
+     * Returns all top level definitions (functions, connectors, structs, etc) in the given file.
+     *
+     * @param psiFile a Ballerina file
+     * @return top level definition nodes in the file
+     */
+    @NotNull
+    public static List<PsiElement> getTopLevelDefinitions(@NotNull PsiFile psiFile) {
+        List<PsiElement> definitions = new ArrayList<>();
+        psiFile.accept(new PsiRecursiveElementWalkingVisitor() {
+            @Override
+            public void visitElement(PsiElement element) {
+                if (BallerinaDefinitionKind.of(element) != null) {
+                    // Definitions cannot be nested. So we don't need to visit the children.
+                    definitions.add(element);
+                    return;
+                }
+                super.visitElement(element);
+            }
+        });
+        return definitions;
+    }
+
+    /**
+     * Returns the files which can refer the given top level definition. Private definitions can only be used within
+     * the package. Public definitions can be used within the package and in the files which import the package.
+     *
+     * @param identifier identifier of a definition
+     * @return narrowed search scope if the identifier is a top level definition, {@code null} otherwise.
+     */
+    @Nullable
+    public static GlobalSearchScope getPackageUseScope(@NotNull IdentifierPSINode identifier) {
+        PsiElement definition = identifier.getParent();
+        if (definition == null || BallerinaDefinitionKind.of(definition) == null) {
+            return null;
+        }
+        // Attached functions can be invoked on structs which are returned from other packages. In such cases, the
+        // package of the struct might not be imported.
+        if (PsiTreeUtil.getChildOfType(definition, CodeBlockParameterNode.class) != null) {
+            return null;
+        }
+        Project project = identifier.getProject();
+        if (DumbService.isDumb(project)) {
+            return null;
+        }
+        PsiDirectory directory = identifier.getContainingFile().getOriginalFile().getContainingDirectory();
+        if (directory == null) {
+            return null;
+        }
+        List<VirtualFile> files = new ArrayList<>();
+        for (PsiFile file : directory.getFiles()) {
+            if (file instanceof BallerinaFile) {
+                files.add(file.getVirtualFile());
+            }
+        }
+        if (isPublic(definition)) {
+            String importPath = BallerinaPackageRegistry.getInstance(project).getImportPath(directory);
+            if (!importPath.isEmpty()) {
+                // Definitions in built-in packages can be used without importing the package.
+                for (String builtInDirectory : builtInDirectories) {
+                    if (importPath.equals(builtInDirectory.substring(1).replace('/', '.'))) {
+                        return null;
+                    }
+                }
+                files.addAll(BallerinaPackageIndex.findImportingFiles(importPath,
+                        GlobalSearchScope.allScope(project)));
+            }
+        }
+        return GlobalSearchScope.filesScope(project, files);
+    }
+
+    /**
+     * Checks whether the given top level definition is public.
+     *
+     * @param definition a top level definition node
+     * @return {@code true} if the definition starts with the public keyword, {@code false} otherwise.
+     */
+    public static boolean isPublic(@NotNull PsiElement definition) {
+        PsiElement firstChild = definition.getFirstChild();
+        // Global variables, etc. If the first element is not a LeafPsiElement, that means public keyword is not
+        // present.
+        return firstChild instanceof LeafPsiElement
+                && ((LeafPsiElement) firstChild).getElementType() == BallerinaTypes.PUBLIC;
+    }
+
     public static PsiFile findPsiFileInSDK(@NotNull Project project, @NotNull PsiElement element,
                                            @NotNull String path) {
         VirtualFile virtualFile = BallerinaPsiImplUtil.findFileInSDK(project, element, path);
@@ -716,41 +944,7 @@ public class BallerinaPsiImplUtil {
 
     @NotNull
     public static List<PsiDirectory> getAllPackagesInResolvableScopes(@NotNull Project project) {
-        GlobalSearchScope scope = GlobalSearchScope.allScope(project);
-        // Todo - Use caching
-        //        Collection<VirtualFile> files = FileTypeIndex.getFiles(BallerinaFileType.INSTANCE, scope);
-        //        return CachedValuesManager.getManager(project).getCachedValue(project,
-        //                () -> CachedValueProvider.Result.create(getAllPackagesInResolvableScopes(project, scope),
-        //                        ProjectRootManager.getInstance(project)));
-        return getAllPackagesInResolvableScopes(project, scope);
-    }
-
-    private static List<PsiDirectory> getAllPackagesInResolvableScopes(@NotNull Project project,
-                                                                       @NotNull GlobalSearchScope scope) {
-        LinkedList<PsiDirectory> results = new LinkedList<>();
-        for (VirtualFile file : FileTypeIndex.getFiles(BallerinaFileType.INSTANCE, scope)) {
-            ProgressManager.checkCanceled();
-            VirtualFile directory = file.getParent();
-            if (directory == null || !directory.isDirectory()) {
-                continue;
-            }
-            boolean isContentRoot = false;
-            VirtualFile[] contentRoots = ProjectRootManager.getInstance(project).getContentRoots();
-            for (VirtualFile contentRoot : contentRoots) {
-                if (contentRoot.equals(file.getParent())) {
-                    isContentRoot = true;
-                }
-            }
-            if (isContentRoot) {
-                continue;
-            }
-            PsiDirectory psiDirectory = PsiManager.getInstance(project).findDirectory(directory);
-            if (psiDirectory != null && !results.contains(psiDirectory) && !psiDirectory.getName().startsWith(".")
-                    && !project.getBaseDir().equals(directory)) {
-                results.add(psiDirectory);
-            }
-        }
-        return results;
+        return BallerinaPackageRegistry.getInstance(project).getAllPackages();
     }
 
     /**
@@ -931,14 +1125,13 @@ public class BallerinaPsiImplUtil {
 
         // Get all imported packages in the current file.
         Map<String, String> importsMap = BallerinaPsiImplUtil.getAllImportsInAFile(currentFile);
-        // Get all packages in the resolvable scopes (project and libraries).
-        List<PsiDirectory> directories =
-                BallerinaPsiImplUtil.getAllPackagesInResolvableScopes(currentFile.getProject());
+        // Get all packages in the resolvable scopes (project and libraries) with their import paths.
+        // Eg: ballerina/lang/system -> ballerina.lang.system
+        Map<PsiDirectory, String> packages = getAllPackagesWithImportPaths(currentFile.getProject());
         // Iterate through all available  packages.
-        for (PsiDirectory directory : directories) {
-            // Suggest a package name for the directory.
-            // Eg: ballerina/lang/system -> ballerina.lang.system
-            String suggestedImportPath = BallerinaUtil.suggestPackageNameForDirectory(directory);
+        for (Map.Entry<PsiDirectory, String> entry : packages.entrySet()) {
+            PsiDirectory directory = entry.getKey();
+            String suggestedImportPath = entry.getValue();
             // There are two possibilities.
             //
             // 1) The package is already imported.
@@ -983,6 +1176,29 @@ public class BallerinaPsiImplUtil {
         return results;
     }
 
+    /**
+     * Returns all packages in the project and libraries, keyed by the package directory. The packages are taken from
+     * the package index, or from the package registry while indexing.
+     */
+    @NotNull
+    private static Map<PsiDirectory, String> getAllPackagesWithImportPaths(@NotNull Project project) {
+        Map<PsiDirectory, String> results = new LinkedHashMap<>();
+        BallerinaPackageRegistry packageRegistry = BallerinaPackageRegistry.getInstance(project);
+        if (DumbService.isDumb(project)) {
+            for (PsiDirectory directory : packageRegistry.getAllPackages()) {
+                results.put(directory, packageRegistry.getImportPath(directory));
+            }
+            return results;
+        }
+        GlobalSearchScope scope = GlobalSearchScope.allScope(project);
+        for (Map.Entry<String, List<PsiDirectory>> entry : findAllIndexedPackages(project, scope).entrySet()) {
+            for (PsiDirectory directory : entry.getValue()) {
+                results.put(directory, entry.getKey());
+            }
+        }
+        return results;
+    }
+
     /**
      * Returns all local variables in provided scope and all parent contexts.
      *
@@ -1564,76 +1780,69 @@ public class BallerinaPsiImplUtil {
                                                      boolean matchConnectors, boolean matchStructs, boolean matchEnums,
                                                      boolean matchGlobalVariables, boolean matchConstants,
                                                      boolean includePrivate, boolean includeBuiltIns) {
+        List<BallerinaDefinitionKind> kinds = new ArrayList<>();
         if (matchFunctions) {
-            List<IdentifierPSINode> functions = BallerinaPsiImplUtil.getAllFunctionsFromPackage(aPackage,
-                    includePrivate, includeBuiltIns);
-            for (PsiElement function : functions) {
-                if (function == null) {
-                    continue;
-                }
-                if (identifier.getText().equals(function.getText())) {
-                    return function;
-                }
-            }
+            kinds.add(BallerinaDefinitionKind.FUNCTION);
         }
         if (matchConnectors) {
-            List<IdentifierPSINode> connectors = BallerinaPsiImplUtil.getAllConnectorsFromPackage(aPackage,
-                    includePrivate, includeBuiltIns);
-            for (PsiElement connector : connectors) {
-                if (connector == null) {
-                    continue;
-                }
-                if (identifier.getText().equals(connector.getText())) {
-                    return connector;
-                }
-            }
+            kinds.add(BallerinaDefinitionKind.CONNECTOR);
         }
         if (matchStructs) {
-            List<IdentifierPSINode> structs = BallerinaPsiImplUtil.getAllStructsFromPackage(aPackage, includePrivate,
-                    includeBuiltIns);
-            for (PsiElement struct : structs) {
-                if (struct == null) {
-                    continue;
-                }
-                if (identifier.getText().equals(struct.getText())) {
-                    return struct;
-                }
-            }
+            kinds.add(BallerinaDefinitionKind.STRUCT);
         }
         if (matchEnums) {
-            List<IdentifierPSINode> enums = BallerinaPsiImplUtil.getAllEnumsFromPackage(aPackage, includePrivate,
-                    includeBuiltIns);
-            for (PsiElement anEnum : enums) {
-                if (anEnum == null) {
-                    continue;
-                }
-                if (identifier.getText().equals(anEnum.getText())) {
-                    return anEnum;
-                }
-            }
+            kinds.add(BallerinaDefinitionKind.ENUM);
         }
         if (matchGlobalVariables) {
-            List<IdentifierPSINode> globalVariables = BallerinaPsiImplUtil.getAllGlobalVariablesFromPackage(aPackage,
-                    includePrivate, includeBuiltIns);
-            for (PsiElement variable : globalVariables) {
-                if (variable == null) {
-                    continue;
-                }
-                if (identifier.getText().equals(variable.getText())) {
-                    return variable;
-                }
-            }
+            kinds.add(BallerinaDefinitionKind.GLOBAL_VARIABLE);
         }
         if (matchConstants) {
-            List<IdentifierPSINode> constants = BallerinaPsiImplUtil.getAllConstantsFromPackage(aPackage,
-                    includePrivate, includeBuiltIns);
-            for (PsiElement constant : constants) {
-                if (constant == null) {
-                    continue;
-                }
-                if (identifier.getText().equals(constant.getText())) {
-                    return constant;
-                }
+            kinds.add(BallerinaDefinitionKind.CONSTANT);
+        }
+        for (BallerinaDefinitionKind kind : kinds) {
+            PsiElement element = findDefinitionInPackage(aPackage, identifier.getText(), kind, includePrivate,
+                    includeBuiltIns);
+            if (element != null) {
+                return element;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds the definition with the given name and kind in the given package using the symbol table of the package.
+     *
+     * @param directory       package directory
+     * @param name            name of the definition
+     * @param kind            kind of the definition
+     * @param includePrivate  whether to include non public definitions
+     * @param includeBuiltIns whether to search in built-in packages as well
+     * @return identifier of the matching definition if found, {@code null} otherwise.
+     */
+    @Nullable
+    private static IdentifierPSINode findDefinitionInPackage(@NotNull PsiDirectory directory, @NotNull String name,
+                                                             @NotNull BallerinaDefinitionKind kind,
+                                                             boolean includePrivate, boolean includeBuiltIns) {
+        IdentifierPSINode definition = BallerinaPackageSymbolTable.getInstance(directory).findDefinition(name, kind,
+                includePrivate);
+        if (definition != null || !includeBuiltIns) {
+            return definition;
+        }
+        // Search in built-in packages.
+        Project project = directory.getProject();
+        for (String builtInDirectory : builtInDirectories) {
+            VirtualFile file = BallerinaPsiImplUtil.findFileInSDK(project, directory, builtInDirectory);
+            if (file == null) {
+                return null;
+            }
+            PsiDirectory builtInPackage = PsiManager.getInstance(project).findDirectory(file);
+            if (builtInPackage == null) {
+                return null;
+            }
+            definition = BallerinaPackageSymbolTable.getInstance(builtInPackage).findDefinition(name, kind,
+                    includePrivate);
+            if (definition != null) {
+                return definition;
             }
         }
         return null;
@@ -1677,42 +1886,32 @@ public class BallerinaPsiImplUtil {
         if (scope == null) {
             return null;
         }
-        int caretOffset = identifier.getStartOffset();
         if (matchLocalVariables) {
-            List<IdentifierPSINode> variables = BallerinaPsiImplUtil.getAllLocalVariablesInResolvableScope(scope,
-                    caretOffset);
-            PsiElement element = getMatchingElement(identifier, variables);
+            PsiElement element = BallerinaScopeSymbolTable.findLocalVariable(scope, identifier);
             if (element != null) {
                 return element;
             }
         }
         if (matchEndpoint) {
-            List<IdentifierPSINode> endpoints = BallerinaPsiImplUtil.getAllEndpointsInResolvableScope(scope,
-                    caretOffset);
-            PsiElement element = getMatchingElement(identifier, endpoints);
+            PsiElement element = BallerinaScopeSymbolTable.findEndpoint(scope, identifier);
             if (element != null) {
                 return element;
             }
         }
         if (matchParameters) {
-            List<IdentifierPSINode> parameters = BallerinaPsiImplUtil.getAllParametersInResolvableScope(scope,
-                    caretOffset);
-            PsiElement element = getMatchingElement(identifier, parameters);
+            PsiElement element = BallerinaScopeSymbolTable.findParameter(scope, identifier);
             if (element != null) {
                 return element;
             }
         }
         if (matchGlobalVariables) {
-            List<IdentifierPSINode> globalVariables =
-                    BallerinaPsiImplUtil.getAllGlobalVariablesInResolvableScope(scope);
-            PsiElement element = getMatchingElement(identifier, globalVariables);
+            PsiElement element = BallerinaScopeSymbolTable.findGlobalVariable(scope, identifier);
             if (element != null) {
                 return element;
             }
         }
         if (matchConstants) {
-            List<IdentifierPSINode> constants = BallerinaPsiImplUtil.getAllConstantsInResolvableScope(scope);
-            PsiElement element = getMatchingElement(identifier, constants);
+            PsiElement element = BallerinaScopeSymbolTable.findConstant(scope, identifier);
             if (element != null) {
                 return element;
             }
@@ -1720,20 +1919,6 @@ public class BallerinaPsiImplUtil {
         return null;
     }
 
-    @Nullable
-    private static PsiElement getMatchingElement(@NotNull IdentifierPSINode identifier,
-                                                 @NotNull List<IdentifierPSINode> variables) {
-        for (IdentifierPSINode variable : variables) {
-            if (variable == null) {
-                continue;
-            }
-            if (identifier.getText().equals(variable.getText())) {
-                return variable;
-            }
-        }
-        return null;
-    }
-
     @NotNull
     public static List<WorkerDeclarationNode> getWorkerDeclarationsInScope(@NotNull ScopeNode scopeNode) {
         List<WorkerDeclarationNode> results = new LinkedList<>();
@@ -0,0 +1,147 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.plugins.idea.psi.impl;
+
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiNameIdentifierOwner;
+import com.intellij.psi.PsiPolyVariantReference;
+import com.intellij.psi.PsiRecursiveElementWalkingVisitor;
+import com.intellij.psi.PsiReference;
+import com.intellij.psi.ResolveResult;
+import com.intellij.psi.search.searches.ReferencesSearch;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.intellij.psi.util.PsiTreeUtil;
+import org.ballerinalang.plugins.idea.psi.IdentifierPSINode;
+import org.ballerinalang.plugins.idea.psi.ImportDeclarationNode;
+import org.ballerinalang.plugins.idea.psi.PackageDeclarationNode;
+import org.ballerinalang.plugins.idea.psi.PackageNameNode;
+import org.ballerinalang.plugins.idea.psi.XmlAttribNode;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Usages in a single file. Every identifier in the file is resolved once and the targets are recorded, so the unused
+ * symbol inspections and the import optimizer do not need to search references for each declaration separately.
+ * The map is cached on the file and recalculated after a PSI modification.
+ */
+public class BallerinaUsageMap {
+
+    // Elements which are referred from the file.
+    private final Set<PsiElement> myUsedElements = new HashSet<>();
+    // Packages which are used in the file.
+    private final Set<String> myUsedPackages = new HashSet<>();
+
+    private BallerinaUsageMap(@NotNull PsiFile file) {
+        file.accept(new PsiRecursiveElementWalkingVisitor() {
+            @Override
+            public void visitElement(PsiElement element) {
+                ProgressManager.checkCanceled();
+                if (element instanceof IdentifierPSINode) {
+                    addReferredElements((IdentifierPSINode) element);
+                } else if (element instanceof PackageNameNode) {
+                    addUsedPackage((PackageNameNode) element);
+                }
+                super.visitElement(element);
+            }
+        });
+    }
+
+    @NotNull
+    public static BallerinaUsageMap getInstance(@NotNull PsiFile file) {
+        return CachedValuesManager.getCachedValue(file, () -> CachedValueProvider.Result.create(
+                new BallerinaUsageMap(file), PsiModificationTracker.MODIFICATION_COUNT));
+    }
+
+    /**
+     * Checks whether the given definition is referred from the file.
+     *
+     * @param identifier name identifier of a definition
+     * @return {@code true} if the definition is used in the file, {@code false} otherwise.
+     */
+    public boolean isUsed(@NotNull PsiElement identifier) {
+        return myUsedElements.contains(identifier);
+    }
+
+    /**
+     * Checks whether the given definition is referred from anywhere. Usages in the file are checked first and the
+     * references are searched only if there are no usages in the file. This should be used for the definitions which
+     * are visible outside of the file.
+     *
+     * @param identifier name identifier of a definition
+     * @return {@code true} if the definition is used, {@code false} otherwise.
+     */
+    public boolean isUsedAnywhere(@NotNull PsiElement identifier) {
+        return isUsed(identifier) || ReferencesSearch.search(identifier).findFirst() != null;
+    }
+
+    /**
+     * Checks whether the given package is used in the file.
+     *
+     * @param packageName name of the package
+     * @return {@code true} if the package is used in the file, {@code false} otherwise.
+     */
+    public boolean isPackageUsed(@NotNull String packageName) {
+        return myUsedPackages.contains(packageName);
+    }
+
+    private void addReferredElements(@NotNull IdentifierPSINode identifier) {
+        PsiReference reference = identifier.getReference();
+        if (reference == null) {
+            return;
+        }
+        if (reference instanceof PsiPolyVariantReference) {
+            for (ResolveResult result : ((PsiPolyVariantReference) reference).multiResolve(false)) {
+                addReferredElement(identifier, result.getElement());
+            }
+        } else {
+            addReferredElement(identifier, reference.resolve());
+        }
+    }
+
+    private void addReferredElement(@NotNull IdentifierPSINode identifier, @Nullable PsiElement element) {
+        // Identifiers which resolve to itself are not usages.
+        if (element == null || identifier.equals(element)) {
+            return;
+        }
+        myUsedElements.add(element);
+        if (element instanceof PsiNameIdentifierOwner) {
+            PsiElement nameIdentifier = ((PsiNameIdentifierOwner) element).getNameIdentifier();
+            if (nameIdentifier != null) {
+                myUsedElements.add(nameIdentifier);
+            }
+        }
+    }
+
+    private void addUsedPackage(@NotNull PackageNameNode packageNameNode) {
+        if (PsiTreeUtil.getParentOfType(packageNameNode, PackageDeclarationNode.class) != null
+                || PsiTreeUtil.getParentOfType(packageNameNode, ImportDeclarationNode.class) != null
+                || PsiTreeUtil.getParentOfType(packageNameNode, XmlAttribNode.class) != null) {
+            return;
+        }
+        PsiElement nameIdentifier = packageNameNode.getNameIdentifier();
+        if (nameIdentifier != null) {
+            myUsedPackages.add(nameIdentifier.getText());
+        }
+    }
+}
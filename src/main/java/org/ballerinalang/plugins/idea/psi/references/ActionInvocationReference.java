@@ -46,7 +46,7 @@ public class ActionInvocationReference extends BallerinaElementReference {
 
     @Nullable
     @Override
-    public PsiElement resolve() {
+    protected PsiElement resolveInner() {
         IdentifierPSINode identifier = getElement();
         PsiElement parent = identifier.getParent();
 
@@ -44,7 +44,7 @@ public class AnnotationAttributeReference extends BallerinaElementReference {
 
     @Nullable
     @Override
-    public PsiElement resolve() {
+    protected PsiElement resolveInner() {
         IdentifierPSINode identifier = getElement();
         AnnotationAttachmentNode annotationAttachmentNode = PsiTreeUtil.getParentOfType(identifier,
                 AnnotationAttachmentNode.class);
@@ -38,8 +38,8 @@ public class AnnotationAttributeValueReference extends BallerinaElementReference
 
     @Nullable
     @Override
-    public PsiElement resolve() {
-        return super.resolve();
+    protected PsiElement resolveInner() {
+        return super.resolveInner();
     }
 
     @NotNull
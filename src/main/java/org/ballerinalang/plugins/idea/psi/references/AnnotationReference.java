@@ -44,7 +44,7 @@ public class AnnotationReference extends BallerinaElementReference {
 
     @Nullable
     @Override
-    public PsiElement resolve() {
+    protected PsiElement resolveInner() {
         IdentifierPSINode identifier = getElement();
         PsiElement parent = identifier.getParent();
 
@@ -37,8 +37,8 @@ public class AttachmentPointReference extends BallerinaElementReference {
 
     @Nullable
     @Override
-    public PsiElement resolve() {
-        return super.resolve();
+    protected PsiElement resolveInner() {
+        return super.resolveInner();
     }
 
     @NotNull
@@ -18,17 +18,40 @@ package org.ballerinalang.plugins.idea.psi.references;
 
 import com.intellij.openapi.util.TextRange;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiElementResolveResult;
+import com.intellij.psi.PsiPolyVariantReference;
 import com.intellij.psi.PsiReferenceBase;
+import com.intellij.psi.ResolveResult;
+import com.intellij.psi.impl.source.resolve.ResolveCache;
 import com.intellij.util.IncorrectOperationException;
 import org.antlr.jetbrains.adaptor.psi.ScopeNode;
 import org.ballerinalang.plugins.idea.psi.IdentifierPSINode;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
- * Represents an Ballerina element reference.
+ * Represents an Ballerina element reference. Resolve results are cached in the {@link ResolveCache} until the next
+ * PSI modification, so subclasses should implement {@link #resolveInner()} instead of {@link #resolve()}.
  */
-public abstract class BallerinaElementReference extends PsiReferenceBase<IdentifierPSINode> {
+public abstract class BallerinaElementReference extends PsiReferenceBase<IdentifierPSINode>
+        implements PsiPolyVariantReference {
+
+    private static final AtomicLong ourResolveCount = new AtomicLong();
+    private static final AtomicLong ourCacheMissCount = new AtomicLong();
+
+    private static final ResolveCache.AbstractResolver<BallerinaElementReference, PsiElement> RESOLVER =
+            (reference, incompleteCode) -> {
+                ourCacheMissCount.incrementAndGet();
+                return reference.resolveInner();
+            };
+
+    private static final ResolveCache.PolyVariantResolver<BallerinaElementReference> POLY_VARIANT_RESOLVER =
+            (reference, incompleteCode) -> {
+                ourCacheMissCount.incrementAndGet();
+                return reference.multiResolveInner(incompleteCode);
+            };
 
     public BallerinaElementReference(@NotNull IdentifierPSINode element) {
         /** WARNING: You must send up the text range or you get this error:
@@ -56,18 +79,72 @@ public abstract class BallerinaElementReference extends PsiReferenceBase<Identif
         return myElement.setName(newElementName);
     }
 
+    @Nullable
+    @Override
+    public PsiElement resolve() {
+        ourResolveCount.incrementAndGet();
+        return ResolveCache.getInstance(myElement.getProject()).resolveWithCaching(this, RESOLVER, true, false);
+    }
+
+    @NotNull
+    @Override
+    public ResolveResult[] multiResolve(boolean incompleteCode) {
+        ourResolveCount.incrementAndGet();
+        return ResolveCache.getInstance(myElement.getProject()).resolveWithCaching(this, POLY_VARIANT_RESOLVER, true,
+                incompleteCode);
+    }
+
     /**
      * Resolve a reference to the definition subtree (subclass of
      * IdentifierDefSubtree), do not resolve to the ID child of that
      * definition subtree root.
      */
     @Nullable
-    @Override
-    public PsiElement resolve() {
+    protected PsiElement resolveInner() {
         ScopeNode scope = (ScopeNode) myElement.getContext();
         if (scope == null) {
             return null;
         }
         return scope.resolve(myElement);
     }
+
+    /**
+     * Returns all possible targets of the reference. By default, this returns the result of {@link #resolve()}.
+     */
+    @NotNull
+    protected ResolveResult[] multiResolveInner(boolean incompleteCode) {
+        PsiElement element = resolve();
+        return element == null ? ResolveResult.EMPTY_ARRAY : PsiElementResolveResult.createResults(element);
+    }
+
+    /**
+     * Returns the number of resolve requests since the last {@link #resetStatistics()}.
+     */
+    public static long getResolveCount() {
+        return ourResolveCount.get();
+    }
+
+    /**
+     * Returns the number of resolve requests which were not served from the cache since the last
+     * {@link #resetStatistics()}.
+     */
+    public static long getCacheMissCount() {
+        return ourCacheMissCount.get();
+    }
+
+    /**
+     * Returns the number of resolve requests which were served from the cache since the last
+     * {@link #resetStatistics()}.
+     */
+    public static long getCacheHitCount() {
+        return ourResolveCount.get() - ourCacheMissCount.get();
+    }
+
+    /**
+     * Resets the resolve statistics.
+     */
+    public static void resetStatistics() {
+        ourResolveCount.set(0);
+        ourCacheMissCount.set(0);
+    }
 }
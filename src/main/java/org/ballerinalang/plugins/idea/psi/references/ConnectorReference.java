@@ -45,7 +45,7 @@ public class ConnectorReference extends BallerinaElementReference {
 
     @Nullable
     @Override
-    public PsiElement resolve() {
+    protected PsiElement resolveInner() {
         IdentifierPSINode identifier = getElement();
         PsiElement parent = identifier.getParent();
 
@@ -42,7 +42,7 @@ public class EnumFieldReference extends BallerinaElementReference {
 
     @Nullable
     @Override
-    public PsiElement resolve() {
+    protected PsiElement resolveInner() {
         IdentifierPSINode identifier = getElement();
         PsiElement dot = PsiTreeUtil.prevVisibleLeaf(identifier);
         if (dot == null || !".".equals(dot.getText())) {
@@ -42,7 +42,7 @@ public class EnumReference extends BallerinaElementReference {
 
     @Nullable
     @Override
-    public PsiElement resolve() {
+    protected PsiElement resolveInner() {
         IdentifierPSINode identifier = getElement();
         PsiElement parent = identifier.getParent();
 
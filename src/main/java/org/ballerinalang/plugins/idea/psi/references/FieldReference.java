@@ -55,7 +55,7 @@ public class FieldReference extends BallerinaElementReference {
 
     @Nullable
     @Override
-    public PsiElement resolve() {
+    protected PsiElement resolveInner() {
         // Get the current element.
         IdentifierPSINode identifier = getElement();
         // Get the parent element.
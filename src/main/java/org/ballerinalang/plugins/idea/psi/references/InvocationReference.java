@@ -43,7 +43,7 @@ public class InvocationReference extends BallerinaElementReference {
 
     @Nullable
     @Override
-    public PsiElement resolve() {
+    protected PsiElement resolveInner() {
         IdentifierPSINode identifier = getElement();
         PsiElement parent = identifier.getParent();
         PsiElement prevSibling = parent.getPrevSibling();
@@ -74,7 +74,7 @@ public class InvocationReference extends BallerinaElementReference {
             }
         }
 
-        return super.resolve();
+        return super.resolveInner();
     }
 
     @NotNull
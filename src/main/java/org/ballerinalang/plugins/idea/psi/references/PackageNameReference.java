@@ -22,7 +22,6 @@ import com.intellij.psi.PsiDirectory;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiElementResolveResult;
 import com.intellij.psi.PsiFile;
-import com.intellij.psi.PsiPolyVariantReference;
 import com.intellij.psi.PsiReference;
 import com.intellij.psi.ResolveResult;
 import com.intellij.psi.util.PsiTreeUtil;
@@ -49,7 +48,7 @@ import java.util.List;
 /**
  * Represents a package name reference.
  */
-public class PackageNameReference extends BallerinaElementReference implements PsiPolyVariantReference {
+public class PackageNameReference extends BallerinaElementReference {
 
     public PackageNameReference(@NotNull IdentifierPSINode element) {
         super(element);
@@ -88,7 +87,7 @@ public class PackageNameReference extends BallerinaElementReference implements P
 
     @Nullable
     @Override
-    public PsiElement resolve() {
+    protected PsiElement resolveInner() {
         ResolveResult[] resolveResults = multiResolve(false);
         if (resolveResults.length != 0) {
             return resolveResults.length == 1 ? resolveResults[0].getElement() : null;
@@ -115,7 +114,7 @@ public class PackageNameReference extends BallerinaElementReference implements P
 
     @NotNull
     @Override
-    public ResolveResult[] multiResolve(boolean incompleteCode) {
+    protected ResolveResult[] multiResolveInner(boolean incompleteCode) {
         IdentifierPSINode identifier = getElement();
         if (identifier == null) {
             return new ResolveResult[0];
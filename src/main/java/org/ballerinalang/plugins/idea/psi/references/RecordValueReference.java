@@ -54,7 +54,7 @@ public class RecordValueReference extends BallerinaElementReference {
 
     @Nullable
     @Override
-    public PsiElement resolve() {
+    protected PsiElement resolveInner() {
         IdentifierPSINode identifier = getElement();
         PsiElement prevSibling = identifier.getPrevSibling();
         if (prevSibling != null && prevSibling.getPrevSibling() != null &&
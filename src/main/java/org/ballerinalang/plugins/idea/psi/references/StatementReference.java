@@ -55,7 +55,7 @@ public class StatementReference extends BallerinaElementReference {
 
     @Nullable
     @Override
-    public PsiElement resolve() {
+    protected PsiElement resolveInner() {
         IdentifierPSINode identifier = getElement();
 
         PsiElement prevVisibleLeaf = PsiTreeUtil.prevVisibleLeaf(identifier);
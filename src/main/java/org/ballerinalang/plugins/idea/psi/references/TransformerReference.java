@@ -40,7 +40,7 @@ public class TransformerReference extends BallerinaElementReference {
 
     @Nullable
     @Override
-    public PsiElement resolve() {
+    protected PsiElement resolveInner() {
         IdentifierPSINode identifier = getElement();
         PsiFile containingFile = identifier.getContainingFile();
         if (containingFile == null) {
@@ -44,7 +44,7 @@ public class TypeReference extends BallerinaElementReference {
 
     @Nullable
     @Override
-    public PsiElement resolve() {
+    protected PsiElement resolveInner() {
         return resolve(typeNameNode, getElement());
     }
 
@@ -42,7 +42,7 @@ public class WorkerReference extends BallerinaElementReference {
 
     @Nullable
     @Override
-    public PsiElement resolve() {
+    protected PsiElement resolveInner() {
         IdentifierPSINode identifier = getElement();
         ScopeNode scopeNode = PsiTreeUtil.getParentOfType(identifier, ScopeNode.class);
         if (scopeNode == null) {
@@ -61,7 +61,7 @@ public class WorkerReference extends BallerinaElementReference {
                 return workerName;
             }
         }
-        return super.resolve();
+        return super.resolveInner();
     }
 
     @NotNull
@@ -0,0 +1,502 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.plugins.idea.psi.scopes;
+
+import com.intellij.openapi.util.AtomicNotNullLazyValue;
+import com.intellij.psi.PsiDirectory;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.intellij.psi.util.PsiTreeUtil;
+import org.antlr.jetbrains.adaptor.psi.ScopeNode;
+import org.ballerinalang.plugins.idea.index.BallerinaDefinitionKind;
+import org.ballerinalang.plugins.idea.index.BallerinaPackageSymbolTable;
+import org.ballerinalang.plugins.idea.psi.AssignmentStatementNode;
+import org.ballerinalang.plugins.idea.psi.BallerinaFile;
+import org.ballerinalang.plugins.idea.psi.CodeBlockParameterNode;
+import org.ballerinalang.plugins.idea.psi.ConstantDefinitionNode;
+import org.ballerinalang.plugins.idea.psi.EndpointDeclarationNode;
+import org.ballerinalang.plugins.idea.psi.ExpressionVariableDefinitionStatementNode;
+import org.ballerinalang.plugins.idea.psi.ForEachStatementNode;
+import org.ballerinalang.plugins.idea.psi.GlobalVariableDefinitionNode;
+import org.ballerinalang.plugins.idea.psi.IdentifierPSINode;
+import org.ballerinalang.plugins.idea.psi.ParameterNode;
+import org.ballerinalang.plugins.idea.psi.TransformerDefinitionNode;
+import org.ballerinalang.plugins.idea.psi.VariableDefinitionNode;
+import org.ballerinalang.plugins.idea.psi.VariableReferenceListNode;
+import org.ballerinalang.plugins.idea.psi.VariableReferenceNode;
+import org.ballerinalang.plugins.idea.psi.impl.BallerinaPsiImplUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Symbol table of the declarations in a single scope. Tables are built lazily, cached on the scope node and dropped
+ * whenever the PSI changes. Declarations are grouped by name and are kept in the document order, so an identifier is
+ * resolved using a hash lookup and a binary search over the declaration offsets.
+ * <p>
+ * Visibility rules are the same as the rules used in {@link BallerinaPsiImplUtil#getAllLocalVariablesInScope},
+ * {@link BallerinaPsiImplUtil#getAllParametersInResolvableScope} and
+ * {@link BallerinaPsiImplUtil#getAllEndpointsInResolvableScope}.
+ */
+public class BallerinaScopeSymbolTable {
+
+    @NotNull
+    private final ScopeNode myScope;
+
+    private final AtomicNotNullLazyValue<Map<String, Declarations>> myLocalVariables =
+            new AtomicNotNullLazyValue<Map<String, Declarations>>() {
+                @NotNull
+                @Override
+                protected Map<String, Declarations> compute() {
+                    return collectLocalVariables();
+                }
+            };
+
+    private final AtomicNotNullLazyValue<Map<String, Declarations>> myParameters =
+            new AtomicNotNullLazyValue<Map<String, Declarations>>() {
+                @NotNull
+                @Override
+                protected Map<String, Declarations> compute() {
+                    return collectParameters();
+                }
+            };
+
+    private final AtomicNotNullLazyValue<Map<String, IdentifierPSINode>> myEndpoints =
+            new AtomicNotNullLazyValue<Map<String, IdentifierPSINode>>() {
+                @NotNull
+                @Override
+                protected Map<String, IdentifierPSINode> compute() {
+                    Map<String, IdentifierPSINode> results = new HashMap<>();
+                    for (EndpointDeclarationNode node : PsiTreeUtil.getChildrenOfTypeAsList(myScope,
+                            EndpointDeclarationNode.class)) {
+                        addFirst(results, PsiTreeUtil.getChildOfType(node, IdentifierPSINode.class));
+                    }
+                    return results;
+                }
+            };
+
+    private final AtomicNotNullLazyValue<Map<String, IdentifierPSINode>> myGlobalVariables =
+            new AtomicNotNullLazyValue<Map<String, IdentifierPSINode>>() {
+                @NotNull
+                @Override
+                protected Map<String, IdentifierPSINode> compute() {
+                    Map<String, IdentifierPSINode> results = new HashMap<>();
+                    for (GlobalVariableDefinitionNode node : PsiTreeUtil.findChildrenOfType(myScope,
+                            GlobalVariableDefinitionNode.class)) {
+                        addFirst(results, node.getNameIdentifier());
+                    }
+                    return results;
+                }
+            };
+
+    private final AtomicNotNullLazyValue<Map<String, IdentifierPSINode>> myConstants =
+            new AtomicNotNullLazyValue<Map<String, IdentifierPSINode>>() {
+                @NotNull
+                @Override
+                protected Map<String, IdentifierPSINode> compute() {
+                    Map<String, IdentifierPSINode> results = new HashMap<>();
+                    for (ConstantDefinitionNode node : PsiTreeUtil.findChildrenOfType(myScope,
+                            ConstantDefinitionNode.class)) {
+                        addFirst(results, node.getNameIdentifier());
+                    }
+                    return results;
+                }
+            };
+
+    private BallerinaScopeSymbolTable(@NotNull ScopeNode scope) {
+        myScope = scope;
+    }
+
+    @NotNull
+    private static BallerinaScopeSymbolTable getInstance(@NotNull ScopeNode scope) {
+        return CachedValuesManager.getCachedValue(scope, () -> CachedValueProvider.Result.create(
+                new BallerinaScopeSymbolTable(scope), PsiModificationTracker.MODIFICATION_COUNT));
+    }
+
+    /**
+     * Finds the local variable which the given identifier refers, starting from the given scope.
+     *
+     * @param scope      closest scope of the identifier
+     * @param identifier identifier to resolve
+     * @return definition of the local variable if found, {@code null} otherwise.
+     */
+    @Nullable
+    public static IdentifierPSINode findLocalVariable(@NotNull ScopeNode scope, @NotNull IdentifierPSINode identifier) {
+        Caret caret = new Caret(identifier);
+        String name = identifier.getText();
+        ScopeNode current = scope;
+        while (current != null) {
+            if (current instanceof VariableContainer || current instanceof CodeBlockScope) {
+                Declarations declarations = getInstance(current).myLocalVariables.getValue().get(name);
+                IdentifierPSINode definition = declarations != null ? declarations.findLocalVariable(caret) : null;
+                if (definition != null) {
+                    return definition;
+                }
+                if (current instanceof RestrictedScope) {
+                    return null;
+                }
+            } else if (!(current instanceof ParameterContainer || current instanceof LowerLevelDefinition)) {
+                return null;
+            }
+            current = current.getContext();
+        }
+        return null;
+    }
+
+    /**
+     * Finds the parameter which the given identifier refers, starting from the given scope.
+     *
+     * @param scope      closest scope of the identifier
+     * @param identifier identifier to resolve
+     * @return definition of the parameter if found, {@code null} otherwise.
+     */
+    @Nullable
+    public static IdentifierPSINode findParameter(@NotNull ScopeNode scope, @NotNull IdentifierPSINode identifier) {
+        int caretOffset = identifier.getStartOffset();
+        String name = identifier.getText();
+        ScopeNode current = scope;
+        while (current != null) {
+            if (current instanceof ParameterContainer) {
+                Declarations declarations = getInstance(current).myParameters.getValue().get(name);
+                IdentifierPSINode definition = declarations != null ? declarations.findParameter(caretOffset) : null;
+                if (definition != null) {
+                    return definition;
+                }
+            } else if (!(current instanceof VariableContainer || current instanceof CodeBlockScope)) {
+                return null;
+            }
+            current = current.getContext();
+        }
+        return null;
+    }
+
+    /**
+     * Finds the endpoint which the given identifier refers, starting from the given scope.
+     *
+     * @param scope      closest scope of the identifier
+     * @param identifier identifier to resolve
+     * @return definition of the endpoint if found, {@code null} otherwise.
+     */
+    @Nullable
+    public static IdentifierPSINode findEndpoint(@NotNull ScopeNode scope, @NotNull IdentifierPSINode identifier) {
+        String name = identifier.getText();
+        ScopeNode current = scope;
+        while (current instanceof VariableContainer || current instanceof CodeBlockScope
+                || current instanceof TopLevelDefinition || current instanceof LowerLevelDefinition) {
+            IdentifierPSINode definition = getInstance(current).myEndpoints.getValue().get(name);
+            if (definition != null) {
+                return definition;
+            }
+            current = current.getContext();
+        }
+        return null;
+    }
+
+    /**
+     * Finds the global variable which the given identifier refers. Global variables in the current file are checked
+     * first and then the global variables in the other files of the package.
+     *
+     * @param scope      closest scope of the identifier
+     * @param identifier identifier to resolve
+     * @return definition of the global variable if found, {@code null} otherwise.
+     */
+    @Nullable
+    public static IdentifierPSINode findGlobalVariable(@NotNull ScopeNode scope,
+                                                      @NotNull IdentifierPSINode identifier) {
+        BallerinaFile file = getFileScope(scope);
+        if (file == null) {
+            return null;
+        }
+        IdentifierPSINode definition = getInstance(file).myGlobalVariables.getValue().get(identifier.getText());
+        if (definition != null) {
+            return definition;
+        }
+        return findInOtherFiles(file, identifier.getText(), BallerinaDefinitionKind.GLOBAL_VARIABLE);
+    }
+
+    /**
+     * Finds the constant which the given identifier refers. Constants in the current file are checked first and then
+     * the constants in the other files of the package.
+     *
+     * @param scope      closest scope of the identifier
+     * @param identifier identifier to resolve
+     * @return definition of the constant if found, {@code null} otherwise.
+     */
+    @Nullable
+    public static IdentifierPSINode findConstant(@NotNull ScopeNode scope, @NotNull IdentifierPSINode identifier) {
+        BallerinaFile file = getFileScope(scope);
+        if (file == null) {
+            return null;
+        }
+        IdentifierPSINode definition = getInstance(file).myConstants.getValue().get(identifier.getText());
+        if (definition != null) {
+            return definition;
+        }
+        return findInOtherFiles(file, identifier.getText(), BallerinaDefinitionKind.CONSTANT);
+    }
+
+    @Nullable
+    private static BallerinaFile getFileScope(@NotNull ScopeNode scope) {
+        ScopeNode current = scope;
+        while (current instanceof VariableContainer || current instanceof ParameterContainer
+                || current instanceof CodeBlockScope || current instanceof TopLevelDefinition
+                || current instanceof LowerLevelDefinition) {
+            current = current.getContext();
+        }
+        return current instanceof BallerinaFile ? (BallerinaFile) current : null;
+    }
+
+    @Nullable
+    private static IdentifierPSINode findInOtherFiles(@NotNull BallerinaFile file, @NotNull String name,
+                                                      @NotNull BallerinaDefinitionKind kind) {
+        PsiFile originalFile = file.getOriginalFile();
+        PsiDirectory containingPackage = originalFile.getParent();
+        if (containingPackage == null) {
+            return null;
+        }
+        IdentifierPSINode definition = BallerinaPackageSymbolTable.getInstance(containingPackage).findDefinition(name,
+                kind, true);
+        // Current file is already checked.
+        if (definition == null || originalFile.equals(definition.getContainingFile())) {
+            return null;
+        }
+        return definition;
+    }
+
+    @NotNull
+    private Map<String, Declarations> collectLocalVariables() {
+        Map<String, Declarations> results = new HashMap<>();
+        for (VariableDefinitionNode node : PsiTreeUtil.findChildrenOfType(myScope, VariableDefinitionNode.class)) {
+            ScopeNode closestScope = PsiTreeUtil.getParentOfType(node, ScopeNode.class);
+            PsiElement identifier = node.getNameIdentifier();
+            if (myScope.equals(closestScope) && identifier instanceof IdentifierPSINode) {
+                getDeclarations(results, identifier).add(Declarations.ORDERED, (IdentifierPSINode) identifier, node,
+                        identifier.getTextOffset());
+            }
+        }
+        if (myScope instanceof TransformerDefinitionNode) {
+            Collection<ExpressionVariableDefinitionStatementNode> nodes = PsiTreeUtil.findChildrenOfType(myScope,
+                    ExpressionVariableDefinitionStatementNode.class);
+            for (ExpressionVariableDefinitionStatementNode node : nodes) {
+                ScopeNode closestScope = PsiTreeUtil.getParentOfType(node, TransformerDefinitionNode.class);
+                PsiElement identifier = node.getNameIdentifier();
+                if (myScope.equals(closestScope) && identifier instanceof IdentifierPSINode) {
+                    getDeclarations(results, identifier).add(Declarations.UNORDERED, (IdentifierPSINode) identifier,
+                            node, identifier.getTextOffset());
+                }
+            }
+        }
+        if (myScope instanceof ForEachStatementNode) {
+            VariableReferenceListNode variableReferenceListNode = PsiTreeUtil.getChildOfType(myScope,
+                    VariableReferenceListNode.class);
+            if (variableReferenceListNode != null) {
+                for (VariableReferenceNode node : PsiTreeUtil.getChildrenOfTypeAsList(variableReferenceListNode,
+                        VariableReferenceNode.class)) {
+                    IdentifierPSINode identifier = PsiTreeUtil.findChildOfType(node, IdentifierPSINode.class);
+                    if (identifier != null) {
+                        getDeclarations(results, identifier).add(Declarations.UNORDERED, identifier, node,
+                                identifier.getTextOffset());
+                    }
+                }
+            }
+        }
+        for (AssignmentStatementNode node : PsiTreeUtil.findChildrenOfType(myScope, AssignmentStatementNode.class)) {
+            if (!BallerinaPsiImplUtil.isVarAssignmentStatement(node)) {
+                continue;
+            }
+            // Variables defined in a var assignment are visible after the end of the statement.
+            int endOffset = node.getTextRange().getEndOffset();
+            for (IdentifierPSINode identifier : BallerinaPsiImplUtil.getVariablesFromVarAssignment(node)) {
+                getDeclarations(results, identifier).add(Declarations.ASSIGNMENTS, identifier, node, endOffset);
+            }
+        }
+        return results;
+    }
+
+    @NotNull
+    private Map<String, Declarations> collectParameters() {
+        Map<String, Declarations> results = new HashMap<>();
+        for (ParameterNode node : PsiTreeUtil.findChildrenOfType(myScope, ParameterNode.class)) {
+            ScopeNode closestScope = PsiTreeUtil.getParentOfType(node, ScopeNode.class);
+            PsiElement identifier = node.getNameIdentifier();
+            if (myScope.equals(closestScope) && identifier instanceof IdentifierPSINode) {
+                getDeclarations(results, identifier).add(Declarations.UNORDERED, (IdentifierPSINode) identifier, node,
+                        identifier.getTextOffset());
+            }
+        }
+        for (CodeBlockParameterNode node : PsiTreeUtil.findChildrenOfType(myScope, CodeBlockParameterNode.class)) {
+            ScopeNode closestScope = PsiTreeUtil.getParentOfType(node, ScopeNode.class);
+            PsiElement identifier = node.getNameIdentifier();
+            if (myScope.equals(closestScope) && identifier instanceof IdentifierPSINode) {
+                // Code block parameters are visible after the end of the parameter.
+                getDeclarations(results, identifier).add(Declarations.ORDERED, (IdentifierPSINode) identifier, node,
+                        node.getTextRange().getEndOffset());
+            }
+        }
+        return results;
+    }
+
+    @NotNull
+    private static Declarations getDeclarations(@NotNull Map<String, Declarations> declarations,
+                                                @NotNull PsiElement identifier) {
+        return declarations.computeIfAbsent(identifier.getText(), name -> new Declarations());
+    }
+
+    private static void addFirst(@NotNull Map<String, IdentifierPSINode> identifiers, @Nullable PsiElement identifier) {
+        if (identifier instanceof IdentifierPSINode) {
+            identifiers.putIfAbsent(identifier.getText(), (IdentifierPSINode) identifier);
+        }
+    }
+
+    /**
+     * Details of the position of the identifier which is being resolved.
+     */
+    private static class Caret {
+
+        private final int myOffset;
+        // Definition/assignment statement which the identifier belongs to. Those are not visible to the identifier.
+        @Nullable
+        private final VariableDefinitionNode myDefinition;
+        @Nullable
+        private final AssignmentStatementNode myAssignment;
+
+        Caret(@NotNull IdentifierPSINode identifier) {
+            myOffset = identifier.getStartOffset();
+            PsiElement prevVisibleLeaf = PsiTreeUtil.prevVisibleLeaf(identifier);
+            // If previous leaf is ';', that means we are in a new statement.
+            if (prevVisibleLeaf == null || ";".equals(prevVisibleLeaf.getText())) {
+                myDefinition = null;
+                myAssignment = null;
+            } else {
+                myDefinition = PsiTreeUtil.getParentOfType(prevVisibleLeaf, VariableDefinitionNode.class);
+                myAssignment = PsiTreeUtil.getParentOfType(prevVisibleLeaf, AssignmentStatementNode.class);
+            }
+        }
+    }
+
+    /**
+     * Declarations of a single name in a scope. Declarations are kept in three groups and are checked in the order of
+     * the groups.
+     */
+    private static class Declarations {
+
+        // Declarations which are visible after the given offset. Offsets are sorted in ascending order.
+        static final int ORDERED = 0;
+        // Declarations which are visible throughout the scope.
+        static final int UNORDERED = 1;
+        // Variables of var assignments which are visible after the given offset. Nested assignments are included,
+        // so these are not sorted.
+        static final int ASSIGNMENTS = 2;
+
+        private final List<List<Declaration>> myGroups = new ArrayList<>(3);
+        private int[] myOrderedOffsets;
+
+        Declarations() {
+            for (int i = 0; i <= ASSIGNMENTS; i++) {
+                myGroups.add(new ArrayList<>(1));
+            }
+        }
+
+        void add(int group, @NotNull IdentifierPSINode identifier, @NotNull PsiElement node, int offset) {
+            myGroups.get(group).add(new Declaration(identifier, node, offset));
+            myOrderedOffsets = null;
+        }
+
+        @Nullable
+        IdentifierPSINode findLocalVariable(@NotNull Caret caret) {
+            List<Declaration> ordered = myGroups.get(ORDERED);
+            int count = countBefore(caret.myOffset);
+            for (int i = 0; i < count; i++) {
+                Declaration declaration = ordered.get(i);
+                if (!declaration.myNode.equals(caret.myDefinition)) {
+                    return declaration.myIdentifier;
+                }
+            }
+            List<Declaration> unordered = myGroups.get(UNORDERED);
+            if (!unordered.isEmpty()) {
+                return unordered.get(0).myIdentifier;
+            }
+            for (Declaration declaration : myGroups.get(ASSIGNMENTS)) {
+                if (declaration.myOffset < caret.myOffset && !declaration.myNode.equals(caret.myAssignment)) {
+                    return declaration.myIdentifier;
+                }
+            }
+            return null;
+        }
+
+        @Nullable
+        IdentifierPSINode findParameter(int caretOffset) {
+            List<Declaration> unordered = myGroups.get(UNORDERED);
+            if (!unordered.isEmpty()) {
+                return unordered.get(0).myIdentifier;
+            }
+            return countBefore(caretOffset) > 0 ? myGroups.get(ORDERED).get(0).myIdentifier : null;
+        }
+
+        /**
+         * Returns the number of ordered declarations which are visible at the given offset.
+         */
+        private int countBefore(int offset) {
+            int[] offsets = myOrderedOffsets;
+            if (offsets == null) {
+                List<Declaration> ordered = myGroups.get(ORDERED);
+                offsets = new int[ordered.size()];
+                for (int i = 0; i < offsets.length; i++) {
+                    offsets[i] = ordered.get(i).myOffset;
+                }
+                myOrderedOffsets = offsets;
+            }
+            int low = 0;
+            int high = offsets.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (offsets[mid] < offset) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * Represents a single declaration.
+     */
+    private static class Declaration {
+
+        @NotNull
+        private final IdentifierPSINode myIdentifier;
+        @NotNull
+        private final PsiElement myNode;
+        private final int myOffset;
+
+        Declaration(@NotNull IdentifierPSINode identifier, @NotNull PsiElement node, int offset) {
+            myIdentifier = identifier;
+            myNode = node;
+            myOffset = offset;
+        }
+    }
+}
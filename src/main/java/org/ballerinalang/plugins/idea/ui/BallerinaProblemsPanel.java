@@ -0,0 +1,223 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.plugins.idea.ui;
+
+import com.intellij.icons.AllIcons;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.actionSystem.ActionManager;
+import com.intellij.openapi.actionSystem.ActionToolbar;
+import com.intellij.openapi.actionSystem.DefaultActionGroup;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.fileEditor.OpenFileDescriptor;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.SimpleToolWindowPanel;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.ui.ColoredTreeCellRenderer;
+import com.intellij.ui.DoubleClickListener;
+import com.intellij.ui.ScrollPaneFactory;
+import com.intellij.ui.SimpleTextAttributes;
+import com.intellij.ui.treeStructure.Tree;
+import org.ballerinalang.plugins.idea.BallerinaIcons;
+import org.ballerinalang.plugins.idea.diagnostics.BallerinaCompileAllService;
+import org.ballerinalang.plugins.idea.diagnostics.BallerinaPackageDiagnostics;
+import org.ballerinalang.plugins.idea.util.Diagnostic;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import javax.swing.Icon;
+import javax.swing.JTree;
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.DefaultTreeModel;
+import javax.swing.tree.TreePath;
+
+/**
+ * Shows the diagnostics found by the compile all task, grouped by the package.
+ */
+public class BallerinaProblemsPanel extends SimpleToolWindowPanel implements Disposable {
+
+    private final Project myProject;
+    private final DefaultMutableTreeNode myRoot = new DefaultMutableTreeNode();
+    private final DefaultTreeModel myModel = new DefaultTreeModel(myRoot);
+    private final Tree myTree = new Tree(myModel);
+
+    public BallerinaProblemsPanel(@NotNull Project project) {
+        super(false, true);
+        myProject = project;
+
+        myTree.setRootVisible(false);
+        myTree.setShowsRootHandles(true);
+        myTree.setCellRenderer(new ProblemsRenderer());
+        new DoubleClickListener() {
+            @Override
+            protected boolean onDoubleClick(MouseEvent event) {
+                return navigate();
+            }
+        }.installOn(myTree);
+        setContent(ScrollPaneFactory.createScrollPane(myTree));
+
+        DefaultActionGroup group = new DefaultActionGroup();
+        ActionManager actionManager = ActionManager.getInstance();
+        group.add(actionManager.getAction("Ballerina.CompileAll"));
+        group.add(actionManager.getAction("Ballerina.RecompileAll"));
+        ActionToolbar toolbar = actionManager.createActionToolbar("BallerinaProblems", group, false);
+        toolbar.setTargetComponent(this);
+        setToolbar(toolbar.getComponent());
+
+        BallerinaCompileAllService service = BallerinaCompileAllService.getInstance(project);
+        service.addListener(new BallerinaCompileAllService.Listener() {
+            @Override
+            public void packageCompiled(@NotNull BallerinaPackageDiagnostics diagnostics) {
+                ApplicationManager.getApplication().invokeLater(() -> update(diagnostics), project.getDisposed());
+            }
+
+            @Override
+            public void finished(boolean cancelled) {
+                ApplicationManager.getApplication().invokeLater(this::reload, project.getDisposed());
+            }
+        }, this);
+        reload();
+    }
+
+    /**
+     * Replaces the node of the given package as soon as it is compiled.
+     */
+    private void update(@NotNull BallerinaPackageDiagnostics diagnostics) {
+        for (int i = 0; i < myRoot.getChildCount(); i++) {
+            DefaultMutableTreeNode node = (DefaultMutableTreeNode) myRoot.getChildAt(i);
+            BallerinaPackageDiagnostics current = (BallerinaPackageDiagnostics) node.getUserObject();
+            if (current.getDirectory().equals(diagnostics.getDirectory())) {
+                myRoot.remove(i);
+                break;
+            }
+        }
+        if (!diagnostics.getDiagnostics().isEmpty()) {
+            myRoot.add(createPackageNode(diagnostics));
+        }
+        myModel.reload();
+    }
+
+    /**
+     * Shows the results of the last run, sorted by the package name.
+     */
+    private void reload() {
+        List<BallerinaPackageDiagnostics> results = new ArrayList<>(
+                BallerinaCompileAllService.getInstance(myProject).getResults());
+        results.sort(Comparator.comparing(BallerinaPackageDiagnostics::getPackageName));
+        myRoot.removeAllChildren();
+        for (BallerinaPackageDiagnostics result : results) {
+            if (!result.getDiagnostics().isEmpty()) {
+                myRoot.add(createPackageNode(result));
+            }
+        }
+        myModel.reload();
+    }
+
+    @NotNull
+    private static DefaultMutableTreeNode createPackageNode(@NotNull BallerinaPackageDiagnostics diagnostics) {
+        DefaultMutableTreeNode packageNode = new DefaultMutableTreeNode(diagnostics);
+        for (Diagnostic diagnostic : diagnostics.getDiagnostics()) {
+            packageNode.add(new DefaultMutableTreeNode(diagnostic, false));
+        }
+        return packageNode;
+    }
+
+    private boolean navigate() {
+        TreePath path = myTree.getSelectionPath();
+        if (path == null || path.getPathCount() < 3) {
+            return false;
+        }
+        DefaultMutableTreeNode node = (DefaultMutableTreeNode) path.getLastPathComponent();
+        DefaultMutableTreeNode packageNode = (DefaultMutableTreeNode) node.getParent();
+        Diagnostic diagnostic = (Diagnostic) node.getUserObject();
+        BallerinaPackageDiagnostics diagnostics = (BallerinaPackageDiagnostics) packageNode.getUserObject();
+        VirtualFile file = getFile(diagnostics, diagnostic);
+        if (file == null) {
+            return false;
+        }
+        Diagnostic.DiagnosticPosition position = diagnostic.getPosition();
+        // Diagnostic positions are 1 based.
+        int line = position != null ? Math.max(0, position.getStartLine() - 1) : 0;
+        int column = position != null ? Math.max(0, position.getStartColumn() - 1) : 0;
+        new OpenFileDescriptor(myProject, file, line, column).navigate(true);
+        return true;
+    }
+
+    @Nullable
+    private static VirtualFile getFile(@NotNull BallerinaPackageDiagnostics diagnostics,
+                                       @NotNull Diagnostic diagnostic) {
+        Diagnostic.DiagnosticSource source = diagnostic.getSource();
+        if (source == null || source.getCompilationUnitName() == null) {
+            return null;
+        }
+        return diagnostics.getDirectory().findChild(source.getCompilationUnitName());
+    }
+
+    @Override
+    public void dispose() {
+    }
+
+    /**
+     * Renders package and diagnostic nodes.
+     */
+    private static class ProblemsRenderer extends ColoredTreeCellRenderer {
+
+        @Override
+        public void customizeCellRenderer(@NotNull JTree tree, Object value, boolean selected, boolean expanded,
+                                          boolean leaf, int row, boolean hasFocus) {
+            Object userObject = ((DefaultMutableTreeNode) value).getUserObject();
+            if (userObject instanceof BallerinaPackageDiagnostics) {
+                BallerinaPackageDiagnostics diagnostics = (BallerinaPackageDiagnostics) userObject;
+                setIcon(BallerinaIcons.PACKAGE);
+                append(diagnostics.getPackageName());
+                int size = diagnostics.getDiagnostics().size();
+                append("  " + size + " " + StringUtil.pluralize("problem", size),
+                        SimpleTextAttributes.GRAYED_ATTRIBUTES);
+                if (diagnostics.isCached()) {
+                    append(" (not modified)", SimpleTextAttributes.GRAYED_ATTRIBUTES);
+                }
+            } else if (userObject instanceof Diagnostic) {
+                Diagnostic diagnostic = (Diagnostic) userObject;
+                setIcon(getIcon(diagnostic.getKind()));
+                append(diagnostic.getMessage() != null ? diagnostic.getMessage() : "");
+                Diagnostic.DiagnosticSource source = diagnostic.getSource();
+                Diagnostic.DiagnosticPosition position = diagnostic.getPosition();
+                if (source != null && source.getCompilationUnitName() != null) {
+                    String location = source.getCompilationUnitName();
+                    if (position != null) {
+                        location += ":" + position.getStartLine();
+                    }
+                    append("  " + location, SimpleTextAttributes.GRAYED_ATTRIBUTES);
+                }
+            }
+        }
+
+        @NotNull
+        private static Icon getIcon(@Nullable Diagnostic.Kind kind) {
+            if (kind == Diagnostic.Kind.ERROR) {
+                return AllIcons.General.Error;
+            } else if (kind == Diagnostic.Kind.WARNING) {
+                return AllIcons.General.Warning;
+            }
+            return AllIcons.General.Information;
+        }
+    }
+}
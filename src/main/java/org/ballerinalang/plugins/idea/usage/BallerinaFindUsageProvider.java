@@ -56,7 +56,7 @@ public class BallerinaFindUsageProvider implements FindUsagesProvider {
     @Nullable
     @Override
     public WordsScanner getWordsScanner() {
-        return null;
+        return new BallerinaWordsScanner();
     }
 
     @Override
@@ -77,6 +77,10 @@ public class BallerinaFindUsageProvider implements FindUsagesProvider {
             return "";
         }
         ANTLRPsiNode parent = (ANTLRPsiNode) element.getParent();
+        // Reparseable bodies are not rule element types.
+        if (!(parent.getNode().getElementType() instanceof RuleIElementType)) {
+            return "";
+        }
         RuleIElementType elType = (RuleIElementType) parent.getNode().getElementType();
         // Todo - Add more types
         switch (elType.getRuleIndex()) {
@@ -0,0 +1,36 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.plugins.idea.usage;
+
+import com.intellij.lang.cacheBuilder.DefaultWordsScanner;
+import org.antlr.jetbrains.adaptor.lexer.ANTLRLexerAdaptor;
+import org.ballerinalang.plugins.idea.BallerinaLanguage;
+import org.ballerinalang.plugins.idea.BallerinaParserDefinition;
+import org.ballerinalang.plugins.idea.grammar.BallerinaLexer;
+
+/**
+ * Words scanner for Ballerina files. This is used to build the word index, so usage searches only need to check
+ * files which contain the searched identifier.
+ */
+public class BallerinaWordsScanner extends DefaultWordsScanner {
+
+    public BallerinaWordsScanner() {
+        super(new ANTLRLexerAdaptor(BallerinaLanguage.INSTANCE, new BallerinaLexer(null)),
+                BallerinaParserDefinition.IDENTIFIER, BallerinaParserDefinition.COMMENTS,
+                BallerinaParserDefinition.STRING_LITERALS);
+    }
+}
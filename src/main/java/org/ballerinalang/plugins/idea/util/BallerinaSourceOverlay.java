@@ -0,0 +1,124 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.plugins.idea.util;
+
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import org.ballerinalang.plugins.idea.BallerinaFileType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Snapshot of the unsaved editor contents of a Ballerina package. The contents are keyed by the absolute path of the
+ * corresponding file so they can be compiled in place of the file contents on the disk. Documents are never saved
+ * for compiling.
+ */
+public class BallerinaSourceOverlay {
+
+    private static final BallerinaSourceOverlay EMPTY = new BallerinaSourceOverlay(Collections.emptyMap(),
+            Collections.emptyMap());
+
+    private final Map<String, String> mySources;
+    private final Map<String, Long> myModificationStamps;
+
+    private BallerinaSourceOverlay(@NotNull Map<String, String> sources,
+                                   @NotNull Map<String, Long> modificationStamps) {
+        mySources = sources;
+        myModificationStamps = modificationStamps;
+    }
+
+    /**
+     * Creates a snapshot of the unsaved documents which will be compiled along with the given file. If the file
+     * belongs to a package, all Ballerina files in the package directory are considered. Otherwise only the given
+     * file is considered. Should be called inside a read action.
+     *
+     * @param file      file which is being compiled
+     * @param inPackage whether the file belongs to a package
+     * @return overlay which contains the unsaved contents
+     */
+    @NotNull
+    public static BallerinaSourceOverlay create(@NotNull PsiFile file, boolean inPackage) {
+        VirtualFile virtualFile = file.getVirtualFile();
+        if (virtualFile == null) {
+            return EMPTY;
+        }
+        List<VirtualFile> candidates = new ArrayList<>();
+        VirtualFile parent = virtualFile.getParent();
+        if (inPackage && parent != null) {
+            for (VirtualFile child : parent.getChildren()) {
+                if (!child.isDirectory() && child.getFileType() == BallerinaFileType.INSTANCE) {
+                    candidates.add(child);
+                }
+            }
+        } else {
+            candidates.add(virtualFile);
+        }
+
+        FileDocumentManager documentManager = FileDocumentManager.getInstance();
+        Map<String, String> sources = new LinkedHashMap<>();
+        Map<String, Long> modificationStamps = new TreeMap<>();
+        for (VirtualFile candidate : candidates) {
+            Document document = documentManager.getCachedDocument(candidate);
+            modificationStamps.put(candidate.getPath(), document != null ? document.getModificationStamp() :
+                    candidate.getModificationStamp());
+            if (document == null || !documentManager.isFileModified(candidate)) {
+                continue;
+            }
+            sources.put(candidate.getPath(), document.getText());
+        }
+        return new BallerinaSourceOverlay(Collections.unmodifiableMap(sources),
+                Collections.unmodifiableMap(modificationStamps));
+    }
+
+    /**
+     * Returns whether all files are saved, in which case the files on the disk can be compiled as they are.
+     *
+     * @return {@code true} if there are no unsaved contents, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return mySources.isEmpty();
+    }
+
+    /**
+     * Returns the unsaved contents keyed by the absolute path of the file.
+     *
+     * @return unmodifiable map of file paths to file contents
+     */
+    @NotNull
+    public Map<String, String> getSources() {
+        return mySources;
+    }
+
+    /**
+     * Returns the modification stamps of all files which are compiled, keyed by the absolute path of the file. Two
+     * overlays with equal stamps produce the same diagnostics.
+     *
+     * @return unmodifiable map of file paths to modification stamps
+     */
+    @NotNull
+    public Map<String, Long> getModificationStamps() {
+        return myModificationStamps;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.codeinspection;
+
+import com.intellij.codeInsight.intention.IntentionAction;
+import com.intellij.lang.annotation.Annotation;
+import com.intellij.lang.annotation.HighlightSeverity;
+import com.intellij.openapi.command.WriteCommandAction;
+import org.ballerinalang.BallerinaCodeInsightFixtureTestCase;
+import org.ballerinalang.plugins.idea.BallerinaFileType;
+import org.ballerinalang.plugins.idea.codeinspection.BallerinaDiagnosticQuickFixes;
+import org.ballerinalang.plugins.idea.util.DiagnosticCode;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Test quick fixes of compiler diagnostics.
+ */
+public class BallerinaDiagnosticQuickFixesTest extends BallerinaCodeInsightFixtureTestCase {
+
+    public void testNoQuickFixes() {
+        myFixture.configureByText(BallerinaFileType.INSTANCE, "function main (string[] args) {\n    <caret>return;\n}");
+        assertNull(getQuickFix(DiagnosticCode.UNREACHABLE_CODE));
+    }
+
+    public void testCreateFunction() {
+        myFixture.configureByText(BallerinaFileType.INSTANCE, "function main (string[] args) {\n    fo<caret>o();\n}");
+        IntentionAction quickFix = getQuickFix(DiagnosticCode.UNDEFINED_FUNCTION);
+        assertNotNull(quickFix);
+        assertTrue(quickFix.isAvailable(getProject(), myFixture.getEditor(), myFixture.getFile()));
+        assertEquals("Create function 'foo'", quickFix.getText());
+        invoke(quickFix);
+        assertTrue(myFixture.getFile().getText().endsWith("function foo () {\n}"));
+    }
+
+    public void testCreateFunctionInOtherPackage() {
+        myFixture.configureByText(BallerinaFileType.INSTANCE,
+                "import org.test;\n\nfunction main (string[] args) {\n    test:fo<caret>o();\n}");
+        IntentionAction quickFix = getQuickFix(DiagnosticCode.UNDEFINED_FUNCTION);
+        assertNotNull(quickFix);
+        assertFalse(quickFix.isAvailable(getProject(), myFixture.getEditor(), myFixture.getFile()));
+    }
+
+    public void testCreateStruct() {
+        myFixture.configureByText(BallerinaFileType.INSTANCE,
+                "function main (string[] args) {\n    Per<caret>son p;\n}");
+        IntentionAction quickFix = getQuickFix(DiagnosticCode.UNKNOWN_TYPE);
+        assertNotNull(quickFix);
+        assertTrue(quickFix.isAvailable(getProject(), myFixture.getEditor(), myFixture.getFile()));
+        assertEquals("Create struct 'Person'", quickFix.getText());
+        invoke(quickFix);
+        assertTrue(myFixture.getFile().getText().endsWith("struct Person {\n}"));
+    }
+
+    public void testReplaceCastWithConversion() {
+        myFixture.configureByText(BallerinaFileType.INSTANCE,
+                "function main (string[] args) {\n    string s = \"1\";\n    int i = (i<caret>nt) s;\n}");
+        IntentionAction quickFix = getQuickFix(DiagnosticCode.INCOMPATIBLE_TYPES_CAST_WITH_SUGGESTION);
+        assertNotNull(quickFix);
+        assertTrue(quickFix.isAvailable(getProject(), myFixture.getEditor(), myFixture.getFile()));
+        assertEquals("Replace cast with conversion", quickFix.getText());
+        invoke(quickFix);
+        assertEquals("function main (string[] args) {\n    string s = \"1\";\n    int i = <int> s;\n}",
+                myFixture.getFile().getText());
+    }
+
+    public void testReplaceConversionWithCast() {
+        myFixture.configureByText(BallerinaFileType.INSTANCE,
+                "function main (string[] args) {\n    any a = 1;\n    int i = <i<caret>nt> a;\n}");
+        IntentionAction quickFix = getQuickFix(DiagnosticCode.INCOMPATIBLE_TYPES_CONVERSION_WITH_SUGGESTION);
+        assertNotNull(quickFix);
+        assertTrue(quickFix.isAvailable(getProject(), myFixture.getEditor(), myFixture.getFile()));
+        assertEquals("Replace conversion with cast", quickFix.getText());
+        invoke(quickFix);
+        assertEquals("function main (string[] args) {\n    any a = 1;\n    int i = (int) a;\n}",
+                myFixture.getFile().getText());
+    }
+
+    @Nullable
+    private IntentionAction getQuickFix(@NotNull DiagnosticCode code) {
+        int offset = myFixture.getCaretOffset();
+        Annotation annotation = new Annotation(offset, offset, HighlightSeverity.ERROR, "error", null);
+        BallerinaDiagnosticQuickFixes.registerFixes(annotation, code);
+        List<Annotation.QuickFixInfo> quickFixes = annotation.getQuickFixes();
+        if (quickFixes == null || quickFixes.isEmpty()) {
+            return null;
+        }
+        assertSize(1, quickFixes);
+        return quickFixes.get(0).quickFix;
+    }
+
+    private void invoke(@NotNull IntentionAction quickFix) {
+        WriteCommandAction.runWriteCommandAction(getProject(),
+                () -> quickFix.invoke(getProject(), myFixture.getEditor(), myFixture.getFile()));
+    }
+}
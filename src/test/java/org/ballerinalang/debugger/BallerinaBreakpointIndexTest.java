@@ -0,0 +1,153 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.debugger;
+
+import com.intellij.testFramework.PlatformTestUtil;
+import org.ballerinalang.BallerinaCodeInsightFixtureTestCase;
+import org.ballerinalang.plugins.idea.debugger.BallerinaBreakpointIndex;
+import org.ballerinalang.plugins.idea.debugger.dto.BreakPoint;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test finding the breakpoints of debug hits.
+ */
+public class BallerinaBreakpointIndexTest extends BallerinaCodeInsightFixtureTestCase {
+
+    private static final int PACKAGES = 50;
+    private static final int FILES = 20;
+    private static final int LINES = 5;
+    private static final int HITS = 200000;
+
+    public void testPackagedFile() {
+        BallerinaBreakpointIndex<String> index = new BallerinaBreakpointIndex<>();
+        index.put(new BreakPoint("org.test", "a.bal", 3), "first");
+        assertEquals("first", index.find(new BreakPoint("org.test", "a.bal", 3)));
+        assertNull(index.find(new BreakPoint("org.test", "a.bal", 4)));
+        assertNull(index.find(new BreakPoint("org.other", "a.bal", 3)));
+    }
+
+    public void testDefaultPackage() {
+        BallerinaBreakpointIndex<String> index = new BallerinaBreakpointIndex<>();
+        index.put(new BreakPoint(".", "a.bal", 3), "first");
+        assertEquals("first", index.find(new BreakPoint(".", "/home/user/project/a.bal", 3)));
+        assertEquals("first", index.find(new BreakPoint(".", "C:\\project\\a.bal", 3)));
+        assertEquals("first", index.find(new BreakPoint(".", "a.bal", 3)));
+        assertNull(index.find(new BreakPoint(".", "/home/user/project/b.bal", 3)));
+        assertNull(index.find(new BreakPoint(".", "/home/user/project/ba.bal", 3)));
+        assertNull(index.find(new BreakPoint(".", "/home/user/project/a.bal", 4)));
+    }
+
+    public void testDefaultPackageRemove() {
+        BallerinaBreakpointIndex<String> index = new BallerinaBreakpointIndex<>();
+        BreakPoint first = new BreakPoint(".", "a.bal", 3);
+        index.put(first, "first");
+        index.put(new BreakPoint(".", "b.bal", 3), "second");
+        assertEquals(2, index.size());
+        index.remove(first, "second");
+        assertEquals("first", index.find(new BreakPoint(".", "/project/a.bal", 3)));
+        index.remove(first, "first");
+        assertNull(index.find(new BreakPoint(".", "/project/a.bal", 3)));
+        assertEquals("second", index.find(new BreakPoint(".", "/project/b.bal", 3)));
+        assertEquals(1, index.size());
+    }
+
+    public void testDefaultPackageFindDoesNotAllocate() {
+        // Allocations can only be measured on JVMs which support it.
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean)) {
+            return;
+        }
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean)
+                ManagementFactory.getThreadMXBean();
+        if (!threadBean.isThreadAllocatedMemorySupported() || !threadBean.isThreadAllocatedMemoryEnabled()) {
+            return;
+        }
+        BallerinaBreakpointIndex<String> index = new BallerinaBreakpointIndex<>();
+        for (int f = 0; f < FILES; f++) {
+            index.put(new BreakPoint(".", "file" + f + ".bal", 1000), "breakpoint" + f);
+        }
+        BreakPoint hit = new BreakPoint(".", "/home/user/project/file7.bal", 1000);
+        BreakPoint miss = new BreakPoint(".", "/home/user/project/file7.bal", 1001);
+        // Warm up the code first.
+        for (int i = 0; i < HITS; i++) {
+            index.find(hit);
+            index.find(miss);
+        }
+        long threadId = Thread.currentThread().getId();
+        long before = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < HITS; i++) {
+            assertNotNull(index.find(hit));
+            assertNull(index.find(miss));
+        }
+        long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+        // Allow a little for the measurement itself.
+        assertTrue("Allocated " + allocated + " bytes", allocated < 10000);
+    }
+
+    public void testRemove() {
+        BallerinaBreakpointIndex<String> index = new BallerinaBreakpointIndex<>();
+        BreakPoint location = new BreakPoint("org.test", "a.bal", 3);
+        index.put(location, "first");
+        index.remove(location, "second");
+        assertEquals("first", index.find(location));
+        index.remove(location, "first");
+        assertNull(index.find(location));
+        assertEquals(0, index.size());
+    }
+
+    public void testNormalizePackagePath() {
+        assertEquals("org.test", BallerinaBreakpointIndex.normalizePackagePath("org.test"));
+        assertEquals("org.test", BallerinaBreakpointIndex.normalizePackagePath("org . test"));
+        assertEquals("org.test", BallerinaBreakpointIndex.normalizePackagePath("org. // comment\ntest"));
+        assertEquals(".", BallerinaBreakpointIndex.normalizePackagePath(""));
+        assertEquals(".", BallerinaBreakpointIndex.normalizePackagePath(null));
+    }
+
+    /**
+     * Replays debug hits against thousands of breakpoints. Half of the hits do not have a breakpoint, like the steps
+     * of a conditional breakpoint.
+     */
+    public void testFindPerformance() {
+        BallerinaBreakpointIndex<BreakPoint> index = new BallerinaBreakpointIndex<>();
+        for (int p = 0; p < PACKAGES; p++) {
+            for (int f = 0; f < FILES; f++) {
+                for (int l = 0; l < LINES; l++) {
+                    BreakPoint location = new BreakPoint("org.test.package" + p, "file" + f + ".bal", l * 10);
+                    index.put(location, location);
+                }
+            }
+        }
+        assertEquals(PACKAGES * FILES * LINES, index.size());
+
+        List<BreakPoint> hits = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            int line = i % 2 == 0 ? (i % LINES) * 10 : (i % LINES) * 10 + 1;
+            hits.add(new BreakPoint("org.test.package" + (i % PACKAGES), "file" + (i % FILES) + ".bal", line));
+        }
+        PlatformTestUtil.startPerformanceTest("Finding breakpoints of debug hits", 200, () -> {
+            int found = 0;
+            for (int i = 0; i < HITS; i++) {
+                if (index.find(hits.get(i % hits.size())) != null) {
+                    found++;
+                }
+            }
+            assertEquals(HITS / 2, found);
+        }).cpuBound().assertTiming();
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.debugger;
+
+import com.google.gson.Gson;
+import org.ballerinalang.BallerinaCodeInsightFixtureTestCase;
+import org.ballerinalang.plugins.idea.debugger.BallerinaBreakpointSync;
+import org.ballerinalang.plugins.idea.debugger.dto.BreakPoint;
+import org.ballerinalang.plugins.idea.debugger.dto.Message;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Test syncing breakpoints with the debug server.
+ */
+public class BallerinaBreakpointSyncTest extends BallerinaCodeInsightFixtureTestCase {
+
+    private static final BreakPoint FIRST = new BreakPoint(".", "a.bal", 3);
+    private static final BreakPoint SECOND = new BreakPoint("org.test", "b.bal", 10);
+
+    private final List<String> mySent = new CopyOnWriteArrayList<>();
+    private ScheduledExecutorService myScheduler;
+    private BallerinaBreakpointSync mySync;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        myScheduler = Executors.newSingleThreadScheduledExecutor();
+        mySync = new BallerinaBreakpointSync(mySent::add, myScheduler, 50);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        try {
+            myScheduler.shutdownNow();
+        } finally {
+            super.tearDown();
+        }
+    }
+
+    public void testFirstSyncSendsAllPoints() {
+        mySync.add(FIRST);
+        mySync.add(SECOND);
+        mySync.sync();
+        assertSize(1, mySent);
+        assertEquals("{\"command\":\"SET_POINTS\", \"points\": [{\"packagePath\":\".\", \"fileName\":\"a.bal\", " +
+                "\"lineNumber\":3},{\"packagePath\":\"org.test\", \"fileName\":\"b.bal\", \"lineNumber\":10}]}",
+                mySent.get(0));
+    }
+
+    public void testFirstSyncWithoutPoints() {
+        mySync.sync();
+        assertEquals("{\"command\":\"SET_POINTS\", \"points\": []}", mySent.get(0));
+    }
+
+    public void testDeltas() {
+        mySync.add(FIRST);
+        mySync.sync();
+        mySync.add(SECOND);
+        mySync.remove(FIRST);
+        mySync.sync();
+        assertSize(3, mySent);
+        assertEquals("{\"command\":\"REMOVE_POINTS\", \"points\": [{\"packagePath\":\".\", \"fileName\":\"a.bal\", " +
+                "\"lineNumber\":3}]}", mySent.get(1));
+        assertEquals("{\"command\":\"ADD_POINTS\", \"points\": [{\"packagePath\":\"org.test\", " +
+                "\"fileName\":\"b.bal\", \"lineNumber\":10}]}", mySent.get(2));
+    }
+
+    public void testToggledPointIsNotSent() {
+        mySync.sync();
+        mySync.add(FIRST);
+        mySync.remove(FIRST);
+        mySync.sync();
+        assertSize(1, mySent);
+    }
+
+    public void testSameLocation() {
+        mySync.add(FIRST);
+        mySync.add(new BreakPoint(".", "a.bal", 3));
+        mySync.sync();
+        mySync.remove(FIRST);
+        mySync.sync();
+        // The location still has a breakpoint.
+        assertSize(1, mySent);
+    }
+
+    public void testChangesAreBatched() throws InterruptedException {
+        mySync.sync();
+        mySync.add(FIRST);
+        mySync.add(SECOND);
+        Thread.sleep(500);
+        assertSize(2, mySent);
+        assertTrue(mySent.get(1).startsWith("{\"command\":\"ADD_POINTS\""));
+        assertTrue(mySent.get(1).contains("a.bal") && mySent.get(1).contains("b.bal"));
+    }
+
+    public void testFallbackToFullSync() {
+        mySync.add(FIRST);
+        mySync.sync();
+        mySync.add(SECOND);
+        mySync.sync();
+        Message invalid = new Gson().fromJson("{\"code\":\"INVALID\"}", Message.class);
+        assertTrue(mySync.handleResponse(invalid));
+        assertSize(3, mySent);
+        assertTrue(mySent.get(2).startsWith("{\"command\":\"SET_POINTS\""));
+        assertTrue(mySent.get(2).contains("a.bal") && mySent.get(2).contains("b.bal"));
+
+        mySync.remove(FIRST);
+        mySync.sync();
+        assertTrue(mySent.get(3).startsWith("{\"command\":\"SET_POINTS\""));
+        assertFalse(mySync.handleResponse(invalid));
+    }
+
+    public void testInvalidBeforeDeltas() {
+        mySync.sync();
+        Message invalid = new Gson().fromJson("{\"code\":\"INVALID\"}", Message.class);
+        assertFalse(mySync.handleResponse(invalid));
+    }
+}
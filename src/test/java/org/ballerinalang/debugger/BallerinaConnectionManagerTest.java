@@ -0,0 +1,125 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.debugger;
+
+import org.ballerinalang.BallerinaCodeInsightFixtureTestCase;
+import org.ballerinalang.plugins.idea.debugger.BallerinaConnectionManager;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test connecting to the debug server with retries.
+ */
+public class BallerinaConnectionManagerTest extends BallerinaCodeInsightFixtureTestCase {
+
+    private ScheduledExecutorService myScheduler;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        myScheduler = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        try {
+            myScheduler.shutdownNow();
+        } finally {
+            super.tearDown();
+        }
+    }
+
+    public void testConnectedAfterFailedAttempts() throws InterruptedException {
+        AtomicInteger attempts = new AtomicInteger();
+        BallerinaConnectionManager manager = new BallerinaConnectionManager(() -> attempts.incrementAndGet() == 4,
+                10000, myScheduler);
+        RecordingListener listener = new RecordingListener();
+        manager.connect(listener);
+        assertTrue(listener.await());
+        assertTrue(listener.myConnected.get());
+        assertEquals(4, manager.getAttempts());
+    }
+
+    public void testFailedAfterTimeout() throws InterruptedException {
+        BallerinaConnectionManager manager = new BallerinaConnectionManager(() -> false, 200, myScheduler);
+        RecordingListener listener = new RecordingListener();
+        long start = System.currentTimeMillis();
+        manager.connect(listener);
+        assertTrue(listener.await());
+        assertFalse(listener.myConnected.get());
+        assertTrue(System.currentTimeMillis() - start >= 200);
+        assertTrue(manager.getAttempts() > 1);
+    }
+
+    public void testSingleAttemptWithoutTimeout() throws InterruptedException {
+        BallerinaConnectionManager manager = new BallerinaConnectionManager(() -> false, 0, myScheduler);
+        RecordingListener listener = new RecordingListener();
+        manager.connect(listener);
+        assertTrue(listener.await());
+        assertFalse(listener.myConnected.get());
+        assertEquals(1, manager.getAttempts());
+    }
+
+    public void testConnectNow() throws InterruptedException {
+        AtomicBoolean serverStarted = new AtomicBoolean();
+        BallerinaConnectionManager manager = new BallerinaConnectionManager(serverStarted::get, 10000, myScheduler);
+        RecordingListener listener = new RecordingListener();
+        manager.connect(listener);
+        // Wait until the backoff delay reaches its maximum.
+        Thread.sleep(3000);
+        serverStarted.set(true);
+        long start = System.currentTimeMillis();
+        manager.connectNow();
+        assertTrue(listener.await());
+        assertTrue(listener.myConnected.get());
+        assertTrue(System.currentTimeMillis() - start < 500);
+    }
+
+    public void testCancel() throws InterruptedException {
+        BallerinaConnectionManager manager = new BallerinaConnectionManager(() -> false, 10000, myScheduler);
+        RecordingListener listener = new RecordingListener();
+        manager.connect(listener);
+        manager.cancel();
+        assertFalse(listener.myLatch.await(200, TimeUnit.MILLISECONDS));
+    }
+
+    private static class RecordingListener implements BallerinaConnectionManager.Listener {
+
+        private final CountDownLatch myLatch = new CountDownLatch(1);
+        private final AtomicBoolean myConnected = new AtomicBoolean();
+
+        @Override
+        public void connected() {
+            myConnected.set(true);
+            myLatch.countDown();
+        }
+
+        @Override
+        public void failed() {
+            myLatch.countDown();
+        }
+
+        boolean await() throws InterruptedException {
+            return myLatch.await(10, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.debugger;
+
+import com.google.gson.Gson;
+import org.ballerinalang.BallerinaCodeInsightFixtureTestCase;
+import org.ballerinalang.plugins.idea.debugger.BallerinaEvaluationRequests;
+import org.ballerinalang.plugins.idea.debugger.BallerinaVariableRequests;
+import org.ballerinalang.plugins.idea.debugger.dto.Message;
+import org.ballerinalang.plugins.idea.debugger.dto.Variable;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Test evaluating expressions using the debug server.
+ */
+public class BallerinaEvaluationRequestsTest extends BallerinaCodeInsightFixtureTestCase {
+
+    private static final Gson GSON = new Gson();
+
+    private final List<String> mySent = new CopyOnWriteArrayList<>();
+    private ScheduledExecutorService myScheduler;
+    private BallerinaVariableRequests myRequests;
+    private BallerinaEvaluationRequests myEvaluations;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        myScheduler = Executors.newSingleThreadScheduledExecutor();
+        myRequests = new BallerinaVariableRequests(mySent::add);
+        myEvaluations = new BallerinaEvaluationRequests(myRequests, myScheduler, 20);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        try {
+            myScheduler.shutdownNow();
+        } finally {
+            super.tearDown();
+        }
+    }
+
+    public void testWatchesAreBatched() throws InterruptedException {
+        RecordingCallback first = new RecordingCallback();
+        RecordingCallback second = new RecordingCallback();
+        RecordingCallback third = new RecordingCallback();
+        myEvaluations.evaluate("1", 0, "a", first);
+        myEvaluations.evaluate("1", 0, "b + 1", second);
+        myEvaluations.evaluate("1", 0, "\"c\"", third);
+        waitForRequests(1);
+        assertEquals("{\"command\":\"EVALUATE\", \"requestId\":1, \"threadId\":\"1\", \"frameIndex\":0, " +
+                "\"expressions\":[\"a\", \"b + 1\", \"\\\"c\\\"\"]}", mySent.get(0));
+
+        respond("{\"code\":\"EVALUATION\", \"requestId\":1, \"variables\":[{\"type\":\"BInteger\", \"value\":\"1\"}," +
+                "{\"error\":\"undefined symbol 'b'\"}, {\"type\":\"BString\", \"value\":\"c\"}]}");
+        assertEquals("a", first.myResult.getName());
+        assertEquals("1", first.myResult.getValue());
+        assertEquals("undefined symbol 'b'", second.myError);
+        assertEquals("c", third.myResult.getValue());
+    }
+
+    public void testResultsAreCached() throws InterruptedException {
+        myEvaluations.evaluate("1", 0, "a", new RecordingCallback());
+        waitForRequests(1);
+        respond("{\"code\":\"EVALUATION\", \"requestId\":1, \"variables\":[{\"type\":\"BInteger\", \"value\":\"1\"}]}");
+
+        RecordingCallback callback = new RecordingCallback();
+        myEvaluations.evaluate("1", 0, "a", callback);
+        assertEquals("1", callback.myResult.getValue());
+        Thread.sleep(100);
+        assertSize(1, mySent);
+
+        // Other frames are evaluated separately.
+        myEvaluations.evaluate("1", 1, "a", new RecordingCallback());
+        waitForRequests(2);
+    }
+
+    public void testErrorsAreNotCached() throws InterruptedException {
+        RecordingCallback first = new RecordingCallback();
+        myEvaluations.evaluate("1", 0, "a", first);
+        waitForRequests(1);
+        respond("{\"code\":\"EVALUATION\", \"requestId\":1, \"variables\":[{\"error\":\"timed out\"}]}");
+        assertEquals("timed out", first.myError);
+
+        // The failed expression is evaluated again.
+        RecordingCallback second = new RecordingCallback();
+        myEvaluations.evaluate("1", 0, "a", second);
+        waitForRequests(2);
+        respond("{\"code\":\"EVALUATION\", \"requestId\":2, \"variables\":[{\"type\":\"BInteger\", \"value\":\"1\"}]}");
+        assertEquals("1", second.myResult.getValue());
+    }
+
+    public void testReceivedResultIsNotModified() throws InterruptedException {
+        RecordingCallback callback = new RecordingCallback();
+        myEvaluations.evaluate("1", 0, "a + 1", callback);
+        waitForRequests(1);
+        Message message = GSON.fromJson("{\"code\":\"EVALUATION\", \"requestId\":1, \"variables\":[{" +
+                "\"name\":\"result\", \"type\":\"BInteger\", \"value\":\"2\"}]}", Message.class);
+        assertTrue(myRequests.handleResponse(message));
+        assertEquals("a + 1", callback.myResult.getName());
+        assertEquals("2", callback.myResult.getValue());
+        assertEquals("result", message.getVariables().get(0).getName());
+    }
+
+    public void testNewEpoch() throws InterruptedException {
+        myEvaluations.evaluate("1", 0, "a", new RecordingCallback());
+        waitForRequests(1);
+        respond("{\"code\":\"EVALUATION\", \"requestId\":1, \"variables\":[{\"type\":\"BInteger\", \"value\":\"1\"}]}");
+
+        myEvaluations.newEpoch("Resumed");
+        myEvaluations.evaluate("1", 0, "a", new RecordingCallback());
+        waitForRequests(2);
+    }
+
+    public void testNewEpochFailsUnsentExpressions() throws InterruptedException {
+        RecordingCallback callback = new RecordingCallback();
+        myEvaluations.evaluate("1", 0, "a", callback);
+        myEvaluations.newEpoch("Resumed");
+        assertEquals("Resumed", callback.myError);
+        Thread.sleep(100);
+        assertEmpty(mySent);
+    }
+
+    public void testLateResultsAreNotCached() throws InterruptedException {
+        myEvaluations.evaluate("1", 0, "a", new RecordingCallback());
+        waitForRequests(1);
+        myEvaluations.newEpoch("Resumed");
+        respond("{\"code\":\"EVALUATION\", \"requestId\":1, \"variables\":[{\"type\":\"BInteger\", \"value\":\"1\"}]}");
+
+        myEvaluations.evaluate("1", 0, "a", new RecordingCallback());
+        waitForRequests(2);
+    }
+
+    private void respond(@NotNull String json) {
+        assertTrue(myRequests.handleResponse(GSON.fromJson(json, Message.class)));
+    }
+
+    private void waitForRequests(int count) throws InterruptedException {
+        for (int i = 0; i < 100 && mySent.size() < count; i++) {
+            Thread.sleep(20);
+        }
+        assertSize(count, mySent);
+    }
+
+    private static class RecordingCallback implements BallerinaEvaluationRequests.Callback {
+
+        private volatile Variable myResult;
+        private volatile String myError;
+
+        @Override
+        public void evaluated(@NotNull Variable result) {
+            myResult = result;
+        }
+
+        @Override
+        public void failed(@NotNull String error) {
+            myError = error;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.debugger;
+
+import com.google.gson.Gson;
+import org.ballerinalang.BallerinaCodeInsightFixtureTestCase;
+import org.ballerinalang.plugins.idea.debugger.BallerinaVariableRequests;
+import org.ballerinalang.plugins.idea.debugger.dto.Frame;
+import org.ballerinalang.plugins.idea.debugger.dto.Message;
+import org.ballerinalang.plugins.idea.debugger.dto.Strand;
+import org.ballerinalang.plugins.idea.debugger.dto.Variable;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test fetching variables on demand.
+ */
+public class BallerinaVariableRequestsTest extends BallerinaCodeInsightFixtureTestCase {
+
+    private static final Gson GSON = new Gson();
+
+    public void testHeadersOnlyDebugHit() {
+        Message message = GSON.fromJson("{\"code\":\"DEBUG_HIT\", \"threadId\":\"1\", \"variablesOnDemand\":true, " +
+                "\"frames\":[{\"packageName\":\".\", \"frameName\":\"main\", \"fileName\":\"a.bal\", " +
+                "\"lineID\":3}]}", Message.class);
+        assertTrue(message.isVariablesOnDemand());
+        assertEquals(0, message.getRequestId());
+        assertSize(1, message.getFrames());
+        assertEmpty(message.getFrames().get(0).getVariables());
+    }
+
+    public void testFullDebugHit() {
+        Message message = GSON.fromJson("{\"code\":\"DEBUG_HIT\", \"threadId\":\"1\", \"frames\":[{" +
+                "\"frameName\":\"main\", \"variables\":[{\"scope\":\"Local\", \"name\":\"a\", \"type\":\"BInteger\", " +
+                "\"value\":\"1\"}]}]}", Message.class);
+        assertFalse(message.isVariablesOnDemand());
+        Variable variable = message.getFrames().get(0).getVariables().get(0);
+        assertFalse(variable.hasChildrenOnDemand());
+    }
+
+    public void testScopes() {
+        List<String> sent = new ArrayList<>();
+        BallerinaVariableRequests requests = new BallerinaVariableRequests(sent::add);
+        RecordingHandler handler = new RecordingHandler();
+        requests.getScopes("1", 0, handler);
+        assertSize(1, sent);
+        assertEquals("{\"command\":\"GET_SCOPES\", \"requestId\":1, \"threadId\":\"1\", \"frameIndex\":0}",
+                sent.get(0));
+
+        Message response = GSON.fromJson("{\"code\":\"SCOPES\", \"requestId\":1, \"variables\":[{" +
+                "\"name\":\"Local\", \"variablesReference\":5, \"childCount\":250}]}", Message.class);
+        assertTrue(requests.handleResponse(response));
+        assertSize(1, handler.myVariables);
+        Variable scope = handler.myVariables.get(0);
+        assertTrue(scope.hasChildrenOnDemand());
+        assertEquals(5, scope.getVariablesReference());
+        assertEquals(250, scope.getChildCount());
+
+        // Late responses are ignored.
+        assertTrue(requests.handleResponse(response));
+        assertSize(1, handler.myVariables);
+    }
+
+    public void testVariablesPage() {
+        List<String> sent = new ArrayList<>();
+        BallerinaVariableRequests requests = new BallerinaVariableRequests(sent::add);
+        requests.getVariables("1", 5, 100, 100, new RecordingHandler());
+        assertEquals("{\"command\":\"GET_VARIABLES\", \"requestId\":1, \"threadId\":\"1\", " +
+                "\"variablesReference\":5, \"start\":100, \"count\":100}", sent.get(0));
+    }
+
+    public void testNotAResponse() {
+        BallerinaVariableRequests requests = new BallerinaVariableRequests(json -> {
+        });
+        requests.getScopes("1", 0, new RecordingHandler());
+        assertFalse(requests.handleResponse(GSON.fromJson("{\"code\":\"COMPLETE\"}", Message.class)));
+    }
+
+    public void testError() {
+        BallerinaVariableRequests requests = new BallerinaVariableRequests(json -> {
+        });
+        RecordingHandler handler = new RecordingHandler();
+        requests.getVariables("1", 5, 0, 100, handler);
+        assertTrue(requests.handleResponse(GSON.fromJson("{\"code\":\"ERROR\", \"requestId\":1, " +
+                "\"message\":\"Invalid reference\"}", Message.class)));
+        assertEquals("Invalid reference", handler.myError);
+    }
+
+    public void testCancelAll() {
+        BallerinaVariableRequests requests = new BallerinaVariableRequests(json -> {
+        });
+        RecordingHandler first = new RecordingHandler();
+        RecordingHandler second = new RecordingHandler();
+        requests.getScopes("1", 0, first);
+        requests.getVariables("1", 5, 0, 100, second);
+        requests.cancelAll("Resumed");
+        assertEquals("Resumed", first.myError);
+        assertEquals("Resumed", second.myError);
+        // Responses which are received after resuming are ignored.
+        assertTrue(requests.handleResponse(GSON.fromJson("{\"code\":\"VARIABLES\", \"requestId\":2}",
+                Message.class)));
+        assertNull(second.myVariables);
+    }
+
+    public void testStrands() {
+        List<String> sent = new ArrayList<>();
+        BallerinaVariableRequests requests = new BallerinaVariableRequests(sent::add);
+        List<Strand> received = new ArrayList<>();
+        requests.getStrands(new BallerinaVariableRequests.StrandsHandler() {
+            @Override
+            public void received(@NotNull List<Strand> strands) {
+                received.addAll(strands);
+            }
+
+            @Override
+            public void failed(@NotNull String error) {
+                fail(error);
+            }
+        });
+        assertEquals("{\"command\":\"GET_STRANDS\", \"requestId\":1}", sent.get(0));
+
+        assertTrue(requests.handleResponse(GSON.fromJson("{\"code\":\"STRANDS\", \"requestId\":1, \"strands\":[" +
+                "{\"threadId\":\"1\", \"name\":\"main\", \"frames\":[{\"frameName\":\"main\", \"lineID\":3}]}," +
+                "{\"threadId\":\"2\", \"name\":\"worker w1\", \"frames\":[{\"frameName\":\"w1\", \"lineID\":7}]}]}",
+                Message.class)));
+        assertSize(2, received);
+        assertEquals("worker w1", received.get(1).getName());
+        assertEquals(7, received.get(1).getFrames().get(0).getLineID());
+    }
+
+    public void testFrames() {
+        List<String> sent = new ArrayList<>();
+        BallerinaVariableRequests requests = new BallerinaVariableRequests(sent::add);
+        List<Frame> received = new ArrayList<>();
+        requests.getFrames("2", new BallerinaVariableRequests.FramesHandler() {
+            @Override
+            public void received(@NotNull List<Frame> frames) {
+                received.addAll(frames);
+            }
+
+            @Override
+            public void failed(@NotNull String error) {
+                fail(error);
+            }
+        });
+        assertEquals("{\"command\":\"GET_FRAMES\", \"requestId\":1, \"threadId\":\"2\"}", sent.get(0));
+
+        assertTrue(requests.handleResponse(GSON.fromJson("{\"code\":\"FRAMES\", \"requestId\":1, \"frames\":[" +
+                "{\"frameName\":\"w1\", \"lineID\":7}, {\"frameName\":\"main\", \"lineID\":3}]}", Message.class)));
+        assertSize(2, received);
+        assertEquals("main", received.get(1).getFrameName());
+    }
+
+    public void testStrandsNotSupported() {
+        BallerinaVariableRequests requests = new BallerinaVariableRequests(json -> {
+        });
+        String[] error = new String[1];
+        requests.getStrands(new BallerinaVariableRequests.StrandsHandler() {
+            @Override
+            public void received(@NotNull List<Strand> strands) {
+                fail();
+            }
+
+            @Override
+            public void failed(@NotNull String message) {
+                error[0] = message;
+            }
+        });
+        assertTrue(requests.handleResponse(GSON.fromJson("{\"code\":\"INVALID\", \"requestId\":1}", Message.class)));
+        assertNotNull(error[0]);
+    }
+
+    public void testStrandsTimeout() throws InterruptedException {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            // Old debug servers respond to unknown commands without the request ID.
+            BallerinaVariableRequests requests = new BallerinaVariableRequests(json -> {
+            }, scheduler, 50);
+            CountDownLatch failed = new CountDownLatch(1);
+            requests.getStrands(new BallerinaVariableRequests.StrandsHandler() {
+                @Override
+                public void received(@NotNull List<Strand> strands) {
+                    fail();
+                }
+
+                @Override
+                public void failed(@NotNull String message) {
+                    failed.countDown();
+                }
+            });
+            assertFalse(requests.handleResponse(GSON.fromJson("{\"code\":\"INVALID\"}", Message.class)));
+            assertTrue(failed.await(5, TimeUnit.SECONDS));
+
+            // Late responses are ignored.
+            assertTrue(requests.handleResponse(GSON.fromJson("{\"code\":\"STRANDS\", \"requestId\":1, " +
+                    "\"strands\":[]}", Message.class)));
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private static class RecordingHandler implements BallerinaVariableRequests.Handler {
+
+        private List<Variable> myVariables;
+        private String myError;
+
+        @Override
+        public void received(@NotNull List<Variable> variables) {
+            myVariables = variables;
+        }
+
+        @Override
+        public void failed(@NotNull String error) {
+            myError = error;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.debugger;
+
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.http.HttpObjectAggregator;
+import io.netty.handler.codec.http.HttpServerCodec;
+import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.WebSocketServerProtocolHandler;
+import org.jetbrains.annotations.NotNull;
+
+import java.net.InetSocketAddress;
+import java.util.function.Consumer;
+
+/**
+ * In process debug server which is used to test the debugger client. Calls the given handler when the start command
+ * is received, so the handler can send the messages to the client.
+ */
+class FakeDebugServer implements AutoCloseable {
+
+    private static final String PATH = "/debug";
+
+    private final EventLoopGroup myGroup = new NioEventLoopGroup(1);
+    private final Channel myChannel;
+
+    FakeDebugServer(@NotNull Consumer<Channel> onStart) throws InterruptedException {
+        ServerBootstrap bootstrap = new ServerBootstrap()
+                .group(myGroup)
+                .channel(NioServerSocketChannel.class)
+                .childHandler(new ChannelInitializer<SocketChannel>() {
+                    @Override
+                    protected void initChannel(SocketChannel ch) {
+                        ch.pipeline().addLast(
+                                new HttpServerCodec(),
+                                new HttpObjectAggregator(65536),
+                                new WebSocketServerProtocolHandler(PATH, null, true),
+                                new SimpleChannelInboundHandler<TextWebSocketFrame>() {
+                                    @Override
+                                    protected void channelRead0(ChannelHandlerContext ctx, TextWebSocketFrame msg) {
+                                        if (msg.text().contains("START")) {
+                                            onStart.accept(ctx.channel());
+                                        }
+                                    }
+                                });
+                    }
+                });
+        myChannel = bootstrap.bind("127.0.0.1", 0).sync().channel();
+    }
+
+    @NotNull
+    String getUrl() {
+        return "ws://127.0.0.1:" + ((InetSocketAddress) myChannel.localAddress()).getPort() + PATH;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        myChannel.close().sync();
+        myGroup.shutdownGracefully();
+    }
+}
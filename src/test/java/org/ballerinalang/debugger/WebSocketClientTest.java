@@ -0,0 +1,123 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.debugger;
+
+import io.netty.channel.Channel;
+import io.netty.handler.codec.http.websocketx.ContinuationWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import org.ballerinalang.BallerinaCodeInsightFixtureTestCase;
+import org.ballerinalang.plugins.idea.debugger.client.WebSocketClient;
+import org.ballerinalang.plugins.idea.debugger.dto.Message;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Test decoding the messages received from the debug server.
+ */
+public class WebSocketClientTest extends BallerinaCodeInsightFixtureTestCase {
+
+    private static final String DISPATCHER_THREAD = "Ballerina debugger message dispatcher";
+
+    private final BlockingQueue<Message> myMessages = new LinkedBlockingQueue<>();
+    private final BlockingQueue<String> myThreads = new LinkedBlockingQueue<>();
+
+    public void testFragmentedMessage() throws Exception {
+        WebSocketClient client = connect(channel -> {
+            channel.write(new TextWebSocketFrame(false, 0, "{\"code\":\"DEBUG_HIT\", \"threadId\""));
+            channel.write(new ContinuationWebSocketFrame(false, 0, ":\"1\", \"frames\":[{\"frameName\":"));
+            channel.writeAndFlush(new ContinuationWebSocketFrame(true, 0, "\"main\"}]}"));
+        });
+        try {
+            Message message = receive();
+            assertEquals("DEBUG_HIT", message.getCode());
+            assertEquals("1", message.getThreadId());
+            assertEquals("main", message.getFrames().get(0).getFrameName());
+            // Messages are not handled in the Netty event loop.
+            assertEquals(DISPATCHER_THREAD, myThreads.poll());
+            assertEquals(1, client.getMetrics().getMessages());
+        } finally {
+            client.shutDown();
+        }
+    }
+
+    public void testLargeMessage() throws Exception {
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            value.append("0123456789");
+        }
+        WebSocketClient client = connect(channel -> channel.writeAndFlush(new TextWebSocketFrame(
+                "{\"code\":\"VARIABLES\", \"requestId\":1, \"variables\":[{\"name\":\"a\", \"value\":\"" + value +
+                        "\"}]}")));
+        try {
+            Message message = receive();
+            assertEquals(value.toString(), message.getVariables().get(0).getValue());
+            assertTrue(client.getMetrics().getMaxMessageBytes() > value.length());
+        } finally {
+            client.shutDown();
+        }
+    }
+
+    public void testMessageOrder() throws Exception {
+        WebSocketClient client = connect(channel -> {
+            channel.write(new TextWebSocketFrame("{\"code\":"));
+            for (int i = 1; i <= 100; i++) {
+                channel.write(new TextWebSocketFrame("{\"code\":\"VARIABLES\", \"requestId\":" + i + "}"));
+            }
+            channel.flush();
+        });
+        try {
+            // Malformed messages are skipped.
+            for (int i = 1; i <= 100; i++) {
+                assertEquals(i, receive().getRequestId());
+            }
+            assertEquals(101, client.getMetrics().getMessages());
+            assertEquals(1, client.getMetrics().getMalformedMessages());
+        } finally {
+            client.shutDown();
+        }
+    }
+
+    @NotNull
+    private WebSocketClient connect(@NotNull Consumer<Channel> onStart) throws Exception {
+        FakeDebugServer server = new FakeDebugServer(onStart);
+        // The server is closed when the client is shut down.
+        WebSocketClient client = new WebSocketClient(server.getUrl()) {
+            @Override
+            public void shutDown() throws InterruptedException {
+                super.shutDown();
+                server.close();
+            }
+        };
+        assertTrue(client.handshake(message -> {
+            myThreads.add(Thread.currentThread().getName());
+            myMessages.add(message);
+        }));
+        client.sendText("{\"command\":\"START\"}");
+        return client;
+    }
+
+    @NotNull
+    private Message receive() throws InterruptedException {
+        Message message = myMessages.poll(10, TimeUnit.SECONDS);
+        assertNotNull(message);
+        return message;
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.diagnostics;
+
+import com.intellij.openapi.progress.EmptyProgressIndicator;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import org.ballerinalang.BallerinaCodeInsightFixtureTestCase;
+import org.ballerinalang.plugins.idea.diagnostics.BallerinaCompileAllService;
+import org.ballerinalang.plugins.idea.diagnostics.BallerinaCompilerService;
+import org.ballerinalang.plugins.idea.diagnostics.BallerinaCompilerWorker;
+import org.ballerinalang.plugins.idea.diagnostics.BallerinaPackageDiagnostics;
+import org.ballerinalang.plugins.idea.util.BallerinaSourceOverlay;
+import org.ballerinalang.plugins.idea.util.Diagnostic;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test compile all service which compiles all packages for the problems tool window.
+ */
+public class BallerinaCompileAllServiceTest extends BallerinaCodeInsightFixtureTestCase {
+
+    public void testPackageName() {
+        PsiFile file = myFixture.addFileToProject("org/test/a.bal", "package org.test;\n\nfunction a () {\n}");
+        VirtualFile directory = file.getVirtualFile().getParent();
+        String sourceRoot = directory.getParent().getParent().getPath();
+        assertEquals("org.test", BallerinaCompilerService.getPackageName(sourceRoot, directory));
+        assertEquals("org.test", BallerinaCompilerService.getPackageName(sourceRoot + "/", directory));
+    }
+
+    public void testPackageNameOfSourceRoot() {
+        PsiFile file = myFixture.addFileToProject("a.bal", "function a () {\n}");
+        VirtualFile directory = file.getVirtualFile().getParent();
+        assertEquals("", BallerinaCompilerService.getPackageName(directory.getPath(), directory));
+    }
+
+    public void testPackageNameOutsideSourceRoot() {
+        PsiFile a = myFixture.addFileToProject("org/test/a.bal", "package org.test;\n\nfunction a () {\n}");
+        PsiFile b = myFixture.addFileToProject("org/other/b.bal", "package org.other;\n\nfunction b () {\n}");
+        VirtualFile directory = a.getVirtualFile().getParent();
+        assertEquals("", BallerinaCompilerService.getPackageName(b.getVirtualFile().getParent().getPath(),
+                directory));
+    }
+
+    public void testUnmodifiedPackagesAreReused() {
+        FakeWorker worker = new FakeWorker();
+        BallerinaCompileAllService service = new BallerinaCompileAllService(getProject(), sdkHome -> worker);
+        List<BallerinaCompileAllService.Target> targets = Arrays.asList(
+                createTarget("org/a/a.bal", "org.a", "1"), createTarget("org/b/b.bal", "org.b", "2"));
+        service.compileAll(targets, new EmptyProgressIndicator());
+        assertEquals(2, worker.myCompilations.get());
+
+        RecordingListener listener = new RecordingListener();
+        service.addListener(listener, getTestRootDisposable());
+        service.compileAll(targets, new EmptyProgressIndicator());
+        assertEquals(2, worker.myCompilations.get());
+        assertSize(2, listener.myResults);
+        for (BallerinaPackageDiagnostics diagnostics : listener.myResults) {
+            assertTrue(diagnostics.isCached());
+        }
+    }
+
+    public void testModifiedPackageIsCompiled() {
+        FakeWorker worker = new FakeWorker();
+        BallerinaCompileAllService service = new BallerinaCompileAllService(getProject(), sdkHome -> worker);
+        service.compileAll(Arrays.asList(createTarget("org/a/a.bal", "org.a", "1"),
+                createTarget("org/b/b.bal", "org.b", "2")), new EmptyProgressIndicator());
+        worker.myPackages.clear();
+
+        service.compileAll(Arrays.asList(createTarget("org/a/a.bal", "org.a", "1"),
+                createTarget("org/b/b.bal", "org.b", "3")), new EmptyProgressIndicator());
+        assertEquals(Collections.singletonList("org.b"), worker.myPackages);
+    }
+
+    public void testPackagesWhichImportModifiedPackageAreCompiled() {
+        FakeWorker worker = new FakeWorker();
+        BallerinaCompileAllService service = new BallerinaCompileAllService(getProject(), sdkHome -> worker);
+        // org.a imports org.b, which imports org.c.
+        service.compileAll(Arrays.asList(createTarget("org/a/a.bal", "org.a", "1", "org.b"),
+                createTarget("org/b/b.bal", "org.b", "2", "org.c"), createTarget("org/c/c.bal", "org.c", "3"),
+                createTarget("org/d/d.bal", "org.d", "4")), new EmptyProgressIndicator());
+        worker.myPackages.clear();
+
+        service.compileAll(Arrays.asList(createTarget("org/a/a.bal", "org.a", "1", "org.b"),
+                createTarget("org/b/b.bal", "org.b", "2", "org.c"), createTarget("org/c/c.bal", "org.c", "5"),
+                createTarget("org/d/d.bal", "org.d", "4")), new EmptyProgressIndicator());
+        List<String> compiled = new ArrayList<>(worker.myPackages);
+        Collections.sort(compiled);
+        assertEquals(Arrays.asList("org.a", "org.b", "org.c"), compiled);
+    }
+
+    public void testPackagesAreCompiledInParallel() {
+        FakeWorker worker = new FakeWorker();
+        worker.myDelayMillis = 200;
+        BallerinaCompileAllService service = new BallerinaCompileAllService(getProject(), sdkHome -> worker);
+        List<BallerinaCompileAllService.Target> targets = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            targets.add(createTarget("org/p" + i + "/a.bal", "org.p" + i, String.valueOf(i)));
+        }
+        service.compileAll(targets, new EmptyProgressIndicator());
+        assertEquals(8, worker.myCompilations.get());
+        int parallelism = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+        assertEquals(parallelism, worker.myMaxConcurrentCompilations.get());
+    }
+
+    public void testResultsAreStreamed() {
+        CountDownLatch firstReceived = new CountDownLatch(1);
+        AtomicBoolean streamed = new AtomicBoolean();
+        BallerinaCompileAllService service = new BallerinaCompileAllService(getProject(), sdkHome -> new FakeWorker() {
+            @NotNull
+            @Override
+            public List<Diagnostic> getDiagnostics(@Nullable String sourceRoot, @NotNull String packageName,
+                                                   @NotNull BallerinaSourceOverlay overlay) {
+                if ("org.slow".equals(packageName)) {
+                    // The result of the first package is received while this package is still being compiled.
+                    try {
+                        streamed.set(firstReceived.await(5, TimeUnit.SECONDS));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.getDiagnostics(sourceRoot, packageName, overlay);
+            }
+        });
+        service.addListener(new BallerinaCompileAllService.Listener() {
+            @Override
+            public void packageCompiled(@NotNull BallerinaPackageDiagnostics diagnostics) {
+                if ("org.fast".equals(diagnostics.getPackageName())) {
+                    firstReceived.countDown();
+                }
+            }
+        }, getTestRootDisposable());
+        service.compileAll(Arrays.asList(createTarget("org/fast/a.bal", "org.fast", "1"),
+                createTarget("org/slow/a.bal", "org.slow", "2")), new EmptyProgressIndicator());
+        assertTrue(streamed.get());
+    }
+
+    @NotNull
+    private BallerinaCompileAllService.Target createTarget(@NotNull String path, @NotNull String packageName,
+                                                          @NotNull String contentHash, @NotNull String... imports) {
+        VirtualFile file = myFixture.findFileInTempDir(path);
+        PsiFile psiFile = file != null ? getPsiManager().findFile(file) :
+                myFixture.addFileToProject(path, "package " + packageName + ";\n");
+        assertNotNull(psiFile);
+        VirtualFile directory = psiFile.getVirtualFile().getParent();
+        return new BallerinaCompileAllService.Target(directory, packageName, "/source", "/sdk",
+                BallerinaSourceOverlay.create(psiFile, true), contentHash, Arrays.asList(imports));
+    }
+
+    private static class FakeWorker implements BallerinaCompilerWorker {
+
+        private final AtomicInteger myCompilations = new AtomicInteger();
+        private final AtomicInteger myConcurrentCompilations = new AtomicInteger();
+        private final AtomicInteger myMaxConcurrentCompilations = new AtomicInteger();
+        private final List<String> myPackages = new CopyOnWriteArrayList<>();
+        private volatile long myDelayMillis;
+
+        @NotNull
+        @Override
+        public List<Diagnostic> getDiagnostics(@Nullable String sourceRoot, @NotNull String packageName,
+                                               @NotNull BallerinaSourceOverlay overlay) {
+            myCompilations.incrementAndGet();
+            myPackages.add(packageName);
+            int concurrent = myConcurrentCompilations.incrementAndGet();
+            myMaxConcurrentCompilations.accumulateAndGet(concurrent, Math::max);
+            try {
+                if (myDelayMillis > 0) {
+                    Thread.sleep(myDelayMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                myConcurrentCompilations.decrementAndGet();
+            }
+            return new ArrayList<>();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static class RecordingListener implements BallerinaCompileAllService.Listener {
+
+        private final List<BallerinaPackageDiagnostics> myResults = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void packageCompiled(@NotNull BallerinaPackageDiagnostics diagnostics) {
+            myResults.add(diagnostics);
+        }
+    }
+
+    public void testNoResultsBeforeCompiling() {
+        BallerinaCompileAllService service = BallerinaCompileAllService.getInstance(myFixture.getProject());
+        assertFalse(service.isRunning());
+        assertEmpty(service.getResults());
+    }
+}
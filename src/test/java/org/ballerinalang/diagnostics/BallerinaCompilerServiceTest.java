@@ -0,0 +1,138 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.diagnostics;
+
+import org.ballerinalang.BallerinaCodeInsightFixtureTestCase;
+import org.ballerinalang.plugins.idea.diagnostics.BallerinaCompilerService;
+import org.ballerinalang.plugins.idea.diagnostics.BallerinaCompilerWorker;
+import org.ballerinalang.plugins.idea.util.BallerinaSourceOverlay;
+import org.ballerinalang.plugins.idea.util.Diagnostic;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test caching the compiler workers of the SDKs.
+ */
+public class BallerinaCompilerServiceTest extends BallerinaCodeInsightFixtureTestCase {
+
+    private final Map<String, AtomicInteger> myLoads = new ConcurrentHashMap<>();
+
+    public void testWorkerIsReused() {
+        BallerinaCompilerService service = new BallerinaCompilerService(this::load);
+        BallerinaCompilerWorker worker = service.getWorker("/sdk1");
+        assertNotNull(worker);
+        assertSame(worker, service.getWorker("/sdk1"));
+        assertEquals(1, myLoads.get("/sdk1").get());
+    }
+
+    public void testLeastRecentlyUsedWorkerIsEvicted() throws InterruptedException {
+        BallerinaCompilerService service = new BallerinaCompilerService(this::load);
+        FakeWorker first = (FakeWorker) service.getWorker("/sdk1");
+        FakeWorker second = (FakeWorker) service.getWorker("/sdk2");
+        FakeWorker third = (FakeWorker) service.getWorker("/sdk3");
+        // Use the first SDK again, so the second SDK is the least recently used one.
+        assertSame(first, service.getWorker("/sdk1"));
+        service.getWorker("/sdk4");
+
+        assertTrue(second.myClosed.await(5, TimeUnit.SECONDS));
+        assertEquals(1, first.myClosed.getCount());
+        assertEquals(1, third.myClosed.getCount());
+        assertSame(first, service.getWorker("/sdk1"));
+        assertNotSame(second, service.getWorker("/sdk2"));
+        assertEquals(2, myLoads.get("/sdk2").get());
+    }
+
+    public void testFailureIsNotCached() {
+        AtomicInteger attempts = new AtomicInteger();
+        BallerinaCompilerService service = new BallerinaCompilerService((sdkHome, useDaemon) ->
+                attempts.incrementAndGet() == 1 ? null : new FakeWorker());
+        assertNull(service.getWorker("/sdk1"));
+        // The SDK is loaded again, for example after it is fixed.
+        assertNotNull(service.getWorker("/sdk1"));
+        assertEquals(2, attempts.get());
+    }
+
+    public void testConcurrentRequestsLoadOnce() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BallerinaCompilerService service = new BallerinaCompilerService((sdkHome, useDaemon) -> {
+            if ("/slow".equals(sdkHome)) {
+                loading.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return load(sdkHome, useDaemon);
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<BallerinaCompilerWorker> first = executor.submit(() -> service.getWorker("/slow"));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            Future<BallerinaCompilerWorker> second = executor.submit(() -> service.getWorker("/slow"));
+            // Other SDKs are not blocked by the slow SDK.
+            assertNotNull(service.getWorker("/fast"));
+            release.countDown();
+            assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+            assertEquals(1, myLoads.get("/slow").get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    public void testClearClosesWorkers() throws InterruptedException {
+        BallerinaCompilerService service = new BallerinaCompilerService(this::load);
+        FakeWorker worker = (FakeWorker) service.getWorker("/sdk1");
+        service.clear();
+        assertTrue(worker.myClosed.await(5, TimeUnit.SECONDS));
+        assertNotSame(worker, service.getWorker("/sdk1"));
+    }
+
+    @Nullable
+    private BallerinaCompilerWorker load(@NotNull String sdkHome, boolean useDaemon) {
+        myLoads.computeIfAbsent(sdkHome, key -> new AtomicInteger()).incrementAndGet();
+        return new FakeWorker();
+    }
+
+    private static class FakeWorker implements BallerinaCompilerWorker {
+
+        private final CountDownLatch myClosed = new CountDownLatch(1);
+
+        @NotNull
+        @Override
+        public List<Diagnostic> getDiagnostics(@Nullable String sourceRoot, @NotNull String packageName,
+                                               @NotNull BallerinaSourceOverlay overlay) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void close() {
+            myClosed.countDown();
+        }
+    }
+}
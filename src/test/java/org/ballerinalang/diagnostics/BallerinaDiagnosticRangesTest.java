@@ -0,0 +1,105 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.diagnostics;
+
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.util.Pair;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.PsiFile;
+import org.ballerinalang.BallerinaCodeInsightFixtureTestCase;
+import org.ballerinalang.plugins.idea.BallerinaFileType;
+import org.ballerinalang.plugins.idea.diagnostics.BallerinaDaemonDiagnostic;
+import org.ballerinalang.plugins.idea.diagnostics.BallerinaDiagnosticRanges;
+import org.ballerinalang.plugins.idea.util.Diagnostic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Test translating diagnostic positions to text ranges.
+ */
+public class BallerinaDiagnosticRangesTest extends BallerinaCodeInsightFixtureTestCase {
+
+    private static final String TEXT = "function main (string[] args) {\n" +
+            "    int a = 10;\n" +
+            "    int b = c;\n" +
+            "}";
+
+    public void testElementRanges() {
+        List<Pair<Diagnostic, TextRange>> ranges = getRanges(diagnostic(3, 13, 3, 14), diagnostic(2, 9, 2, 10),
+                diagnostic(1, 10, 1, 14));
+        // Ranges are sorted by offset.
+        assertRanges(ranges, "main", "a", "c");
+    }
+
+    public void testWhitespace() {
+        // Column 1 of line 2 is the indentation, so the next element is highlighted.
+        assertRanges(getRanges(diagnostic(2, 1, 2, 4)), "int");
+    }
+
+    public void testColumnBeyondLineEnd() {
+        // Columns beyond the end of the line are moved to the end of the line, which is followed by a whitespace.
+        assertRanges(getRanges(diagnostic(2, 100, 2, 101)), "int");
+    }
+
+    public void testInvalidPositions() {
+        assertEmpty(getRanges(diagnostic(0, 1, 0, 1), diagnostic(1, 0, 1, 1), diagnostic(10, 1, 10, 2)));
+    }
+
+    public void testManyDiagnostics() {
+        StringBuilder builder = new StringBuilder("function main (string[] args) {\n");
+        int lines = 2000;
+        for (int i = 0; i < lines; i++) {
+            builder.append("    int a").append(i).append(" = b;\n");
+        }
+        builder.append("}");
+        PsiFile file = myFixture.configureByText(BallerinaFileType.INSTANCE, builder.toString());
+        List<Diagnostic> diagnostics = new ArrayList<>();
+        for (int i = lines; i > 0; i--) {
+            diagnostics.add(diagnostic(i + 1, 5, i + 1, 8));
+        }
+        List<Pair<Diagnostic, TextRange>> ranges = BallerinaDiagnosticRanges.getRanges(file,
+                myFixture.getEditor().getDocument(), diagnostics);
+        assertSize(lines, ranges);
+        Document document = myFixture.getEditor().getDocument();
+        for (int i = 0; i < lines; i++) {
+            TextRange range = ranges.get(i).second;
+            assertEquals("int", range.substring(document.getText()));
+            assertEquals(i + 1, document.getLineNumber(range.getStartOffset()));
+        }
+    }
+
+    private List<Pair<Diagnostic, TextRange>> getRanges(Diagnostic... diagnostics) {
+        PsiFile file = myFixture.configureByText(BallerinaFileType.INSTANCE, TEXT);
+        return BallerinaDiagnosticRanges.getRanges(file, myFixture.getEditor().getDocument(),
+                Arrays.asList(diagnostics));
+    }
+
+    private void assertRanges(List<Pair<Diagnostic, TextRange>> ranges, String... expected) {
+        List<String> actual = new ArrayList<>();
+        for (Pair<Diagnostic, TextRange> range : ranges) {
+            actual.add(range.second.substring(myFixture.getEditor().getDocument().getText()));
+        }
+        assertEquals(Arrays.asList(expected), actual);
+    }
+
+    private static Diagnostic diagnostic(int startLine, int startColumn, int endLine, int endColumn) {
+        return new BallerinaDaemonDiagnostic(Diagnostic.Kind.ERROR, null, "error", null, null, "a.bal", startLine,
+                endLine, startColumn, endColumn);
+    }
+}
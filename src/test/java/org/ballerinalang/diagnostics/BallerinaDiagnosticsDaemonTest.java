@@ -0,0 +1,201 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.diagnostics;
+
+import org.ballerinalang.BallerinaCodeInsightFixtureTestCase;
+import org.ballerinalang.plugins.idea.diagnostics.BallerinaDaemonDiagnostic;
+import org.ballerinalang.plugins.idea.diagnostics.BallerinaDiagnosticsDaemon;
+import org.ballerinalang.plugins.idea.diagnostics.BallerinaDiagnosticsDaemonClient;
+import org.ballerinalang.plugins.idea.util.Diagnostic;
+import org.ballerinalang.plugins.idea.util.DiagnosticCode;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Test diagnostics daemon protocol using a fake daemon.
+ */
+public class BallerinaDiagnosticsDaemonTest extends BallerinaCodeInsightFixtureTestCase {
+
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    public void testDiagnostics() throws Exception {
+        Diagnostic expected = new BallerinaDaemonDiagnostic(Diagnostic.Kind.WARNING,
+                DiagnosticCode.UNUSED_IMPORT_PACKAGE, "unused import", "org.test", null, "a.bal", 1, 2, 3, 4);
+        try (FakeDiagnosticsDaemon daemon = new FakeDiagnosticsDaemon(new TestCompiler() {
+            @Override
+            public boolean supportsSources() {
+                return true;
+            }
+
+            @NotNull
+            @Override
+            public List<Diagnostic> compile(@Nullable String sourceRoot, @NotNull String packageName,
+                                            @NotNull Map<String, String> sources) {
+                assertEquals("/project", sourceRoot);
+                assertEquals("org.test", packageName);
+                assertEquals(Collections.singletonMap("/project/org/test/a.bal", "package org.test;"), sources);
+                return Collections.singletonList(expected);
+            }
+        })) {
+            BallerinaDiagnosticsDaemonClient client = daemon.getClient();
+            assertTrue(client.awaitReady(TIMEOUT_MILLIS));
+            List<Diagnostic> diagnostics = client.getDiagnostics("/project", "org.test",
+                    Collections.singletonMap("/project/org/test/a.bal", "package org.test;"), TIMEOUT_MILLIS);
+            assertSize(1, diagnostics);
+            Diagnostic actual = diagnostics.get(0);
+            assertEquals(Diagnostic.Kind.WARNING, actual.getKind());
+            assertEquals(DiagnosticCode.UNUSED_IMPORT_PACKAGE, actual.getCode());
+            assertEquals("unused import", actual.getMessage());
+            assertEquals("org.test", actual.getSource().getPackageName());
+            assertNull(actual.getSource().getPackageVersion());
+            assertEquals("a.bal", actual.getSource().getCompilationUnitName());
+            assertEquals(1, actual.getPosition().getStartLine());
+            assertEquals(2, actual.getPosition().getEndLine());
+            assertEquals(3, actual.getPosition().getStartColumn());
+            assertEquals(4, actual.getPosition().getEndColumn());
+        }
+    }
+
+    public void testCompilerError() throws Exception {
+        try (FakeDiagnosticsDaemon daemon = new FakeDiagnosticsDaemon(new TestCompiler() {
+            @NotNull
+            @Override
+            public List<Diagnostic> compile(@Nullable String sourceRoot, @NotNull String packageName,
+                                            @NotNull Map<String, String> sources) {
+                throw new IllegalStateException("compiler failed");
+            }
+        })) {
+            try {
+                daemon.getClient().getDiagnostics(null, "a.bal", Collections.emptyMap(), TIMEOUT_MILLIS);
+                fail();
+            } catch (IOException e) {
+                assertTrue(e.getMessage().contains("compiler failed"));
+            }
+            // The daemon keeps serving requests after a failure.
+            assertTrue(daemon.getClient().isAlive());
+        }
+    }
+
+    public void testOutOfMemory() throws Exception {
+        try (FakeDiagnosticsDaemon daemon = new FakeDiagnosticsDaemon(new TestCompiler() {
+            @NotNull
+            @Override
+            public List<Diagnostic> compile(@Nullable String sourceRoot, @NotNull String packageName,
+                                            @NotNull Map<String, String> sources) {
+                throw new OutOfMemoryError("compiler ran out of memory");
+            }
+        })) {
+            BallerinaDiagnosticsDaemonClient client = daemon.getClient();
+            long start = System.currentTimeMillis();
+            try {
+                client.getDiagnostics(null, "a.bal", Collections.emptyMap(), TIMEOUT_MILLIS);
+                fail();
+            } catch (IOException e) {
+                assertTrue(e.getMessage().contains("compiler ran out of memory"));
+            }
+            assertTrue(System.currentTimeMillis() - start < TIMEOUT_MILLIS);
+            // The daemon exits, so it is restarted with the next request.
+            for (int i = 0; i < 100 && client.isAlive(); i++) {
+                Thread.sleep(20);
+            }
+            assertFalse(client.isAlive());
+        }
+    }
+
+    public void testTimeoutCancelsRequest() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        try (FakeDiagnosticsDaemon daemon = new FakeDiagnosticsDaemon(new TestCompiler() {
+            @NotNull
+            @Override
+            public List<Diagnostic> compile(@Nullable String sourceRoot, @NotNull String packageName,
+                                            @NotNull Map<String, String> sources) {
+                if ("hung.bal".equals(packageName)) {
+                    try {
+                        Thread.sleep(TIMEOUT_MILLIS);
+                    } catch (InterruptedException e) {
+                        interrupted.countDown();
+                    }
+                }
+                return Collections.emptyList();
+            }
+        })) {
+            BallerinaDiagnosticsDaemonClient client = daemon.getClient();
+            try {
+                client.getDiagnostics(null, "hung.bal", Collections.emptyMap(), 200);
+                fail();
+            } catch (TimeoutException ignored) {
+            }
+            // The request should be cancelled in the daemon as well.
+            assertTrue(interrupted.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+            assertEmpty(client.getDiagnostics(null, "a.bal", Collections.emptyMap(), TIMEOUT_MILLIS));
+        }
+    }
+
+    public void testDaemonStopped() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        try (FakeDiagnosticsDaemon daemon = new FakeDiagnosticsDaemon(new TestCompiler() {
+            @NotNull
+            @Override
+            public List<Diagnostic> compile(@Nullable String sourceRoot, @NotNull String packageName,
+                                            @NotNull Map<String, String> sources) throws Exception {
+                started.countDown();
+                Thread.sleep(TIMEOUT_MILLIS);
+                return Collections.emptyList();
+            }
+        })) {
+            BallerinaDiagnosticsDaemonClient client = daemon.getClient();
+            assertFalse(client.awaitReady(TIMEOUT_MILLIS));
+            Thread killer = new Thread(() -> {
+                try {
+                    started.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                    daemon.kill();
+                } catch (InterruptedException | IOException ignored) {
+                }
+            });
+            killer.start();
+            long start = System.currentTimeMillis();
+            try {
+                client.getDiagnostics(null, "a.bal", Collections.emptyMap(), TIMEOUT_MILLIS);
+                fail();
+            } catch (IOException ignored) {
+            }
+            // Pending requests should fail as soon as the daemon stops instead of waiting for the timeout.
+            assertTrue(System.currentTimeMillis() - start < TIMEOUT_MILLIS);
+            assertFalse(client.isAlive());
+            killer.join();
+        }
+    }
+
+    /**
+     * Fake compiler which cannot read unsaved contents by default.
+     */
+    private abstract static class TestCompiler implements BallerinaDiagnosticsDaemon.Compiler {
+
+        @Override
+        public boolean supportsSources() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.diagnostics;
+
+import com.intellij.openapi.application.ApplicationManager;
+import org.ballerinalang.BallerinaCodeInsightFixtureTestCase;
+import org.ballerinalang.plugins.idea.diagnostics.BallerinaDiagnosticsMetrics;
+import org.ballerinalang.plugins.idea.diagnostics.BallerinaDiagnosticsScheduler;
+import org.ballerinalang.plugins.idea.util.Diagnostic;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test package diagnostics scheduler.
+ */
+public class BallerinaDiagnosticsSchedulerTest extends BallerinaCodeInsightFixtureTestCase {
+
+    private static final Map<String, Long> STAMPS = Collections.singletonMap("/test/a.bal", 1L);
+    private static final Map<String, Long> MODIFIED_STAMPS = Collections.singletonMap("/test/a.bal", 2L);
+
+    public void testSharedBetweenFiles() {
+        BallerinaDiagnosticsScheduler scheduler = new BallerinaDiagnosticsScheduler(0);
+        AtomicInteger count = new AtomicInteger();
+        List<Diagnostic> first = scheduler.getDiagnostics("test", STAMPS, () -> compile(count));
+        List<Diagnostic> second = scheduler.getDiagnostics("test", STAMPS, () -> compile(count));
+        assertEquals(1, count.get());
+        assertSame(first, second);
+    }
+
+    public void testRecompiledAfterModification() {
+        BallerinaDiagnosticsScheduler scheduler = new BallerinaDiagnosticsScheduler(0);
+        AtomicInteger count = new AtomicInteger();
+        scheduler.getDiagnostics("test", STAMPS, () -> compile(count));
+        scheduler.getDiagnostics("test", MODIFIED_STAMPS, () -> compile(count));
+        assertEquals(2, count.get());
+        scheduler.getDiagnostics("other", MODIFIED_STAMPS, () -> compile(count));
+        assertEquals(3, count.get());
+    }
+
+    public void testFailuresAreNotCached() {
+        BallerinaDiagnosticsScheduler scheduler = new BallerinaDiagnosticsScheduler(0);
+        AtomicInteger count = new AtomicInteger();
+        try {
+            scheduler.getDiagnostics("test", STAMPS, () -> {
+                throw new IllegalStateException();
+            });
+            fail();
+        } catch (IllegalStateException ignored) {
+        }
+        scheduler.getDiagnostics("test", STAMPS, () -> compile(count));
+        assertEquals(1, count.get());
+    }
+
+    public void testSingleFlight() throws Exception {
+        BallerinaDiagnosticsScheduler scheduler = new BallerinaDiagnosticsScheduler(0);
+        AtomicInteger count = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<List<Diagnostic>> first = ApplicationManager.getApplication().executeOnPooledThread(() ->
+                scheduler.getDiagnostics("test", STAMPS, () -> {
+                    started.countDown();
+                    await(release);
+                    return compile(count);
+                }));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        List<Future<List<Diagnostic>>> others = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            others.add(ApplicationManager.getApplication().executeOnPooledThread(() ->
+                    scheduler.getDiagnostics("test", STAMPS, () -> compile(count))));
+        }
+        release.countDown();
+        List<Diagnostic> diagnostics = first.get(10, TimeUnit.SECONDS);
+        for (Future<List<Diagnostic>> other : others) {
+            assertSame(diagnostics, other.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(1, count.get());
+    }
+
+    public void testBurstOfEditsIsCoalesced() throws Exception {
+        BallerinaDiagnosticsScheduler scheduler = new BallerinaDiagnosticsScheduler(500);
+        List<Map<String, Long>> compiled = Collections.synchronizedList(new ArrayList<>());
+        List<Future<List<Diagnostic>>> results = new ArrayList<>();
+        for (long stamp = 1; stamp <= 5; stamp++) {
+            Map<String, Long> stamps = Collections.singletonMap("/test/a.bal", stamp);
+            results.add(ApplicationManager.getApplication().executeOnPooledThread(() ->
+                    scheduler.getDiagnostics("test", stamps, () -> {
+                        compiled.add(stamps);
+                        return new ArrayList<>();
+                    })));
+            Thread.sleep(50);
+        }
+        // Only the latest modification is compiled. Superseded requests are abandoned.
+        for (int i = 0; i < results.size() - 1; i++) {
+            assertNull(results.get(i).get(10, TimeUnit.SECONDS));
+        }
+        assertNotNull(results.get(results.size() - 1).get(10, TimeUnit.SECONDS));
+        assertEquals(Collections.singletonList(Collections.singletonMap("/test/a.bal", 5L)), compiled);
+
+        BallerinaDiagnosticsMetrics metrics = scheduler.getMetrics();
+        assertEquals(5, metrics.getRequests());
+        assertEquals(4, metrics.getSupersededRequests());
+        assertEquals(1, metrics.getCompilations());
+        assertEquals(0, metrics.getQueueDepth());
+        assertTrue(metrics.getMaxQueueDepth() > 1);
+        assertTrue(metrics.getTotalWaitMillis() >= 500);
+    }
+
+    public void testOneCompilationPerPackage() throws Exception {
+        BallerinaDiagnosticsScheduler scheduler = new BallerinaDiagnosticsScheduler(0);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<List<Diagnostic>> first = ApplicationManager.getApplication().executeOnPooledThread(() ->
+                scheduler.getDiagnostics("test", STAMPS, () -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    started.countDown();
+                    await(release);
+                    running.decrementAndGet();
+                    return new ArrayList<>();
+                }));
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        Future<List<Diagnostic>> second = ApplicationManager.getApplication().executeOnPooledThread(() ->
+                scheduler.getDiagnostics("test", MODIFIED_STAMPS, () -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    running.decrementAndGet();
+                    return new ArrayList<>();
+                }));
+        Thread.sleep(200);
+        assertFalse(second.isDone());
+        release.countDown();
+        // The outdated result is still returned to its own requests, but it is not cached.
+        assertNotNull(first.get(10, TimeUnit.SECONDS));
+        assertNotNull(second.get(10, TimeUnit.SECONDS));
+        assertEquals(1, maxRunning.get());
+        assertEquals(1, scheduler.getMetrics().getOutdatedCompilations());
+        assertEquals(2, scheduler.getMetrics().getCompilations());
+    }
+
+    private static List<Diagnostic> compile(AtomicInteger count) {
+        count.incrementAndGet();
+        return new ArrayList<>();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
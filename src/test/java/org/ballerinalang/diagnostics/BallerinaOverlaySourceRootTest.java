@@ -0,0 +1,102 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+
+package org.ballerinalang.diagnostics;
+
+import com.intellij.openapi.util.io.FileUtil;
+import org.ballerinalang.BallerinaCodeInsightFixtureTestCase;
+import org.ballerinalang.plugins.idea.diagnostics.BallerinaOverlaySourceRoot;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Test compiling unsaved contents from a temporary source root.
+ */
+public class BallerinaOverlaySourceRootTest extends BallerinaCodeInsightFixtureTestCase {
+
+    private File mySourceRoot;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        mySourceRoot = FileUtil.createTempDirectory("source", "root");
+        write("org/test/a.bal", "package org.test;\n");
+        write("org/test/b.bal", "package org.test;\n\nfunction b () {\n}\n");
+        write("org/test/sub/c.bal", "package org.test.sub;\n");
+        write("org/other/d.bal", "package org.other;\n");
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        try {
+            FileUtil.delete(mySourceRoot);
+        } finally {
+            super.tearDown();
+        }
+    }
+
+    public void testUnsavedContents() throws IOException {
+        File unsaved = new File(mySourceRoot, "org/test/a.bal");
+        Map<String, String> sources = Collections.singletonMap(unsaved.getAbsolutePath(),
+                "package org.test;\n\nfunction a () {\n}\n");
+        File root;
+        try (BallerinaOverlaySourceRoot overlayRoot = BallerinaOverlaySourceRoot.create(mySourceRoot.getPath(),
+                sources)) {
+            assertNotNull(overlayRoot);
+            root = new File(overlayRoot.getPath());
+            assertEquals("package org.test;\n\nfunction a () {\n}\n", read(root, "org/test/a.bal"));
+            // The other packages of the source root can still be imported.
+            assertEquals("package org.test;\n\nfunction b () {\n}\n", read(root, "org/test/b.bal"));
+            assertEquals("package org.test.sub;\n", read(root, "org/test/sub/c.bal"));
+            assertEquals("package org.other;\n", read(root, "org/other/d.bal"));
+        }
+        assertFalse(root.exists());
+        // The original files are not modified or deleted.
+        assertEquals("package org.test;\n", read(mySourceRoot, "org/test/a.bal"));
+        assertEquals("package org.other;\n", read(mySourceRoot, "org/other/d.bal"));
+    }
+
+    public void testUnsavedFileInSourceRoot() throws IOException {
+        File unsaved = write("main.bal", "function main (string[] args) {\n}\n");
+        try (BallerinaOverlaySourceRoot overlayRoot = BallerinaOverlaySourceRoot.create(mySourceRoot.getPath(),
+                Collections.singletonMap(unsaved.getAbsolutePath(), "function main () {\n}\n"))) {
+            assertNotNull(overlayRoot);
+            assertEquals("function main () {\n}\n", read(new File(overlayRoot.getPath()), "main.bal"));
+            assertEquals("package org.other;\n", read(new File(overlayRoot.getPath()), "org/other/d.bal"));
+        }
+    }
+
+    public void testFileOutsideSourceRoot() throws IOException {
+        File other = FileUtil.createTempFile("other", ".bal", true);
+        assertNull(BallerinaOverlaySourceRoot.create(mySourceRoot.getPath(),
+                Collections.singletonMap(other.getAbsolutePath(), "")));
+        assertNull(BallerinaOverlaySourceRoot.create(null, Collections.singletonMap(other.getAbsolutePath(), "")));
+    }
+
+    private File write(String path, String text) throws IOException {
+        File file = new File(mySourceRoot, path);
+        FileUtil.writeToFile(file, text);
+        return file;
+    }
+
+    private static String read(File root, String path) throws IOException {
+        return FileUtil.loadFile(new File(root, path));
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.diagnostics;
+
+import org.ballerinalang.plugins.idea.diagnostics.BallerinaDiagnosticsDaemon;
+import org.ballerinalang.plugins.idea.diagnostics.BallerinaDiagnosticsDaemonClient;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+
+/**
+ * Runs a diagnostics daemon with a fake compiler inside the test JVM. The daemon and the client are connected using
+ * a local socket, so the protocol can be tested without a Ballerina SDK.
+ */
+public class FakeDiagnosticsDaemon implements Closeable {
+
+    private final ServerSocket myServerSocket;
+    private final Socket myClientSocket;
+    private final BallerinaDiagnosticsDaemonClient myClient;
+    private volatile Socket myDaemonSocket;
+
+    public FakeDiagnosticsDaemon(@NotNull BallerinaDiagnosticsDaemon.Compiler compiler) throws IOException {
+        myServerSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+        Thread daemon = new Thread(() -> {
+            try {
+                myDaemonSocket = myServerSocket.accept();
+                new BallerinaDiagnosticsDaemon(myDaemonSocket.getInputStream(), myDaemonSocket.getOutputStream(),
+                        compiler, this::exit).run();
+                // The real daemon exits here, which closes the streams.
+                myDaemonSocket.close();
+            } catch (IOException ignored) {
+                // The test closed the daemon.
+            }
+        }, "Fake diagnostics daemon");
+        daemon.setDaemon(true);
+        daemon.start();
+        myClientSocket = new Socket(InetAddress.getLoopbackAddress(), myServerSocket.getLocalPort());
+        myClient = new BallerinaDiagnosticsDaemonClient(myClientSocket.getInputStream(),
+                myClientSocket.getOutputStream());
+    }
+
+    @NotNull
+    public BallerinaDiagnosticsDaemonClient getClient() {
+        return myClient;
+    }
+
+    /**
+     * Simulates a crashed daemon.
+     */
+    public void kill() throws IOException {
+        Socket daemonSocket = myDaemonSocket;
+        if (daemonSocket != null) {
+            daemonSocket.close();
+        }
+    }
+
+    private void exit() {
+        try {
+            kill();
+        } catch (IOException ignored) {
+            // The daemon is stopped already.
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        myClient.close();
+        myClientSocket.close();
+        kill();
+        myServerSocket.close();
+    }
+}
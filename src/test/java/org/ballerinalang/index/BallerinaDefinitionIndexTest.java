@@ -0,0 +1,88 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.index;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import org.ballerinalang.BallerinaCodeInsightFixtureTestCase;
+import org.ballerinalang.plugins.idea.index.BallerinaDefinitionIndex;
+import org.ballerinalang.plugins.idea.index.BallerinaDefinitionKind;
+import org.ballerinalang.plugins.idea.psi.FunctionDefinitionNode;
+import org.ballerinalang.plugins.idea.psi.IdentifierPSINode;
+import org.ballerinalang.plugins.idea.psi.StructDefinitionNode;
+
+import java.util.List;
+
+/**
+ * Test top level definition index.
+ */
+public class BallerinaDefinitionIndexTest extends BallerinaCodeInsightFixtureTestCase {
+
+    private VirtualFile myPackage;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        PsiFile file = myFixture.addFileToProject("org/test/a.bal", "package org.test;\n\n" +
+                "public function foo () {\n}\n\n" +
+                "function bar () {\n}\n\n" +
+                "public struct Person {\n    string name;\n}\n");
+        myFixture.addFileToProject("org/test/b.bal", "package org.test;\n\n" +
+                "public const int size = 10;\n");
+        myFixture.addFileToProject("org/test/sub/c.bal", "package org.test.sub;\n\n" +
+                "public function foo () {\n}\n");
+        myPackage = file.getVirtualFile().getParent();
+    }
+
+    public void testIsIndexed() {
+        assertTrue(BallerinaDefinitionIndex.isIndexed(getProject(), myPackage));
+    }
+
+    public void testPublicFunction() {
+        List<IdentifierPSINode> definitions = find("foo", BallerinaDefinitionKind.FUNCTION, false);
+        assertSize(1, definitions);
+        IdentifierPSINode definition = definitions.get(0);
+        assertInstanceOf(definition.getParent(), FunctionDefinitionNode.class);
+        assertEquals("a.bal", definition.getContainingFile().getName());
+    }
+
+    public void testPrivateFunction() {
+        assertEmpty(find("bar", BallerinaDefinitionKind.FUNCTION, false));
+        assertSize(1, find("bar", BallerinaDefinitionKind.FUNCTION, true));
+    }
+
+    public void testDifferentKind() {
+        assertEmpty(find("Person", BallerinaDefinitionKind.FUNCTION, true));
+        List<IdentifierPSINode> definitions = find("Person", BallerinaDefinitionKind.STRUCT, true);
+        assertSize(1, definitions);
+        assertInstanceOf(definitions.get(0).getParent(), StructDefinitionNode.class);
+    }
+
+    public void testDefinitionInAnotherFile() {
+        List<IdentifierPSINode> definitions = find("size", BallerinaDefinitionKind.CONSTANT, false);
+        assertSize(1, definitions);
+        assertEquals("b.bal", definitions.get(0).getContainingFile().getName());
+    }
+
+    public void testUnknownName() {
+        assertEmpty(find("baz", BallerinaDefinitionKind.FUNCTION, true));
+    }
+
+    private List<IdentifierPSINode> find(String name, BallerinaDefinitionKind kind, boolean includePrivate) {
+        return BallerinaDefinitionIndex.findDefinitions(getProject(), myPackage, name, kind, includePrivate);
+    }
+}
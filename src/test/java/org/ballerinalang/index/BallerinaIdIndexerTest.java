@@ -0,0 +1,56 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.index;
+
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.PsiSearchHelper;
+import com.intellij.psi.search.PsiTodoSearchHelper;
+import org.ballerinalang.BallerinaCodeInsightFixtureTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test id index and todo index of Ballerina files.
+ */
+public class BallerinaIdIndexerTest extends BallerinaCodeInsightFixtureTestCase {
+
+    public void testFilesWithIdentifier() {
+        myFixture.addFileToProject("a.bal", "function foo () {\n}\n");
+        myFixture.addFileToProject("b.bal", "function bar () {\n    foo();\n}\n");
+        myFixture.addFileToProject("c.bal", "function baz () {\n}\n");
+
+        assertSameElements(getFilesWithWord("foo"), "a.bal", "b.bal");
+        assertSameElements(getFilesWithWord("baz"), "c.bal");
+    }
+
+    public void testTodoItems() {
+        PsiFile file = myFixture.addFileToProject("a.bal", "function foo () {\n    // TODO: implement\n}\n");
+        assertEquals(1, PsiTodoSearchHelper.SERVICE.getInstance(getProject()).getTodoItemsCount(file));
+    }
+
+    private List<String> getFilesWithWord(String word) {
+        List<String> results = new ArrayList<>();
+        PsiSearchHelper.SERVICE.getInstance(getProject()).processAllFilesWithWord(word,
+                GlobalSearchScope.allScope(getProject()), file -> {
+                    results.add(file.getName());
+                    return true;
+                }, true);
+        return results;
+    }
+}
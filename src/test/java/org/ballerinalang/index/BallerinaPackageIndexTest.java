@@ -0,0 +1,114 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.index;
+
+import com.intellij.openapi.project.DumbServiceImpl;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.SearchScope;
+import org.ballerinalang.BallerinaCodeInsightFixtureTestCase;
+import org.ballerinalang.plugins.idea.index.BallerinaPackageIndex;
+import org.ballerinalang.plugins.idea.psi.IdentifierPSINode;
+import org.ballerinalang.plugins.idea.psi.impl.BallerinaPsiImplUtil;
+
+/**
+ * Test package index.
+ */
+public class BallerinaPackageIndexTest extends BallerinaCodeInsightFixtureTestCase {
+
+    private PsiFile myDefinitionFile;
+    private PsiFile myImportingFile;
+    private PsiFile myOtherFile;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        myDefinitionFile = myFixture.addFileToProject("org/test/a.bal", "package org.test;\n\n" +
+                "public function foo () {\n}\n\n" +
+                "function bar () {\n}\n");
+        myImportingFile = myFixture.addFileToProject("org/main/b.bal", "package org.main;\n\n" +
+                "import org.test;\n\n" +
+                "function main (string[] args) {\n    test:foo();\n}\n");
+        myOtherFile = myFixture.addFileToProject("org/other/c.bal", "package org.other;\n\n" +
+                "import ballerina.io;\n");
+    }
+
+    public void testPackageDirectories() {
+        GlobalSearchScope scope = GlobalSearchScope.allScope(getProject());
+        assertSameElements(BallerinaPackageIndex.findPackageDirectories(getProject(), "org.test", scope),
+                myDefinitionFile.getContainingDirectory());
+        assertEmpty(BallerinaPackageIndex.findPackageDirectories(getProject(), "ballerina.io", scope));
+    }
+
+    public void testImportingFiles() {
+        GlobalSearchScope scope = GlobalSearchScope.allScope(getProject());
+        assertSameElements(BallerinaPackageIndex.findImportingFiles("org.test", scope),
+                myImportingFile.getVirtualFile());
+        assertSameElements(BallerinaPackageIndex.findImportingFiles("ballerina.io", scope),
+                myOtherFile.getVirtualFile());
+        assertEmpty(BallerinaPackageIndex.findImportingFiles("org.main", scope));
+    }
+
+    public void testPublicDefinitionUseScope() {
+        SearchScope scope = getDefinition("foo").getUseScope();
+        assertTrue(scope.contains(myDefinitionFile.getVirtualFile()));
+        assertTrue(scope.contains(myImportingFile.getVirtualFile()));
+        assertFalse(scope.contains(myOtherFile.getVirtualFile()));
+    }
+
+    public void testPrivateDefinitionUseScope() {
+        SearchScope scope = getDefinition("bar").getUseScope();
+        assertTrue(scope.contains(myDefinitionFile.getVirtualFile()));
+        assertFalse(scope.contains(myImportingFile.getVirtualFile()));
+    }
+
+    public void testResolveIndexedPackage() {
+        // Only the directory which is relative to the source root matches, even though the package is declared in
+        // both directories.
+        myFixture.addFileToProject("lib/org/test/d.bal", "package org.test;\n");
+        assertSameElements(BallerinaPsiImplUtil.resolveDirectory(getIdentifier(myImportingFile, "test;")),
+                myDefinitionFile.getContainingDirectory());
+    }
+
+    public void testResolvePackageWithoutDeclarations() {
+        // Files of this package do not have package declarations, so it is not in the index. Such packages are only
+        // found by walking the roots, which is done while indexing.
+        PsiFile packageFile = myFixture.addFileToProject("org/plain/e.bal", "function e () {\n}\n");
+        PsiFile importingFile = myFixture.addFileToProject("org/main/f.bal", "package org.main;\n\n" +
+                "import org.plain;\n");
+        IdentifierPSINode identifier = getIdentifier(importingFile, "plain;");
+        assertEmpty(BallerinaPsiImplUtil.resolveDirectory(identifier));
+        DumbServiceImpl dumbService = DumbServiceImpl.getInstance(getProject());
+        dumbService.setDumb(true);
+        try {
+            assertSameElements(BallerinaPsiImplUtil.resolveDirectory(identifier), packageFile.getContainingDirectory());
+        } finally {
+            dumbService.setDumb(false);
+        }
+    }
+
+    private IdentifierPSINode getDefinition(String name) {
+        return getIdentifier(myDefinitionFile, name);
+    }
+
+    private static IdentifierPSINode getIdentifier(PsiFile file, String text) {
+        PsiElement element = file.findElementAt(file.getText().indexOf(text));
+        assertInstanceOf(element, IdentifierPSINode.class);
+        return (IdentifierPSINode) element;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.index;
+
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.psi.PsiDirectory;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiFile;
+import org.ballerinalang.BallerinaCodeInsightFixtureTestCase;
+import org.ballerinalang.plugins.idea.index.BallerinaDefinitionKind;
+import org.ballerinalang.plugins.idea.index.BallerinaPackageSymbolTable;
+import org.ballerinalang.plugins.idea.psi.IdentifierPSINode;
+
+/**
+ * Test package symbol table.
+ */
+public class BallerinaPackageSymbolTableTest extends BallerinaCodeInsightFixtureTestCase {
+
+    private PsiFile myFile;
+    private PsiDirectory myPackage;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        myFile = myFixture.addFileToProject("org/test/a.bal", "package org.test;\n\n" +
+                "public function foo () {\n}\n\n" +
+                "function bar () {\n}\n");
+        myFixture.addFileToProject("org/test/b.bal", "package org.test;\n\n" +
+                "public struct foo {\n}\n");
+        myPackage = myFile.getContainingDirectory();
+    }
+
+    public void testSplitByKind() {
+        BallerinaPackageSymbolTable table = BallerinaPackageSymbolTable.getInstance(myPackage);
+        IdentifierPSINode function = table.findDefinition("foo", BallerinaDefinitionKind.FUNCTION, false);
+        IdentifierPSINode struct = table.findDefinition("foo", BallerinaDefinitionKind.STRUCT, false);
+        assertNotNull(function);
+        assertNotNull(struct);
+        assertEquals("a.bal", function.getContainingFile().getName());
+        assertEquals("b.bal", struct.getContainingFile().getName());
+        assertNull(table.findDefinition("foo", BallerinaDefinitionKind.CONNECTOR, true));
+    }
+
+    public void testSplitByVisibility() {
+        BallerinaPackageSymbolTable table = BallerinaPackageSymbolTable.getInstance(myPackage);
+        assertNull(table.findDefinition("bar", BallerinaDefinitionKind.FUNCTION, false));
+        assertNotNull(table.findDefinition("bar", BallerinaDefinitionKind.FUNCTION, true));
+    }
+
+    public void testCached() {
+        assertSame(BallerinaPackageSymbolTable.getInstance(myPackage),
+                BallerinaPackageSymbolTable.getInstance(myPackage));
+    }
+
+    public void testInvalidatedOnPsiChange() {
+        BallerinaPackageSymbolTable table = BallerinaPackageSymbolTable.getInstance(myPackage);
+        assertNull(table.findDefinition("baz", BallerinaDefinitionKind.FUNCTION, true));
+
+        PsiDocumentManager documentManager = PsiDocumentManager.getInstance(getProject());
+        Document document = documentManager.getDocument(myFile);
+        assertNotNull(document);
+        WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+            document.insertString(document.getTextLength(), "\nfunction baz () {\n}\n");
+            documentManager.commitDocument(document);
+        });
+
+        BallerinaPackageSymbolTable newTable = BallerinaPackageSymbolTable.getInstance(myPackage);
+        assertNotSame(table, newTable);
+        assertNotNull(newTable.findDefinition("baz", BallerinaDefinitionKind.FUNCTION, true));
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.lexer;
+
+import com.intellij.lexer.Lexer;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.CharsetToolkit;
+import com.intellij.testFramework.LexerTestCase;
+import org.antlr.jetbrains.adaptor.lexer.ANTLRLexerAdaptor;
+import org.antlr.jetbrains.adaptor.lexer.PSIElementTypeFactory;
+import org.ballerinalang.plugins.idea.BallerinaLanguage;
+import org.ballerinalang.plugins.idea.grammar.BallerinaLexer;
+import org.ballerinalang.plugins.idea.grammar.BallerinaParser;
+import org.ballerinalang.plugins.idea.highlighter.BallerinaHighlightingLexer;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Highlighting lexer tests. Checks that restarting a new lexer from any restartable token using the state of that
+ * token produces the same tokens as lexing the whole text.
+ */
+public class BallerinaHighlightingLexerTest extends LexerTestCase {
+
+    private String getTestDataPath() {
+        return "src/test/resources/testData/lexer";
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        PSIElementTypeFactory.defineLanguageIElementTypes(BallerinaLanguage.INSTANCE,
+                BallerinaParser.tokenNames, BallerinaParser.ruleNames);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        // This is needed because otherwise the superclass tries to delete a non existing temp directory.
+    }
+
+    public void testInitialState() {
+        Lexer lexer = createLexer();
+        lexer.start("function main(string[] args) {}");
+        assertEquals(0, lexer.getState());
+    }
+
+    public void testStringTemplate() {
+        doTest("function main(string[] args) {\n" +
+                "    string name = \"Ballerina\";\n" +
+                "    string s = string `Hello {{name}}, {{ \"world\" }} {{name + \"!\"}}`;\n" +
+                "}");
+    }
+
+    public void testXml() {
+        doTest("function main(string[] args) {\n" +
+                "    string name = \"Ballerina\";\n" +
+                "    xml x = xml `<name id=\"{{name}}\">{{ name }}</name>`;\n" +
+                "}");
+    }
+
+    public void testNestedTemplates() {
+        doTest("function main(string[] args) {\n" +
+                "    xml x = xml `<a>{{ xml `<b>{{ string `c {{ xml `<d>{{1}}</d>` }}` }}</b>` }}</a>`;\n" +
+                "    int i = 1;\n" +
+                "}");
+    }
+
+    public void testDeeplyNestedTemplates() {
+        StringBuilder builder = new StringBuilder("function main(string[] args) {\n    string s = ");
+        int depth = 20;
+        for (int i = 0; i < depth; i++) {
+            builder.append("string `a {{ ");
+        }
+        builder.append("1");
+        for (int i = 0; i < depth; i++) {
+            builder.append(" }} b`");
+        }
+        builder.append(";\n}");
+        String text = builder.toString();
+        doTest(text);
+
+        // Tokens which are nested too deeply cannot be restarted from.
+        boolean found = false;
+        for (Token token : lex(createLexer(), text, 0, 0)) {
+            found |= token.myState == BallerinaHighlightingLexer.NOT_RESTARTABLE;
+        }
+        assertTrue(found);
+    }
+
+    public void testIncompleteTemplate() {
+        doTest("function main(string[] args) {\n    xml x = xml `<a>{{ name");
+    }
+
+    public void testEchoService() {
+        doFileTest();
+    }
+
+    public void testHelloWorldService() {
+        doFileTest();
+    }
+
+    public void testTwitterConnector() {
+        doFileTest();
+    }
+
+    private void doFileTest() {
+        try {
+            File sourceFileName = new File(getDirPath() + "/" + getTestName(false) + ".bal");
+            String text = FileUtil.loadFile(sourceFileName, CharsetToolkit.UTF8);
+            doTest(StringUtil.convertLineSeparators(text.trim()));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void doTest(String text) {
+        BallerinaLexer antlrLexer = new BallerinaLexer(null);
+        List<Token> expected = lex(new ANTLRLexerAdaptor(BallerinaLanguage.INSTANCE, antlrLexer), text, 0, 0);
+        List<Token> actual = lex(createLexer(), text, 0, 0);
+        assertEquals(toString(expected), toString(actual));
+
+        // Highlighters create a new lexer each time, so the state should not depend on the lexer instance.
+        List<Token> tokens = lex(createLexer(), text, 0, 0);
+        for (int i = 0; i < tokens.size(); i++) {
+            Token token = tokens.get(i);
+            if (token.myState == BallerinaHighlightingLexer.NOT_RESTARTABLE) {
+                continue;
+            }
+            List<Token> restarted = lex(createLexer(), text, token.myStart, token.myState);
+            assertEquals("Restarting at offset " + token.myStart + " produced different tokens",
+                    toString(tokens.subList(i, tokens.size())), toString(restarted));
+        }
+    }
+
+    private static List<Token> lex(Lexer lexer, String text, int start, int state) {
+        List<Token> tokens = new ArrayList<>();
+        lexer.start(text, start, text.length(), state);
+        while (lexer.getTokenType() != null) {
+            tokens.add(new Token(lexer.getTokenType().toString(), lexer.getTokenStart(), lexer.getTokenEnd(),
+                    lexer.getState()));
+            lexer.advance();
+        }
+        return tokens;
+    }
+
+    private static String toString(List<Token> tokens) {
+        StringBuilder builder = new StringBuilder();
+        for (Token token : tokens) {
+            builder.append(token.myType).append(" [").append(token.myStart).append(", ").append(token.myEnd)
+                    .append("]\n");
+        }
+        return builder.toString();
+    }
+
+    @Override
+    protected Lexer createLexer() {
+        return new BallerinaHighlightingLexer();
+    }
+
+    @Override
+    protected String getDirPath() {
+        return getTestDataPath();
+    }
+
+    private static class Token {
+
+        private final String myType;
+        private final int myStart;
+        private final int myEnd;
+        private final int myState;
+
+        Token(String type, int start, int end, int state) {
+            myType = type;
+            myStart = start;
+            myEnd = end;
+            myState = state;
+        }
+    }
+}
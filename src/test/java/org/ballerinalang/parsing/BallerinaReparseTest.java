@@ -0,0 +1,77 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.parsing;
+
+import com.intellij.lang.Language;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiFileFactory;
+import com.intellij.psi.impl.DebugUtil;
+import com.intellij.psi.util.PsiTreeUtil;
+import org.ballerinalang.BallerinaCodeInsightFixtureTestCase;
+import org.ballerinalang.plugins.idea.BallerinaFileType;
+import org.ballerinalang.plugins.idea.BallerinaLanguage;
+import org.ballerinalang.plugins.idea.BallerinaReparseableElementType;
+import org.ballerinalang.plugins.idea.BallerinaTypes;
+import org.ballerinalang.plugins.idea.psi.CallableUnitBodyNode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test incremental reparsing of bodies.
+ */
+public class BallerinaReparseTest extends BallerinaCodeInsightFixtureTestCase {
+
+    public void testOtherBodiesArePreserved() {
+        myFixture.configureByText(BallerinaFileType.INSTANCE, "function foo () {\n    int a = 10;<caret>\n}\n\n" +
+                "function bar () {\n    int b = 20;\n}\n");
+        CallableUnitBodyNode barBody = getBodies().get(1);
+
+        myFixture.type("\n    int c = a;");
+
+        assertSame(barBody, getBodies().get(1));
+        assertEquals(getFreshPsi(), DebugUtil.psiToString(myFixture.getFile(), false));
+    }
+
+    public void testUnbalancedBraces() {
+        myFixture.configureByText(BallerinaFileType.INSTANCE, "function foo () {\n    int a = 10;<caret>\n}\n\n" +
+                "function bar () {\n    int b = 20;\n}\n");
+
+        myFixture.type("\n}\nfunction baz () {");
+
+        assertSize(3, getBodies());
+        assertEquals(getFreshPsi(), DebugUtil.psiToString(myFixture.getFile(), false));
+    }
+
+    public void testIsParsable() {
+        BallerinaReparseableElementType type = (BallerinaReparseableElementType) BallerinaTypes.FUNCTION_BODY;
+        Language language = BallerinaLanguage.INSTANCE;
+        assertTrue(type.isParsable("int a = 10;\nif (a > 5) {\n    a = 5;\n}", language, getProject()));
+        assertFalse(type.isParsable("int a = 10;\n}\nfunction bar () {", language, getProject()));
+        assertFalse(type.isParsable("int a = 10;\nif (a > 5) {", language, getProject()));
+    }
+
+    private List<CallableUnitBodyNode> getBodies() {
+        return new ArrayList<>(PsiTreeUtil.findChildrenOfType(myFixture.getFile(), CallableUnitBodyNode.class));
+    }
+
+    private String getFreshPsi() {
+        PsiFile file = PsiFileFactory.getInstance(getProject()).createFileFromText("fresh.bal",
+                BallerinaFileType.INSTANCE, myFixture.getFile().getText());
+        return DebugUtil.psiToString(file, false);
+    }
+}
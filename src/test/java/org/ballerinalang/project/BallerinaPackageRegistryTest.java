@@ -0,0 +1,71 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.project;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.psi.PsiDirectory;
+import com.intellij.psi.PsiFile;
+import org.ballerinalang.BallerinaCodeInsightFixtureTestCase;
+import org.ballerinalang.plugins.idea.project.BallerinaPackageRegistry;
+
+import java.util.List;
+
+/**
+ * Test package registry.
+ */
+public class BallerinaPackageRegistryTest extends BallerinaCodeInsightFixtureTestCase {
+
+    private BallerinaPackageRegistry myRegistry;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        myRegistry = BallerinaPackageRegistry.getInstance(getProject());
+    }
+
+    public void testPackages() {
+        PsiFile file = myFixture.addFileToProject("org/test/a.bal", "package org.test;");
+        myFixture.addFileToProject("org/test/b.bal", "package org.test;");
+        PsiDirectory directory = file.getContainingDirectory();
+
+        List<PsiDirectory> packages = myRegistry.getAllPackages();
+        assertSize(1, packages);
+        assertEquals(directory, packages.get(0));
+        assertEquals("org.test", myRegistry.getImportPath(directory));
+        assertSameElements(myRegistry.getPackages("org.test"), directory);
+        assertEmpty(myRegistry.getPackages("org.unknown"));
+    }
+
+    public void testPackageAdded() {
+        myFixture.addFileToProject("org/test/a.bal", "package org.test;");
+        assertSize(1, myRegistry.getAllPackages());
+
+        PsiFile file = myFixture.addFileToProject("org/other/a.bal", "package org.other;");
+        assertSize(2, myRegistry.getAllPackages());
+        assertSameElements(myRegistry.getPackages("org.other"), file.getContainingDirectory());
+    }
+
+    public void testPackageRemoved() {
+        myFixture.addFileToProject("org/test/a.bal", "package org.test;");
+        PsiFile file = myFixture.addFileToProject("org/other/a.bal", "package org.other;");
+        assertSize(2, myRegistry.getAllPackages());
+
+        ApplicationManager.getApplication().runWriteAction(file::delete);
+        assertSize(1, myRegistry.getAllPackages());
+        assertEmpty(myRegistry.getPackages("org.other"));
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.psi;
+
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiReference;
+import org.ballerinalang.BallerinaCodeInsightFixtureTestCase;
+import org.ballerinalang.plugins.idea.BallerinaFileType;
+import org.ballerinalang.plugins.idea.psi.references.BallerinaElementReference;
+
+/**
+ * Test caching of resolve results.
+ */
+public class BallerinaResolveCacheTest extends BallerinaCodeInsightFixtureTestCase {
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        myFixture.configureByText(BallerinaFileType.INSTANCE, "function test () {\n    int a = 10;\n" +
+                "    int b = <caret>a;\n}");
+        BallerinaElementReference.resetStatistics();
+    }
+
+    public void testSameReferenceReturned() {
+        assertSame(getReferenceAtCaret(), getReferenceAtCaret());
+    }
+
+    public void testResolveResultCached() {
+        PsiElement first = getReferenceAtCaret().resolve();
+        long misses = BallerinaElementReference.getCacheMissCount();
+        long hits = BallerinaElementReference.getCacheHitCount();
+        PsiElement second = getReferenceAtCaret().resolve();
+        assertNotNull(first);
+        assertSame(first, second);
+        assertEquals(misses, BallerinaElementReference.getCacheMissCount());
+        assertEquals(hits + 1, BallerinaElementReference.getCacheHitCount());
+    }
+
+    public void testCacheInvalidatedOnPsiChange() {
+        assertNotNull(getReferenceAtCaret().resolve());
+        long misses = BallerinaElementReference.getCacheMissCount();
+        WriteCommandAction.runWriteCommandAction(getProject(),
+                () -> myFixture.getEditor().getDocument().insertString(0, "\n"));
+        PsiDocumentManager.getInstance(getProject()).commitAllDocuments();
+        assertNotNull(getReferenceAtCaret().resolve());
+        assertTrue(BallerinaElementReference.getCacheMissCount() > misses);
+    }
+
+    private PsiReference getReferenceAtCaret() {
+        PsiReference reference = myFixture.getFile().findReferenceAt(myFixture.getCaretOffset());
+        assertNotNull(reference);
+        return reference;
+    }
+}
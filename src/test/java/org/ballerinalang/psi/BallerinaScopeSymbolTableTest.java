@@ -0,0 +1,82 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.psi;
+
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiReference;
+import org.ballerinalang.BallerinaCodeInsightFixtureTestCase;
+import org.ballerinalang.plugins.idea.BallerinaFileType;
+
+/**
+ * Test resolving names using the scope symbol table.
+ */
+public class BallerinaScopeSymbolTableTest extends BallerinaCodeInsightFixtureTestCase {
+
+    public void testVariableDefinedBeforeReference() {
+        PsiElement definition = resolveAtCaret("function test () {\n    int a = 10;\n    int b = <caret>a;\n}");
+        assertNotNull(definition);
+        assertEquals(myFixture.getFile().getText().indexOf("a = 10"), definition.getTextOffset());
+    }
+
+    public void testVariableDefinedAfterReference() {
+        assertNull(resolveAtCaret("function test () {\n    int b = <caret>a;\n    int a = 10;\n}"));
+    }
+
+    public void testVariableInOwnDefinition() {
+        assertNull(resolveAtCaret("function test () {\n    int a = <caret>a;\n}"));
+    }
+
+    public void testClosestPreviousDefinition() {
+        PsiElement definition = resolveAtCaret("function test () {\n    int a = 10;\n    while (true) {\n" +
+                "        int a = 20;\n        int b = <caret>a;\n    }\n}");
+        assertNotNull(definition);
+        assertEquals(myFixture.getFile().getText().indexOf("a = 20"), definition.getTextOffset());
+    }
+
+    public void testVarAssignmentBeforeReference() {
+        PsiElement definition = resolveAtCaret("function test () {\n    var a = 10;\n    int b = <caret>a;\n}");
+        assertNotNull(definition);
+        assertEquals(myFixture.getFile().getText().indexOf("a = 10"), definition.getTextOffset());
+    }
+
+    public void testParameter() {
+        PsiElement definition = resolveAtCaret("function test (int a) {\n    int b = <caret>a;\n}");
+        assertNotNull(definition);
+        assertEquals(myFixture.getFile().getText().indexOf("a)"), definition.getTextOffset());
+    }
+
+    public void testLocalVariableBeforeGlobalVariable() {
+        PsiElement definition = resolveAtCaret("int a = 5;\n\nfunction test () {\n    int a = 10;\n" +
+                "    int b = <caret>a;\n}");
+        assertNotNull(definition);
+        assertEquals(myFixture.getFile().getText().indexOf("a = 10"), definition.getTextOffset());
+    }
+
+    public void testGlobalVariableInDifferentFile() {
+        myFixture.addFileToProject("test.bal", "int a = 5;\n");
+        PsiElement definition = resolveAtCaret("function test () {\n    int b = <caret>a;\n}");
+        assertNotNull(definition);
+        assertEquals("test.bal", definition.getContainingFile().getName());
+    }
+
+    private PsiElement resolveAtCaret(String text) {
+        myFixture.configureByText(BallerinaFileType.INSTANCE, text);
+        PsiReference reference = myFixture.getFile().findReferenceAt(myFixture.getCaretOffset());
+        assertNotNull(reference);
+        return reference.resolve();
+    }
+}
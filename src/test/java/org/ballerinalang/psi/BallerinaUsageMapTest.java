@@ -0,0 +1,58 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.psi;
+
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.PsiTreeUtil;
+import org.ballerinalang.BallerinaCodeInsightFixtureTestCase;
+import org.ballerinalang.plugins.idea.BallerinaFileType;
+import org.ballerinalang.plugins.idea.psi.VariableDefinitionNode;
+import org.ballerinalang.plugins.idea.psi.impl.BallerinaUsageMap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test usage map of a file.
+ */
+public class BallerinaUsageMapTest extends BallerinaCodeInsightFixtureTestCase {
+
+    public void testUsedAndUnusedVariables() {
+        PsiFile file = myFixture.configureByText(BallerinaFileType.INSTANCE, "function test () {\n" +
+                "    int a = 10;\n    int b = 20;\n    int c = a;\n}");
+        List<VariableDefinitionNode> variables = new ArrayList<>(PsiTreeUtil.findChildrenOfType(file,
+                VariableDefinitionNode.class));
+        assertSize(3, variables);
+        BallerinaUsageMap usages = BallerinaUsageMap.getInstance(file);
+        assertTrue(usages.isUsed(variables.get(0).getNameIdentifier()));
+        assertFalse(usages.isUsed(variables.get(1).getNameIdentifier()));
+        assertFalse(usages.isUsed(variables.get(2).getNameIdentifier()));
+    }
+
+    public void testUsedPackages() {
+        PsiFile file = myFixture.configureByText(BallerinaFileType.INSTANCE, "import ballerina.lang.system;\n" +
+                "import ballerina.lang.strings;\n\nfunction test () {\n    system:println(\"\");\n}");
+        BallerinaUsageMap usages = BallerinaUsageMap.getInstance(file);
+        assertTrue(usages.isPackageUsed("system"));
+        assertFalse(usages.isPackageUsed("strings"));
+    }
+
+    public void testCached() {
+        PsiFile file = myFixture.configureByText(BallerinaFileType.INSTANCE, "function test () {\n}");
+        assertSame(BallerinaUsageMap.getInstance(file), BallerinaUsageMap.getInstance(file));
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ *  Copyright (c) 2017, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.ballerinalang.util;
+
+import com.intellij.psi.PsiFile;
+import org.ballerinalang.BallerinaCodeInsightFixtureTestCase;
+import org.ballerinalang.plugins.idea.util.BallerinaSourceOverlay;
+
+import java.util.Map;
+
+/**
+ * Test source overlay which is used to compile unsaved documents.
+ */
+public class BallerinaSourceOverlayTest extends BallerinaCodeInsightFixtureTestCase {
+
+    public void testSavedFiles() {
+        PsiFile file = myFixture.addFileToProject("org/test/a.bal", "package org.test;\n\nfunction a () {\n}");
+        myFixture.configureFromExistingVirtualFile(file.getVirtualFile());
+        assertTrue(BallerinaSourceOverlay.create(file, true).isEmpty());
+    }
+
+    public void testUnsavedFileInPackage() {
+        PsiFile a = myFixture.addFileToProject("org/test/a.bal", "package org.test;\n\nfunction a () {\n}");
+        PsiFile b = myFixture.addFileToProject("org/test/b.bal", "package org.test;\n\nfunction b () {\n}");
+        myFixture.addFileToProject("org/test/c.txt", "text");
+        myFixture.configureFromExistingVirtualFile(b.getVirtualFile());
+        myFixture.getEditor().getCaretModel().moveToOffset(myFixture.getFile().getTextLength());
+        myFixture.type("\n");
+
+        BallerinaSourceOverlay overlay = BallerinaSourceOverlay.create(a, true);
+        assertFalse(overlay.isEmpty());
+        Map<String, String> sources = overlay.getSources();
+        assertSize(1, sources.keySet());
+        assertEquals("package org.test;\n\nfunction b () {\n}\n", sources.get(b.getVirtualFile().getPath()));
+    }
+
+    public void testUnsavedFileOutsidePackage() {
+        PsiFile a = myFixture.addFileToProject("a.bal", "function a () {\n}");
+        PsiFile b = myFixture.addFileToProject("b.bal", "function b () {\n}");
+        myFixture.configureFromExistingVirtualFile(b.getVirtualFile());
+        myFixture.getEditor().getCaretModel().moveToOffset(myFixture.getFile().getTextLength());
+        myFixture.type("\n");
+
+        // Files which are not in a package are compiled on their own.
+        assertTrue(BallerinaSourceOverlay.create(a, false).isEmpty());
+        assertSize(1, BallerinaSourceOverlay.create(b, false).getSources().keySet());
+    }
+}